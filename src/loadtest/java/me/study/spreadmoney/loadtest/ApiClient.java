@@ -0,0 +1,169 @@
+package me.study.spreadmoney.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 부하 생성/재현용 API 호출, 결과와 지연 시간을 LatencyReport 에 기록
+ * 지연 시간은 요청 예정 시각부터 응답까지 (동시 요청 제한으로 대기한 시간 포함, coordinated omission 방지)
+ */
+public class ApiClient {
+    public static final String SPREAD = "POST /api/spread";
+    public static final String RECEIVE = "POST /api/receive";
+    public static final String LOOK_UP = "GET /api/lookup";
+    public static final String CONDITIONAL_LOOK_UP = "GET /api/lookup/{token}";
+
+    private final String baseUrl;
+    private final int maxInFlight;
+    private final LatencyReport report;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient;
+    private final Semaphore inFlight;
+    private final AtomicLong requestCount = new AtomicLong();
+    private volatile long measureStartNanos = Long.MIN_VALUE;
+
+    public ApiClient(String baseUrl, int maxInFlight, LatencyReport report) {
+        this.baseUrl = baseUrl;
+        this.maxInFlight = maxInFlight;
+        this.report = report;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.httpClient = HttpClient.newBuilder()
+                .executor(Executors.newFixedThreadPool(8))
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * 이 시각 이전에 예정된 요청은 기록하지 않음 (준비 구간)
+     */
+    public void setMeasureStartNanos(long measureStartNanos) {
+        this.measureStartNanos = measureStartNanos;
+    }
+
+    public HttpRequest spreadRequest(int userId, String roomId, int totalMoney, int totalPeopleNum) {
+        return post("/api/spread", userId, roomId, Map.of("totalMoney", totalMoney, "totalPeopleNum", totalPeopleNum));
+    }
+
+    public HttpRequest receiveRequest(int userId, String roomId, String token) {
+        return post("/api/receive", userId, roomId, Map.of("token", token));
+    }
+
+    public HttpRequest lookUpRequest(int userId, String roomId, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/lookup"))
+                .header("X-USER-ID", String.valueOf(userId))
+                .header("X-ROOM-ID", roomId)
+                .header("Content-Type", "application/json")
+                .method("GET", HttpRequest.BodyPublishers.ofString(toJson(Map.of("token", token))))
+                .build();
+    }
+
+    public HttpRequest conditionalLookUpRequest(int userId, String roomId, String token, String eTag) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/lookup/" + token))
+                .header("X-USER-ID", String.valueOf(userId))
+                .header("X-ROOM-ID", roomId)
+                .GET();
+        if (eTag != null)
+            request.header("If-None-Match", eTag);
+        return request.build();
+    }
+
+    /**
+     * 요청 후 지연 시간, 결과 기록
+     * @param endpoint endpoint 이름
+     * @param request 요청
+     * @param intendedNanos 요청 예정 시각
+     * @return 응답 (기록 후 완료), 연결 실패시 예외로 완료
+     */
+    public CompletableFuture<HttpResponse<String>> send(String endpoint, HttpRequest request, long intendedNanos) {
+        inFlight.acquireUninterruptibly();
+        requestCount.incrementAndGet();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, ex) -> {
+                    try {
+                        long latencyNanos = System.nanoTime() - intendedNanos;
+                        String outcome = ex != null ? "IO " + rootCause(ex).getClass().getSimpleName() : outcomeOf(response);
+                        if (intendedNanos >= measureStartNanos)
+                            report.record(endpoint, outcome, latencyNanos);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+    }
+
+    /**
+     * 진행 중인 요청 완료 대기
+     */
+    public void awaitInFlight() throws InterruptedException {
+        inFlight.acquire(maxInFlight);
+        inFlight.release(maxInFlight);
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    public int getInFlightCount() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+    /**
+     * 응답 본문 JSON, 본문이 없거나 JSON 이 아니면 빈 객체
+     */
+    public JsonNode readJson(String body) {
+        try {
+            return objectMapper.readTree(body == null || body.isEmpty() ? "{}" : body);
+        } catch (JsonProcessingException ex) {
+            return objectMapper.createObjectNode();
+        }
+    }
+
+    /**
+     * 응답 결과, 실패 응답(FailResult)은 메시지의 숫자를 # 으로 바꿔 사유별로 묶음
+     */
+    private String outcomeOf(HttpResponse<String> response) {
+        int status = response.statusCode();
+        if (status == 200)
+            return "OK";
+        if (status == 304)
+            return "NOT_MODIFIED";
+        if (status == 400)
+            return "FAIL " + readJson(response.body()).path("message").asText("").replaceAll("[0-9]+", "#");
+        return "ERROR " + status;
+    }
+
+    private HttpRequest post(String path, int userId, String roomId, Map<String, Object> body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("X-USER-ID", String.valueOf(userId))
+                .header("X-ROOM-ID", roomId)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(toJson(body)))
+                .build();
+    }
+
+    private String toJson(Map<String, Object> body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+    }
+
+    private static Throwable rootCause(Throwable ex) {
+        Throwable cause = ex;
+        while (cause.getCause() != null)
+            cause = cause.getCause();
+        return cause;
+    }
+}
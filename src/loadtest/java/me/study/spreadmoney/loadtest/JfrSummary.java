@@ -0,0 +1,121 @@
+package me.study.spreadmoney.loadtest;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JFR 기록의 단계 이벤트(me.study.spreadmoney.Phase) 요약, ./gradlew jfrSummary -Precording=build/spread-money.jfr
+ * 1) 기능(spread, receive, lookup, archive) | 단계 별 횟수, 지연 시간 분포
+ * 2) 기능별 가장 느린 단계 이벤트 (token, 대화방, 시각, 스레드), 급증 구간의 원인 token 확인용
+ * 단계 순서는 기록된 첫 순서 (예: receive 의 fetch, validate, detail, claim, flush, commit)
+ */
+public class JfrSummary {
+    private static final String PHASE_EVENT = "me.study.spreadmoney.Phase";
+    private static final long MAX_DURATION_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final Map<String, Map<String, Histogram>> histograms = new TreeMap<>();
+    private final Map<String, PriorityQueue<Slowest>> slowest = new TreeMap<>();
+    private final int slowestCount;
+    private Instant firstTime;
+    private Instant lastTime;
+
+    public JfrSummary(int slowestCount) {
+        this.slowestCount = slowestCount;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0)
+            throw new IllegalArgumentException("요약할 JFR 기록 파일은 필수 값입니다. (--slowest=10 기록1.jfr 기록2.jfr)");
+        int slowestCount = 10;
+        List<Path> recordings = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--slowest="))
+                slowestCount = Integer.parseInt(arg.substring("--slowest=".length()));
+            else
+                recordings.add(Path.of(arg));
+        }
+
+        JfrSummary summary = new JfrSummary(slowestCount);
+        for (Path recording : recordings)
+            summary.read(recording);
+        summary.print(System.out);
+    }
+
+    public void read(Path recording) throws IOException {
+        try (RecordingFile recordingFile = new RecordingFile(recording)) {
+            while (recordingFile.hasMoreEvents()) {
+                RecordedEvent event = recordingFile.readEvent();
+                if (PHASE_EVENT.equals(event.getEventType().getName()))
+                    add(event);
+            }
+        }
+    }
+
+    private void add(RecordedEvent event) {
+        String operation = event.getString("operation");
+        String phase = event.getString("phase");
+        long nanos = Math.min(Math.max(1, event.getDuration().toNanos()), MAX_DURATION_NANOS);
+        histograms.computeIfAbsent(operation, k -> new LinkedHashMap<>())
+                .computeIfAbsent(phase, k -> new Histogram(MAX_DURATION_NANOS, 3))
+                .recordValue(nanos);
+
+        //기능별 가장 느린 이벤트 (작은 것부터 꺼내는 크기 제한 heap)
+        PriorityQueue<Slowest> queue = slowest.computeIfAbsent(operation,
+                k -> new PriorityQueue<>(Comparator.comparingLong(Slowest::nanos)));
+        queue.add(new Slowest(phase, nanos, event.getString("token"), event.getString("roomId"), event.getStartTime(),
+                event.getThread() == null ? "-" : event.getThread().getJavaName()));
+        if (queue.size() > slowestCount)
+            queue.poll();
+
+        if (firstTime == null || event.getStartTime().isBefore(firstTime))
+            firstTime = event.getStartTime();
+        if (lastTime == null || event.getEndTime().isAfter(lastTime))
+            lastTime = event.getEndTime();
+    }
+
+    public void print(PrintStream out) {
+        if (histograms.isEmpty()) {
+            out.println("단계 이벤트가 없습니다. (jfr/spread-money.jfc 설정으로 기록했는지 확인)");
+            return;
+        }
+        double seconds = Math.max(1, Duration.between(firstTime, lastTime).toMillis() / 1000.0);
+        out.printf("== 기능 | 단계 (기록 %.0f 초) ==%n", seconds);
+        out.printf("%-30s %9s %9s %9s %9s %9s %9s %9s %9s%n",
+                "name", "count", "/s", "mean(ms)", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+        histograms.forEach((operation, phases) -> phases.forEach((phase, h) ->
+                out.printf("%-30s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                        operation + " | " + phase, h.getTotalCount(), h.getTotalCount() / seconds, h.getMean() / 1e6,
+                        millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(90)),
+                        millis(h.getValueAtPercentile(99)), millis(h.getValueAtPercentile(99.9)), millis(h.getMaxValue()))));
+
+        slowest.forEach((operation, queue) -> {
+            out.println();
+            out.printf("== %s 가장 느린 단계 %d 건 ==%n", operation, queue.size());
+            queue.stream().sorted(Comparator.comparingLong(Slowest::nanos).reversed()).forEach(s ->
+                    out.printf("%9.2f ms  %-10s token: %-5s room: %-20s %s [%s]%n",
+                            millis(s.nanos()), s.phase(), s.token(), s.roomId(), s.startTime(), s.thread()));
+        });
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private record Slowest(String phase, long nanos, String token, String roomId, Instant startTime, String thread) {
+    }
+}
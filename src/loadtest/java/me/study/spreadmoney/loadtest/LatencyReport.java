@@ -0,0 +1,82 @@
+package me.study.spreadmoney.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * endpoint 별, 결과(성공, 304, 실패 사유, 오류) 별 지연 시간 분포 (HdrHistogram)
+ * 지연 시간은 요청 예정 시각부터 응답까지 (동시 요청 제한으로 대기한 시간 포함, coordinated omission 방지)
+ */
+public class LatencyReport {
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final Map<String, Histogram> endpointHistograms = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> outcomeHistograms = new ConcurrentHashMap<>();
+
+    /**
+     * 지연 시간 기록
+     * @param endpoint endpoint 이름
+     * @param outcome 결과 (OK, NOT_MODIFIED, FAIL 사유, ERROR 상태 코드)
+     * @param latencyNanos 지연 시간
+     */
+    public void record(String endpoint, String outcome, long latencyNanos) {
+        long value = Math.min(Math.max(1, latencyNanos), MAX_LATENCY_NANOS);
+        endpointHistograms.computeIfAbsent(endpoint, k -> newHistogram()).recordValue(value);
+        outcomeHistograms.computeIfAbsent(endpoint + " | " + outcome, k -> newHistogram()).recordValue(value);
+    }
+
+    /**
+     * 처리량, 지연 시간 분포 출력
+     * @param out 출력 대상
+     * @param measuredSeconds 측정 시간 (초)
+     */
+    public void print(PrintStream out, double measuredSeconds) {
+        out.println();
+        out.printf("== endpoint (측정 %.0f 초) ==%n", measuredSeconds);
+        printHeader(out);
+        new TreeMap<>(endpointHistograms).forEach((name, h) -> printRow(out, name, h, measuredSeconds));
+
+        out.println();
+        out.println("== endpoint | 결과 ==");
+        printHeader(out);
+        new TreeMap<>(outcomeHistograms).forEach((name, h) -> printRow(out, name, h, measuredSeconds));
+    }
+
+    /**
+     * 전체 지연 시간 분포 출력 (HdrHistogram percentile 형식, 그래프 도구 입력용)
+     * @param out 출력 대상
+     */
+    public void printDistributions(PrintStream out) {
+        new TreeMap<>(endpointHistograms).forEach((name, h) -> {
+            out.println();
+            out.println("== " + name + " (ms) ==");
+            h.outputPercentileDistribution(out, 1_000_000.0);
+        });
+    }
+
+    private static void printHeader(PrintStream out) {
+        out.printf("%-70s %9s %9s %9s %9s %9s %9s %9s%n",
+                "name", "count", "req/s", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram h, double measuredSeconds) {
+        out.printf("%-70s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, h.getTotalCount(), h.getTotalCount() / measuredSeconds,
+                millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(90)),
+                millis(h.getValueAtPercentile(99)), millis(h.getValueAtPercentile(99.9)), millis(h.getMaxValue()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static Histogram newHistogram() {
+        return new ConcurrentHistogram(MAX_LATENCY_NANOS, 3);
+    }
+}
@@ -0,0 +1,131 @@
+package me.study.spreadmoney.loadtest;
+
+import me.study.spreadmoney.loadtest.TrafficModel.PlannedReceive;
+import me.study.spreadmoney.loadtest.TrafficModel.PlannedSpread;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * 대화방 트래픽 부하 생성기 (로컬 전용), ./gradlew loadtest -Pargs="--base-url=http://localhost:8080 --duration-seconds=120"
+ * 실제 API(뿌리기, 받기, 조건부 조회)를 TrafficModel 의 도착 분포대로 호출 (open-loop, 응답을 기다리지 않고 예정 시각에 요청)
+ * 1) 뿌리기 -> 직후 대화방 사용자들의 받기 몰림 -> 뿌린 사용자의 조회 polling (ETag)
+ * 2) 주기적 몰림 구간(surge)에서 뿌리기 도착률 증가
+ * 종료 후 endpoint 별, 결과(실패 사유) 별 처리량과 지연 시간 분포 출력
+ * 만료 이관 부하(Scheduler)는 서버에서 실행되므로 서버의 config.scheduler.spread-to-expire.cron 을 짧게 설정하여 함께 측정
+ */
+public class LoadGenerator {
+    private final LoadOptions options;
+    private final TrafficModel trafficModel;
+    private final LatencyReport report = new LatencyReport();
+    private final ApiClient apiClient;
+    private final ScheduledExecutorService timer;
+    private long startNanos;
+    private volatile boolean stopped;
+
+    public LoadGenerator(LoadOptions options) {
+        this.options = options;
+        this.trafficModel = new TrafficModel(options);
+        this.apiClient = new ApiClient(options.baseUrl, options.maxInFlight, report);
+        this.timer = Executors.newScheduledThreadPool(4);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        new LoadGenerator(options).run();
+        System.exit(0);
+    }
+
+    public void run() throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(options.seed);
+        startNanos = System.nanoTime();
+        apiClient.setMeasureStartNanos(startNanos + TimeUnit.SECONDS.toNanos(options.warmUpSeconds));
+        long endNanos = startNanos + TimeUnit.SECONDS.toNanos(options.warmUpSeconds + options.durationSeconds);
+        timer.scheduleAtFixedRate(this::printProgress, 10, 10, TimeUnit.SECONDS);
+        System.out.printf("부하 시작, 대상: %s, 준비: %d 초, 측정: %d 초, 뿌리기: %.1f/s%n",
+                options.baseUrl, options.warmUpSeconds, options.durationSeconds, options.spreadsPerSecond);
+
+        //뿌리기 도착 (Poisson 과정, 예정 시각 기준)
+        long nextNanos = startNanos;
+        while (true) {
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(nextNanos - startNanos);
+            nextNanos += TimeUnit.MILLISECONDS.toNanos(trafficModel.nextSpreadDelayMillis(random, elapsedMillis));
+            if (nextNanos >= endNanos)
+                break;
+            sleepUntil(nextNanos);
+            spread(trafficModel.nextSpread(random.split()), nextNanos);
+        }
+
+        //진행 중인 요청 완료 대기 후 종료
+        stopped = true;
+        apiClient.awaitInFlight();
+        timer.shutdownNow();
+        report.print(System.out, options.durationSeconds);
+        report.printDistributions(System.out);
+    }
+
+    private void spread(PlannedSpread plannedSpread, long intendedNanos) {
+        apiClient.send(ApiClient.SPREAD, apiClient.spreadRequest(plannedSpread.userId(), plannedSpread.roomId(),
+                plannedSpread.totalMoney(), plannedSpread.totalPeopleNum()), intendedNanos).thenAccept(response -> {
+            if (response.statusCode() != 200)
+                return;
+            String token = apiClient.readJson(response.body()).path("data").path("token").asText(null);
+            if (token == null)
+                return;
+            long now = System.nanoTime();
+            for (PlannedReceive plannedReceive : plannedSpread.receives())
+                schedule(plannedReceive.delayMillis(), now, intended -> receive(plannedSpread, plannedReceive, token, intended));
+            poll(plannedSpread, token, new AtomicReference<>(), now, now + TimeUnit.MILLISECONDS.toNanos(plannedSpread.pollingMillis()));
+        });
+    }
+
+    private void receive(PlannedSpread plannedSpread, PlannedReceive plannedReceive, String token, long intendedNanos) {
+        apiClient.send(ApiClient.RECEIVE,
+                apiClient.receiveRequest(plannedReceive.userId(), plannedSpread.roomId(), token), intendedNanos);
+    }
+
+    /**
+     * 뿌린 사용자의 조회 polling, 이전 응답의 ETag 로 조건부 조회
+     */
+    private void poll(PlannedSpread plannedSpread, String token, AtomicReference<String> eTag, long fromNanos, long untilNanos) {
+        schedule(options.pollIntervalMillis, fromNanos, intended -> {
+            if (intended > untilNanos)
+                return;
+            apiClient.send(ApiClient.CONDITIONAL_LOOK_UP,
+                    apiClient.conditionalLookUpRequest(plannedSpread.userId(), plannedSpread.roomId(), token, eTag.get()),
+                    intended).thenAccept(response -> response.headers().firstValue("ETag").ifPresent(eTag::set));
+            poll(plannedSpread, token, eTag, intended, untilNanos);
+        });
+    }
+
+    private void schedule(long delayMillis, long fromNanos, Consumer<Long> task) {
+        if (stopped)
+            return;
+        long intendedNanos = fromNanos + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+        long delayNanos = Math.max(0, intendedNanos - System.nanoTime());
+        try {
+            timer.schedule(() -> {
+                if (!stopped)
+                    task.accept(intendedNanos);
+            }, delayNanos, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException ignored) {
+            //종료 중
+        }
+    }
+
+    private void printProgress() {
+        long elapsedSeconds = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startNanos);
+        System.out.printf("[%4d 초] 요청: %d, 진행 중: %d%n",
+                elapsedSeconds, apiClient.getRequestCount(), apiClient.getInFlightCount());
+    }
+
+    private static void sleepUntil(long nanos) throws InterruptedException {
+        long remain = nanos - System.nanoTime();
+        if (remain > 0)
+            TimeUnit.NANOSECONDS.sleep(remain);
+    }
+}
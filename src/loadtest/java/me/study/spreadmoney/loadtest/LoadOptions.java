@@ -0,0 +1,79 @@
+package me.study.spreadmoney.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 부하 생성 옵션 (--이름=값), 지정하지 않으면 기본 값
+ */
+public class LoadOptions {
+    final String baseUrl; //대상 서버
+    final int durationSeconds; //부하 시간
+    final int warmUpSeconds; //측정 제외 시간
+    final long seed; //난수 seed, 같으면 같은 트래픽
+    final int rooms; //대화방 수
+    final int usersPerRoom; //대화방별 사용자 수
+    final double roomZipfExponent; //대화방 인기도 Zipf 지수
+    final double spreadsPerSecond; //평균 뿌리기 도착률 (초당)
+    final int surgePeriodSeconds; //몰림 구간 주기, 0 이면 사용 안함
+    final int surgeSeconds; //몰림 구간 길이
+    final double surgeFactor; //몰림 구간 도착률 배수
+    final double meanPeopleNum; //평균 뿌릴 인원
+    final int meanMoneyPerPerson; //인원당 평균 금액
+    final double meanReceiveDelayMillis; //뿌리기 후 받기 요청까지 평균 지연
+    final double overReceiveRatio; //인원 대비 초과 받기 요청 비율
+    final int pollIntervalMillis; //조회 polling 주기
+    final int minPollingSeconds; //조회 polling 최소 시간 (Pareto 최소 값)
+    final double pollingParetoAlpha; //조회 polling 시간 Pareto 지수 (작을수록 긴 꼬리)
+    final int maxPollingSeconds; //조회 polling 최대 시간
+    final int maxInFlight; //동시 진행 요청 최대 수, 초과시 요청 대기 (대기 시간도 지연에 포함)
+
+    private LoadOptions(Map<String, String> options) {
+        baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        durationSeconds = intOf(options, "duration-seconds", 60);
+        warmUpSeconds = intOf(options, "warm-up-seconds", 10);
+        seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        rooms = intOf(options, "rooms", 1000);
+        usersPerRoom = intOf(options, "users-per-room", 30);
+        roomZipfExponent = doubleOf(options, "room-zipf-exponent", 1.1);
+        spreadsPerSecond = doubleOf(options, "spreads-per-second", 20);
+        surgePeriodSeconds = intOf(options, "surge-period-seconds", 60);
+        surgeSeconds = intOf(options, "surge-seconds", 5);
+        surgeFactor = doubleOf(options, "surge-factor", 5);
+        meanPeopleNum = doubleOf(options, "mean-people-num", 4);
+        meanMoneyPerPerson = intOf(options, "mean-money-per-person", 1000);
+        meanReceiveDelayMillis = doubleOf(options, "mean-receive-delay-millis", 800);
+        overReceiveRatio = doubleOf(options, "over-receive-ratio", 0.5);
+        pollIntervalMillis = intOf(options, "poll-interval-millis", 1000);
+        minPollingSeconds = intOf(options, "min-polling-seconds", 3);
+        pollingParetoAlpha = doubleOf(options, "polling-pareto-alpha", 1.2);
+        maxPollingSeconds = intOf(options, "max-polling-seconds", 300);
+        maxInFlight = intOf(options, "max-in-flight", 512);
+
+        if (rooms <= 0 || usersPerRoom < 2)
+            throw new IllegalArgumentException("rooms 는 1 이상, users-per-room 은 2 이상이어야 합니다.");
+        if (spreadsPerSecond <= 0 || durationSeconds <= 0)
+            throw new IllegalArgumentException("spreads-per-second, duration-seconds 는 0 보다 커야 합니다.");
+    }
+
+    public static LoadOptions parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("="))
+                throw new IllegalArgumentException("옵션 형식은 --이름=값 입니다: " + arg);
+            int index = arg.indexOf('=');
+            options.put(arg.substring(2, index), arg.substring(index + 1));
+        }
+        return new LoadOptions(options);
+    }
+
+    private static int intOf(Map<String, String> options, String name, int defaultValue) {
+        String value = options.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    private static double doubleOf(Map<String, String> options, String name, double defaultValue) {
+        String value = options.get(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+}
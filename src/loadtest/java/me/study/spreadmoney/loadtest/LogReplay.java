@@ -0,0 +1,187 @@
+package me.study.spreadmoney.loadtest;
+
+import me.study.spreadmoney.loadtest.RequestLog.RecordedRequest;
+import me.study.spreadmoney.loadtest.RequestLog.RequestType;
+
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 운영 요청 로그 재현 (로컬 전용), ./gradlew replay -Pargs="--logs=app.log --speed=2"
+ * 컨트롤러 요청 로그를 기록된 시각 간격 / speed 로 다시 요청 (open-loop, 응답을 기다리지 않고 예정 시각에 요청)
+ * 1) 뿌리기 응답으로 받은 새 token 으로 이후 받기, 조회 요청의 기록된 token 을 바꿈
+ *    새 token 을 받기 전 예정 시각이 된 요청은 뿌리기 응답 후 요청 (지연 시간은 응답 시각부터)
+ * 2) 기록 구간 밖에서 생성된 뿌리기의 token 은 바꿀 수 없어 생략 (--send-unmapped=true 면 그대로 요청)
+ * 3) 조건부 조회는 재현 중 받은 ETag 로 요청 (기록된 ETag 는 다른 서버의 버전)
+ * 대상 서버는 비어있는 DB 로 실행 (기록된 사용자, 대화방 그대로 사용)
+ * 종료 후 endpoint 별, 결과(실패 사유) 별 처리량과 지연 시간 분포 출력 (LoadGenerator 와 같은 형식)
+ */
+public class LogReplay {
+    private final ReplayOptions options;
+    private final LatencyReport report = new LatencyReport();
+    private final ApiClient apiClient;
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+    //재현한 뿌리기의 새 token (뿌리기 실패시 null)
+    private final List<CompletableFuture<String>> spreadTokens = new ArrayList<>();
+    //사용자, 새 token 별 마지막 ETag
+    private final Map<String, String> eTags = new ConcurrentHashMap<>();
+    private final AtomicLong unmappedCount = new AtomicLong();
+    private final AtomicLong failedSpreadCount = new AtomicLong();
+    private final AtomicLong deferredCount = new AtomicLong(); //뿌리기 응답을 기다리는 요청 수
+    private long startNanos;
+
+    public LogReplay(ReplayOptions options) {
+        this.options = options;
+        this.apiClient = new ApiClient(options.baseUrl, options.maxInFlight, report);
+    }
+
+    public static void main(String[] args) throws Exception {
+        ReplayOptions options = ReplayOptions.parse(args);
+        new LogReplay(options).run();
+        System.exit(0);
+    }
+
+    public void run() throws Exception {
+        RequestLog requestLog = RequestLog.read(options.logs);
+        List<RecordedRequest> requests = requestLog.getRequests();
+        if (requests.isEmpty()) {
+            System.out.println("재현할 요청이 없습니다. 읽지 못한 줄: " + requestLog.getSkippedLines());
+            return;
+        }
+        //요청별 새 token, 같은 token 이 만료 후 다시 생성되면 그 전의 가장 최근 뿌리기 기준
+        List<CompletableFuture<String>> newTokens = new ArrayList<>(requests.size());
+        Map<String, CompletableFuture<String>> latestTokens = new HashMap<>();
+        for (RecordedRequest request : requests) {
+            if (request.type != RequestType.SPREAD) {
+                newTokens.add(latestTokens.get(request.token));
+            } else if (request.recordedToken != null) {
+                CompletableFuture<String> newToken = new CompletableFuture<>();
+                latestTokens.put(request.recordedToken, newToken);
+                spreadTokens.add(newToken);
+                newTokens.add(newToken);
+            } else {
+                newTokens.add(null);
+            }
+        }
+
+        Instant firstTime = requests.get(0).time;
+        Duration recorded = Duration.between(firstTime, requests.get(requests.size() - 1).time);
+        System.out.printf("재현 시작, 대상: %s, 요청: %d (읽지 못한 줄: %d), 기록 시간: %d 초, 배속: %.1f%n",
+                options.baseUrl, requests.size(), requestLog.getSkippedLines(), recorded.toSeconds(), options.speed);
+
+        startNanos = System.nanoTime();
+        apiClient.setMeasureStartNanos(startNanos + TimeUnit.SECONDS.toNanos(options.warmUpSeconds));
+        timer.scheduleAtFixedRate(this::printProgress, 10, 10, TimeUnit.SECONDS);
+        for (int i = 0; i < requests.size(); i++) {
+            RecordedRequest request = requests.get(i);
+            long offsetNanos = Duration.between(firstTime, request.time).toNanos();
+            long intendedNanos = startNanos + (long) (offsetNanos / options.speed);
+            sleepUntil(intendedNanos);
+            dispatch(request, newTokens.get(i), intendedNanos);
+        }
+
+        //뿌리기 응답을 기다리는 요청, 진행 중인 요청 완료 대기 후 종료
+        CompletableFuture.allOf(spreadTokens.toArray(CompletableFuture[]::new)).join();
+        while (deferredCount.get() > 0)
+            TimeUnit.MILLISECONDS.sleep(10);
+        apiClient.awaitInFlight();
+        timer.shutdownNow();
+        double measuredSeconds = Math.max(1, (System.nanoTime() - startNanos) / 1e9 - options.warmUpSeconds);
+        System.out.printf("%n생략한 요청, 기록 구간 밖 token: %d, 재현한 뿌리기 실패: %d%n",
+                unmappedCount.get(), failedSpreadCount.get());
+        report.print(System.out, measuredSeconds);
+        report.printDistributions(System.out);
+    }
+
+    /**
+     * 요청
+     * @param request 기록된 요청
+     * @param newToken 뿌리기는 응답으로 받을 새 token, 받기/조회는 대상 뿌리기의 새 token (기록 구간 밖이면 null)
+     * @param intendedNanos 요청 예정 시각
+     */
+    private void dispatch(RecordedRequest request, CompletableFuture<String> newToken, long intendedNanos) {
+        if (request.type == RequestType.SPREAD) {
+            spread(request, newToken, intendedNanos);
+            return;
+        }
+
+        if (newToken == null) {
+            if (options.sendUnmapped)
+                send(request, request.token, intendedNanos);
+            else
+                unmappedCount.incrementAndGet();
+            return;
+        }
+        if (newToken.isDone()) {
+            sendWithToken(request, newToken.join(), intendedNanos);
+            return;
+        }
+        //뿌리기 응답 전: 응답 후 요청 (배속 재현시 뿌리기 응답보다 예정 시각이 빠를 수 있음)
+        deferredCount.incrementAndGet();
+        newToken.thenAcceptAsync(token -> {
+            try {
+                sendWithToken(request, token, Math.max(intendedNanos, System.nanoTime()));
+            } finally {
+                deferredCount.decrementAndGet();
+            }
+        }, timer);
+    }
+
+    private void spread(RecordedRequest request, CompletableFuture<String> newToken, long intendedNanos) {
+        apiClient.send(RequestType.SPREAD.getEndpoint(),
+                apiClient.spreadRequest(request.userId, request.roomId, request.totalMoney, request.totalPeopleNum),
+                intendedNanos).whenComplete((response, ex) -> {
+            if (newToken == null)
+                return;
+            String token = null;
+            if (response != null && response.statusCode() == 200)
+                token = apiClient.readJson(response.body()).path("data").path("token").asText(null);
+            newToken.complete(token);
+        });
+    }
+
+    private void sendWithToken(RecordedRequest request, String token, long intendedNanos) {
+        if (token == null) {
+            failedSpreadCount.incrementAndGet();
+            return;
+        }
+        send(request, token, intendedNanos);
+    }
+
+    private void send(RecordedRequest request, String token, long intendedNanos) {
+        HttpRequest httpRequest = switch (request.type) {
+            case RECEIVE -> apiClient.receiveRequest(request.userId, request.roomId, token);
+            case LOOK_UP -> apiClient.lookUpRequest(request.userId, request.roomId, token);
+            case CONDITIONAL_LOOK_UP -> apiClient.conditionalLookUpRequest(request.userId, request.roomId, token,
+                    request.hadETag ? eTags.get(request.userId + ":" + token) : null);
+            case SPREAD -> throw new IllegalArgumentException("뿌리기는 token 없이 요청합니다.");
+        };
+        apiClient.send(request.type.getEndpoint(), httpRequest, intendedNanos).thenAccept(response -> {
+            if (request.type == RequestType.CONDITIONAL_LOOK_UP)
+                response.headers().firstValue("ETag").ifPresent(eTag -> eTags.put(request.userId + ":" + token, eTag));
+        });
+    }
+
+    private void printProgress() {
+        long elapsedSeconds = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startNanos);
+        System.out.printf("[%4d 초] 요청: %d, 진행 중: %d%n",
+                elapsedSeconds, apiClient.getRequestCount(), apiClient.getInFlightCount());
+    }
+
+    private static void sleepUntil(long nanos) throws InterruptedException {
+        long remain = nanos - System.nanoTime();
+        if (remain > 0)
+            TimeUnit.NANOSECONDS.sleep(remain);
+    }
+}
@@ -0,0 +1,45 @@
+package me.study.spreadmoney.loadtest;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 요청 로그 재현 옵션 (--이름=값), 지정하지 않으면 기본 값
+ */
+public class ReplayOptions {
+    final String baseUrl; //대상 서버
+    final List<Path> logs; //재현할 로그 파일 (여러 서버의 로그는 , 로 구분, 시각 순으로 합침)
+    final double speed; //재현 배속 (1 이면 기록된 간격 그대로, 2 면 2배 빠르게)
+    final int warmUpSeconds; //측정 제외 시간 (재현 시작 후 실제 시간)
+    final boolean sendUnmapped; //기록 구간 밖에서 생성된 뿌리기 token 도 그대로 요청할지 여부
+    final int maxInFlight; //동시 진행 요청 최대 수, 초과시 요청 대기 (대기 시간도 지연에 포함)
+
+    private ReplayOptions(Map<String, String> options) {
+        baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        String logValue = options.get("logs");
+        if (logValue == null || logValue.isBlank())
+            throw new IllegalArgumentException("재현할 로그 파일(--logs=파일1,파일2)은 필수 값입니다.");
+        logs = Arrays.stream(logValue.split(",")).map(String::trim).map(Path::of).toList();
+        speed = Double.parseDouble(options.getOrDefault("speed", "1"));
+        warmUpSeconds = Integer.parseInt(options.getOrDefault("warm-up-seconds", "0"));
+        sendUnmapped = Boolean.parseBoolean(options.getOrDefault("send-unmapped", "false"));
+        maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "512"));
+
+        if (speed <= 0)
+            throw new IllegalArgumentException("speed 는 0 보다 커야 합니다.");
+    }
+
+    public static ReplayOptions parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("="))
+                throw new IllegalArgumentException("옵션 형식은 --이름=값 입니다: " + arg);
+            int index = arg.indexOf('=');
+            options.put(arg.substring(2, index), arg.substring(index + 1));
+        }
+        return new ReplayOptions(options);
+    }
+}
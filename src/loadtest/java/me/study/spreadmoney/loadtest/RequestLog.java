@@ -0,0 +1,209 @@
+package me.study.spreadmoney.loadtest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 컨트롤러 요청/응답 로그(SpreadController, ReceiveController, LookUpController)를 시각 순 요청 목록으로 변환
+ * 1) 로그 줄 앞의 시각과 [스레드] 를 읽음 (Spring Boot 기본 로그 형식)
+ * 2) 뿌리기 요청과 같은 스레드의 다음 뿌리기 응답에서 기록된 token 을 읽음 (재현시 새 token 으로 바꾸기 위함)
+ * 3) 받기 알림 구독(SSE), 응답 로그 외의 줄은 무시
+ */
+public class RequestLog {
+    private static final Pattern SPREAD_REQ = Pattern.compile(
+            "뿌리기 요청, userId: (\\d+), roomId: (.*), body: .*totalMoney=(\\d+), totalPeopleNum=(\\d+)\\)$");
+    private static final Pattern SPREAD_RESP = Pattern.compile(
+            "뿌리기 응답, userId: (\\d+), roomId: (.*), body: \\{token='(.*)'}$");
+    private static final Pattern RECEIVE_REQ = Pattern.compile(
+            "받기 요청, userId: (\\d+), roomId: (.*), body: .*\\(token=(.*)\\)$");
+    private static final Pattern LOOK_UP_REQ = Pattern.compile(
+            "조회 요청, userId: (\\d+), roomId: (.*), body: .*\\(token=(.*)\\)$");
+    private static final Pattern CONDITIONAL_LOOK_UP_REQ = Pattern.compile(
+            "조회 요청, userId: (\\d+), roomId: (.*), token: (.*), If-None-Match: (.*)$");
+    private static final String[] MARKERS = {"뿌리기 요청, ", "뿌리기 응답, ", "받기 요청, ", "조회 요청, "};
+
+    private final List<RecordedRequest> requests;
+    private final int skippedLines;
+
+    private RequestLog(List<RecordedRequest> requests, int skippedLines) {
+        this.requests = requests;
+        this.skippedLines = skippedLines;
+    }
+
+    /**
+     * 로그 파일 읽기, 여러 파일(서버별 로그)은 시각 순으로 합침
+     * @param logs 로그 파일
+     * @return 첫 요청 시각 기준 시각 순 요청 목록
+     */
+    public static RequestLog read(List<Path> logs) throws IOException {
+        List<RecordedRequest> requests = new ArrayList<>();
+        int skippedLines = 0;
+        for (int fileIndex = 0; fileIndex < logs.size(); fileIndex++) {
+            //스레드별 응답을 기다리는 뿌리기 요청 (요청, 응답 로그는 같은 스레드에서 순서대로 남음)
+            Map<String, RecordedRequest> pendingSpreads = new HashMap<>();
+            try (BufferedReader reader = Files.newBufferedReader(logs.get(fileIndex), StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int messageIndex = messageIndexOf(line);
+                    if (messageIndex < 0)
+                        continue;
+                    Instant time = timeOf(line);
+                    if (time == null) {
+                        skippedLines++;
+                        continue;
+                    }
+                    String thread = fileIndex + threadOf(line.substring(0, messageIndex));
+                    if (!parse(line.substring(messageIndex), time, thread, pendingSpreads, requests))
+                        skippedLines++;
+                }
+            }
+        }
+        requests.sort(Comparator.comparing(RecordedRequest::getTime));
+        return new RequestLog(requests, skippedLines);
+    }
+
+    public List<RecordedRequest> getRequests() {
+        return requests;
+    }
+
+    /**
+     * 요청/응답 로그이지만 형식이 달라 읽지 못한 줄 수
+     */
+    public int getSkippedLines() {
+        return skippedLines;
+    }
+
+    private static boolean parse(String message, Instant time, String thread,
+                                 Map<String, RecordedRequest> pendingSpreads, List<RecordedRequest> requests) {
+        Matcher matcher;
+        if ((matcher = SPREAD_RESP.matcher(message)).matches()) {
+            RecordedRequest spread = pendingSpreads.remove(thread);
+            if (spread != null)
+                spread.recordedToken = matcher.group(3);
+            return true;
+        }
+        if ((matcher = SPREAD_REQ.matcher(message)).matches()) {
+            RecordedRequest spread = new RecordedRequest(RequestType.SPREAD, time, Integer.parseInt(matcher.group(1)),
+                    matcher.group(2), null, Integer.parseInt(matcher.group(3)), Integer.parseInt(matcher.group(4)), false);
+            //응답 로그가 없으면(실패 응답) 다음 요청에서 대기 해제
+            pendingSpreads.put(thread, spread);
+            requests.add(spread);
+            return true;
+        }
+        pendingSpreads.remove(thread);
+        if ((matcher = RECEIVE_REQ.matcher(message)).matches()) {
+            requests.add(new RecordedRequest(RequestType.RECEIVE, time, Integer.parseInt(matcher.group(1)),
+                    matcher.group(2), matcher.group(3), 0, 0, false));
+            return true;
+        }
+        if ((matcher = LOOK_UP_REQ.matcher(message)).matches()) {
+            requests.add(new RecordedRequest(RequestType.LOOK_UP, time, Integer.parseInt(matcher.group(1)),
+                    matcher.group(2), matcher.group(3), 0, 0, false));
+            return true;
+        }
+        if ((matcher = CONDITIONAL_LOOK_UP_REQ.matcher(message)).matches()) {
+            requests.add(new RecordedRequest(RequestType.CONDITIONAL_LOOK_UP, time, Integer.parseInt(matcher.group(1)),
+                    matcher.group(2), matcher.group(3), 0, 0, !"null".equals(matcher.group(4))));
+            return true;
+        }
+        return false;
+    }
+
+    private static int messageIndexOf(String line) {
+        int index = -1;
+        for (String marker : MARKERS) {
+            int markerIndex = line.indexOf(marker);
+            if (markerIndex >= 0 && (index < 0 || markerIndex < index))
+                index = markerIndex;
+        }
+        return index;
+    }
+
+    /**
+     * 로그 줄 앞의 시각, 2024-01-01T12:00:00.123+09:00 (Boot 3) 또는 2024-01-01 12:00:00.123 (Boot 2, 로컬 시간대)
+     */
+    private static Instant timeOf(String line) {
+        String[] parts = line.split("\\s+", 3);
+        if (parts.length < 2)
+            return null;
+        try {
+            if (parts[0].contains("T"))
+                return OffsetDateTime.parse(parts[0]).toInstant();
+            return LocalDateTime.parse(parts[0] + "T" + parts[1]).atZone(ZoneId.systemDefault()).toInstant();
+        } catch (DateTimeParseException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * 메시지 앞의 마지막 [...] (스레드 이름), 없으면 빈 문자열
+     */
+    private static String threadOf(String prefix) {
+        int end = prefix.lastIndexOf(']');
+        int start = end < 0 ? -1 : prefix.lastIndexOf('[', end);
+        return start < 0 ? "" : prefix.substring(start + 1, end).trim();
+    }
+
+    public enum RequestType {
+        SPREAD(ApiClient.SPREAD),
+        RECEIVE(ApiClient.RECEIVE),
+        LOOK_UP(ApiClient.LOOK_UP),
+        CONDITIONAL_LOOK_UP(ApiClient.CONDITIONAL_LOOK_UP);
+
+        private final String endpoint;
+
+        RequestType(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+    }
+
+    /**
+     * 기록된 요청
+     */
+    public static class RecordedRequest {
+        final RequestType type;
+        final Instant time; //요청 시각
+        final int userId;
+        final String roomId;
+        final String token; //받기, 조회 대상 token (기록된 값)
+        final int totalMoney; //뿌리기 금액
+        final int totalPeopleNum; //뿌리기 인원
+        final boolean hadETag; //조건부 조회에 If-None-Match 가 있었는지 여부
+        String recordedToken; //뿌리기 응답으로 기록된 token, 실패한 뿌리기는 null
+
+        RecordedRequest(RequestType type, Instant time, int userId, String roomId, String token,
+                        int totalMoney, int totalPeopleNum, boolean hadETag) {
+            this.type = type;
+            this.time = time;
+            this.userId = userId;
+            this.roomId = roomId;
+            this.token = token;
+            this.totalMoney = totalMoney;
+            this.totalPeopleNum = totalPeopleNum;
+            this.hadETag = hadETag;
+        }
+
+        public Instant getTime() {
+            return time;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package me.study.spreadmoney.loadtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * 대화방 트래픽 모델
+ * 1) 대화방 인기도는 Zipf 분포 (소수의 대화방에 뿌리기 집중)
+ * 2) 뿌리기 도착은 Poisson 과정, 주기적으로 몰림 구간(surge)에서 도착률 증가
+ * 3) 뿌릴 인원은 기하 분포, 인원당 금액은 로그정규 분포
+ * 4) 받기는 뿌리기 직후 지수 분포 지연으로 몰리며, 일부 사용자는 인원이 다 찬 뒤에도 받기 요청
+ * 5) 뿌린 사용자는 조회를 반복(polling)하고 반복 시간은 Pareto 분포 (긴 꼬리)
+ * 같은 seed 면 같은 트래픽 (스레드마다 split 사용)
+ */
+public class TrafficModel {
+    private final LoadOptions options;
+    private final double[] roomCumulativeWeights;
+
+    public TrafficModel(LoadOptions options) {
+        this.options = options;
+        this.roomCumulativeWeights = new double[options.rooms];
+        double sum = 0;
+        for (int i = 0; i < options.rooms; i++) {
+            sum += 1.0 / Math.pow(i + 1, options.roomZipfExponent);
+            roomCumulativeWeights[i] = sum;
+        }
+        for (int i = 0; i < options.rooms; i++)
+            roomCumulativeWeights[i] /= sum;
+    }
+
+    /**
+     * 다음 뿌리기까지 대기 시간 (Poisson 과정), 몰림 구간에서는 도착률 * surge-factor
+     * @param random 난수
+     * @param elapsedMillis 부하 시작 후 경과 시간
+     * @return 대기 시간 (ms)
+     */
+    public long nextSpreadDelayMillis(SplittableRandom random, long elapsedMillis) {
+        double rate = options.spreadsPerSecond * (isSurge(elapsedMillis) ? options.surgeFactor : 1.0);
+        return Math.max(1, Math.round(exponential(random, 1000.0 / rate)));
+    }
+
+    /**
+     * 몰림 구간 여부 (매 surge-period 시작 후 surge-seconds 동안, 예: 정각 이관/알림 직후)
+     */
+    public boolean isSurge(long elapsedMillis) {
+        if (options.surgePeriodSeconds <= 0)
+            return false;
+        return (elapsedMillis / 1000) % options.surgePeriodSeconds < options.surgeSeconds;
+    }
+
+    /**
+     * 뿌리기 생성
+     * @param random 난수
+     * @return 대화방, 뿌린 사용자, 금액, 인원, 받기 요청할 사용자와 지연 시간
+     */
+    public PlannedSpread nextSpread(SplittableRandom random) {
+        int room = pickRoom(random);
+        int members = options.usersPerRoom;
+        int spreader = random.nextInt(members);
+
+        //뿌릴 인원: 기하 분포 (1명 이상, 대화방 인원 - 1 이하)
+        int peopleNum = 1;
+        while (peopleNum < members - 1 && random.nextDouble() > 1.0 / options.meanPeopleNum)
+            peopleNum++;
+
+        //뿌릴 금액: 인원당 로그정규 분포 (인원 이상)
+        double perPerson = Math.exp(Math.log(options.meanMoneyPerPerson) + 0.75 * gaussian(random) - 0.75 * 0.75 / 2);
+        int totalMoney = Math.max(peopleNum, (int) Math.round(perPerson * peopleNum));
+
+        //받기 요청할 사용자: 인원 + 초과 요청(이미 모두 받아간 경우 재현)
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < members; i++) {
+            if (i != spreader)
+                candidates.add(i);
+        }
+        Collections.shuffle(candidates, new Random(random.nextLong()));
+        int receiverNum = Math.min(candidates.size(), (int) Math.ceil(peopleNum * (1 + options.overReceiveRatio)));
+        List<PlannedReceive> receives = new ArrayList<>();
+        for (int i = 0; i < receiverNum; i++) {
+            long delay = Math.round(exponential(random, options.meanReceiveDelayMillis));
+            receives.add(new PlannedReceive(userId(room, candidates.get(i)), delay));
+        }
+
+        long pollingMillis = Math.min(options.maxPollingSeconds * 1000L,
+                Math.round(pareto(random, options.minPollingSeconds * 1000.0, options.pollingParetoAlpha)));
+        return new PlannedSpread(roomId(room), userId(room, spreader), totalMoney, peopleNum, receives, pollingMillis);
+    }
+
+    private int pickRoom(SplittableRandom random) {
+        double r = random.nextDouble();
+        int low = 0;
+        int high = roomCumulativeWeights.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (roomCumulativeWeights[mid] < r)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    private String roomId(int room) {
+        return "loadRoom" + room;
+    }
+
+    private int userId(int room, int member) {
+        return room * options.usersPerRoom + member + 1;
+    }
+
+    private static double exponential(SplittableRandom random, double mean) {
+        return -mean * Math.log(1 - random.nextDouble());
+    }
+
+    private static double pareto(SplittableRandom random, double min, double alpha) {
+        return min / Math.pow(1 - random.nextDouble(), 1.0 / alpha);
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        double u1 = 1 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+
+    /**
+     * 생성할 뿌리기
+     */
+    public record PlannedSpread(String roomId, int userId, int totalMoney, int totalPeopleNum,
+                                List<PlannedReceive> receives, long pollingMillis) {
+    }
+
+    /**
+     * 뿌리기 후 받기 요청 (사용자, 뿌리기 성공 후 지연 시간)
+     */
+    public record PlannedReceive(int userId, long delayMillis) {
+    }
+}
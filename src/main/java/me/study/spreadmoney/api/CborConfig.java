@@ -0,0 +1,21 @@
+package me.study.spreadmoney.api;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * 바이너리(CBOR) 요청/응답 설정
+ * Content-Type, Accept 가 application/cbor 인 요청은 같은 요청/응답 객체를 CBOR 로 읽고 씀 (내부 고빈도 호출용)
+ * JSON 과 같은 Jackson 설정(spring.jackson)을 사용
+ */
+@Configuration
+public class CborConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,35 @@
+package me.study.spreadmoney.api;
+
+import me.study.spreadmoney.api.response.CompactResult;
+import me.study.spreadmoney.api.response.Result;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * 바이너리(CBOR) 응답 변환
+ * Accept: application/cbor 요청은 응답 객체(SuccessResult, FailResult, ErrorResult)를 결과 코드 응답 객체(CompactResult)로 바꿈
+ * JSON 응답은 변경 없음
+ */
+@RestControllerAdvice
+public class CompactResultAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return MappingJackson2CborHttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof Result result && !(body instanceof CompactResult))
+            return CompactResult.of(result);
+        return body;
+    }
+}
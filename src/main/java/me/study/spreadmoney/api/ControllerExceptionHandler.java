@@ -5,6 +5,7 @@ import me.study.spreadmoney.api.response.ErrorResult;
 import me.study.spreadmoney.api.response.FailResult;
 import me.study.spreadmoney.api.response.Result;
 import me.study.spreadmoney.exception.PredictableRuntimeException;
+import me.study.spreadmoney.exception.RejectReason;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
@@ -14,12 +15,25 @@ import org.springframework.web.bind.MissingRequestHeaderException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
 /**
  * 예외 발생 처리
  */
 @Slf4j
 @RestControllerAdvice
 public class ControllerExceptionHandler {
+    //거절 사유별 실패 응답 (고정 메시지 거절은 요청마다 응답 객체를 만들지 않음)
+    private static final Map<RejectReason, ResponseEntity<Result>> REJECTIONS;
+
+    static {
+        Map<RejectReason, ResponseEntity<Result>> rejections = new EnumMap<>(RejectReason.class);
+        for (RejectReason reason : RejectReason.values())
+            rejections.put(reason, ResponseEntity.badRequest().body(new FailResult(reason, reason.getMessage())));
+        REJECTIONS = Collections.unmodifiableMap(rejections);
+    }
 
     /**
      * HTTP Method 잘못된 경우 발생하는 Exception
@@ -35,14 +49,25 @@ public class ControllerExceptionHandler {
 
     /**
      * 직접 정의한 Exception, 예상 가능한 예외 처리에 사용
+     * 거절 사유 예외는 debug 로그, 미리 만든 거절 사유별 실패 응답 사용
+     * 덧붙인 값(만료 일시 등)이 있는 거절, 거절 사유 없는 예외만 응답 객체 생성
      * @param ex 직접 정의한 Exception
      * @return 실패 응답 (HttpStatus.BAD_REQUEST)
      */
     @ExceptionHandler(PredictableRuntimeException.class)
     public ResponseEntity<Result> handleCustomException(PredictableRuntimeException ex) {
-        String message = ex.getMessage();
-        log.warn(message);
-        return ResponseEntity.badRequest().body(new FailResult(message));
+        RejectReason reason = ex.getReason();
+        if (reason == null) {
+            String message = ex.getMessage();
+            log.warn(message);
+            return ResponseEntity.badRequest().body(new FailResult(message));
+        }
+
+        if (log.isDebugEnabled())
+            log.debug("요청 거절, code: {} {}", reason.getCode(), ex.getMessage());
+        if (ex == PredictableRuntimeException.of(reason))
+            return REJECTIONS.get(reason);
+        return ResponseEntity.badRequest().body(new FailResult(reason, ex.getMessage()));
     }
 
     /**
@@ -0,0 +1,88 @@
+package me.study.spreadmoney.api.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.study.spreadmoney.api.dto.HistoryPageDto;
+import me.study.spreadmoney.api.dto.ReceivedMoneyHistoryDto;
+import me.study.spreadmoney.api.dto.SentSpreadHistoryDto;
+import me.study.spreadmoney.api.response.Result;
+import me.study.spreadmoney.api.response.SuccessResult;
+import me.study.spreadmoney.service.HistoryService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import static me.study.spreadmoney.api.ControllerHelper.*;
+
+/**
+ * 내역 API Controller
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class HistoryController {
+
+    private final HistoryService historyService;
+
+    /**
+     * 뿌린 내역 API
+     * 요청 사용자가 뿌린 뿌리기를 최근 순으로 조회 (조회 만료로 보관된 뿌리기 포함)
+     * @param userId Header) 조회 요청 사용자 ID
+     * @param roomId Header) 조회 요청 대화방 ID
+     * @param cursor Param) 이전 페이지 응답의 nextCursor 값 (선택), 없으면 첫 페이지
+     * @param size Param) 페이지 크기 (선택, 기본 20)
+     * @return 뿌린 내역 리스트, 다음 페이지 cursor 값 (마지막 페이지면 null)
+     */
+    @GetMapping("/api/history/sent")
+    public ResponseEntity<Result> sentHistoryRequest(
+            @RequestHeader(HEADER_USER_ID) int userId,
+            @RequestHeader(HEADER_ROOM_ID) String roomId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        log.info("뿌린 내역 요청, userId: {}, roomId: {}, cursor: {}, size: {}", userId, roomId, cursor, size);
+
+        //HTTP Header 값 확인 (X-USER-ID, X-ROOM-ID)
+        checkHeaderValue(userId, roomId);
+
+        //비즈니스 로직
+        HistoryPageDto<SentSpreadHistoryDto> historyPageDto = historyService.findSentHistory(userId, cursor, size);
+
+        log.info("뿌린 내역 응답, userId: {}, roomId: {}, count: {}, nextCursor: {}",
+                userId, roomId, historyPageDto.getItems().size(), historyPageDto.getNextCursor());
+        //응답
+        return ResponseEntity.ok(new SuccessResult(SUCCESS_MSG, historyPageDto));
+    }
+
+    /**
+     * 받은 내역 API
+     * 요청 사용자가 받은 금액을 최근 순으로 조회 (조회 만료로 보관된 뿌리기에서 받은 금액 포함)
+     * @param userId Header) 조회 요청 사용자 ID
+     * @param roomId Header) 조회 요청 대화방 ID
+     * @param cursor Param) 이전 페이지 응답의 nextCursor 값 (선택), 없으면 첫 페이지
+     * @param size Param) 페이지 크기 (선택, 기본 20)
+     * @return 받은 내역 리스트, 다음 페이지 cursor 값 (마지막 페이지면 null)
+     */
+    @GetMapping("/api/history/received")
+    public ResponseEntity<Result> receivedHistoryRequest(
+            @RequestHeader(HEADER_USER_ID) int userId,
+            @RequestHeader(HEADER_ROOM_ID) String roomId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        log.info("받은 내역 요청, userId: {}, roomId: {}, cursor: {}, size: {}", userId, roomId, cursor, size);
+
+        //HTTP Header 값 확인 (X-USER-ID, X-ROOM-ID)
+        checkHeaderValue(userId, roomId);
+
+        //비즈니스 로직
+        HistoryPageDto<ReceivedMoneyHistoryDto> historyPageDto = historyService.findReceivedHistory(userId, cursor, size);
+
+        log.info("받은 내역 응답, userId: {}, roomId: {}, count: {}, nextCursor: {}",
+                userId, roomId, historyPageDto.getItems().size(), historyPageDto.getNextCursor());
+        //응답
+        return ResponseEntity.ok(new SuccessResult(SUCCESS_MSG, historyPageDto));
+    }
+}
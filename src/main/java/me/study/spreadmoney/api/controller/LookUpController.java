@@ -10,13 +10,25 @@ import me.study.spreadmoney.api.dto.LookUpSpreadInfoDto;
 import me.study.spreadmoney.api.dto.ReceiveInfoDto;
 import me.study.spreadmoney.api.response.Result;
 import me.study.spreadmoney.api.response.SuccessResult;
+import me.study.spreadmoney.service.ArchivedLookUpService;
 import me.study.spreadmoney.service.LookUpService;
+import me.study.spreadmoney.service.ReceiveNotificationService;
+import me.study.spreadmoney.service.SpreadVersionRegistry;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -29,8 +41,15 @@ import static me.study.spreadmoney.api.ControllerHelper.*;
 @RestController
 @RequiredArgsConstructor
 public class LookUpController {
-    private final LookUpService lookUpService;
+    //사용자별 응답이므로 공유 캐시 금지, 재사용 전 항상 ETag 재검증
+    private static final CacheControl LOOK_UP_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+    //보관 조회는 바뀌지 않지만 가장 최근 뿌리기(spreadDateTime 미지정)는 token 재사용으로 바뀔 수 있으므로 짧게 보관
+    private static final CacheControl ARCHIVED_LOOK_UP_CACHE_CONTROL = CacheControl.maxAge(Duration.ofMinutes(1)).cachePrivate();
 
+    private final LookUpService lookUpService;
+    private final ArchivedLookUpService archivedLookUpService;
+    private final SpreadVersionRegistry spreadVersionRegistry;
+    private final ReceiveNotificationService receiveNotificationService;
 
     /**
      * 조회 API
@@ -62,6 +81,116 @@ public class LookUpController {
         return ResponseEntity.ok(new SuccessResult(SUCCESS_MSG, lookUpRespData));
     }
 
+    /**
+     * 조회 API (조건부 요청)
+     * token(경로값)에 해당하는 뿌리기 건의 현재 상태를 조회, 응답에 뿌리기 상태 버전(ETag)을 포함
+     * If-None-Match 값이 현재 버전과 같다면 DB 조회 없이 304 (Not Modified) 응답
+     * @param userId Header) 조회 요청 사용자 ID
+     * @param roomId Header) 조회 요청 대화방 ID
+     * @param ifNoneMatch Header) 이전 조회 응답의 ETag 값 (선택)
+     * @param token Path) 조회하려는 뿌리기 token 값
+     * @return 뿌린 시각, 뿌린 금액, 받기 완료된 금액, 받기 완료된 정보 ([받은 금액], [받은 사용자 아이디] 리스트)
+     */
+    @GetMapping("/api/lookup/{token}")
+    public ResponseEntity<Result> conditionalLookUpRequest(
+            @RequestHeader(HEADER_USER_ID) int userId,
+            @RequestHeader(HEADER_ROOM_ID) String roomId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @PathVariable String token
+    ) {
+        log.info("조회 요청, userId: {}, roomId: {}, token: {}, If-None-Match: {}", userId, roomId, token, ifNoneMatch);
+
+        //HTTP Header 값 확인 (X-USER-ID, X-ROOM-ID), token 값 확인
+        checkHeaderValue(userId, roomId);
+        checkTokenValue(token);
+
+        //변경 없음 응답 (DB 조회 없음, 200 응답과 같은 캐시 헤더)
+        String notModifiedVersion = spreadVersionRegistry.findNotModifiedVersion(token, userId, ifNoneMatch);
+        if (notModifiedVersion != null) {
+            log.info("조회 응답, userId: {}, roomId: {}, 변경 없음: {}", userId, roomId, notModifiedVersion);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(notModifiedVersion)
+                    .cacheControl(LOOK_UP_CACHE_CONTROL)
+                    .varyBy(HEADER_USER_ID)
+                    .build();
+        }
+
+        //비즈니스 로직
+        LookUpSpreadInfoDto lookUpSpreadInfoDto = lookUpService.lookUpSpreadInfo(userId, token);
+
+        //응답 값 생성 및 설정
+        LookUpRespData lookUpRespData = new LookUpRespData(lookUpSpreadInfoDto);
+
+        log.info("조회 응답, userId: {}, roomId: {}, body: {}", userId, roomId, lookUpRespData.toString());
+        //응답
+        return ResponseEntity.ok()
+                .eTag(lookUpSpreadInfoDto.getVersion())
+                .cacheControl(LOOK_UP_CACHE_CONTROL)
+                .varyBy(HEADER_USER_ID)
+                .body(new SuccessResult(SUCCESS_MSG, lookUpRespData));
+    }
+
+    /**
+     * 보관 조회 API
+     * 조회 만료로 이관된 token(경로값)의 뿌리기 건을 뿌린 사람이 조회, 응답 형식은 조회 API 와 같음
+     * token 은 이관 후 재사용되므로 spreadDateTime 으로 구분, 지정하지 않으면 가장 최근 뿌리기
+     * @param userId Header) 조회 요청 사용자 ID
+     * @param roomId Header) 조회 요청 대화방 ID
+     * @param token Path) 조회하려는 뿌리기 token 값
+     * @param spreadDateTime Param) 뿌린 시각 (선택, ISO 형식 예: 2024-01-01T12:00:00)
+     * @return 뿌린 시각, 뿌린 금액, 받기 완료된 금액, 받기 완료된 정보 ([받은 금액], [받은 사용자 아이디] 리스트)
+     */
+    @GetMapping("/api/lookup/archive/{token}")
+    public ResponseEntity<Result> archivedLookUpRequest(
+            @RequestHeader(HEADER_USER_ID) int userId,
+            @RequestHeader(HEADER_ROOM_ID) String roomId,
+            @PathVariable String token,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime spreadDateTime
+    ) {
+        log.info("보관 조회 요청, userId: {}, roomId: {}, token: {}, spreadDateTime: {}", userId, roomId, token, spreadDateTime);
+
+        //HTTP Header 값 확인 (X-USER-ID, X-ROOM-ID), token 값 확인
+        checkHeaderValue(userId, roomId);
+        checkTokenValue(token);
+
+        //비즈니스 로직
+        LookUpSpreadInfoDto lookUpSpreadInfoDto = archivedLookUpService.lookUpArchivedSpreadInfo(userId, token, spreadDateTime);
+
+        //응답 값 생성 및 설정
+        LookUpRespData lookUpRespData = new LookUpRespData(lookUpSpreadInfoDto);
+
+        log.info("보관 조회 응답, userId: {}, roomId: {}, body: {}", userId, roomId, lookUpRespData.toString());
+        //응답 (보관된 뿌리기는 바뀌지 않음)
+        return ResponseEntity.ok()
+                .cacheControl(ARCHIVED_LOOK_UP_CACHE_CONTROL)
+                .body(new SuccessResult(SUCCESS_MSG, lookUpRespData));
+    }
+
+    /**
+     * 받기 알림 구독 API (Server-Sent Events)
+     * 조회 polling 대신 token(경로값)에 해당하는 뿌리기 건의 받기 발생을 전달 받음
+     * 알림 종류: snapshot (구독 시점 현재 상태), receive (받은 금액, 받은 사용자 아이디, 남은 인원), done/expired (마지막 알림)
+     * @param userId Header) 구독 요청 사용자 ID
+     * @param roomId Header) 구독 요청 대화방 ID
+     * @param token Path) 구독하려는 뿌리기 token 값
+     * @return 알림 전송 객체
+     */
+    @GetMapping(value = "/api/lookup/{token}/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeRequest(
+            @RequestHeader(HEADER_USER_ID) int userId,
+            @RequestHeader(HEADER_ROOM_ID) String roomId,
+            @PathVariable String token
+    ) {
+        log.info("받기 알림 구독 요청, userId: {}, roomId: {}, token: {}", userId, roomId, token);
+
+        //HTTP Header 값 확인 (X-USER-ID, X-ROOM-ID), token 값 확인
+        checkHeaderValue(userId, roomId);
+        checkTokenValue(token);
+
+        //비즈니스 로직
+        return receiveNotificationService.subscribe(userId, token);
+    }
+
     /**
      * 조회 요청 객체
      */
@@ -6,14 +6,26 @@ import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import me.study.spreadmoney.api.response.FailResult;
 import me.study.spreadmoney.api.response.Result;
+import me.study.spreadmoney.api.response.ResultCode;
 import me.study.spreadmoney.api.response.SuccessResult;
-import me.study.spreadmoney.service.ReceiveService;
+import me.study.spreadmoney.service.IdempotencyService;
+import me.study.spreadmoney.service.ReceiveGroupCommitService;
+import me.study.spreadmoney.service.ReceiveQueueService;
+import me.study.spreadmoney.service.ReceiveTicket;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.net.URI;
 
 import static me.study.spreadmoney.api.ControllerHelper.*;
 
@@ -24,20 +36,25 @@ import static me.study.spreadmoney.api.ControllerHelper.*;
 @RestController
 @RequiredArgsConstructor
 public class ReceiveController {
-    private final ReceiveService receiveService;
+    private final ReceiveGroupCommitService receiveGroupCommitService;
+    private final IdempotencyService idempotencyService;
+    private final ReceiveQueueService receiveQueueService;
 
     /**
      * 받기 API
      * token(요청값)에 해당하는 뿌리기 건 중 할당되지 않은 분배건 하나를 사용자에게 할당
+     * 비동기 받기 대화방이면 token 대기열에 넣고 접수증으로 응답 (202), 결과는 접수증 조회 API 로 확인
      * @param userId Header) 받기 요청 사용자 ID
      * @param roomId Header) 받기 요청 대화방 ID
+     * @param idempotencyKey Header) 재시도 구분 key (선택), 같은 key 로 재시도하면 다시 받지 않고 처음 받은 금액 응답
      * @param receiveReq Body) 받기 요청값 객체 (String Token - 뿌리기 토큰)
-     * @return 받은 금액 값
+     * @return 받은 금액 값 (비동기 받기: 접수증 아이디, 대기 순번)
      */
     @PostMapping("/api/receive")
     public ResponseEntity<Result> receiveRequest(
             @RequestHeader(HEADER_USER_ID) int userId,
             @RequestHeader(HEADER_ROOM_ID) String roomId,
+            @RequestHeader(value = HEADER_IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             @RequestBody @Valid ReceiveReq receiveReq
     ) {
         log.info("받기 요청, userId: {}, roomId: {}, body: {}", userId, roomId, receiveReq.toString());
@@ -45,8 +62,22 @@ public class ReceiveController {
         //HTTP Header 값 확인 (X-USER-ID, X-ROOM-ID)
         checkHeaderValue(userId, roomId);
 
+        //비동기 받기 대화방: 대기열에 넣고 접수증 응답
+        if (receiveQueueService.isAsync(roomId)) {
+            ReceiveTicket ticket = receiveQueueService.enqueue(userId, roomId, receiveReq.token, idempotencyKey);
+            ReceiveTicketRespData ticketRespData = new ReceiveTicketRespData(ticket);
+            log.info("받기 접수 응답, userId: {}, roomId: {}, body: {}", userId, roomId, ticketRespData.toString());
+            SuccessResult result = new SuccessResult(ResultCode.RECEIVE_ACCEPTED, ticketRespData);
+            result.setHttpStatus(HttpStatus.ACCEPTED);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/receive/ticket/" + ticket.getId()))
+                    .body(result);
+        }
+
         //비즈니스 로직
-        int receivedMoney = receiveService.receiveMoney(userId, roomId, receiveReq.token);
+        int receivedMoney = Integer.parseInt(idempotencyService.execute(
+                IdempotencyService.RECEIVE, userId, roomId, idempotencyKey, roomId + ":" + receiveReq.token,
+                () -> String.valueOf(receiveGroupCommitService.receiveMoney(userId, roomId, receiveReq.token))));
 
         //응답 값 생성 및 설정
         ReceiveRespData receiveRespData = new ReceiveRespData();
@@ -57,6 +88,56 @@ public class ReceiveController {
         return ResponseEntity.ok(new SuccessResult(SUCCESS_MSG, receiveRespData));
     }
 
+    /**
+     * 받기 접수증 조회 API (비동기 받기)
+     * 처리 전이면 대기 순번과 함께 202, 받기 완료면 받은 금액과 함께 200, 받기 실패면 실패 사유와 함께 400 응답
+     * waitMillis 를 지정하면 처리가 끝나거나 대기 시간이 지날 때까지 기다린 후 응답 (long polling, 최대 max-wait-millis)
+     * @param userId Header) 받기 요청 사용자 ID
+     * @param roomId Header) 받기 요청 대화방 ID
+     * @param ticketId Path) 접수증 아이디
+     * @param waitMillis Param) 결과를 기다리는 시간 (선택, 기본 0)
+     * @return 처리 상태, 대기 순번, 받은 금액
+     */
+    @GetMapping("/api/receive/ticket/{ticketId}")
+    public DeferredResult<ResponseEntity<Result>> receiveTicketRequest(
+            @RequestHeader(HEADER_USER_ID) int userId,
+            @RequestHeader(HEADER_ROOM_ID) String roomId,
+            @PathVariable String ticketId,
+            @RequestParam(defaultValue = "0") long waitMillis
+    ) {
+        log.info("받기 접수증 조회 요청, userId: {}, roomId: {}, ticket: {}, waitMillis: {}", userId, roomId, ticketId, waitMillis);
+
+        //HTTP Header 값 확인 (X-USER-ID, X-ROOM-ID)
+        checkHeaderValue(userId, roomId);
+
+        //비즈니스 로직
+        ReceiveTicket ticket = receiveQueueService.findTicket(userId, ticketId);
+
+        //응답 (처리 전이면 처리 완료 또는 대기 시간까지 기다림)
+        long timeout = receiveQueueService.waitMillis(waitMillis);
+        DeferredResult<ResponseEntity<Result>> deferredResult = new DeferredResult<>(timeout,
+                () -> ticketResponse(userId, roomId, ticket));
+        if (timeout == 0 || ticket.getStatus() != ReceiveTicket.Status.QUEUED)
+            deferredResult.setResult(ticketResponse(userId, roomId, ticket));
+        else
+            ticket.getCompletion().thenAccept(completed -> deferredResult.setResult(ticketResponse(userId, roomId, completed)));
+        return deferredResult;
+    }
+
+    private ResponseEntity<Result> ticketResponse(int userId, String roomId, ReceiveTicket ticket) {
+        ReceiveTicketRespData ticketRespData = new ReceiveTicketRespData(ticket);
+        log.info("받기 접수증 조회 응답, userId: {}, roomId: {}, body: {}", userId, roomId, ticketRespData.toString());
+        return switch (ticket.getStatus()) {
+            case QUEUED -> {
+                SuccessResult result = new SuccessResult(ResultCode.RECEIVE_QUEUED, ticketRespData);
+                result.setHttpStatus(HttpStatus.ACCEPTED);
+                yield ResponseEntity.accepted().body(result);
+            }
+            case RECEIVED -> ResponseEntity.ok(new SuccessResult(SUCCESS_MSG, ticketRespData));
+            case FAILED -> ResponseEntity.badRequest().body(new FailResult(ticket.getReason(), ticket.getMessage()));
+        };
+    }
+
     /**
      * 받기 요청 객체
      */
@@ -81,4 +162,32 @@ public class ReceiveController {
                     '}';
         }
     }
+
+    /**
+     * 받기 접수증 응답 객체
+     */
+    @Data
+    static class ReceiveTicketRespData {
+        private String ticket; //접수증 아이디
+        private ReceiveTicket.Status status; //처리 상태
+        private long position; //대기 순번 (처리 후 0)
+        private int receivedMoney; //받은 금액 (RECEIVED)
+
+        ReceiveTicketRespData(ReceiveTicket receiveTicket) {
+            this.ticket = receiveTicket.getId();
+            this.status = receiveTicket.getStatus();
+            this.position = receiveTicket.getPosition();
+            this.receivedMoney = receiveTicket.getReceivedMoney();
+        }
+
+        @Override
+        public String toString() {
+            return "{" +
+                    "ticket=" + ticket +
+                    ", status=" + status +
+                    ", position=" + position +
+                    ", receivedMoney=" + receivedMoney +
+                    '}';
+        }
+    }
 }
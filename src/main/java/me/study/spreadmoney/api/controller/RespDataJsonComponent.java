@@ -0,0 +1,99 @@
+package me.study.spreadmoney.api.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import me.study.spreadmoney.api.controller.LookUpController.LookUpRespData;
+import me.study.spreadmoney.api.controller.ReceiveController.ReceiveRespData;
+import me.study.spreadmoney.api.controller.ReceiveController.ReceiveTicketRespData;
+import me.study.spreadmoney.api.controller.SpreadController.SpreadRespData;
+import me.study.spreadmoney.api.dto.ReceiveInfoDto;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/**
+ * 뿌리기, 받기, 조회 API 응답 객체 직렬화 (요청이 가장 많은 응답)
+ * 범용 직렬화(reflection) 대신 필드를 직접 씀, 출력은 범용 직렬화와 같음
+ * 필드 이름은 UTF-8 로 미리 인코딩해 두고 그대로 씀 (SerializedString), 숫자와 token 은 바로 씀
+ */
+@JsonComponent
+public class RespDataJsonComponent {
+    private static final SerializedString TOKEN = new SerializedString("token");
+    private static final SerializedString RECEIVED_MONEY = new SerializedString("receivedMoney");
+    private static final SerializedString RECEIVED_USER_ID = new SerializedString("receivedUserId");
+    private static final SerializedString TICKET = new SerializedString("ticket");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString POSITION = new SerializedString("position");
+    private static final SerializedString SPREAD_DATE_TIME = new SerializedString("spreadDateTime");
+    private static final SerializedString TOTAL_MONEY = new SerializedString("totalMoney");
+    private static final SerializedString TOTAL_RECEIVED_MONEY = new SerializedString("totalReceivedMoney");
+    private static final SerializedString RECEIVE_DETAIL_INFO = new SerializedString("receiveDetailInfo");
+
+    public static class SpreadRespDataSerializer extends JsonSerializer<SpreadRespData> {
+        @Override
+        public void serialize(SpreadRespData value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeStartObject();
+            gen.writeFieldName(TOKEN);
+            gen.writeString(value.getToken());
+            gen.writeEndObject();
+        }
+    }
+
+    public static class ReceiveRespDataSerializer extends JsonSerializer<ReceiveRespData> {
+        @Override
+        public void serialize(ReceiveRespData value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeStartObject();
+            gen.writeFieldName(RECEIVED_MONEY);
+            gen.writeNumber(value.getReceivedMoney());
+            gen.writeEndObject();
+        }
+    }
+
+    public static class ReceiveTicketRespDataSerializer extends JsonSerializer<ReceiveTicketRespData> {
+        @Override
+        public void serialize(ReceiveTicketRespData value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeStartObject();
+            gen.writeFieldName(TICKET);
+            gen.writeString(value.getTicket());
+            gen.writeFieldName(STATUS);
+            gen.writeString(value.getStatus() == null ? null : value.getStatus().name());
+            gen.writeFieldName(POSITION);
+            gen.writeNumber(value.getPosition());
+            gen.writeFieldName(RECEIVED_MONEY);
+            gen.writeNumber(value.getReceivedMoney());
+            gen.writeEndObject();
+        }
+    }
+
+    public static class LookUpRespDataSerializer extends JsonSerializer<LookUpRespData> {
+        @Override
+        public void serialize(LookUpRespData value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeStartObject();
+            //날짜 형식은 spring.jackson 설정을 따름
+            gen.writeFieldName(SPREAD_DATE_TIME);
+            serializers.defaultSerializeValue(value.getSpreadDateTime(), gen);
+            gen.writeFieldName(TOTAL_MONEY);
+            gen.writeNumber(value.getTotalMoney());
+            gen.writeFieldName(TOTAL_RECEIVED_MONEY);
+            gen.writeNumber(value.getTotalReceivedMoney());
+            gen.writeFieldName(RECEIVE_DETAIL_INFO);
+            if (value.getReceiveDetailInfo() == null) {
+                gen.writeNull();
+            } else {
+                gen.writeStartArray();
+                for (ReceiveInfoDto receiveInfoDto : value.getReceiveDetailInfo()) {
+                    gen.writeStartObject();
+                    gen.writeFieldName(RECEIVED_MONEY);
+                    gen.writeNumber(receiveInfoDto.getReceivedMoney());
+                    gen.writeFieldName(RECEIVED_USER_ID);
+                    gen.writeNumber(receiveInfoDto.getReceivedUserId());
+                    gen.writeEndObject();
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package me.study.spreadmoney.api.controller;
+
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.study.spreadmoney.api.dto.RoomFeedSpreadDto;
+import me.study.spreadmoney.api.response.Result;
+import me.study.spreadmoney.api.response.SuccessResult;
+import me.study.spreadmoney.service.RoomFeedService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+import static me.study.spreadmoney.api.ControllerHelper.*;
+
+/**
+ * 대화방 피드 API Controller
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class RoomFeedController {
+
+    private final RoomFeedService roomFeedService;
+
+    /**
+     * 대화방 피드 API
+     * 요청 대화방의 받을 수 있는 뿌리기 목록 조회 (token 을 몰라도 받기 가능한 뿌리기 확인)
+     * @param userId Header) 조회 요청 사용자 ID
+     * @param roomId Header) 조회 요청 대화방 ID
+     * @return 받을 수 있는 뿌리기 리스트 (token, 뿌린 금액, 뿌린 인원, 남은 인원, 받기 만료 시각)
+     */
+    @GetMapping("/api/feed")
+    public ResponseEntity<Result> roomFeedRequest(
+            @RequestHeader(HEADER_USER_ID) int userId,
+            @RequestHeader(HEADER_ROOM_ID) String roomId
+    ) {
+        log.info("대화방 피드 요청, userId: {}, roomId: {}", userId, roomId);
+
+        //HTTP Header 값 확인 (X-USER-ID, X-ROOM-ID)
+        checkHeaderValue(userId, roomId);
+
+        //비즈니스 로직
+        List<RoomFeedSpreadDto> spreads = roomFeedService.findReceivableSpreads(roomId);
+
+        //응답 값 생성 및 설정
+        RoomFeedRespData roomFeedRespData = new RoomFeedRespData(spreads);
+
+        log.info("대화방 피드 응답, userId: {}, roomId: {}, count: {}", userId, roomId, spreads.size());
+        //응답
+        return ResponseEntity.ok(new SuccessResult(SUCCESS_MSG, roomFeedRespData));
+    }
+
+    /**
+     * 대화방 피드 응답 객체
+     */
+    @Data
+    static class RoomFeedRespData {
+        private List<RoomFeedSpreadDto> spreads; //받을 수 있는 뿌리기 리스트
+
+        public RoomFeedRespData(List<RoomFeedSpreadDto> spreads) {
+            this.spreads = spreads;
+        }
+    }
+}
@@ -9,6 +9,8 @@ import lombok.extern.slf4j.Slf4j;
 import me.study.spreadmoney.api.response.Result;
 import me.study.spreadmoney.api.response.SuccessResult;
 import me.study.spreadmoney.exception.PredictableRuntimeException;
+import me.study.spreadmoney.exception.RejectReason;
+import me.study.spreadmoney.service.IdempotencyService;
 import me.study.spreadmoney.service.SpreadService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -27,12 +29,14 @@ import static me.study.spreadmoney.api.ControllerHelper.*;
 @RequiredArgsConstructor
 public class SpreadController {
     private final SpreadService spreadService;
+    private final IdempotencyService idempotencyService;
 
     /**
      * 뿌리기 API
      * 뿌릴 금액, 뿌릴 인원 (요청값)에 맞게 뿌리기 생성 및 고유 token 발급
      * @param userId Header) 뿌리기 요청 사용자 ID
      * @param roomId Header) 뿌리기 요청 대화방 ID
+     * @param idempotencyKey Header) 재시도 구분 key (선택), 같은 key 로 재시도하면 다시 뿌리지 않고 처음 발급된 token 응답
      * @param spreadReq Body) 뿌리기 요청값 객체 (int totalMoney - 뿌릴 금액, int totalPeopleNum - 뿌릴 인원)
      * @return 생성된 뿌리기 token 값
      */
@@ -40,6 +44,7 @@ public class SpreadController {
     public ResponseEntity<Result> spreadRequest(
             @RequestHeader(HEADER_USER_ID) int userId,
             @RequestHeader(HEADER_ROOM_ID) String roomId,
+            @RequestHeader(value = HEADER_IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             @RequestBody @Valid SpreadReq spreadReq
     ) {
         log.info("뿌리기 요청, userId: {}, roomId: {}, body: {}", userId, roomId, spreadReq.toString());
@@ -53,7 +58,9 @@ public class SpreadController {
         isValidAmountAndPeopleNum(totalAmountOfMoney, totalPeopleNum);
 
         //비즈니스 로직
-        String token = spreadService.spreadMoney(userId, roomId, totalAmountOfMoney, totalPeopleNum);
+        String token = idempotencyService.execute(IdempotencyService.SPREAD, userId, roomId, idempotencyKey,
+                roomId + ":" + totalAmountOfMoney + ":" + totalPeopleNum,
+                () -> spreadService.spreadMoney(userId, roomId, totalAmountOfMoney, totalPeopleNum));
 
         //응답 값 생성 및 설정
         SpreadRespData spreadRespData = new SpreadRespData();
@@ -71,9 +78,8 @@ public class SpreadController {
      */
     private void isValidAmountAndPeopleNum(int totalMoney, int totalPeopleNum) {
         if (totalPeopleNum > totalMoney)
-            throw new PredictableRuntimeException(format(
-                    "뿌릴 금액이 뿌릴 인원보다 같거나 커야합니다. 뿌릴 금액: %d, 뿌릴 인원: %d",
-                    totalMoney, totalPeopleNum));
+            throw PredictableRuntimeException.of(RejectReason.MONEY_LESS_THAN_PEOPLE,
+                    format("뿌릴 금액: %d, 뿌릴 인원: %d", totalMoney, totalPeopleNum));
     }
 
     /**
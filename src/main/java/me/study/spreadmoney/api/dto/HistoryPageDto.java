@@ -0,0 +1,19 @@
+package me.study.spreadmoney.api.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 내역 한 페이지 DTO
+ */
+@Data
+public class HistoryPageDto<T> {
+    private List<T> items; //내역 (최근 순)
+    private String nextCursor; //다음 페이지 요청 cursor 값, 마지막 페이지면 null
+
+    public HistoryPageDto(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+}
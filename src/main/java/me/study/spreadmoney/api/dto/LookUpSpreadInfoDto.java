@@ -14,6 +14,7 @@ public class LookUpSpreadInfoDto {
     private int totalMoney; //뿌린 금액
     private int totalReceivedMoney; //받기 완료된 금액
     private List<ReceiveInfoDto> receiveInfoDtoList; //받기 완료된 정보([받은 금액],[받은 사용자 아이디] 리스트)
+    private String version; //조회 시점의 뿌리기 상태 버전 (ETag)
 
     public LookUpSpreadInfoDto(LocalDateTime spreadDateTime, int totalMoney, int totalReceivedMoney, List<ReceiveInfoDto> receiveInfoDtoList) {
         this.spreadDateTime = spreadDateTime;
@@ -0,0 +1,28 @@
+package me.study.spreadmoney.api.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 받은 내역 DTO (보관 전/후 받기)
+ */
+@Data
+public class ReceivedMoneyHistoryDto {
+    private String token; //받은 뿌리기 token (보관된 뿌리기의 token 은 재사용될 수 있음)
+    private int spreadUserId; //뿌린 사용자 아이디
+    private String roomId; //뿌린 대화방 아이디
+    private int receivedMoney; //받은 금액
+    private LocalDateTime receivedDateTime; //받은 시각
+    private boolean archived; //보관된(조회 만료로 이관된) 뿌리기의 받기 여부
+
+    public ReceivedMoneyHistoryDto(String token, int spreadUserId, String roomId, int receivedMoney,
+                                   LocalDateTime receivedDateTime, boolean archived) {
+        this.token = token;
+        this.spreadUserId = spreadUserId;
+        this.roomId = roomId;
+        this.receivedMoney = receivedMoney;
+        this.receivedDateTime = receivedDateTime;
+        this.archived = archived;
+    }
+}
@@ -0,0 +1,25 @@
+package me.study.spreadmoney.api.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 대화방 피드의 받을 수 있는 뿌리기 DTO
+ */
+@Data
+public class RoomFeedSpreadDto {
+    private String token; //뿌리기 token
+    private int totalMoney; //뿌린 금액
+    private int totalPeopleNum; //뿌린 인원
+    private int remainPeopleNum; //남은 인원
+    private LocalDateTime receivableExpireDateTime; //받기 만료 시각
+
+    public RoomFeedSpreadDto(String token, int totalMoney, int totalPeopleNum, int remainPeopleNum, LocalDateTime receivableExpireDateTime) {
+        this.token = token;
+        this.totalMoney = totalMoney;
+        this.totalPeopleNum = totalPeopleNum;
+        this.remainPeopleNum = remainPeopleNum;
+        this.receivableExpireDateTime = receivableExpireDateTime;
+    }
+}
@@ -0,0 +1,32 @@
+package me.study.spreadmoney.api.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 뿌린 내역 DTO (보관 전/후 뿌리기)
+ */
+@Data
+public class SentSpreadHistoryDto {
+    private String token; //뿌리기 token (보관된 뿌리기의 token 은 재사용될 수 있음)
+    private String roomId; //뿌린 대화방 아이디
+    private LocalDateTime spreadDateTime; //뿌린 시각
+    private int totalMoney; //뿌린 금액
+    private int totalPeopleNum; //뿌린 인원
+    private int totalReceivedMoney; //받기 완료된 금액
+    private int receivedPeopleNum; //받기 완료된 인원
+    private boolean archived; //보관된(조회 만료로 이관된) 뿌리기 여부, 보관 조회 API 로 상세 조회
+
+    public SentSpreadHistoryDto(String token, String roomId, LocalDateTime spreadDateTime, int totalMoney, int totalPeopleNum,
+                                int totalReceivedMoney, int receivedPeopleNum, boolean archived) {
+        this.token = token;
+        this.roomId = roomId;
+        this.spreadDateTime = spreadDateTime;
+        this.totalMoney = totalMoney;
+        this.totalPeopleNum = totalPeopleNum;
+        this.totalReceivedMoney = totalReceivedMoney;
+        this.receivedPeopleNum = receivedPeopleNum;
+        this.archived = archived;
+    }
+}
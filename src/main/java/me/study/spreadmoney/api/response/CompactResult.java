@@ -0,0 +1,47 @@
+package me.study.spreadmoney.api.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import me.study.spreadmoney.exception.RejectReason;
+
+/**
+ * 바이너리(CBOR) 응답 객체, 메시지 대신 결과 코드 (상태는 HTTP 상태 코드로 전달)
+ * 코드가 없는 실패/오류, 거절 사유에 값이 덧붙은 실패만 메시지 포함
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CompactResult implements Result {
+    private int code; //결과 코드 (ResultCode, 거절 사유 RejectReason)
+    private String message; //코드가 없는 실패, 오류 메시지
+    private Object data; //응답 데이터 (성공)
+
+    public CompactResult(int code, String message, Object data) {
+        this.code = code;
+        this.message = message;
+        this.data = data;
+    }
+
+    /**
+     * 응답 객체를 결과 코드 응답 객체로 변환
+     * @param result 성공, 실패, 오류 응답 객체
+     * @return 결과 코드 응답 객체
+     */
+    public static CompactResult of(Result result) {
+        if (result instanceof SuccessResult successResult)
+            return new CompactResult(successResult.getResultCode().getCode(), null, successResult.getData());
+        if (result instanceof FailResult failResult)
+            return of(failResult);
+        if (result instanceof ErrorResult errorResult)
+            return new CompactResult(ResultCode.ERROR.getCode(), errorResult.getMessage(), null);
+        throw new IllegalArgumentException("지원하지 않는 응답 객체입니다. " + result.getClass().getSimpleName());
+    }
+
+    private static CompactResult of(FailResult failResult) {
+        RejectReason reason = failResult.getReason();
+        if (reason == null)
+            return new CompactResult(ResultCode.BAD_REQUEST.getCode(), failResult.getMessage(), null);
+        //고정 메시지가 아니라면 (만료 일시 등 덧붙인 값) 메시지 포함
+        String message = reason.getMessage().equals(failResult.getMessage()) ? null : failResult.getMessage();
+        return new CompactResult(reason.getCode(), message, null);
+    }
+}
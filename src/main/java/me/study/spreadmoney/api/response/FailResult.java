@@ -1,17 +1,31 @@
 package me.study.spreadmoney.api.response;
 
-import lombok.Data;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import me.study.spreadmoney.exception.RejectReason;
 import org.springframework.http.HttpStatus;
 
 /**
- * 실패 응답 객체
+ * 실패 응답 객체, 변경 불가 (거절 사유별 응답은 미리 만들어 공유)
  */
-@Data
+@Getter
+@ToString
+@EqualsAndHashCode
 public class FailResult implements Result{
-    private HttpStatus httpStatus = HttpStatus.BAD_REQUEST;
-    private String message;
+    private final HttpStatus httpStatus = HttpStatus.BAD_REQUEST;
+    private final String message;
+    @JsonIgnore
+    private final RejectReason reason; //거절 사유, 바이너리(CBOR) 응답의 결과 코드 (거절 사유 없는 실패는 null)
 
     public FailResult(String message) {
         this.message = message;
+        this.reason = null;
+    }
+
+    public FailResult(RejectReason reason, String message) {
+        this.reason = reason;
+        this.message = message;
     }
 }
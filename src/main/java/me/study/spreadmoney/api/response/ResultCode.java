@@ -0,0 +1,36 @@
+package me.study.spreadmoney.api.response;
+
+import static me.study.spreadmoney.api.ControllerHelper.SUCCESS_MSG;
+
+/**
+ * 응답 결과 코드, 바이너리(CBOR) 응답에서 메시지 대신 사용
+ * 성공 결과 코드는 성공 응답 객체(SuccessResult)가 가지고 있음 (메시지로 찾지 않음)
+ * 거절 실패의 결과 코드는 거절 사유(RejectReason)의 코드
+ * 거절 사유가 없는 실패 메시지는 BAD_REQUEST(오류는 ERROR)와 함께 메시지를 그대로 응답
+ */
+public enum ResultCode {
+    //성공
+    SUCCESS(0, SUCCESS_MSG),
+    RECEIVE_ACCEPTED(1, "받기 요청이 접수되었습니다."),
+    RECEIVE_QUEUED(2, "받기 요청을 처리하고 있습니다."),
+
+    //코드가 없는 실패, 오류 (메시지 함께 응답)
+    BAD_REQUEST(4000, null),
+    ERROR(5000, null);
+
+    private final int code;
+    private final String message;
+
+    ResultCode(int code, String message) {
+        this.code = code;
+        this.message = message;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
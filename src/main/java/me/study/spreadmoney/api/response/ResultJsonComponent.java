@@ -0,0 +1,83 @@
+package me.study.spreadmoney.api.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import me.study.spreadmoney.exception.RejectReason;
+import org.springframework.boot.jackson.JsonComponent;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 응답 객체(SuccessResult, FailResult, ErrorResult) JSON 직렬화
+ * 범용 직렬화(reflection) 대신 필드를 직접 씀, 출력은 범용 직렬화와 같음
+ * 필드 이름, HTTP 상태, 고정 메시지(ResultCode, RejectReason)는 UTF-8 로 미리 인코딩해 두고 그대로 씀 (SerializedString)
+ */
+@JsonComponent
+public class ResultJsonComponent {
+    private static final SerializedString HTTP_STATUS = new SerializedString("httpStatus");
+    private static final SerializedString MESSAGE = new SerializedString("message");
+    private static final SerializedString DATA = new SerializedString("data");
+    private static final Map<HttpStatus, SerializedString> STATUS_NAMES = new EnumMap<>(HttpStatus.class);
+    private static final Map<String, SerializedString> MESSAGES = new HashMap<>();
+
+    static {
+        for (HttpStatus httpStatus : HttpStatus.values())
+            STATUS_NAMES.put(httpStatus, new SerializedString(httpStatus.name()));
+        for (ResultCode resultCode : ResultCode.values()) {
+            if (resultCode.getMessage() != null)
+                MESSAGES.put(resultCode.getMessage(), new SerializedString(resultCode.getMessage()));
+        }
+        for (RejectReason reason : RejectReason.values())
+            MESSAGES.put(reason.getMessage(), new SerializedString(reason.getMessage()));
+    }
+
+    /**
+     * 응답 객체 앞부분 (httpStatus, message) 쓰기
+     */
+    private static void writeStatusAndMessage(JsonGenerator gen, HttpStatus httpStatus, String message) throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName(HTTP_STATUS);
+        if (httpStatus == null)
+            gen.writeNull();
+        else
+            gen.writeString(STATUS_NAMES.get(httpStatus));
+        gen.writeFieldName(MESSAGE);
+        SerializedString cachedMessage = message == null ? null : MESSAGES.get(message);
+        if (cachedMessage != null)
+            gen.writeString(cachedMessage);
+        else
+            gen.writeString(message);
+    }
+
+    public static class SuccessResultSerializer extends JsonSerializer<SuccessResult> {
+        @Override
+        public void serialize(SuccessResult value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            writeStatusAndMessage(gen, value.getHttpStatus(), value.getMessage());
+            gen.writeFieldName(DATA);
+            serializers.defaultSerializeValue(value.getData(), gen);
+            gen.writeEndObject();
+        }
+    }
+
+    public static class FailResultSerializer extends JsonSerializer<FailResult> {
+        @Override
+        public void serialize(FailResult value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            writeStatusAndMessage(gen, value.getHttpStatus(), value.getMessage());
+            gen.writeEndObject();
+        }
+    }
+
+    public static class ErrorResultSerializer extends JsonSerializer<ErrorResult> {
+        @Override
+        public void serialize(ErrorResult value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            writeStatusAndMessage(gen, value.getHttpStatus(), value.getMessage());
+            gen.writeEndObject();
+        }
+    }
+}
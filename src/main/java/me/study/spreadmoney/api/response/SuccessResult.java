@@ -1,5 +1,6 @@
 package me.study.spreadmoney.api.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import org.springframework.http.HttpStatus;
 
@@ -11,9 +12,17 @@ public class SuccessResult implements Result{
     private HttpStatus httpStatus = HttpStatus.OK;
     private String message;
     private Object data;
+    @JsonIgnore
+    private ResultCode resultCode = ResultCode.SUCCESS; //바이너리(CBOR) 응답의 결과 코드
 
     public SuccessResult(String message, Object data) {
         this.message = message;
         this.data = data;
     }
+
+    public SuccessResult(ResultCode resultCode, Object data) {
+        this.message = resultCode.getMessage();
+        this.data = data;
+        this.resultCode = resultCode;
+    }
 }
@@ -0,0 +1,77 @@
+package me.study.spreadmoney.datasource;
+
+import me.study.spreadmoney.event.MoneyReceivedEvent;
+import me.study.spreadmoney.event.SpreadCreatedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * token 별 마지막 쓰기(뿌리기, 받기) 시각
+ * 최근에 쓴 token 은 복제 DB 에 반영되지 않았을 수 있으므로 원본 DB 에서 읽음 (read-your-writes)
+ * 1) 쓰기 시각은 커밋 후 기록 (커밋 전에 기록하면 원본 DB 에 반영되기 전부터 시간이 지나감)
+ * 2) 원본 DB 에서 읽는 시간 = 허용 지연 시간 + 지연 확인 주기
+ *    (복제 DB 지연은 확인 주기마다 확인하므로, 사용 가능으로 표시된 복제 DB 도 확인 주기만큼 더 늦을 수 있음)
+ * 이 서버 인스턴스에서 쓴 데이터만 알 수 있음
+ */
+@Component
+public class RecentWriteTracker {
+    private final ConcurrentHashMap<String, Long> lastWriteMillisByToken = new ConcurrentHashMap<>();
+
+    //config.yml 설정 값
+    @Value("${config.datasource.replica.enabled}")
+    private boolean replica_enabled; //복제 DB 사용 여부
+    @Value("${config.datasource.replica.max-lag-millis}")
+    private long max_lag_millis; //복제 DB 허용 지연 시간
+    @Value("${config.datasource.replica.lag-check-millis}")
+    private long lag_check_millis; //복제 DB 지연 시간 확인 주기
+
+    @TransactionalEventListener
+    public void onSpreadCreated(SpreadCreatedEvent event) {
+        markWritten(event.getToken());
+    }
+
+    @TransactionalEventListener
+    public void onMoneyReceived(MoneyReceivedEvent event) {
+        markWritten(event.getToken());
+    }
+
+    private void markWritten(String token) {
+        if (replica_enabled)
+            lastWriteMillisByToken.put(token, System.currentTimeMillis());
+    }
+
+    /**
+     * 원본 DB 에서 읽는 시간 (커밋 후), 복제 DB 허용 지연 시간 + 지연 확인 주기
+     * @return 원본 DB 에서 읽는 시간 (ms)
+     */
+    public long getWindowMillis() {
+        return max_lag_millis + lag_check_millis;
+    }
+
+    /**
+     * 원본 DB 에서 읽는 시간 안에 커밋된 token 인지 확인
+     * @param token 뿌리기 token
+     * @return 원본 DB 에서 읽어야 하는지 여부
+     */
+    public boolean isRecentlyWritten(String token) {
+        Long lastWriteMillis = lastWriteMillisByToken.get(token);
+        if (lastWriteMillis == null)
+            return false;
+        if (System.currentTimeMillis() - lastWriteMillis > getWindowMillis()) {
+            lastWriteMillisByToken.remove(token, lastWriteMillis);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 원본 DB 에서 읽는 시간이 지난 기록 삭제
+     */
+    public void evictExpired() {
+        long threshold = System.currentTimeMillis() - getWindowMillis();
+        lastWriteMillisByToken.values().removeIf(lastWriteMillis -> lastWriteMillis < threshold);
+    }
+}
@@ -0,0 +1,58 @@
+package me.study.spreadmoney.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 복제(replica) DB 사용 설정, 원본 DB 는 spring.datasource 설정 사용
+ * DataSource 빈은 하나만 등록 (원본, 복제 DB 는 ReplicaRouter 가 관리)
+ */
+@Configuration
+@ConditionalOnProperty(name = "config.datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    //config.yml 설정 값
+    @Value("${config.datasource.replica.urls}")
+    private String[] replica_urls; //복제 DB 접속 URL 목록
+    @Value("${config.datasource.replica.username}")
+    private String replica_username; //복제 DB 사용자
+    @Value("${config.datasource.replica.password}")
+    private String replica_password; //복제 DB 비밀번호
+    @Value("${config.datasource.replica.max-lag-millis}")
+    private long max_lag_millis; //복제 DB 허용 지연 시간
+    @Value("${config.datasource.replica.lag-check-millis}")
+    private long lag_check_millis; //복제 DB 지연 시간 확인 주기
+
+    @Bean
+    public ReplicaRouter replicaRouter(DataSourceProperties dataSourceProperties) {
+        DataSource primary = dataSourceProperties.initializeDataSourceBuilder().build();
+        List<DataSource> replicas = Arrays.stream(replica_urls)
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .map(url -> (DataSource) DataSourceBuilder.create()
+                        .driverClassName(dataSourceProperties.determineDriverClassName())
+                        .url(url)
+                        .username(replica_username)
+                        .password(replica_password)
+                        .build())
+                .toList();
+        //지연 확인을 두 번 연속 하지 못했다면 복제 DB 사용하지 않음
+        return new ReplicaRouter(primary, replicas, max_lag_millis, lag_check_millis * 2);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRouter replicaRouter) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(replicaRouter));
+    }
+}
@@ -0,0 +1,154 @@
+package me.study.spreadmoney.datasource;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 원본(primary) DB 와 복제(replica) DB 목록, 복제 DB 별 지연(lag) 상태
+ * 1) 원본 DB 에 주기적으로 heartbeat 시각을 기록하고, 복제 DB 에 반영된 heartbeat 시각으로 지연 시간 계산
+ * 2) 지연 시간이 허용 범위(max-lag-millis)를 넘거나 확인에 실패한 복제 DB 는 사용하지 않음
+ * 3) 마지막 확인이 오래된(max-measure-age) 복제 DB 는 지금 지연 상태를 알 수 없으므로 사용하지 않음 (지연 확인이 밀리거나 멈춘 경우)
+ * 4) 사용 가능한 복제 DB 가 없으면 원본 DB 사용
+ * 지연 시간은 확인 주기만큼 크게 계산될 수 있음 (직전 확인에서 기록한 heartbeat 기준)
+ */
+@Slf4j
+public class ReplicaRouter implements DisposableBean {
+    public static final String PRIMARY = "primary";
+    private static final int HEARTBEAT_ID = 1;
+
+    @Getter
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMillis;
+    private final long maxMeasureAgeMillis;
+    private final JdbcTemplate primaryJdbcTemplate;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    /**
+     * @param primary 원본 DB
+     * @param replicaDataSources 복제 DB 목록
+     * @param maxLagMillis 복제 DB 허용 지연 시간
+     * @param maxMeasureAgeMillis 지연 확인 결과 유효 시간, 지나면 다음 확인까지 복제 DB 사용하지 않음
+     */
+    public ReplicaRouter(DataSource primary, List<DataSource> replicaDataSources, long maxLagMillis, long maxMeasureAgeMillis) {
+        this.primary = primary;
+        this.maxLagMillis = maxLagMillis;
+        this.maxMeasureAgeMillis = maxMeasureAgeMillis;
+        this.primaryJdbcTemplate = new JdbcTemplate(primary);
+        List<Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaDataSources.size(); i++)
+            replicas.add(new Replica("replica-" + i, replicaDataSources.get(i)));
+        this.replicas = List.copyOf(replicas);
+    }
+
+    Map<Object, Object> targetDataSources() {
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(PRIMARY, primary);
+        replicas.forEach(r -> targetDataSources.put(r.getName(), r.getDataSource()));
+        return targetDataSources;
+    }
+
+    /**
+     * 사용 가능하고 지연 확인 결과가 오래되지 않은 복제 DB 를 돌아가며 선택
+     * @return 복제 DB 이름, 사용 가능한 복제 DB 가 없다면 원본 DB 이름
+     */
+    String selectReplica() {
+        int size = replicas.size();
+        if (size == 0)
+            return PRIMARY;
+        long now = System.currentTimeMillis();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.isAvailable() && now - replica.getMeasuredAtMillis() <= maxMeasureAgeMillis)
+                return replica.getName();
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * 원본 DB 에 heartbeat 기록 후 복제 DB 별 지연 시간 확인
+     */
+    public void checkLag() {
+        long now = System.currentTimeMillis();
+        try {
+            int updated = primaryJdbcTemplate.update(
+                    "update REPLICA_HEARTBEAT set beat_millis = ? where heartbeat_id = ?", now, HEARTBEAT_ID);
+            if (updated == 0)
+                primaryJdbcTemplate.update(
+                        "insert into REPLICA_HEARTBEAT (heartbeat_id, beat_millis) values (?, ?)", HEARTBEAT_ID, now);
+        } catch (RuntimeException ex) {
+            log.warn("원본 DB heartbeat 기록 실패 {}", ex.getMessage());
+        }
+
+        for (Replica replica : replicas) {
+            boolean wasAvailable = replica.isAvailable();
+            try {
+                List<Long> beats = replica.getJdbcTemplate().queryForList(
+                        "select beat_millis from REPLICA_HEARTBEAT where heartbeat_id = ?", Long.class, HEARTBEAT_ID);
+                long lagMillis = beats.isEmpty() ? Long.MAX_VALUE : Math.max(0, now - beats.get(0));
+                replica.update(lagMillis, lagMillis <= maxLagMillis, now);
+            } catch (RuntimeException ex) {
+                replica.update(Long.MAX_VALUE, false, now);
+                log.debug("복제 DB 지연 확인 실패: {} {}", replica.getName(), ex.getMessage());
+            }
+            if (wasAvailable != replica.isAvailable())
+                log.warn("복제 DB 사용 {}: {}, 지연: {}ms", replica.isAvailable() ? "재개" : "중단",
+                        replica.getName(), replica.getLagMillis() == Long.MAX_VALUE ? "-" : replica.getLagMillis());
+        }
+    }
+
+    /**
+     * 허용 지연 시간, 이 시간 안에 쓴 데이터는 복제 DB 에 없을 수 있음
+     * @return 허용 지연 시간 (ms)
+     */
+    public long getMaxLagMillis() {
+        return maxLagMillis;
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (primary instanceof Closeable closeable)
+            closeable.close();
+        for (Replica replica : replicas) {
+            if (replica.getDataSource() instanceof Closeable closeable)
+                closeable.close();
+        }
+    }
+
+    /**
+     * 복제 DB 와 지연 상태, 확인 전에는 사용하지 않음
+     */
+    @Getter
+    static class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private final JdbcTemplate jdbcTemplate;
+        private volatile long lagMillis = Long.MAX_VALUE; //마지막으로 확인한 지연 시간
+        private volatile boolean available; //사용 가능 여부
+        private volatile long measuredAtMillis; //마지막으로 지연 시간을 확인한 시각
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+        }
+
+        void update(long lagMillis, boolean available, long measuredAtMillis) {
+            this.lagMillis = lagMillis;
+            this.measuredAtMillis = measuredAtMillis;
+            this.available = available;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package me.study.spreadmoney.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * 현재 스레드의 DB 선택 힌트
+ * 읽기 전용 트랜잭션이라도 방금 쓴 데이터를 읽어야 하는 경우(read-your-writes) 원본(primary) DB 로 보냄
+ */
+public final class ReplicaRoutingContext {
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {
+    }
+
+    /**
+     * 원본 DB 를 사용하도록 지정 후 실행, 트랜잭션은 supplier 안에서 시작되어야 함
+     * @param primary 원본 DB 사용 여부 (false 라면 그대로 실행)
+     * @param supplier 실행할 로직
+     * @return 실행 결과
+     */
+    public static <T> T callOnPrimaryIf(boolean primary, Supplier<T> supplier) {
+        if (!primary || isPrimaryForced())
+            return supplier.get();
+        PRIMARY_FORCED.set(Boolean.TRUE);
+        try {
+            return supplier.get();
+        } finally {
+            PRIMARY_FORCED.remove();
+        }
+    }
+
+    /**
+     * 원본 DB 사용이 지정되었는지 확인
+     * @return 원본 DB 사용 지정 여부
+     */
+    public static boolean isPrimaryForced() {
+        return PRIMARY_FORCED.get() != null;
+    }
+}
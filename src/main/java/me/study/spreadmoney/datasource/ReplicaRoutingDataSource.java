@@ -0,0 +1,26 @@
+package me.study.spreadmoney.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 읽기 전용 트랜잭션은 복제(replica) DB 로, 그 외는 원본(primary) DB 로 연결
+ * 트랜잭션 속성이 정해진 뒤 연결해야 하므로 LazyConnectionDataSourceProxy 로 감싸서 사용
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    private final ReplicaRouter replicaRouter;
+
+    public ReplicaRoutingDataSource(ReplicaRouter replicaRouter) {
+        this.replicaRouter = replicaRouter;
+        setTargetDataSources(replicaRouter.targetDataSources());
+        setDefaultTargetDataSource(replicaRouter.getPrimary());
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || ReplicaRoutingContext.isPrimaryForced())
+            return ReplicaRouter.PRIMARY;
+        return replicaRouter.selectReplica();
+    }
+}
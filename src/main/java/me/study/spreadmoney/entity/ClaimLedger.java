@@ -0,0 +1,70 @@
+package me.study.spreadmoney.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 받기 원장 객체, 받기 원장 모드에서 받기 한 건마다 추가만 되는 기록
+ * 뿌리기, 뿌리기 상세에는 주기적으로 반영(folded)되며, 반영 후에도 받기 이력 확인용으로 남김
+ * 뿌리기 상세 하나는 한 번만, 한 사용자는 뿌리기당 한 번만 기록될 수 있음 (unique)
+ * 반영할 수 없는 원장(원장 모드가 아닌 받기와 충돌)은 반영하지 않고 충돌(conflicted)로 남겨 확인 대기, tail 에서 제외
+ */
+@Entity
+@Getter @Setter(AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "CLAIM_LEDGER",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_claim_ledger_detail", columnNames = "spread_detail_id"),
+                @UniqueConstraint(name = "uk_claim_ledger_user", columnNames = {"spread_id", "received_user_id"})},
+        indexes = @Index(name = "idx_claim_ledger_tail", columnList = "spread_id, folded"))
+public class ClaimLedger {
+    @Id @GeneratedValue
+    @Column(name = "claim_ledger_id")
+    private Long id; //데이터 고유 아이디
+    @Column(name = "spread_id", nullable = false, updatable = false)
+    private Long spreadId; //받은 뿌리기 데이터 고유 아이디 (뿌리기 만료 이관 후에도 기록 유지)
+    @Column(name = "spread_detail_id", nullable = false, updatable = false)
+    private Long spreadDetailId; //받은 뿌리기 상세 데이터 고유 아이디
+    @Column(name = "received_user_id", nullable = false, updatable = false)
+    private int receivedUserId; //받은 사용자 아이디
+    @Column(nullable = false, updatable = false)
+    private int receivedMoney; //받은 금액
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime receivedDateTime; //받은 시각
+    @Column(name = "folded", nullable = false)
+    private boolean folded; //뿌리기, 뿌리기 상세 반영 여부
+    @Column(name = "conflicted", nullable = false)
+    private boolean conflicted; //반영 충돌 여부 (받을 수 없는 뿌리기 상세, 반영하지 않고 확인 대기)
+
+    /**
+     * 받기 원장 객체 생성 메서드
+     */
+    public static ClaimLedger createClaimLedger(Long spreadId, Long spreadDetailId, int receivedUserId, int receivedMoney) {
+        ClaimLedger claimLedger = new ClaimLedger();
+        claimLedger.setSpreadId(spreadId);
+        claimLedger.setSpreadDetailId(spreadDetailId);
+        claimLedger.setReceivedUserId(receivedUserId);
+        claimLedger.setReceivedMoney(receivedMoney);
+        claimLedger.setReceivedDateTime(LocalDateTime.now());
+        return claimLedger;
+    }
+
+    @Override
+    public String toString() {
+        return "ClaimLedger{" +
+                "id=" + id +
+                ", spreadId=" + spreadId +
+                ", spreadDetailId=" + spreadDetailId +
+                ", receivedUserId=" + receivedUserId +
+                ", receivedMoney=" + receivedMoney +
+                ", receivedDateTime=" + receivedDateTime +
+                ", folded=" + folded +
+                ", conflicted=" + conflicted +
+                '}';
+    }
+}
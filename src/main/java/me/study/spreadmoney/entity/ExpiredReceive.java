@@ -0,0 +1,75 @@
+package me.study.spreadmoney.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 만료된 받기 객체, 조회 가능일이 지난 뿌리기에서 받기 완료된 뿌리기 상세 객체
+ * 뿌리기 이관시 받기 완료된 상세마다 하나씩 저장 (ExpiredSpread 의 상세 정보 문자열은 받은 사용자로 찾을 수 없음)
+ * 받은 내역은 (받은 사용자 아이디, 받은 시각, 아이디) 인덱스에 응답 컬럼을 포함하여 인덱스만 읽음 (covering index)
+ * 보관 조회의 받기 완료된 정보는 (뿌린 사용자 아이디, token, 뿌린 시각) 인덱스 사용
+ */
+@Entity
+@Getter @Setter(AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "EXPIRED_RECEIVE",
+        indexes = {
+                @Index(name = "idx_expired_receive_history", columnList = "received_user_id, received_date_time desc, expire_receive_id desc," +
+                        " received_money, token, spread_user_id, spread_room_id"),
+                @Index(name = "idx_expired_receive_lookup", columnList = "spread_user_id, token, spread_date_time")
+        })
+public class ExpiredReceive {
+    @Id @GeneratedValue
+    @Column(name = "expire_receive_id")
+    private Long id; //데이터 고유 아이디
+    @Column(name = "received_user_id", nullable = false, updatable = false)
+    private int receivedUserId; //받은 사용자 아이디
+    @Column(nullable = false, updatable = false)
+    private int receivedMoney; //받은 금액
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime receivedDateTime; //받은 시각
+    @Column(nullable = false, updatable = false)
+    private String token; //뿌리기 token (이관 후 재사용될 수 있음)
+    @Column(nullable = false, updatable = false)
+    private int spreadUserId; //뿌린 사용자 아이디
+    @Column(nullable = false, updatable = false)
+    private String spreadRoomId; //뿌린 대화방 아이디
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime spreadDateTime; //뿌린 시각
+
+    /**
+     * 만료 받기 객체 생성 메서드
+     */
+    public static ExpiredReceive createExpiredReceive(
+            int receivedUserId, int receivedMoney, LocalDateTime receivedDateTime,
+            String token, int spreadUserId, String spreadRoomId, LocalDateTime spreadDateTime) {
+        ExpiredReceive expiredReceive = new ExpiredReceive();
+        expiredReceive.setReceivedUserId(receivedUserId);
+        expiredReceive.setReceivedMoney(receivedMoney);
+        expiredReceive.setReceivedDateTime(receivedDateTime);
+        expiredReceive.setToken(token);
+        expiredReceive.setSpreadUserId(spreadUserId);
+        expiredReceive.setSpreadRoomId(spreadRoomId);
+        expiredReceive.setSpreadDateTime(spreadDateTime);
+        return expiredReceive;
+    }
+
+    @Override
+    public String toString() {
+        return "ExpiredReceive{" +
+                "id=" + id +
+                ", receivedUserId=" + receivedUserId +
+                ", receivedMoney=" + receivedMoney +
+                ", receivedDateTime=" + receivedDateTime +
+                ", token='" + token + '\'' +
+                ", spreadUserId=" + spreadUserId +
+                ", spreadRoomId='" + spreadRoomId + '\'' +
+                ", spreadDateTime=" + spreadDateTime +
+                '}';
+    }
+}
@@ -10,11 +10,17 @@ import java.time.LocalDateTime;
 
 /**
  * 만료된 뿌리기 객체, 조회 가능일이 지난 뿌리기 객체
+ * 보관 조회는 (뿌린 사용자 아이디, token, 뿌린 시각) 인덱스 사용 (token 은 이관 후 재사용되므로 뿌린 시각으로 구분)
+ * 뿌린 내역은 (뿌린 사용자 아이디, 뿌린 시각, 아이디) 인덱스 사용
  */
 @Entity
 @Getter @Setter(AccessLevel.PRIVATE)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "EXPIRED_SPREAD")
+@Table(name = "EXPIRED_SPREAD",
+        indexes = {
+                @Index(name = "idx_expired_spread_lookup", columnList = "spread_user_id, token, spread_date_time"),
+                @Index(name = "idx_expired_spread_user_history", columnList = "spread_user_id, spread_date_time desc, expire_spread_id desc," +
+                        " token, spread_room_id, total_money, total_people_num, remain_money, remain_people_num")})
 public class ExpiredSpread {
     @Id @GeneratedValue
     @Column(name = "expire_spread_id")
@@ -0,0 +1,53 @@
+package me.study.spreadmoney.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 멱등 요청 기록 객체, Idempotency-Key 가 있는 뿌리기/받기 요청의 결과
+ * 뿌리기/받기와 같은 트랜잭션에서 저장되며 (결과와 기록이 함께 커밋), 같은 key 로 재시도하면 저장된 결과로 응답
+ * 기록 ID 는 "기능:사용자 ID:Idempotency-Key" (key 는 사용자별)
+ */
+@Entity
+@Getter @Setter(AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "IDEMPOTENCY_RECORD",
+        indexes = @Index(name = "idx_idempotency_record_created", columnList = "created_date_time"))
+public class IdempotencyRecord {
+    @Id
+    @Column(name = "idempotency_record_id", length = 100)
+    private String id; //기록 ID (기능:사용자 ID:Idempotency-Key)
+    @Column(nullable = false, updatable = false, length = 200)
+    private String fingerprint; //요청 내용 (대화방, 요청 값), 같은 key 로 다른 요청을 보냈는지 확인
+    @Column(nullable = false, updatable = false, length = 100)
+    private String response; //요청 결과 (뿌리기: token, 받기: 받은 금액)
+    @Column(name = "created_date_time", nullable = false, updatable = false)
+    private LocalDateTime createdDateTime; //기록 시각, 보관 기간이 지나면 삭제
+
+    /**
+     * 멱등 요청 기록 객체 생성 메서드
+     */
+    public static IdempotencyRecord createIdempotencyRecord(String id, String fingerprint, String response) {
+        IdempotencyRecord idempotencyRecord = new IdempotencyRecord();
+        idempotencyRecord.setId(id);
+        idempotencyRecord.setFingerprint(fingerprint);
+        idempotencyRecord.setResponse(response);
+        idempotencyRecord.setCreatedDateTime(LocalDateTime.now());
+        return idempotencyRecord;
+    }
+
+    @Override
+    public String toString() {
+        return "IdempotencyRecord{" +
+                "id='" + id + '\'' +
+                ", fingerprint='" + fingerprint + '\'' +
+                ", response='" + response + '\'' +
+                ", createdDateTime=" + createdDateTime +
+                '}';
+    }
+}
@@ -0,0 +1,55 @@
+package me.study.spreadmoney.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import me.study.spreadmoney.entity.enumerated.OutboxEventType;
+
+import java.time.LocalDateTime;
+
+/**
+ * 외부 시스템 전달 대기 이벤트 객체 (transactional outbox)
+ * 뿌리기, 받기, 이관과 같은 트랜잭션에서 저장되며 전달(relay)이 완료되면 삭제
+ */
+@Entity
+@Getter @Setter(AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "OUTBOX_EVENT")
+public class OutboxEvent {
+    @Id @GeneratedValue
+    @Column(name = "outbox_event_id")
+    private Long id; //데이터 고유 아이디, 전달 순서 및 수신측 중복 제거 기준
+    @Column(name = "spread_id", nullable = false, updatable = false)
+    private Long spreadId; //이벤트가 발생한 뿌리기 데이터 고유 아이디
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private OutboxEventType eventType; //이벤트 종류
+    @Column(nullable = false, updatable = false, length = 2000)
+    private String payload; //이벤트 내용 (JSON)
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdDateTime; //이벤트 발생 시각
+
+    /**
+     * 전달 대기 이벤트 객체 생성 메서드
+     */
+    public static OutboxEvent createOutboxEvent(Long spreadId, OutboxEventType eventType, String payload) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setSpreadId(spreadId);
+        outboxEvent.setEventType(eventType);
+        outboxEvent.setPayload(payload);
+        outboxEvent.setCreatedDateTime(LocalDateTime.now());
+        return outboxEvent;
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxEvent{" +
+                "id=" + id +
+                ", spreadId=" + spreadId +
+                ", eventType=" + eventType +
+                ", createdDateTime=" + createdDateTime +
+                '}';
+    }
+}
@@ -0,0 +1,25 @@
+package me.study.spreadmoney.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 복제 DB 지연 확인용 heartbeat, 원본 DB 에 기록한 시각이 복제 DB 에 반영된 시각으로 지연 시간 계산
+ * ReplicaRouter 가 JDBC 로 직접 읽고 쓰며, 테이블 생성을 위해 객체로 정의
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "REPLICA_HEARTBEAT")
+public class ReplicaHeartbeat {
+    @Id
+    @Column(name = "heartbeat_id")
+    private int id; //heartbeat 고유 아이디 (1개만 사용)
+    @Column(name = "beat_millis", nullable = false)
+    private long beatMillis; //원본 DB 에 기록한 시각 (epoch ms)
+}
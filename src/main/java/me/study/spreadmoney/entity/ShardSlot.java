@@ -0,0 +1,27 @@
+package me.study.spreadmoney.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * slot 배치 정보, consistent hashing 배치에서 옮겨진 slot 과 이동 중인 slot
+ * 0번 shard 에 기록되며 ShardSlotCatalog 가 JDBC 로 직접 읽고 쓰고, 테이블 생성을 위해 객체로 정의
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "SHARD_SLOT")
+public class ShardSlot {
+    @Id
+    @Column(name = "slot_no")
+    private int slot; //slot 번호 (token 첫 글자)
+    @Column(name = "shard_no", nullable = false)
+    private int shard; //배치된 shard 번호
+    @Column(name = "migrating", nullable = false)
+    private boolean migrating; //이동 중 여부, 이동 중에는 쓰기 불가
+}
@@ -12,11 +12,19 @@ import java.util.List;
 
 /**
  * 뿌리기 객체, 하나의 뿌리기 객체는 최소 1개 이상의 뿌리기 상세 객체를 가짐.
+ * 뿌린 내역은 (뿌린 사람 아이디, 뿌린 시각, 아이디) 인덱스 사용
+ * 대화방 피드는 (대화방 아이디, 받기 만료 시각) 인덱스 사용, 피드 응답 컬럼을 포함하여 인덱스만 읽음
+ * 돌려주기는 (돌려준 시각, 받기 만료 시각, 아이디) 인덱스 사용, 돌려주기 전(null) 뿌리기만 받기 만료 순으로 읽음
  */
 @Entity
 @Getter @Setter(AccessLevel.PRIVATE)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "SPREAD")
+@Table(name = "SPREAD",
+        indexes = {
+                @Index(name = "idx_spread_user_history", columnList = "user_id, spread_date_time desc, spread_id desc"),
+                @Index(name = "idx_spread_room_feed",
+                        columnList = "room_id, receivable_expire_date_time desc, remain_people_num, token, total_money, total_people_num"),
+                @Index(name = "idx_spread_refund", columnList = "refunded_date_time, receivable_expire_date_time, spread_id")})
 public class Spread {
     @Id @GeneratedValue
     @Column(name = "spread_id")
@@ -41,6 +49,7 @@ public class Spread {
     private LocalDateTime receivableExpireDateTime; //받기 만료 시각
     @Column(nullable = false, updatable = false)
     private LocalDateTime viewableExpireDateTime; //조회 만료 시각
+    private LocalDateTime refundedDateTime; //받아가지 않은 금액을 돌려준 시각 (받기 만료 후), 돌려주기 전이면 null
 
     @OneToMany(mappedBy = "spread", cascade = CascadeType.ALL)
     private List<SpreadDetail> spreadDetails = new ArrayList<>(); //하위 뿌리기 상세 객체 리스트, 뿌린 금액 별 객체들
@@ -99,6 +108,7 @@ public class Spread {
                 ", spreadDateTime=" + spreadDateTime +
                 ", receivableExpireDateTime=" + receivableExpireDateTime +
                 ", viewableExpireDateTime=" + viewableExpireDateTime +
+                ", refundedDateTime=" + refundedDateTime +
                 ", spreadDetails=" + spreadDetails +
                 '}';
     }
@@ -13,11 +13,14 @@ import static jakarta.persistence.FetchType.LAZY;
 
 /**
  * 뿌리기 상세 객체
+ * 받은 내역은 (받아간 사용자 아이디, 받아간 시간, 아이디) 인덱스 사용
  */
 @Entity
 @Getter @Setter(AccessLevel.PRIVATE)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "SPREAD_DETAIL")
+@Table(name = "SPREAD_DETAIL",
+        indexes = @Index(name = "idx_spread_detail_received_history",
+                columnList = "received_user_id, received_date_time desc, spread_detail_id desc, distributed_money, spread_id"))
 public class SpreadDetail {
     @Id @GeneratedValue
     @Column(name = "spread_detail_id")
@@ -55,8 +58,17 @@ public class SpreadDetail {
      * @param userId 받은 사람
      */
     public void setReceiveInfo(int userId) {
+        setReceiveInfo(userId, LocalDateTime.now());
+    }
+
+    /**
+     * 금액 받아간 후 정보 수정 (받은 사람, 받은 시간, 상태), 받기 원장 반영시 사용
+     * @param userId 받은 사람
+     * @param receivedDateTime 받은 시간
+     */
+    public void setReceiveInfo(int userId, LocalDateTime receivedDateTime) {
         this.receivedUserId = userId;
-        this.receivedDateTime = LocalDateTime.now();
+        this.receivedDateTime = receivedDateTime;
         this.status = SpreadDetailStatus.DONE;
     }
 
@@ -0,0 +1,11 @@
+package me.study.spreadmoney.entity.enumerated;
+
+/**
+ * 외부 시스템(지갑)에 전달할 이벤트 종류
+ */
+public enum OutboxEventType {
+    SPREAD_CREATED, //뿌리기 생성 (뿌린 사람 출금)
+    MONEY_RECEIVED, //받기 (받은 사람 입금)
+    SPREAD_ARCHIVED, //조회 만료 이관
+    SPREAD_REFUNDED //받기 만료 후 돌려주기 (뿌린 사람 입금)
+}
@@ -5,5 +5,6 @@ package me.study.spreadmoney.entity.enumerated;
  */
 public enum SpreadDetailStatus {
     RECEIVABLE, //받을 수 있는 상태
-    DONE //받은 상태
+    DONE, //받은 상태
+    REFUNDED //받기 만료 후 뿌린 사람에게 돌려준 상태
 }
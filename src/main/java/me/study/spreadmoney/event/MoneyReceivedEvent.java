@@ -0,0 +1,25 @@
+package me.study.spreadmoney.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * 받기 이벤트, 받기 트랜잭션 안에서 발행
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class MoneyReceivedEvent {
+    private final Long spreadId; //뿌리기 데이터 고유 아이디
+    private final String token; //뿌리기 token
+    private final int spreadUserId; //뿌린 사용자 아이디
+    private final String roomId; //뿌린 대화방 아이디
+    private final int receivedUserId; //받은 사용자 아이디
+    private final int receivedMoney; //받은 금액
+    private final int remainMoney; //받기 후 남은 금액
+    private final int remainPeopleNum; //받기 후 남은 인원
+    private final LocalDateTime receivedDateTime; //받은 시각
+}
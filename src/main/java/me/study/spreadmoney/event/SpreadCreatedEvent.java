@@ -0,0 +1,25 @@
+package me.study.spreadmoney.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * 뿌리기 생성 이벤트, 뿌리기 트랜잭션 안에서 발행
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class SpreadCreatedEvent {
+    private final Long spreadId; //뿌리기 데이터 고유 아이디
+    private final String token; //뿌리기 token
+    private final int spreadUserId; //뿌린 사용자 아이디
+    private final String roomId; //뿌린 대화방 아이디
+    private final int totalMoney; //뿌린 금액
+    private final int totalPeopleNum; //뿌린 인원
+    private final LocalDateTime spreadDateTime; //뿌린 시각
+    private final LocalDateTime receivableExpireDateTime; //받기 만료 시각
+    private final LocalDateTime viewableExpireDateTime; //조회 만료 시각
+}
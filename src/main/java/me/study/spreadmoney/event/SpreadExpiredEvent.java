@@ -0,0 +1,18 @@
+package me.study.spreadmoney.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 뿌리기 만료 이벤트, 조회 만료된 뿌리기를 ExpiredSpread 로 이관하는 트랜잭션 안에서 발행
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class SpreadExpiredEvent {
+    private final Long spreadId; //이관된 뿌리기 데이터 고유 아이디
+    private final String token; //이관된 뿌리기 token (이후 재사용 가능)
+    private final int spreadUserId; //뿌린 사용자 아이디
+    private final String roomId; //뿌린 대화방 아이디
+}
@@ -0,0 +1,24 @@
+package me.study.spreadmoney.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * 돌려주기 이벤트, 받기 만료된 뿌리기의 받아가지 않은 금액을 뿌린 사람에게 돌려줌
+ * 돌려주기 묶음 단위로 SpreadsRefundedEvent 에 담아 발행
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class SpreadRefundedEvent {
+    private final Long spreadId; //뿌리기 데이터 고유 아이디
+    private final String token; //뿌리기 token
+    private final int spreadUserId; //뿌린 사용자 아이디 (돌려받는 사용자)
+    private final String roomId; //뿌린 대화방 아이디
+    private final int refundedMoney; //돌려준 금액
+    private final int refundedPeopleNum; //돌려준 뿌리기 상세 수 (받아가지 않은 인원)
+    private final LocalDateTime refundedDateTime; //돌려준 시각
+}
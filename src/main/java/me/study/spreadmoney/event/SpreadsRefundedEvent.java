@@ -0,0 +1,17 @@
+package me.study.spreadmoney.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * 돌려주기 묶음 이벤트, 돌려주기 묶음 트랜잭션 안에서 한 번 발행 (뿌리기마다 발행하지 않음)
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class SpreadsRefundedEvent {
+    private final List<SpreadRefundedEvent> refunds; //묶음에서 돌려준 뿌리기 (받기 만료 순)
+}
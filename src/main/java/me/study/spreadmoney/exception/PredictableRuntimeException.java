@@ -1,26 +1,73 @@
 package me.study.spreadmoney.exception;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 /**
  * 직접 정의한 RuntimeException, Client의 요청에 의한 로직 수행 중 예상할 수 있는 예외
+ * 거절 사유(RejectReason)로 만든 예외는 stack trace 를 기록하지 않음 (받기 폭주시 대부분의 요청이 거절되므로 생성 비용 절감)
+ * 고정 메시지의 거절 사유는 사유별로 미리 만든 예외를 재사용 (suppressed, cause 변경 불가)
  */
 public class PredictableRuntimeException extends RuntimeException{
+    private static final Map<RejectReason, PredictableRuntimeException> REJECTIONS = new EnumMap<>(RejectReason.class);
+
+    static {
+        for (RejectReason reason : RejectReason.values())
+            REJECTIONS.put(reason, new PredictableRuntimeException(reason, reason.getMessage()));
+    }
+
+    private final transient RejectReason reason; //거절 사유, 거절 사유 없이 만든 예외는 null
+
     public PredictableRuntimeException() {
         super();
+        this.reason = null;
     }
 
     public PredictableRuntimeException(String message) {
         super(message);
+        this.reason = null;
     }
 
     public PredictableRuntimeException(String message, Throwable cause) {
         super(message, cause);
+        this.reason = null;
     }
 
     public PredictableRuntimeException(Throwable cause) {
         super(cause);
+        this.reason = null;
     }
 
     protected PredictableRuntimeException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
         super(message, cause, enableSuppression, writableStackTrace);
+        this.reason = null;
+    }
+
+    private PredictableRuntimeException(RejectReason reason, String message) {
+        super(message, null, false, false);
+        this.reason = reason;
+    }
+
+    /**
+     * 거절 사유의 예외 (미리 만든 예외 재사용, stack trace 없음)
+     * @param reason 거절 사유
+     * @return 거절 사유 메시지의 예외
+     */
+    public static PredictableRuntimeException of(RejectReason reason) {
+        return REJECTIONS.get(reason);
+    }
+
+    /**
+     * 거절 사유에 값을 덧붙인 예외 (stack trace 없음)
+     * @param reason 거절 사유
+     * @param detail 메시지 뒤에 덧붙일 값 (만료 일시 등)
+     * @return 거절 사유 메시지 + 덧붙인 값의 예외
+     */
+    public static PredictableRuntimeException of(RejectReason reason, String detail) {
+        return new PredictableRuntimeException(reason, reason.getMessage() + " " + detail);
+    }
+
+    public RejectReason getReason() {
+        return reason;
     }
 }
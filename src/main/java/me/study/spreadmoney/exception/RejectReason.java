@@ -0,0 +1,55 @@
+package me.study.spreadmoney.exception;
+
+/**
+ * 예상 가능한 예외(PredictableRuntimeException)의 거절 사유, 결과 코드와 고정 메시지
+ * 바이너리(CBOR) 응답은 메시지 대신 결과 코드로 응답
+ */
+public enum RejectReason {
+    //요청 값
+    INVALID_USER_HEADER(1001, "Header 의 X-USER-ID 값이 올바르지 않습니다."),
+    INVALID_ROOM_HEADER(1002, "Header 의 X-ROOM-ID 값이 없거나 비어있습니다."),
+    TOKEN_REQUIRED(1003, "Token 값은 필수 값입니다."),
+    INVALID_TOKEN_LENGTH(1004, "Token 값은 3자리 문자열입니다."),
+    INVALID_IDEMPOTENCY_KEY(1005, "Idempotency-Key 값은 1~64자리 문자열입니다."),
+    IDEMPOTENCY_KEY_REUSED(1006, "같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다."),
+    INVALID_CURSOR(1007, "유효하지 않은 cursor 값입니다."),
+    INVALID_PAGE_SIZE(1008, "내역 조회 개수는 1 ~ 최대 개수 사이 값입니다."),
+    MONEY_LESS_THAN_PEOPLE(1009, "뿌릴 금액이 뿌릴 인원보다 같거나 커야합니다."),
+
+    //token
+    INVALID_TOKEN(2001, "유효하지 않는 Token 값입니다."),
+
+    //받기
+    RECEIVE_OWN_SPREAD(2101, "자신이 뿌리기한 건은 자신이 받을 수 없습니다."),
+    RECEIVE_OTHER_ROOM(2102, "뿌리기가 호출된 대화방과 동일한 대화방에 속한 사용자만이 받을 수 있습니다."),
+    RECEIVE_EXPIRED(2103, "뿌린 건의 받기 시간이 만료 되었습니다."),
+    ALREADY_RECEIVED(2104, "이미 받은 뿌리기입니다."),
+    EXHAUSTED(2105, "이미 모두 받아간 뿌리기입니다."),
+    RECEIVE_FAILED(2106, "뿌리기 받기에 실패했습니다. 다시 시도 해주세요. 계속해서 문제가 발생한다면 관리자에게 문의해주십시오."),
+    RECEIVE_OVERLOADED(2107, "받기 요청이 많아 접수할 수 없습니다. 잠시 후 다시 시도해주세요."),
+    INVALID_TICKET(2108, "유효하지 않은 접수증입니다."),
+
+    //조회
+    LOOK_UP_NOT_OWNER(2201, "뿌린 사람 자신만 조회를 할 수 있습니다."),
+    LOOK_UP_EXPIRED(2202, "조회 가능일이 지났습니다."),
+
+    //뿌리기
+    TOKEN_GENERATION_FAILED(2301, "뿌리기 요청 Token 생성에 실패했습니다. 다시 시도 해주세요. 계속해서 문제가 발생한다면 관리자에게 문의해주십시오."),
+    SLOT_MOVING(2302, "대화방 데이터 이동 중입니다. 잠시 후 다시 시도 해주세요.");
+
+    private final int code;
+    private final String message;
+
+    RejectReason(int code, String message) {
+        this.code = code;
+        this.message = message;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
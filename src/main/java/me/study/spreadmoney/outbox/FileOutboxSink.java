@@ -0,0 +1,49 @@
+package me.study.spreadmoney.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * 이벤트 메시지를 로컬 파일에 한 줄씩(JSON lines) 추가, 추가 후 디스크 반영까지 완료되어야 전달 완료
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "config.outbox.sink", havingValue = "file", matchIfMissing = true)
+public class FileOutboxSink implements OutboxSink {
+    private final ObjectMapper objectMapper;
+
+    //config.yml 설정 값
+    @Value("${config.outbox.file-path}")
+    private String file_path; //이벤트 메시지 파일 경로
+
+    @Override
+    public synchronized void send(List<OutboxMessage> messages) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (OutboxMessage message : messages)
+            lines.append(objectMapper.writeValueAsString(message)).append('\n');
+
+        Path path = Paths.get(file_path);
+        if (path.getParent() != null)
+            Files.createDirectories(path.getParent());
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package me.study.spreadmoney.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 이벤트 메시지를 HTTP POST 로 전달 (JSON 배열), 2xx 응답을 받아야 전달 완료
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "config.outbox.sink", havingValue = "http")
+public class HttpOutboxSink implements OutboxSink {
+    private final ObjectMapper objectMapper;
+    private HttpClient httpClient;
+
+    //config.yml 설정 값
+    @Value("${config.outbox.http-url}")
+    private String http_url; //이벤트 메시지 수신 URL
+    @Value("${config.outbox.http-timeout-millis}")
+    private long http_timeout_millis; //연결, 응답 제한 시간
+
+    @PostConstruct
+    public void init() {
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(http_timeout_millis))
+                .build();
+    }
+
+    @Override
+    public void send(List<OutboxMessage> messages) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(http_url))
+                .timeout(Duration.ofMillis(http_timeout_millis))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(messages)))
+                .build();
+        HttpResponse<Void> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("이벤트 메시지 전달 중단", ex);
+        }
+        if (response.statusCode() / 100 != 2)
+            throw new IOException("이벤트 메시지 전달 실패, status: " + response.statusCode());
+    }
+}
@@ -0,0 +1,24 @@
+package me.study.spreadmoney.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * 외부 시스템에 전달하는 이벤트 메시지
+ * 같은 이벤트가 두 번 이상 전달될 수 있으므로(at-least-once) 수신측은 eventId 로 중복 제거
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class OutboxMessage {
+    private final Long eventId; //이벤트 고유 아이디
+    private final Long spreadId; //이벤트가 발생한 뿌리기 데이터 고유 아이디
+    private final String eventType; //이벤트 종류
+    private final LocalDateTime createdDateTime; //이벤트 발생 시각
+    @JsonRawValue
+    private final String payload; //이벤트 내용 (JSON)
+}
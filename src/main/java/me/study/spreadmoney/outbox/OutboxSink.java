@@ -0,0 +1,16 @@
+package me.study.spreadmoney.outbox;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 이벤트 메시지를 외부 시스템에 전달, config.outbox.sink 설정 값으로 구현 선택 (file, http)
+ */
+public interface OutboxSink {
+
+    /**
+     * 한 뿌리기의 이벤트 메시지를 순서대로 전달, 예외 없이 반환되면 모두 전달된 것으로 판단
+     * @param messages 한 뿌리기의 이벤트 메시지 (발생 순)
+     */
+    void send(List<OutboxMessage> messages) throws IOException;
+}
@@ -0,0 +1,118 @@
+package me.study.spreadmoney.policy;
+
+import java.time.Duration;
+import java.time.Period;
+import java.time.temporal.TemporalAmount;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 검증, 변환된 만료 정책 (변경 불가)
+ * 기본 정책과 대화방 아이디 -> 등급 정책 색인, 뿌리기마다 대화방 아이디로 조회
+ */
+public class ExpiryPolicies {
+    public static final String DEFAULT_POLICY_NAME = "default";
+
+    private final ExpiryPolicy defaultPolicy;
+    private final Map<String, ExpiryPolicy> roomPolicies;
+
+    private ExpiryPolicies(ExpiryPolicy defaultPolicy, Map<String, ExpiryPolicy> roomPolicies) {
+        this.defaultPolicy = defaultPolicy;
+        this.roomPolicies = Map.copyOf(roomPolicies);
+    }
+
+    /**
+     * 설정 값 검증 후 만료 정책으로 변환, 잘못된 설정은 모두 모아서 한 번에 알림
+     * @param properties config.policy 설정 값
+     * @return 만료 정책
+     * @throws IllegalArgumentException 단위, 값, 등급 설정이 잘못된 경우
+     */
+    public static ExpiryPolicies compile(PolicyProperties properties) {
+        List<String> errors = new ArrayList<>();
+        TemporalAmount defaultReceivable = toAmount("spread-expire-date", properties.getSpreadExpireDate(), errors);
+        TemporalAmount defaultViewable = toAmount("viewable-date", properties.getViewableDate(), errors);
+        ExpiryPolicy defaultPolicy = new ExpiryPolicy(DEFAULT_POLICY_NAME, defaultReceivable, defaultViewable);
+
+        Map<String, ExpiryPolicy> roomPolicies = new HashMap<>();
+        List<PolicyProperties.Tier> tiers = properties.getTiers() == null ? List.of() : properties.getTiers();
+        for (int i = 0; i < tiers.size(); i++) {
+            PolicyProperties.Tier tier = tiers.get(i);
+            String path = "tiers[" + i + "]";
+            if (tier.getName() == null || tier.getName().isBlank())
+                errors.add(path + ".name 이 없습니다.");
+            if (tier.getRooms() == null || tier.getRooms().isEmpty())
+                errors.add(path + ".rooms 가 없습니다.");
+
+            TemporalAmount receivable = tier.getSpreadExpireDate() == null
+                    ? defaultReceivable : toAmount(path + ".spread-expire-date", tier.getSpreadExpireDate(), errors);
+            TemporalAmount viewable = tier.getViewableDate() == null
+                    ? defaultViewable : toAmount(path + ".viewable-date", tier.getViewableDate(), errors);
+            ExpiryPolicy tierPolicy = new ExpiryPolicy(tier.getName(), receivable, viewable);
+
+            if (tier.getRooms() == null)
+                continue;
+            for (String roomId : tier.getRooms()) {
+                ExpiryPolicy previous = roomPolicies.putIfAbsent(roomId, tierPolicy);
+                if (previous != null)
+                    errors.add(path + ".rooms 의 대화방이 다른 등급에도 있습니다. 대화방: " + roomId + ", 등급: " + previous.getName());
+            }
+        }
+
+        if (!errors.isEmpty())
+            throw new IllegalArgumentException("만료 정책(config.policy) 설정 오류: " + String.join(" / ", errors));
+        return new ExpiryPolicies(defaultPolicy, roomPolicies);
+    }
+
+    /**
+     * 대화방의 만료 정책
+     * @param roomId 대화방 아이디
+     * @return 대화방 등급 정책, 등급이 없다면 기본 정책
+     */
+    public ExpiryPolicy resolve(String roomId) {
+        ExpiryPolicy roomPolicy = roomId == null ? null : roomPolicies.get(roomId);
+        return roomPolicy != null ? roomPolicy : defaultPolicy;
+    }
+
+    public ExpiryPolicy getDefaultPolicy() {
+        return defaultPolicy;
+    }
+
+    /**
+     * 등급이 지정된 대화방 수
+     * @return 대화방 수
+     */
+    public int roomCount() {
+        return roomPolicies.size();
+    }
+
+    /**
+     * 기간 설정(단위, 값) -> Period(y, M, d) / Duration(h, m, s)
+     */
+    private static TemporalAmount toAmount(String path, PolicyProperties.Window window, List<String> errors) {
+        if (window == null || window.getUnit() == null || window.getDuration() == null) {
+            errors.add(path + " 의 unit, duration 이 없습니다.");
+            return Duration.ZERO;
+        }
+        int duration = window.getDuration();
+        if (duration < 0) {
+            errors.add(path + ".duration 은 0 이상이어야 합니다. 값: " + duration);
+            return Duration.ZERO;
+        }
+        TemporalAmount amount = switch (window.getUnit()) {
+            case "y" -> Period.ofYears(duration);
+            case "M" -> Period.ofMonths(duration);
+            case "d" -> Period.ofDays(duration);
+            case "h" -> Duration.ofHours(duration);
+            case "m" -> Duration.ofMinutes(duration);
+            case "s" -> Duration.ofSeconds(duration);
+            default -> null;
+        };
+        if (amount == null) {
+            errors.add(path + ".unit 은 y, M, d, h, m, s 중 하나여야 합니다. 값: " + window.getUnit());
+            return Duration.ZERO;
+        }
+        return amount;
+    }
+}
@@ -0,0 +1,46 @@
+package me.study.spreadmoney.policy;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAmount;
+
+/**
+ * 만료 정책 (변경 불가), 뿌린 시각에 더할 받기/조회 가능 기간
+ * 년/월/일 단위는 Period(날짜 기준), 시/분/초 단위는 Duration(시간 기준)
+ */
+@Getter
+public class ExpiryPolicy {
+    private final String name; //정책 이름 (기본 정책: default, 대화방 등급: tier 이름)
+    private final TemporalAmount receivableWindow; //받기 가능 기간
+    private final TemporalAmount viewableWindow; //조회 가능 기간
+
+    public ExpiryPolicy(String name, TemporalAmount receivableWindow, TemporalAmount viewableWindow) {
+        this.name = name;
+        this.receivableWindow = receivableWindow;
+        this.viewableWindow = viewableWindow;
+    }
+
+    /**
+     * 받기 만료 시각
+     * @param spreadDateTime 뿌린 시각
+     * @return 받기 만료 시각
+     */
+    public LocalDateTime receivableExpireDateTimeOf(LocalDateTime spreadDateTime) {
+        return spreadDateTime.plus(receivableWindow);
+    }
+
+    /**
+     * 조회 만료 시각
+     * @param spreadDateTime 뿌린 시각
+     * @return 조회 만료 시각
+     */
+    public LocalDateTime viewableExpireDateTimeOf(LocalDateTime spreadDateTime) {
+        return spreadDateTime.plus(viewableWindow);
+    }
+
+    @Override
+    public String toString() {
+        return name + "(receivable: " + receivableWindow + ", viewable: " + viewableWindow + ")";
+    }
+}
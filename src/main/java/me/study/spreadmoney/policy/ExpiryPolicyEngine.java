@@ -0,0 +1,108 @@
+package me.study.spreadmoney.policy;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 만료 정책 (받기/조회 가능 기간)
+ * 1) 서버 시작 시 config.policy 를 검증, 변환하여 보관 (잘못된 설정이면 서버 시작 실패)
+ * 2) 뿌리기마다 대화방 아이디로 정책 조회 (대화방 등급 -> 기본 정책)
+ * 3) 정책 파일(config.policy.file)이 지정되면 주기적으로 변경 확인 후 다시 적용 (재시작 불필요)
+ *    정책 파일에 없는 값은 config.yml 값 사용, 잘못된 정책 파일은 적용하지 않고 이전 정책 유지
+ */
+@Slf4j
+@Component
+public class ExpiryPolicyEngine {
+    private static final String PREFIX = "config.policy";
+
+    private final Environment environment;
+    private volatile ExpiryPolicies policies;
+    private long policyFileLastModified = -1; //마지막으로 적용한 정책 파일 수정 시각
+
+    //config.yml 설정 값
+    @Value("${config.policy.file}")
+    private String policy_file; //정책 파일 경로 (YAML, config.yml 과 같이 config.policy 아래에 작성), 빈 값이면 사용 안함
+
+    public ExpiryPolicyEngine(Environment environment) {
+        this.environment = environment;
+    }
+
+    @PostConstruct
+    public void init() {
+        policies = ExpiryPolicies.compile(bind(List.of()));
+        if (!policy_file.isBlank() && Files.exists(Paths.get(policy_file)))
+            policies = compilePolicyFile(Paths.get(policy_file));
+        log.info("만료 정책 적용, 기본: {}, 등급 지정 대화방: {}", policies.getDefaultPolicy(), policies.roomCount());
+    }
+
+    /**
+     * 대화방의 만료 정책
+     * @param roomId 대화방 아이디
+     * @return 대화방 등급 정책, 등급이 없다면 기본 정책
+     */
+    public ExpiryPolicy resolve(String roomId) {
+        return policies.resolve(roomId);
+    }
+
+    /**
+     * 정책 파일이 변경되었다면 다시 적용
+     * @return 새 정책 적용 여부
+     */
+    public synchronized boolean reload() {
+        if (policy_file.isBlank())
+            return false;
+        Path path = Paths.get(policy_file);
+        try {
+            if (!Files.exists(path))
+                return false;
+            long lastModified = Files.getLastModifiedTime(path).toMillis();
+            if (lastModified == policyFileLastModified)
+                return false;
+            ExpiryPolicies reloaded = compilePolicyFile(path);
+            policies = reloaded;
+            log.info("만료 정책 다시 적용, 기본: {}, 등급 지정 대화방: {}", reloaded.getDefaultPolicy(), reloaded.roomCount());
+            return true;
+        } catch (IOException | IllegalArgumentException ex) {
+            log.error("만료 정책 파일 적용 실패, 이전 정책 유지 {}", ex.getMessage());
+            return false;
+        }
+    }
+
+    private ExpiryPolicies compilePolicyFile(Path path) {
+        try {
+            //변경 확인 후 읽기 전에 수정 시각 기록 (읽는 중 변경되면 다음 확인에서 다시 적용, 잘못된 파일은 수정될 때까지 다시 읽지 않음)
+            policyFileLastModified = Files.getLastModifiedTime(path).toMillis();
+            List<PropertySource<?>> fileSources = new YamlPropertySourceLoader()
+                    .load("policy-file", new FileSystemResource(path));
+            return ExpiryPolicies.compile(bind(fileSources));
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("만료 정책 파일을 읽을 수 없습니다. 경로: " + path, ex);
+        }
+    }
+
+    /**
+     * 정책 파일 값 -> config.yml 값 순서로 config.policy 설정 값 읽기
+     */
+    private PolicyProperties bind(List<PropertySource<?>> fileSources) {
+        List<ConfigurationPropertySource> sources = new ArrayList<>();
+        fileSources.forEach(source -> ConfigurationPropertySources.from(source).forEach(sources::add));
+        ConfigurationPropertySources.get(environment).forEach(sources::add);
+        return new Binder(sources).bind(PREFIX, PolicyProperties.class).orElseGet(PolicyProperties::new);
+    }
+}
@@ -0,0 +1,41 @@
+package me.study.spreadmoney.policy;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * config.policy 설정 값 (설정 파일 그대로, 검증 전)
+ * ExpiryPolicies.compile 로 검증 후 만료 정책으로 변환하여 사용
+ */
+@Getter
+@Setter
+public class PolicyProperties {
+    private Window spreadExpireDate; //기본 받기 가능 기간
+    private Window viewableDate; //기본 조회 가능 기간
+    private List<Tier> tiers = new ArrayList<>(); //대화방 등급별 정책
+
+    /**
+     * 기간 설정 (단위, 값)
+     */
+    @Getter
+    @Setter
+    public static class Window {
+        private String unit; //yMdhms
+        private Integer duration; //0~
+    }
+
+    /**
+     * 대화방 등급, 지정하지 않은 기간은 기본 정책 사용
+     */
+    @Getter
+    @Setter
+    public static class Tier {
+        private String name; //등급 이름
+        private List<String> rooms = new ArrayList<>(); //등급에 속한 대화방 아이디
+        private Window spreadExpireDate; //받기 가능 기간
+        private Window viewableDate; //조회 가능 기간
+    }
+}
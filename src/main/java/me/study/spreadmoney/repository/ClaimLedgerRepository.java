@@ -0,0 +1,36 @@
+package me.study.spreadmoney.repository;
+
+import me.study.spreadmoney.entity.ClaimLedger;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * ClaimLedger Repository
+ */
+public interface ClaimLedgerRepository extends JpaRepository<ClaimLedger, Long> {
+
+    List<ClaimLedger> findBySpreadIdAndFoldedFalseAndConflictedFalseOrderByIdAsc(Long spreadId);
+
+    List<ClaimLedger> findByConflictedTrueOrderByIdAsc();
+
+    List<ClaimLedger> findBySpreadIdAndConflictedFalseOrderByIdAsc(Long spreadId);
+
+    @Query("select distinct l.spreadId from ClaimLedger l where l.folded = false and l.conflicted = false")
+    List<Long> findUnfoldedSpreadIds(Pageable pageable);
+
+    @Query("select distinct l.spreadId from ClaimLedger l where l.folded = false and l.conflicted = false and l.spreadId in :spreadIds")
+    List<Long> findUnfoldedSpreadIdsIn(@Param("spreadIds") List<Long> spreadIds);
+
+    @Modifying
+    @Query("update ClaimLedger l set l.folded = true where l.id in :ids")
+    int markFolded(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("update ClaimLedger l set l.conflicted = true where l.id in :ids")
+    int markConflicted(@Param("ids") List<Long> ids);
+}
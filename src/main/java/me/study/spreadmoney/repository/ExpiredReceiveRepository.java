@@ -0,0 +1,44 @@
+package me.study.spreadmoney.repository;
+
+import me.study.spreadmoney.entity.ExpiredReceive;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * ExpiredReceive Repository
+ */
+public interface ExpiredReceiveRepository extends JpaRepository<ExpiredReceive, Long> {
+
+    /**
+     * 사용자가 뿌린 token 의 보관된 받기 (재사용된 token 은 여러 뿌리기, 최근 뿌린 순, 같은 뿌리기는 저장 순)
+     */
+    List<ExpiredReceive> findBySpreadUserIdAndTokenOrderBySpreadDateTimeDescIdAsc(int spreadUserId, String token);
+
+    /**
+     * 사용자가 받은 보관된 받기 (받은 시각, 아이디 역순), 기준 (받은 시각, 아이디) 다음 건부터 (keyset)
+     * 내역 응답 컬럼만 읽음, 모두 (받은 사용자 아이디, 받은 시각, 아이디) 인덱스에 포함 (covering index)
+     */
+    @Query("select e.id as id, e.receivedMoney as receivedMoney, e.receivedDateTime as receivedDateTime, e.token as token," +
+            " e.spreadUserId as spreadUserId, e.spreadRoomId as spreadRoomId from ExpiredReceive e" +
+            " where e.receivedUserId = :userId and e.receivedDateTime <= :dateTime" +
+            " and (e.receivedDateTime < :dateTime or e.id < :id) order by e.receivedDateTime desc, e.id desc")
+    List<ReceivedHistoryRow> findReceivedHistory(@Param("userId") int userId, @Param("dateTime") LocalDateTime dateTime,
+                                                 @Param("id") long id, Pageable pageable);
+
+    /**
+     * 받은 내역 (보관된 받기)
+     */
+    interface ReceivedHistoryRow {
+        Long getId();
+        int getReceivedMoney();
+        LocalDateTime getReceivedDateTime();
+        String getToken();
+        int getSpreadUserId();
+        String getSpreadRoomId();
+    }
+}
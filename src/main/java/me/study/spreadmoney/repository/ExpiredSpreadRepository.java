@@ -1,13 +1,47 @@
 package me.study.spreadmoney.repository;
 
 import me.study.spreadmoney.entity.ExpiredSpread;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * ExpireSpread Repository
  */
 public interface ExpiredSpreadRepository extends JpaRepository<ExpiredSpread, Long> {
     ExpiredSpread findBySpreadUserIdAndSpreadDateTime(int userId, LocalDateTime spreadDateTime);
+
+    /**
+     * 사용자가 뿌린 token 의 보관된 뿌리기 (재사용된 token 은 여러 건, 최근 뿌린 순)
+     */
+    List<ExpiredSpread> findBySpreadUserIdAndTokenOrderBySpreadDateTimeDesc(int spreadUserId, String token);
+
+    /**
+     * 사용자가 뿌린 보관된 뿌리기 (뿌린 시각, 아이디 역순), 기준 (뿌린 시각, 아이디) 다음 건부터 (keyset)
+     * 내역 응답 컬럼만 읽음, 모두 (뿌린 사용자 아이디, 뿌린 시각, 아이디) 인덱스에 포함 (covering index)
+     */
+    @Query("select e.id as id, e.token as token, e.spreadRoomId as spreadRoomId, e.spreadDateTime as spreadDateTime," +
+            " e.totalMoney as totalMoney, e.totalPeopleNum as totalPeopleNum, e.remainMoney as remainMoney," +
+            " e.remainPeopleNum as remainPeopleNum from ExpiredSpread e where e.spreadUserId = :userId and e.spreadDateTime <= :dateTime" +
+            " and (e.spreadDateTime < :dateTime or e.id < :id) order by e.spreadDateTime desc, e.id desc")
+    List<SentHistoryRow> findSentHistory(@Param("userId") int userId, @Param("dateTime") LocalDateTime dateTime,
+                                         @Param("id") long id, Pageable pageable);
+
+    /**
+     * 뿌린 내역 (보관된 뿌리기)
+     */
+    interface SentHistoryRow {
+        Long getId();
+        String getToken();
+        String getSpreadRoomId();
+        LocalDateTime getSpreadDateTime();
+        int getTotalMoney();
+        int getTotalPeopleNum();
+        int getRemainMoney();
+        int getRemainPeopleNum();
+    }
 }
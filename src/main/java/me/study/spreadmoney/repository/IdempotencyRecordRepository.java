@@ -0,0 +1,19 @@
+package me.study.spreadmoney.repository;
+
+import me.study.spreadmoney.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+/**
+ * IdempotencyRecord Repository
+ */
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.createdDateTime < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,17 @@
+package me.study.spreadmoney.repository;
+
+import me.study.spreadmoney.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+/**
+ * OutboxEvent Repository
+ */
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    List<OutboxEvent> findAllByOrderByIdAsc(Pageable pageable);
+
+    List<OutboxEvent> findBySpreadIdOrderByIdAsc(Long spreadId);
+}
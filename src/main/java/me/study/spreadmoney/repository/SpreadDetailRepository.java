@@ -3,8 +3,13 @@ package me.study.spreadmoney.repository;
 import me.study.spreadmoney.entity.Spread;
 import me.study.spreadmoney.entity.SpreadDetail;
 import me.study.spreadmoney.entity.enumerated.SpreadDetailStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -14,4 +19,53 @@ public interface SpreadDetailRepository extends JpaRepository<SpreadDetail, Long
     List<SpreadDetail> findBySpread(Spread spread);
 
     SpreadDetail findByDistributedMoneyAndStatusAndReceivedUserId(int distributedMoney, SpreadDetailStatus status, int receivedUserId);
+
+    /**
+     * 사용자가 받은 뿌리기 상세 (받아간 시간, 아이디 역순), 기준 (받아간 시간, 아이디) 다음 건부터 (keyset)
+     * 내역 응답 컬럼만 읽음, 받은 금액과 뿌리기 아이디는 (받은 사용자 아이디, 받은 시각, 아이디) 인덱스에 포함
+     * 뿌리기 token, 뿌린 사람, 대화방은 페이지 건수만큼 뿌리기 기본 키로 읽음
+     */
+    @Query("select d.id as id, d.distributedMoney as receivedMoney, d.receivedDateTime as receivedDateTime, s.token as token," +
+            " s.userId as spreadUserId, s.roomId as roomId from SpreadDetail d join d.spread s" +
+            " where d.receivedUserId = :userId and d.receivedDateTime <= :dateTime" +
+            " and (d.receivedDateTime < :dateTime or d.id < :id) order by d.receivedDateTime desc, d.id desc")
+    List<ReceivedHistoryRow> findReceivedHistory(@Param("userId") int userId, @Param("dateTime") LocalDateTime dateTime,
+                                                 @Param("id") long id, Pageable pageable);
+
+    /**
+     * 뿌리기별 상태가 같은 뿌리기 상세의 금액, 인원 합계 (뿌리기 여러 건을 한 번에 집계)
+     */
+    @Query("select d.spread.id as spreadId, sum(d.distributedMoney) as money, count(d) as peopleNum from SpreadDetail d" +
+            " where d.spread.id in :spreadIds and d.status = :status group by d.spread.id")
+    List<StatusSum> sumByStatus(@Param("spreadIds") List<Long> spreadIds, @Param("status") SpreadDetailStatus status);
+
+    /**
+     * 뿌리기 여러 건의 뿌리기 상세 상태 변경 (from 상태인 상세만)
+     * @return 변경된 뿌리기 상세 수
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update SpreadDetail d set d.status = :to where d.spread.id in :spreadIds and d.status = :from")
+    int updateStatus(@Param("spreadIds") List<Long> spreadIds,
+                     @Param("from") SpreadDetailStatus from, @Param("to") SpreadDetailStatus to);
+
+    /**
+     * 받은 내역 (조회 만료 전 뿌리기의 받기)
+     */
+    interface ReceivedHistoryRow {
+        Long getId();
+        int getReceivedMoney();
+        LocalDateTime getReceivedDateTime();
+        String getToken();
+        int getSpreadUserId();
+        String getRoomId();
+    }
+
+    /**
+     * 뿌리기별 뿌리기 상세 금액, 인원 합계
+     */
+    interface StatusSum {
+        Long getSpreadId();
+        Long getMoney();
+        Long getPeopleNum();
+    }
 }
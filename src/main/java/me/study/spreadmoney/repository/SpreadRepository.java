@@ -1,7 +1,14 @@
 package me.study.spreadmoney.repository;
 
+import jakarta.persistence.LockModeType;
+import me.study.spreadmoney.api.dto.RoomFeedSpreadDto;
 import me.study.spreadmoney.entity.Spread;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -16,5 +23,77 @@ public interface SpreadRepository extends JpaRepository<Spread, Long> {
 
     Optional<Spread> findByToken(String token);
 
+    @Query("select s.token from Spread s")
+    List<String> findAllTokens();
+
     List<Spread> findByViewableExpireDateTimeBefore(LocalDateTime now);
+
+    /**
+     * 대화방의 받을 수 있는 뿌리기 (받기 만료 시각 역순), 피드 응답 컬럼만 읽음
+     */
+    @Query("select new me.study.spreadmoney.api.dto.RoomFeedSpreadDto(" +
+            "s.token, s.totalMoney, s.totalPeopleNum, s.remainPeopleNum, s.receivableExpireDateTime) from Spread s" +
+            " where s.roomId = :roomId and s.receivableExpireDateTime > :now and s.remainPeopleNum > 0" +
+            " order by s.receivableExpireDateTime desc")
+    List<RoomFeedSpreadDto> findRoomFeed(@Param("roomId") String roomId, @Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * 사용자가 뿌린 뿌리기 (뿌린 시각, 아이디 역순), 기준 (뿌린 시각, 아이디) 다음 건부터 (keyset)
+     * 내역 응답 컬럼만 읽음 (뿌리기 상세 제외), 인덱스로 찾은 건마다 테이블을 읽음
+     * 남은 금액/인원은 받기마다 바뀌므로 인덱스에 포함하지 않음 (조회 만료 전 뿌리기만 있으므로 사용자별 건수가 적음)
+     */
+    @Query("select s.id as id, s.token as token, s.roomId as roomId, s.spreadDateTime as spreadDateTime," +
+            " s.totalMoney as totalMoney, s.totalPeopleNum as totalPeopleNum, s.remainMoney as remainMoney," +
+            " s.remainPeopleNum as remainPeopleNum from Spread s where s.userId = :userId and s.spreadDateTime <= :dateTime" +
+            " and (s.spreadDateTime < :dateTime or s.id < :id) order by s.spreadDateTime desc, s.id desc")
+    List<SentHistoryRow> findSentHistory(@Param("userId") int userId, @Param("dateTime") LocalDateTime dateTime,
+                                         @Param("id") long id, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from Spread s where s.id = :id")
+    Optional<Spread> findForUpdateById(@Param("id") Long id);
+
+    /**
+     * 돌려주기 전 받기 만료된 뿌리기 (받기 만료 시각, 아이디 순), 기준 (받기 만료 시각, 아이디) 다음 건부터 (keyset)
+     */
+    @Query("select s.id as id, s.token as token, s.userId as userId, s.roomId as roomId," +
+            " s.receivableExpireDateTime as receivableExpireDateTime from Spread s" +
+            " where s.refundedDateTime is null and s.receivableExpireDateTime < :expiredBefore" +
+            " and s.receivableExpireDateTime >= :dateTime and (s.receivableExpireDateTime > :dateTime or s.id > :id)" +
+            " order by s.receivableExpireDateTime asc, s.id asc")
+    List<RefundTarget> findRefundTargets(@Param("expiredBefore") LocalDateTime expiredBefore,
+                                         @Param("dateTime") LocalDateTime dateTime, @Param("id") long id, Pageable pageable);
+
+    /**
+     * 돌려주기 표시, 이미 표시된 뿌리기는 제외
+     * @return 표시된 뿌리기 수
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Spread s set s.refundedDateTime = :refundedDateTime where s.id in :ids and s.refundedDateTime is null")
+    int markRefunded(@Param("ids") List<Long> ids, @Param("refundedDateTime") LocalDateTime refundedDateTime);
+
+    /**
+     * 뿌린 내역 (조회 만료 전 뿌리기)
+     */
+    interface SentHistoryRow {
+        Long getId();
+        String getToken();
+        String getRoomId();
+        LocalDateTime getSpreadDateTime();
+        int getTotalMoney();
+        int getTotalPeopleNum();
+        int getRemainMoney();
+        int getRemainPeopleNum();
+    }
+
+    /**
+     * 돌려줄 뿌리기 (돌려주기 이벤트에 필요한 컬럼만 읽음)
+     */
+    interface RefundTarget {
+        Long getId();
+        String getToken();
+        int getUserId();
+        String getRoomId();
+        LocalDateTime getReceivableExpireDateTime();
+    }
 }
@@ -2,15 +2,34 @@ package me.study.spreadmoney.scheduler;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import me.study.spreadmoney.datasource.RecentWriteTracker;
+import me.study.spreadmoney.datasource.ReplicaRouter;
 import me.study.spreadmoney.entity.Spread;
 import me.study.spreadmoney.exception.UnrelatedWithClientRequestException;
+import me.study.spreadmoney.policy.ExpiryPolicyEngine;
+import me.study.spreadmoney.service.ClaimLedgerService;
 import me.study.spreadmoney.service.ExpiredSpreadService;
+import me.study.spreadmoney.service.IdempotencyStore;
+import me.study.spreadmoney.service.LiveTokenRegistry;
+import me.study.spreadmoney.service.OutboxService;
+import me.study.spreadmoney.service.ReceiveQueueService;
+import me.study.spreadmoney.service.RefundService;
+import me.study.spreadmoney.service.RefundService.RefundBatch;
 import me.study.spreadmoney.service.SpreadService;
+import me.study.spreadmoney.shard.ShardContext;
+import me.study.spreadmoney.shard.ShardRouter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 @Slf4j
 @Service
@@ -19,13 +38,61 @@ public class Scheduler {
 
     private final ExpiredSpreadService expiredSpreadService;
     private final SpreadService spreadService;
+    private final ClaimLedgerService claimLedgerService;
+    private final OutboxService outboxService;
+    private final IdempotencyStore idempotencyStore;
+    private final ReceiveQueueService receiveQueueService;
+    private final RefundService refundService;
+    private final LiveTokenRegistry liveTokenRegistry;
+    private final ObjectProvider<ReplicaRouter> replicaRouter;
+    private final RecentWriteTracker recentWriteTracker;
+    private final ShardRouter shardRouter;
+    private final ExpiryPolicyEngine expiryPolicyEngine;
+
+    //config.yml 설정 값
+    @Value("${config.idempotency.ttl-hours}")
+    private long idempotency_ttl_hours; //멱등 요청 결과 보관 시간
 
     /**
      * 조회 만료가 된 Spread, SpreadDetail 데이터를 ExpiredSpread 로 옮기기
+     * shard 사용시 shard 별로 병렬 실행
      */
     @Scheduled(cron = "${config.scheduler.spread-to-expire.cron}")
     public void spreadToExpireSpread() {
         log.info("만료된 뿌리기 확인 및 이관 - 시작");
+        int shardCount = shardRouter.getShardCount();
+        if (shardCount == 1) {
+            archiveExpiredSpread();
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(shardCount);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int shard = 0; shard < shardCount; shard++) {
+                    int targetShard = shard;
+                    futures.add(executor.submit(() -> ShardContext.runOn(targetShard, this::archiveExpiredSpread)));
+                }
+                for (int shard = 0; shard < shardCount; shard++) {
+                    try {
+                        futures.get(shard).get();
+                    } catch (ExecutionException ex) {
+                        log.error("shard {} 만료된 뿌리기 이관 중 오류 발생 {}", shard, ex.getCause().getMessage());
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        log.warn("만료된 뿌리기 이관 대기 중단");
+                        break;
+                    }
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+        log.info("만료된 뿌리기 확인 및 이관 - 완료");
+    }
+
+    /**
+     * 현재 shard(또는 기본 DB)의 조회 만료된 뿌리기 이관
+     */
+    private void archiveExpiredSpread() {
         //Spread 에서 조회 만료된 데이터 검색
         List<Spread> expiredSpread = expiredSpreadService.findExpiredSpread();
         if (expiredSpread.isEmpty()) {
@@ -58,6 +125,150 @@ public class Scheduler {
         } else {
             log.info("오류 발생 뿌리기가 없습니다.");
         }
-        log.info("만료된 뿌리기 확인 및 이관 - 완료");
+    }
+
+    /**
+     * 받기 원장 모드에서 반영되지 않은 받기 원장을 Spread, SpreadDetail 에 반영 (스냅샷 갱신)
+     */
+    @Scheduled(fixedDelayString = "${config.receive.ledger.fold-millis}")
+    public void foldClaimLedger() {
+        if (!claimLedgerService.isEnabled())
+            return;
+
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++)
+            ShardContext.runOn(shard, this::foldClaimLedgerOnShard);
+    }
+
+    private void foldClaimLedgerOnShard() {
+        List<Long> spreadIds = claimLedgerService.findUnfoldedSpreadIds();
+        int foldedCount = 0;
+        for (Long spreadId : spreadIds) {
+            try {
+                foldedCount += claimLedgerService.fold(spreadId);
+            } catch (RuntimeException ex) {
+                log.error("받기 원장 반영 중 오류 발생, spreadId: {} {}", spreadId, ex.getMessage());
+            }
+        }
+        if (foldedCount > 0)
+            log.debug("받기 원장 반영, 뿌리기: {}, 원장: {}", spreadIds.size(), foldedCount);
+    }
+
+    /**
+     * 받기 만료된 뿌리기의 받아가지 않은 금액 돌려주기 (돌려주기 사용시)
+     * shard 별로 남은 뿌리기가 없을 때까지 묶음 반복, 실패한 묶음부터는 다음 실행에서 다시 처리
+     */
+    @Scheduled(fixedDelayString = "${config.refund.sweep-millis}")
+    public void refundExpiredSpread() {
+        if (!refundService.isEnabled())
+            return;
+
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++)
+            ShardContext.runOn(shard, this::refundExpiredSpreadOnShard);
+    }
+
+    private void refundExpiredSpreadOnShard() {
+        RefundBatch batch = RefundBatch.FIRST;
+        int spreadCount = 0;
+        int refundedCount = 0;
+        long refundedMoney = 0;
+        try {
+            while (batch.hasNext()) {
+                batch = refundService.refundBatch(batch);
+                spreadCount += batch.spreadCount();
+                refundedCount += batch.refundedCount();
+                refundedMoney += batch.refundedMoney();
+            }
+        } catch (RuntimeException ex) {
+            log.error("돌려주기 중 오류 발생, 마지막 뿌리기: {} {}", batch.lastId(), ex.getMessage());
+        }
+        if (spreadCount > 0)
+            log.info("돌려주기, 뿌리기: {}, 돌려준 뿌리기: {}, 금액: {}", spreadCount, refundedCount, refundedMoney);
+    }
+
+    /**
+     * 전달 대기 이벤트를 외부 시스템(지갑)에 전달
+     */
+    @Scheduled(fixedDelayString = "${config.outbox.relay-millis}")
+    public void relayOutbox() {
+        if (!outboxService.isEnabled())
+            return;
+
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            try {
+                int deliveredCount = ShardContext.callOn(shard, outboxService::relay);
+                if (deliveredCount > 0)
+                    log.debug("이벤트 전달: {}", deliveredCount);
+            } catch (RuntimeException ex) {
+                log.error("이벤트 전달 중 오류 발생 {}", ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 보관 시간이 지난 멱등 요청 기록 삭제
+     */
+    @Scheduled(fixedDelayString = "${config.idempotency.purge-millis}")
+    public void purgeIdempotencyRecords() {
+        LocalDateTime expiredBefore = LocalDateTime.now().minusHours(idempotency_ttl_hours);
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            try {
+                int purgedCount = ShardContext.callOn(shard, () -> idempotencyStore.purge(expiredBefore));
+                if (purgedCount > 0)
+                    log.debug("멱등 요청 기록 삭제: {}", purgedCount);
+            } catch (RuntimeException ex) {
+                log.error("멱등 요청 기록 삭제 중 오류 발생 {}", ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 보관 시간이 지난 비동기 받기 접수증 삭제
+     */
+    @Scheduled(fixedDelayString = "${config.receive.async.sweep-millis}")
+    public void evictReceiveTickets() {
+        int evictedCount = receiveQueueService.evictExpired();
+        if (evictedCount > 0)
+            log.debug("비동기 받기 접수증 삭제: {}", evictedCount);
+    }
+
+    /**
+     * 살아있는 token 목록 다시 만들기 (없는 token 거절 사용시), 다른 서버 인스턴스의 뿌리기/이관 반영
+     */
+    @Scheduled(fixedDelayString = "${config.token-filter.rebuild-millis}")
+    public void rebuildTokenFilter() {
+        if (!liveTokenRegistry.isEnabled())
+            return;
+        try {
+            int liveCount = liveTokenRegistry.rebuild();
+            log.debug("살아있는 token 목록 다시 만들기: {}", liveCount);
+        } catch (RuntimeException ex) {
+            log.error("살아있는 token 목록 다시 만들기 중 오류 발생 {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * 없는 token 요청 거절 비율 기록 (없는 token 거절 사용시)
+     */
+    @Scheduled(fixedDelayString = "${config.token-filter.report-millis}")
+    public void reportTokenFilter() {
+        if (liveTokenRegistry.isEnabled())
+            liveTokenRegistry.reportRejections();
+    }
+
+    /**
+     * 복제 DB 지연 시간 확인 (복제 DB 사용시), 지난 쓰기 기록 정리
+     */
+    @Scheduled(fixedDelayString = "${config.datasource.replica.lag-check-millis}")
+    public void checkReplicaLag() {
+        replicaRouter.ifAvailable(ReplicaRouter::checkLag);
+        recentWriteTracker.evictExpired();
+    }
+
+    /**
+     * 만료 정책 파일 변경 확인 후 다시 적용 (정책 파일 사용시)
+     */
+    @Scheduled(fixedDelayString = "${config.policy.reload-millis}")
+    public void reloadExpiryPolicy() {
+        expiryPolicyEngine.reload();
     }
 }
@@ -0,0 +1,142 @@
+package me.study.spreadmoney.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.study.spreadmoney.api.dto.LookUpSpreadInfoDto;
+import me.study.spreadmoney.api.dto.ReceiveInfoDto;
+import me.study.spreadmoney.entity.ExpiredSpread;
+import me.study.spreadmoney.event.SpreadExpiredEvent;
+import me.study.spreadmoney.exception.PredictableRuntimeException;
+import me.study.spreadmoney.exception.RejectReason;
+import me.study.spreadmoney.support.PhaseEvent;
+import me.study.spreadmoney.service.ExpiredSpreadService.ArchivedSpread;
+import me.study.spreadmoney.support.SingleFlight;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 보관 조회 비즈니스 로직, 조회 만료로 이관된(EXPIRED_SPREAD) 뿌리기를 뿌린 사람이 조회
+ * 1) (뿌린 사용자 아이디, token, 뿌린 시각) 인덱스로 조회, 뿌린 사람이 아니면 유효하지 않은 token 과 같은 응답
+ * 2) token 은 이관 후 재사용되므로 뿌린 시각으로 구분, 뿌린 시각을 지정하지 않으면 가장 최근 뿌리기
+ * 3) 보관된 뿌리기는 바뀌지 않으므로 (사용자, token) 별 조회 결과를 메모리(LRU)에 보관
+ *    이 서버 인스턴스에서 이관되면 바로 삭제, 다른 서버 인스턴스의 이관은 보관 시간(cache-ttl-millis) 후 반영
+ * 응답은 조회 API 와 같은 LookUpSpreadInfoDto (받기 완료된 정보는 이관시 함께 저장된 EXPIRED_RECEIVE)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ArchivedLookUpService {
+    private final ExpiredSpreadService expiredSpreadService;
+    private final SingleFlight<String, CachedArchives> inFlightLoads = new SingleFlight<>(); //(사용자, token) 별 진행 중인 조회
+    private Map<String, CachedArchives> archives; //(사용자, token) 별 보관된 뿌리기 (LRU)
+
+    //config.yml 설정 값
+    @Value("${config.lookup.archive.cache-capacity}")
+    private int cache_capacity; //메모리에 보관할 (사용자, token) 최대 개수
+    @Value("${config.lookup.archive.cache-ttl-millis}")
+    private long cache_ttl_millis; //조회 결과 보관 시간
+
+    @PostConstruct
+    public void init() {
+        archives = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedArchives> eldest) {
+                return size() > cache_capacity;
+            }
+        });
+    }
+
+    /**
+     * 보관 조회
+     * @param userId 조회 요청 사용자 아이디 (뿌린 사용자)
+     * @param token 조회 요청 token
+     * @param spreadDateTime 뿌린 시각 (재사용된 token 구분), null 이면 가장 최근 뿌리기
+     * @return 보관된 뿌리기의 마지막 상태
+     */
+    public LookUpSpreadInfoDto lookUpArchivedSpreadInfo(int userId, String token, LocalDateTime spreadDateTime) {
+        String key = userId + ":" + token;
+        CachedArchives cached;
+        try (PhaseEvent ignored = PhaseEvent.start(PhaseEvent.LOOK_UP, "archive", token, null)) {
+            cached = findLocal(key);
+            if (cached == null)
+                cached = inFlightLoads.execute(key, () -> load(key, userId, token));
+        }
+
+        for (LookUpSpreadInfoDto archived : cached.lookUpSpreadInfoDtoList()) {
+            if (spreadDateTime == null || archived.getSpreadDateTime().equals(spreadDateTime))
+                return archived;
+        }
+        throw PredictableRuntimeException.of(RejectReason.INVALID_TOKEN);
+    }
+
+    /**
+     * 이관 커밋 후 같은 (사용자, token) 의 보관 조회 결과 삭제 (재사용된 token 의 새 보관 건 반영)
+     */
+    @TransactionalEventListener
+    public void onSpreadExpired(SpreadExpiredEvent event) {
+        archives.remove(event.getSpreadUserId() + ":" + event.getToken());
+    }
+
+    /**
+     * 메모리의 조회 결과 삭제 (테스트용)
+     */
+    void clearLocal() {
+        archives.clear();
+    }
+
+    private CachedArchives load(String key, int userId, String token) {
+        CachedArchives cached = findLocal(key);
+        if (cached != null)
+            return cached;
+
+        List<LookUpSpreadInfoDto> lookUpSpreadInfoDtoList = expiredSpreadService.findArchived(userId, token).stream()
+                .map(ArchivedLookUpService::toLookUpSpreadInfoDto)
+                .toList();
+        cached = new CachedArchives(lookUpSpreadInfoDtoList, System.currentTimeMillis());
+        archives.put(key, cached);
+        return cached;
+    }
+
+    private CachedArchives findLocal(String key) {
+        CachedArchives cached = archives.get(key);
+        if (cached == null)
+            return null;
+        if (System.currentTimeMillis() - cached.loadedAtMillis() > cache_ttl_millis) {
+            archives.remove(key, cached);
+            return null;
+        }
+        return cached;
+    }
+
+    /**
+     * 보관된 뿌리기를 조회 응답 형식으로 변환
+     * @param archivedSpread 보관된 뿌리기와 받기 완료된 상세
+     * @return 뿌린 시각, 뿌린 금액, 받기 완료된 금액, 받기 완료된 정보
+     */
+    static LookUpSpreadInfoDto toLookUpSpreadInfoDto(ArchivedSpread archivedSpread) {
+        ExpiredSpread expiredSpread = archivedSpread.expiredSpread();
+        List<ReceiveInfoDto> receiveInfoDtoList = archivedSpread.expiredReceives().stream()
+                .map(r -> new ReceiveInfoDto(r.getReceivedMoney(), r.getReceivedUserId()))
+                .toList();
+
+        return new LookUpSpreadInfoDto(
+                expiredSpread.getSpreadDateTime(),
+                expiredSpread.getTotalMoney(),
+                expiredSpread.getTotalMoney() - expiredSpread.getRemainMoney(),
+                receiveInfoDtoList);
+    }
+
+    /**
+     * (사용자, token) 의 보관된 뿌리기 조회 결과 (최근 뿌린 순), 조회 시각
+     */
+    private record CachedArchives(List<LookUpSpreadInfoDto> lookUpSpreadInfoDtoList, long loadedAtMillis) {
+    }
+}
@@ -0,0 +1,216 @@
+package me.study.spreadmoney.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.study.spreadmoney.entity.ClaimLedger;
+import me.study.spreadmoney.entity.Spread;
+import me.study.spreadmoney.entity.SpreadDetail;
+import me.study.spreadmoney.entity.enumerated.SpreadDetailStatus;
+import me.study.spreadmoney.exception.PredictableRuntimeException;
+import me.study.spreadmoney.exception.RejectReason;
+import me.study.spreadmoney.repository.ClaimLedgerRepository;
+import me.study.spreadmoney.repository.SpreadRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 받기 원장 비즈니스 로직
+ * 원장 모드에서 받기는 뿌리기, 뿌리기 상세를 수정(UPDATE)하지 않고 받기 원장에 추가(INSERT)만 함.
+ * 뿌리기의 남은 금액/인원, 뿌리기 상세의 받은 정보는 주기적으로 원장을 반영한 스냅샷이며,
+ * 현재 상태는 스냅샷 + 반영되지 않은 원장(tail)으로 계산
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ClaimLedgerService {
+    private final ClaimLedgerRepository claimLedgerRepository;
+    private final SpreadRepository spreadRepository;
+
+    //config.yml 설정 값
+    @Value("${config.receive.ledger.enabled}")
+    private boolean ledger_enabled; //받기 원장 모드 사용 여부
+    @Value("${config.receive.ledger.fold-batch-size}")
+    private int fold_batch_size; //한 번에 반영할 뿌리기 수
+
+    /**
+     * 받기 원장 모드 사용 여부
+     * @return 받기 원장 모드 사용 여부
+     */
+    public boolean isEnabled() {
+        return ledger_enabled;
+    }
+
+    /**
+     * 뿌리기에 아직 반영되지 않은 받기 원장, 원장 모드가 아니라면 빈 리스트
+     * @param spreadId 뿌리기 데이터 고유 아이디
+     * @return 반영되지 않은 받기 원장 (기록 순)
+     */
+    @Transactional(readOnly = true)
+    public List<ClaimLedger> findTail(Long spreadId) {
+        if (!ledger_enabled)
+            return List.of();
+        return claimLedgerRepository.findBySpreadIdAndFoldedFalseAndConflictedFalseOrderByIdAsc(spreadId);
+    }
+
+    /**
+     * 받기 원장 추가
+     * 같은 뿌리기 상세를 동시에 받거나 같은 사용자가 동시에 받으면 unique 제약으로 실패
+     * @param spreadId 받은 뿌리기 데이터 고유 아이디
+     * @param spreadDetailId 받은 뿌리기 상세 데이터 고유 아이디
+     * @param userId 받은 사용자 아이디
+     * @param receivedMoney 받은 금액
+     * @return 추가된 받기 원장
+     */
+    @Transactional
+    public ClaimLedger append(Long spreadId, Long spreadDetailId, int userId, int receivedMoney) {
+        try {
+            return claimLedgerRepository.saveAndFlush(
+                    ClaimLedger.createClaimLedger(spreadId, spreadDetailId, userId, receivedMoney));
+        } catch (DataIntegrityViolationException ex) {
+            log.warn("받기 원장 추가 충돌, spreadId: {}, spreadDetailId: {}, userId: {}", spreadId, spreadDetailId, userId);
+            throw PredictableRuntimeException.of(RejectReason.RECEIVE_FAILED);
+        }
+    }
+
+    /**
+     * 받기 원장 여러 건 추가 (받기 묶음), 한 번에 flush
+     * 다른 트랜잭션과 같은 뿌리기 상세, 같은 사용자로 충돌하면 모두 실패 (호출한 트랜잭션도 취소해야 함)
+     * @param claimLedgers 추가할 받기 원장 리스트
+     */
+    @Transactional
+    public void appendAll(List<ClaimLedger> claimLedgers) {
+        try {
+            claimLedgerRepository.saveAllAndFlush(claimLedgers);
+        } catch (DataIntegrityViolationException ex) {
+            log.warn("받기 원장 묶음 추가 충돌, spreadId: {}, 원장 수: {}", claimLedgers.get(0).getSpreadId(), claimLedgers.size());
+            throw PredictableRuntimeException.of(RejectReason.RECEIVE_FAILED);
+        }
+    }
+
+    /**
+     * 추가한 받기 원장별 받기 후 남은 금액, 남은 인원 (원장을 추가한 트랜잭션 안에서 호출)
+     * 원장 아이디(sequence) 순으로 추가한 원장까지 받은 것으로 계산, 원장 없이 받은 뿌리기 상세(원장 모드 전 받기)는 먼저 받은 것으로 계산
+     * 커밋되지 않은 다른 트랜잭션의 원장은 보이지 않으므로 남은 인원은 실제보다 적게 계산되지 않음
+     * @param spread 받은 뿌리기 (뿌리기 상세는 원장 없이 받은 상세 확인에만 사용)
+     * @param appended 추가한 받기 원장 (flush 되어 아이디가 있어야 함)
+     * @return 추가한 받기 원장과 같은 순서의 남은 금액, 남은 인원
+     */
+    @Transactional
+    public List<Remain> remainAfter(Spread spread, List<ClaimLedger> appended) {
+        List<ClaimLedger> ledgers = claimLedgerRepository.findBySpreadIdAndConflictedFalseOrderByIdAsc(spread.getId());
+        Set<Long> ledgerDetailIds = ledgers.stream().map(ClaimLedger::getSpreadDetailId).collect(Collectors.toSet());
+
+        //원장 없이 받은 뿌리기 상세
+        int remainMoney = spread.getTotalMoney();
+        int remainPeopleNum = spread.getTotalPeopleNum();
+        for (SpreadDetail spreadDetail : spread.getSpreadDetails()) {
+            if (spreadDetail.getStatus() == SpreadDetailStatus.DONE && !ledgerDetailIds.contains(spreadDetail.getId())) {
+                remainMoney -= spreadDetail.getDistributedMoney();
+                remainPeopleNum--;
+            }
+        }
+
+        //원장 아이디 순으로 받기
+        Map<Long, Remain> remainById = new HashMap<>();
+        for (ClaimLedger ledger : ledgers) {
+            remainMoney -= ledger.getReceivedMoney();
+            remainPeopleNum--;
+            remainById.put(ledger.getId(), new Remain(remainMoney, remainPeopleNum));
+        }
+        return appended.stream().map(l -> remainById.get(l.getId())).toList();
+    }
+
+    /**
+     * 받기 후 남은 금액, 남은 인원
+     */
+    public record Remain(int remainMoney, int remainPeopleNum) {
+    }
+
+    /**
+     * 반영되지 않은 받기 원장이 있는 뿌리기 찾기
+     * @return 뿌리기 데이터 고유 아이디 리스트 (최대 fold-batch-size 개)
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findUnfoldedSpreadIds() {
+        return claimLedgerRepository.findUnfoldedSpreadIds(PageRequest.of(0, fold_batch_size));
+    }
+
+    /**
+     * 뿌리기 여러 건의 반영되지 않은 받기 원장 반영 (돌려주기 전), 반영할 뿌리기는 한 번에 조회
+     * @param spreadIds 뿌리기 데이터 고유 아이디 리스트
+     * @return 반영된 받기 원장 수
+     */
+    @Transactional
+    public int foldAll(List<Long> spreadIds) {
+        int foldedCount = 0;
+        for (Long spreadId : claimLedgerRepository.findUnfoldedSpreadIdsIn(spreadIds))
+            foldedCount += fold(spreadId);
+        return foldedCount;
+    }
+
+    /**
+     * 반영 충돌로 확인 대기 중인 받기 원장 (원장 모드가 아닌 받기와 같은 뿌리기 상세를 받은 원장)
+     * @return 충돌한 받기 원장 (기록 순)
+     */
+    @Transactional(readOnly = true)
+    public List<ClaimLedger> findConflicted() {
+        return claimLedgerRepository.findByConflictedTrueOrderByIdAsc();
+    }
+
+    /**
+     * 반영되지 않은 받기 원장을 뿌리기(남은 금액, 남은 인원), 뿌리기 상세(받은 정보)에 반영
+     * 여러 서버 인스턴스가 동시에 반영하지 않도록 뿌리기를 잠근 후 원장 조회
+     * 받을 수 없는 뿌리기 상세의 원장은 반영하지 않고 충돌로 표시 (반영 표시하지 않음, tail 에서 제외되어 확인 대기)
+     * @param spreadId 뿌리기 데이터 고유 아이디
+     * @return 반영된 받기 원장 수
+     */
+    @Transactional
+    public int fold(Long spreadId) {
+        if (claimLedgerRepository.findBySpreadIdAndFoldedFalseAndConflictedFalseOrderByIdAsc(spreadId).isEmpty())
+            return 0;
+
+        //뿌리기 잠금 후 다시 조회 (다른 서버 인스턴스에서 먼저 반영했을 수 있음)
+        Optional<Spread> findSpread = spreadRepository.findForUpdateById(spreadId);
+        if (findSpread.isEmpty())
+            return 0;
+        Spread spread = findSpread.get();
+
+        List<ClaimLedger> tail = claimLedgerRepository.findBySpreadIdAndFoldedFalseAndConflictedFalseOrderByIdAsc(spreadId);
+        if (tail.isEmpty())
+            return 0;
+
+        Map<Long, SpreadDetail> spreadDetailById = spread.getSpreadDetails().stream()
+                .collect(Collectors.toMap(SpreadDetail::getId, Function.identity()));
+        List<Long> foldedIds = new ArrayList<>(tail.size());
+        List<Long> conflictedIds = new ArrayList<>();
+        for (ClaimLedger claimLedger : tail) {
+            SpreadDetail spreadDetail = spreadDetailById.get(claimLedger.getSpreadDetailId());
+            if (spreadDetail == null || !spreadDetail.getStatus().equals(SpreadDetailStatus.RECEIVABLE)) {
+                //원장 모드가 아닌 받기와 충돌, 반영하지 않고 충돌로 표시 (확인 대기)
+                log.error("받기 원장 반영 충돌, 받을 수 없는 뿌리기 상세: {}", claimLedger);
+                conflictedIds.add(claimLedger.getId());
+                continue;
+            }
+            spread.updateRemainInfo(claimLedger.getReceivedMoney());
+            spreadDetail.setReceiveInfo(claimLedger.getReceivedUserId(), claimLedger.getReceivedDateTime());
+            foldedIds.add(claimLedger.getId());
+        }
+        if (!foldedIds.isEmpty())
+            claimLedgerRepository.markFolded(foldedIds);
+        if (!conflictedIds.isEmpty())
+            claimLedgerRepository.markConflicted(conflictedIds);
+        return foldedIds.size();
+    }
+}
@@ -2,19 +2,27 @@ package me.study.spreadmoney.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import me.study.spreadmoney.entity.ExpiredReceive;
 import me.study.spreadmoney.entity.ExpiredSpread;
 import me.study.spreadmoney.entity.Spread;
 import me.study.spreadmoney.entity.SpreadDetail;
 import me.study.spreadmoney.entity.enumerated.SpreadDetailStatus;
+import me.study.spreadmoney.event.SpreadExpiredEvent;
 import me.study.spreadmoney.exception.UnrelatedWithClientRequestException;
+import me.study.spreadmoney.repository.ExpiredReceiveRepository;
 import me.study.spreadmoney.repository.ExpiredSpreadRepository;
 import me.study.spreadmoney.repository.SpreadRepository;
+import me.study.spreadmoney.shard.ShardRouter;
+import me.study.spreadmoney.support.PhaseEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static java.lang.String.format;
 
@@ -23,45 +31,75 @@ import static java.lang.String.format;
 @RequiredArgsConstructor
 public class ExpiredSpreadService {
     private final ExpiredSpreadRepository expiredSpreadRepository;
+    private final ExpiredReceiveRepository expiredReceiveRepository;
     private final SpreadRepository spreadRepository;
+    private final ClaimLedgerService claimLedgerService;
+    private final ShardRouter shardRouter;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 만료된 객체를 Spread, SpreadDetail 테이블에서 ExpireSpread 테이블로 옮김
+     * 단계별 소요 시간 기록 (PhaseEvent: fold, fetch, copy, delete, commit)
      * @param spreadId 만료된 Spread ID
      */
     @Transactional
     public void spreadToExpire(Long spreadId) {
+        //반영되지 않은 받기 원장 반영 (받기 원장 모드)
+        try (PhaseEvent ignored = PhaseEvent.start(PhaseEvent.ARCHIVE, "fold", null, null)) {
+            claimLedgerService.fold(spreadId);
+        }
+
         //Token 검증, Spread 가져오기
-        Optional<Spread> findSpread = spreadRepository.findById(spreadId);
-        if(findSpread.isEmpty())
-            throw new UnrelatedWithClientRequestException("유효하지 않는 Spread Id 값입니다.");
-        Spread spread = findSpread.get();
-
-        //Spread Detail 정보 가져오기
-        List<SpreadDetail> spreadDetailList = spread.getSpreadDetails();
-
-        //Spread Detail 정보 중 저장할 정보만 String 으로 가공
-        String spreadDetailsInfo = makeSpreadDetailsInfo(spreadDetailList);
-
-        //ExpireSpread 객체 생성
-        ExpiredSpread expireSpread = ExpiredSpread.createExpireSpread(
-                spread.getToken(),
-                spread.getUserId(),
-                spread.getRoomId(),
-                spread.getTotalMoney(),
-                spread.getTotalPeopleNum(),
-                spread.getRemainMoney(),
-                spread.getRemainPeopleNum(),
-                spread.getSpreadDateTime(),
-                spreadDetailsInfo
-        );
-
-        //ExpireSpread 저장
-        expiredSpreadRepository.save(expireSpread);
+        Spread spread;
+        try (PhaseEvent phase = PhaseEvent.start(PhaseEvent.ARCHIVE, "fetch", null, null)) {
+            Optional<Spread> findSpread = spreadRepository.findById(spreadId);
+            if(findSpread.isEmpty())
+                throw new UnrelatedWithClientRequestException("유효하지 않는 Spread Id 값입니다.");
+            spread = findSpread.get();
+            phase.setToken(spread.getToken());
+            phase.setRoomId(spread.getRoomId());
+        }
+        PhaseEvent.recordCommit(PhaseEvent.ARCHIVE, spread.getToken(), spread.getRoomId());
+
+        try (PhaseEvent ignored = PhaseEvent.start(PhaseEvent.ARCHIVE, "copy", spread.getToken(), spread.getRoomId())) {
+            //Spread Detail 정보 가져오기
+            List<SpreadDetail> spreadDetailList = spread.getSpreadDetails();
+
+            //Spread Detail 정보 중 저장할 정보만 String 으로 가공
+            String spreadDetailsInfo = makeSpreadDetailsInfo(spreadDetailList);
+
+            //ExpireSpread 객체 생성
+            ExpiredSpread expireSpread = ExpiredSpread.createExpireSpread(
+                    spread.getToken(),
+                    spread.getUserId(),
+                    spread.getRoomId(),
+                    spread.getTotalMoney(),
+                    spread.getTotalPeopleNum(),
+                    spread.getRemainMoney(),
+                    spread.getRemainPeopleNum(),
+                    spread.getSpreadDateTime(),
+                    spreadDetailsInfo
+            );
+
+            //ExpireSpread 저장
+            expiredSpreadRepository.save(expireSpread);
+
+            //받기 완료된 상세는 받은 내역용 ExpiredReceive 로 저장
+            expiredReceiveRepository.saveAll(spreadDetailList.stream()
+                    .filter(d -> d.getStatus().equals(SpreadDetailStatus.DONE))
+                    .map(d -> ExpiredReceive.createExpiredReceive(
+                            d.getReceivedUserId(), d.getDistributedMoney(), d.getReceivedDateTime(),
+                            spread.getToken(), spread.getUserId(), spread.getRoomId(), spread.getSpreadDateTime()))
+                    .toList());
+        }
 
         //Spread 삭제, SpreadDetail 삭제(영속성 전이)
-        spreadRepository.delete(spread);
+        try (PhaseEvent ignored = PhaseEvent.start(PhaseEvent.ARCHIVE, "delete", spread.getToken(), spread.getRoomId())) {
+            spreadRepository.delete(spread);
+        }
 
+        //뿌리기 만료 이벤트 발행
+        eventPublisher.publishEvent(new SpreadExpiredEvent(spread.getId(), spread.getToken(), spread.getUserId(), spread.getRoomId()));
     }
 
     /**
@@ -78,6 +116,8 @@ public class ExpiredSpreadService {
                     SpreadDetailStatus status = d.getStatus();
                     if (status.equals(SpreadDetailStatus.RECEIVABLE)) {
                         info = format("금액: %d (받아가지 않음)", money);
+                    } else if (status.equals(SpreadDetailStatus.REFUNDED)) {
+                        info = format("금액: %d (받아가지 않음, 돌려줌)", money);
                     } else {
                         int receivedUserId = d.getReceivedUserId();
                         LocalDateTime receivedDateTime = d.getReceivedDateTime();
@@ -100,6 +140,36 @@ public class ExpiredSpreadService {
         return spreadRepository.findByViewableExpireDateTimeBefore(LocalDateTime.now());
     }
 
+    /**
+     * 사용자가 뿌린 token 의 보관된 뿌리기와 받기 완료된 상세 찾기 (EXPIRED_SPREAD, EXPIRED_RECEIVE 인덱스 조회)
+     * @param spreadUserId 뿌린 사용자 아이디
+     * @param token 뿌리기 token
+     * @return 보관된 뿌리기, 재사용된 token 은 여러 건 (최근 뿌린 순)
+     */
+    @Transactional(readOnly = true)
+    public List<ArchivedSpread> findArchived(int spreadUserId, String token) {
+        //token 의 shard 지정 (shard 사용시, 보관된 뿌리기도 대화방의 shard 에 있음)
+        shardRouter.bindToken(token, false);
+        List<ExpiredSpread> expiredSpreads =
+                expiredSpreadRepository.findBySpreadUserIdAndTokenOrderBySpreadDateTimeDesc(spreadUserId, token);
+        if (expiredSpreads.isEmpty())
+            return List.of();
+
+        //재사용된 token 의 받기는 뿌린 시각으로 구분
+        Map<LocalDateTime, List<ExpiredReceive>> receivesBySpreadDateTime =
+                expiredReceiveRepository.findBySpreadUserIdAndTokenOrderBySpreadDateTimeDescIdAsc(spreadUserId, token).stream()
+                        .collect(Collectors.groupingBy(ExpiredReceive::getSpreadDateTime));
+        return expiredSpreads.stream()
+                .map(e -> new ArchivedSpread(e, receivesBySpreadDateTime.getOrDefault(e.getSpreadDateTime(), List.of())))
+                .toList();
+    }
+
+    /**
+     * 보관된 뿌리기와 받기 완료된 상세 (저장 순)
+     */
+    public record ArchivedSpread(ExpiredSpread expiredSpread, List<ExpiredReceive> expiredReceives) {
+    }
+
     /**
      * API 요청 중 만료 Spread 데이터 이관은 사용자의 요청과 관련이 없음 여기서 발생하는 에러는 사용자에게 전달하지 않음.
      * @param spreadId 만료된 Spread ID
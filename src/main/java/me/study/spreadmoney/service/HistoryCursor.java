@@ -0,0 +1,66 @@
+package me.study.spreadmoney.service;
+
+import me.study.spreadmoney.exception.PredictableRuntimeException;
+import me.study.spreadmoney.exception.RejectReason;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+
+/**
+ * 내역 keyset 위치, 내역은 (시각, 보관 여부, 아이디) 역순 (같은 시각이면 보관 전 내역 먼저)
+ * 다음 페이지는 OFFSET 대신 마지막 내역의 위치 다음부터 조회하므로 내역이 많아도 조회 비용이 같음
+ * 응답에는 의미를 알 수 없는 문자열(Base64)로 전달
+ * @param dateTime 뿌린(받은) 시각
+ * @param archived 보관된(이관된) 내역 여부
+ * @param id 데이터 고유 아이디 (보관 전/후 테이블마다 다름)
+ */
+public record HistoryCursor(LocalDateTime dateTime, boolean archived, long id) {
+    //첫 페이지 위치 (모든 내역보다 앞)
+    public static final HistoryCursor FIRST = new HistoryCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), false, Long.MAX_VALUE);
+    //내역 순서 (앞선 위치가 먼저)
+    public static final Comparator<HistoryCursor> ORDER = Comparator.comparing(HistoryCursor::dateTime)
+            .thenComparing(cursor -> !cursor.archived())
+            .thenComparingLong(HistoryCursor::id)
+            .reversed();
+
+    /**
+     * 보관 전(후) 테이블 조회에 사용할 아이디 기준, 같은 시각의 내역 중 이 값보다 작은 아이디만 다음 내역
+     * @param archivedSource 조회할 테이블이 보관된 내역인지 여부
+     * @return 아이디 기준
+     */
+    public long idBoundFor(boolean archivedSource) {
+        if (archivedSource == archived)
+            return id;
+        //같은 시각이면 보관 전 내역이 먼저이므로, 보관 전 위치 다음에는 같은 시각의 보관된 내역 모두 포함
+        return archivedSource ? Long.MAX_VALUE : Long.MIN_VALUE;
+    }
+
+    /**
+     * 응답용 문자열
+     */
+    public String encode() {
+        String value = dateTime + "|" + (archived ? "A" : "L") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 요청의 cursor 값 해석
+     * @param cursor 이전 페이지 응답의 다음 cursor 값, 없으면 첫 페이지
+     * @return 내역 위치
+     */
+    public static HistoryCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank())
+            return FIRST;
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3 || !(parts[1].equals("A") || parts[1].equals("L")))
+                throw PredictableRuntimeException.of(RejectReason.INVALID_CURSOR);
+            return new HistoryCursor(LocalDateTime.parse(parts[0]), parts[1].equals("A"), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw PredictableRuntimeException.of(RejectReason.INVALID_CURSOR);
+        }
+    }
+}
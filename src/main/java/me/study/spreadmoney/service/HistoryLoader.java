@@ -0,0 +1,82 @@
+package me.study.spreadmoney.service;
+
+import lombok.RequiredArgsConstructor;
+import me.study.spreadmoney.api.dto.ReceivedMoneyHistoryDto;
+import me.study.spreadmoney.api.dto.SentSpreadHistoryDto;
+import me.study.spreadmoney.repository.ExpiredReceiveRepository;
+import me.study.spreadmoney.repository.ExpiredSpreadRepository;
+import me.study.spreadmoney.repository.SpreadDetailRepository;
+import me.study.spreadmoney.repository.SpreadRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 내역 데이터 로딩, 현재 shard(또는 기본 DB)의 보관 전/후 내역을 한 트랜잭션에서 읽음 (이관 중인 내역이 빠지거나 겹치지 않음)
+ * 보관 전/후 테이블을 각각 (사용자, 시각, 아이디) 인덱스로 위치 다음부터 limit 건만 읽고 합침 (응답 컬럼만 읽음)
+ * 보관 후 테이블은 인덱스만 읽음 (covering index), 보관 전 테이블은 찾은 건마다 테이블도 읽음
+ * shard 별 결과 병합은 HistoryService 에서 수행
+ */
+@Service
+@RequiredArgsConstructor
+public class HistoryLoader {
+    private final SpreadRepository spreadRepository;
+    private final SpreadDetailRepository spreadDetailRepository;
+    private final ExpiredSpreadRepository expiredSpreadRepository;
+    private final ExpiredReceiveRepository expiredReceiveRepository;
+
+    /**
+     * 뿌린 내역 읽기
+     * @param userId 뿌린 사용자 아이디
+     * @param cursor 이전 페이지 마지막 위치
+     * @param limit 테이블별 최대 건수
+     * @return 위치 다음 내역 (순서 없음)
+     */
+    @Transactional(readOnly = true)
+    public List<HistoryEntry<SentSpreadHistoryDto>> loadSent(int userId, HistoryCursor cursor, int limit) {
+        List<HistoryEntry<SentSpreadHistoryDto>> entries = new ArrayList<>();
+        spreadRepository.findSentHistory(userId, cursor.dateTime(), cursor.idBoundFor(false), PageRequest.ofSize(limit))
+                .forEach(s -> entries.add(new HistoryEntry<>(
+                        new HistoryCursor(s.getSpreadDateTime(), false, s.getId()),
+                        new SentSpreadHistoryDto(s.getToken(), s.getRoomId(), s.getSpreadDateTime(), s.getTotalMoney(),
+                                s.getTotalPeopleNum(), s.getTotalMoney() - s.getRemainMoney(), s.getTotalPeopleNum() - s.getRemainPeopleNum(), false))));
+        expiredSpreadRepository.findSentHistory(userId, cursor.dateTime(), cursor.idBoundFor(true), PageRequest.ofSize(limit))
+                .forEach(e -> entries.add(new HistoryEntry<>(
+                        new HistoryCursor(e.getSpreadDateTime(), true, e.getId()),
+                        new SentSpreadHistoryDto(e.getToken(), e.getSpreadRoomId(), e.getSpreadDateTime(), e.getTotalMoney(),
+                                e.getTotalPeopleNum(), e.getTotalMoney() - e.getRemainMoney(), e.getTotalPeopleNum() - e.getRemainPeopleNum(), true))));
+        return entries;
+    }
+
+    /**
+     * 받은 내역 읽기 (받기 원장 모드에서는 뿌리기 상세에 반영된 받기)
+     * @param userId 받은 사용자 아이디
+     * @param cursor 이전 페이지 마지막 위치
+     * @param limit 테이블별 최대 건수
+     * @return 위치 다음 내역 (순서 없음)
+     */
+    @Transactional(readOnly = true)
+    public List<HistoryEntry<ReceivedMoneyHistoryDto>> loadReceived(int userId, HistoryCursor cursor, int limit) {
+        List<HistoryEntry<ReceivedMoneyHistoryDto>> entries = new ArrayList<>();
+        spreadDetailRepository.findReceivedHistory(userId, cursor.dateTime(), cursor.idBoundFor(false), PageRequest.ofSize(limit))
+                .forEach(d -> entries.add(new HistoryEntry<>(
+                        new HistoryCursor(d.getReceivedDateTime(), false, d.getId()),
+                        new ReceivedMoneyHistoryDto(d.getToken(), d.getSpreadUserId(), d.getRoomId(),
+                                d.getReceivedMoney(), d.getReceivedDateTime(), false))));
+        expiredReceiveRepository.findReceivedHistory(userId, cursor.dateTime(), cursor.idBoundFor(true), PageRequest.ofSize(limit))
+                .forEach(e -> entries.add(new HistoryEntry<>(
+                        new HistoryCursor(e.getReceivedDateTime(), true, e.getId()),
+                        new ReceivedMoneyHistoryDto(e.getToken(), e.getSpreadUserId(), e.getSpreadRoomId(),
+                                e.getReceivedMoney(), e.getReceivedDateTime(), true))));
+        return entries;
+    }
+
+    /**
+     * 내역과 그 위치
+     */
+    public record HistoryEntry<T>(HistoryCursor position, T item) {
+    }
+}
@@ -0,0 +1,80 @@
+package me.study.spreadmoney.service;
+
+import lombok.RequiredArgsConstructor;
+import me.study.spreadmoney.api.dto.HistoryPageDto;
+import me.study.spreadmoney.api.dto.ReceivedMoneyHistoryDto;
+import me.study.spreadmoney.api.dto.SentSpreadHistoryDto;
+import me.study.spreadmoney.exception.PredictableRuntimeException;
+import me.study.spreadmoney.exception.RejectReason;
+import me.study.spreadmoney.service.HistoryLoader.HistoryEntry;
+import me.study.spreadmoney.shard.ShardContext;
+import me.study.spreadmoney.shard.ShardRouter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 내역 비즈니스 로직, 사용자의 뿌린 내역, 받은 내역을 최근 순으로 페이지 단위 조회
+ * 1) 보관 전(SPREAD, SPREAD_DETAIL)과 보관 후(EXPIRED_SPREAD, EXPIRED_RECEIVE) 내역을 시각 순으로 합침
+ * 2) 다음 페이지는 OFFSET 대신 이전 페이지 마지막 위치(cursor) 다음부터 조회 (keyset), 얼마나 뒤의 페이지든 조회 비용이 같음
+ * 3) shard 사용시 사용자의 내역은 여러 shard 에 있으므로 shard 별로 한 페이지씩 읽고 합침
+ */
+@Service
+@RequiredArgsConstructor
+public class HistoryService {
+    private final HistoryLoader historyLoader;
+    private final ShardRouter shardRouter;
+
+    //config.yml 설정 값
+    @Value("${config.history.max-page-size}")
+    private int max_page_size; //한 페이지 최대 내역 수
+
+    /**
+     * 뿌린 내역
+     * @param userId 조회 요청 사용자 아이디
+     * @param cursor 이전 페이지 응답의 다음 cursor 값, 없으면 첫 페이지
+     * @param size 페이지 크기
+     * @return 뿌린 내역 한 페이지
+     */
+    public HistoryPageDto<SentSpreadHistoryDto> findSentHistory(int userId, String cursor, int size) {
+        checkPageSize(size);
+        HistoryCursor position = HistoryCursor.decode(cursor);
+        return page(size, shard -> ShardContext.callOn(shard, () -> historyLoader.loadSent(userId, position, size + 1)));
+    }
+
+    /**
+     * 받은 내역
+     * @param userId 조회 요청 사용자 아이디
+     * @param cursor 이전 페이지 응답의 다음 cursor 값, 없으면 첫 페이지
+     * @param size 페이지 크기
+     * @return 받은 내역 한 페이지
+     */
+    public HistoryPageDto<ReceivedMoneyHistoryDto> findReceivedHistory(int userId, String cursor, int size) {
+        checkPageSize(size);
+        HistoryCursor position = HistoryCursor.decode(cursor);
+        return page(size, shard -> ShardContext.callOn(shard, () -> historyLoader.loadReceived(userId, position, size + 1)));
+    }
+
+    private void checkPageSize(int size) {
+        if (size < 1 || size > max_page_size)
+            throw PredictableRuntimeException.of(RejectReason.INVALID_PAGE_SIZE, "최대 개수: " + max_page_size);
+    }
+
+    /**
+     * shard 별 내역을 합쳐 한 페이지 구성, 테이블별로 size + 1 건씩 읽었으므로 size 건이 넘으면 다음 페이지가 있음
+     */
+    private <T> HistoryPageDto<T> page(int size, Function<Integer, List<HistoryEntry<T>>> loadOnShard) {
+        List<HistoryEntry<T>> entries = new ArrayList<>();
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++)
+            entries.addAll(loadOnShard.apply(shard));
+        entries.sort(Comparator.comparing(HistoryEntry::position, HistoryCursor.ORDER));
+
+        List<HistoryEntry<T>> pageEntries = entries.subList(0, Math.min(size, entries.size()));
+        String nextCursor = entries.size() > size ? pageEntries.get(size - 1).position().encode() : null;
+        return new HistoryPageDto<>(pageEntries.stream().map(HistoryEntry::item).toList(), nextCursor);
+    }
+}
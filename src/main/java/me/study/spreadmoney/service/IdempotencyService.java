@@ -0,0 +1,146 @@
+package me.study.spreadmoney.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.study.spreadmoney.entity.IdempotencyRecord;
+import me.study.spreadmoney.exception.PredictableRuntimeException;
+import me.study.spreadmoney.exception.RejectReason;
+import me.study.spreadmoney.support.SingleFlight;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 멱등 요청 처리 (Idempotency-Key), 클라이언트 재시도로 뿌리기/받기가 다시 실행되지 않도록 처음 결과로 응답
+ * 1) 메모리(LRU)에 결과가 있으면 DB 조회, 트랜잭션 없이 응답
+ * 2) 같은 key 로 동시에 들어온 요청은 하나만 실행하고 결과 공유 (Single-flight)
+ * 3) 메모리에 없으면 DB 기록 확인 (다른 서버 인스턴스, 재시작 전 요청)
+ * 4) 기록이 없으면 실행, 결과는 뿌리기/받기와 같은 트랜잭션에서 기록 (IdempotencyStore)
+ * 성공한 요청만 기록 (실패한 요청은 같은 key 로 다시 실행), key 는 사용자별로 구분
+ * 같은 key 로 다른 요청(대화방, 요청 값)을 보내면 거절
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService {
+    public static final String SPREAD = "spread";
+    public static final String RECEIVE = "receive";
+
+    private final IdempotencyStore idempotencyStore;
+    private final SingleFlight<String, StoredResponse> inFlightRequests = new SingleFlight<>(); //기록 ID 별 진행 중인 요청
+    private Map<String, StoredResponse> responses; //기록 ID 별 결과 (LRU)
+
+    //config.yml 설정 값
+    @Value("${config.idempotency.capacity}")
+    private int capacity; //메모리에 보관할 결과 최대 개수
+    @Value("${config.idempotency.ttl-hours}")
+    private long ttl_hours; //결과 보관 시간
+
+    @PostConstruct
+    public void init() {
+        responses = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > capacity;
+            }
+        });
+    }
+
+    /**
+     * 멱등 요청 실행
+     * @param operation 기능 (SPREAD, RECEIVE)
+     * @param userId 요청 사용자 ID
+     * @param roomId 요청 대화방 ID
+     * @param idempotencyKey Idempotency-Key Header 값, 없으면 그대로 실행
+     * @param fingerprint 요청 내용 (대화방, 요청 값)
+     * @param action 요청 실행 (뿌리기/받기), 결과는 뿌리기 token, 받은 금액
+     * @return 실행 결과 또는 처음 요청의 결과
+     */
+    public String execute(String operation, int userId, String roomId, String idempotencyKey,
+                          String fingerprint, Supplier<String> action) {
+        if (idempotencyKey == null)
+            return action.get();
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > 64)
+            throw PredictableRuntimeException.of(RejectReason.INVALID_IDEMPOTENCY_KEY);
+
+        String id = operation + ":" + userId + ":" + idempotencyKey;
+        StoredResponse stored = findLocal(id);
+        if (stored == null)
+            stored = inFlightRequests.execute(id, () -> load(id, operation, roomId, fingerprint, action));
+        return stored.responseFor(fingerprint);
+    }
+
+    /**
+     * 메모리의 결과 삭제 (DB 기록 확인 테스트용)
+     */
+    void clearLocal() {
+        responses.clear();
+    }
+
+    /**
+     * 진행 중인 같은 요청이 없을 때 실행 (leader), DB 기록 확인 후 없으면 실행
+     */
+    private StoredResponse load(String id, String operation, String roomId, String fingerprint, Supplier<String> action) {
+        StoredResponse stored = findLocal(id);
+        if (stored != null)
+            return stored;
+
+        LocalDateTime expiredBefore = LocalDateTime.now().minusHours(ttl_hours);
+        Optional<IdempotencyRecord> findRecord = idempotencyStore.find(id, roomId, expiredBefore);
+        if (findRecord.isEmpty()) {
+            try {
+                String response = idempotencyStore.executeAndRecord(id, operation, fingerprint, action);
+                findRecord = Optional.of(IdempotencyRecord.createIdempotencyRecord(id, fingerprint, response));
+            } catch (DataIntegrityViolationException | ConstraintViolationException ex) {
+                //다른 서버 인스턴스에서 같은 key 의 요청이 먼저 커밋됨 (이 요청은 롤백)
+                findRecord = idempotencyStore.find(id, roomId, expiredBefore);
+                if (findRecord.isEmpty())
+                    throw ex;
+                log.info("동시에 실행된 같은 멱등 요청의 결과로 응답, id: {}", id);
+            }
+        }
+
+        IdempotencyRecord idempotencyRecord = findRecord.get();
+        stored = new StoredResponse(idempotencyRecord.getFingerprint(), idempotencyRecord.getResponse(),
+                idempotencyRecord.getCreatedDateTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        responses.put(id, stored);
+        return stored;
+    }
+
+    private StoredResponse findLocal(String id) {
+        StoredResponse stored = responses.get(id);
+        if (stored == null)
+            return null;
+        if (System.currentTimeMillis() - stored.storedAtMillis() > TimeUnit.HOURS.toMillis(ttl_hours)) {
+            responses.remove(id, stored);
+            return null;
+        }
+        return stored;
+    }
+
+    /**
+     * 요청 결과 (요청 내용, 결과, 처음 요청 기록 시각)
+     */
+    private record StoredResponse(String fingerprint, String response, long storedAtMillis) {
+
+        /**
+         * 같은 요청이면 결과, 같은 key 로 다른 요청이면 거절
+         */
+        String responseFor(String requestFingerprint) {
+            if (!fingerprint.equals(requestFingerprint))
+                throw PredictableRuntimeException.of(RejectReason.IDEMPOTENCY_KEY_REUSED);
+            return response;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package me.study.spreadmoney.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import me.study.spreadmoney.entity.IdempotencyRecord;
+import me.study.spreadmoney.event.MoneyReceivedEvent;
+import me.study.spreadmoney.event.SpreadCreatedEvent;
+import me.study.spreadmoney.repository.IdempotencyRecordRepository;
+import me.study.spreadmoney.shard.ShardRouter;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * 멱등 요청 기록 (DB)
+ * 기록은 뿌리기/받기 이벤트를 받아 같은 트랜잭션에서 저장 (결과와 기록이 함께 커밋되거나 함께 롤백)
+ * 같은 기록 ID 로 동시에 저장하면 (다른 서버 인스턴스의 중복 요청) 기본 키 제약으로 나중 트랜잭션이 롤백됨
+ * shard 사용시 대화방의 shard 에 저장 (받기 token 의 shard 도 대화방의 shard)
+ */
+@Service
+@RequiredArgsConstructor
+public class IdempotencyStore {
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ShardRouter shardRouter;
+    private final ThreadLocal<PendingRecord> pendingRecord = new ThreadLocal<>(); //실행 중인 요청의 기록할 정보
+
+    private final EntityManager em;
+
+    /**
+     * 보관 중인 기록 찾기, 보관 시간이 지난 기록은 삭제 (같은 key 로 새 요청 기록)
+     * @param id 기록 ID
+     * @param roomId 요청 대화방 ID (shard 지정)
+     * @param expiredBefore 이 시각 이전 기록은 보관 시간이 지난 기록
+     * @return 보관 중인 기록
+     */
+    @Transactional
+    public Optional<IdempotencyRecord> find(String id, String roomId, LocalDateTime expiredBefore) {
+        shardRouter.bindRoom(roomId, false);
+        Optional<IdempotencyRecord> findRecord = idempotencyRecordRepository.findById(id);
+        if (findRecord.isPresent() && findRecord.get().getCreatedDateTime().isBefore(expiredBefore)) {
+            idempotencyRecordRepository.delete(findRecord.get());
+            return Optional.empty();
+        }
+        return findRecord;
+    }
+
+    /**
+     * 요청 실행, 실행 중 발생한 뿌리기/받기 이벤트의 결과를 같은 트랜잭션에서 기록
+     * @param id 기록 ID
+     * @param operation 기능 (IdempotencyService.SPREAD, RECEIVE)
+     * @param fingerprint 요청 내용
+     * @param action 요청 실행 (뿌리기/받기 트랜잭션)
+     * @return 실행 결과
+     */
+    public String executeAndRecord(String id, String operation, String fingerprint, Supplier<String> action) {
+        pendingRecord.set(new PendingRecord(id, operation, fingerprint));
+        try {
+            return action.get();
+        } finally {
+            pendingRecord.remove();
+        }
+    }
+
+    /**
+     * 현재 스레드에서 기록할 멱등 요청을 실행 중인지 여부 (기록은 요청 스레드의 트랜잭션에서만 가능)
+     */
+    public boolean hasPendingRecord() {
+        return pendingRecord.get() != null;
+    }
+
+    @EventListener
+    public void onSpreadCreated(SpreadCreatedEvent event) {
+        record(IdempotencyService.SPREAD, event.getToken());
+    }
+
+    @EventListener
+    public void onMoneyReceived(MoneyReceivedEvent event) {
+        record(IdempotencyService.RECEIVE, String.valueOf(event.getReceivedMoney()));
+    }
+
+    /**
+     * 보관 시간이 지난 기록 삭제 (현재 shard 또는 기본 DB)
+     * @param expiredBefore 이 시각 이전 기록 삭제
+     * @return 삭제한 기록 수
+     */
+    @Transactional
+    public int purge(LocalDateTime expiredBefore) {
+        return idempotencyRecordRepository.deleteCreatedBefore(expiredBefore);
+    }
+
+    /**
+     * 이벤트를 발행한 트랜잭션에 기록 저장, 기록 ID 를 알고 있으므로 조회 없이 INSERT
+     */
+    private void record(String operation, String response) {
+        PendingRecord pending = pendingRecord.get();
+        if (pending == null || pending.recorded || !pending.operation.equals(operation))
+            return;
+        em.persist(IdempotencyRecord.createIdempotencyRecord(pending.id, pending.fingerprint, response));
+        pending.recorded = true;
+    }
+
+    private static class PendingRecord {
+        private final String id;
+        private final String operation;
+        private final String fingerprint;
+        private boolean recorded;
+
+        PendingRecord(String id, String operation, String fingerprint) {
+            this.id = id;
+            this.operation = operation;
+            this.fingerprint = fingerprint;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package me.study.spreadmoney.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.study.spreadmoney.datasource.ReplicaRoutingContext;
+import me.study.spreadmoney.event.SpreadCreatedEvent;
+import me.study.spreadmoney.event.SpreadExpiredEvent;
+import me.study.spreadmoney.exception.PredictableRuntimeException;
+import me.study.spreadmoney.exception.RejectReason;
+import me.study.spreadmoney.shard.ShardContext;
+import me.study.spreadmoney.shard.ShardRouter;
+import me.study.spreadmoney.shard.TokenSlots;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 살아있는(조회 만료 전) 뿌리기 token 목록, bitmap 에 있는 token 의 받기/조회는 DB 조회 없이 통과
+ * token 은 3자리(62^3 = 238,328 가지)이므로 token 마다 1 bit 인 bitmap(약 30KB)으로 관리
+ * 1) 이 서버 인스턴스에서 커밋된 뿌리기는 바로 추가, 이관된 뿌리기는 바로 삭제
+ * 2) DB 의 token 으로 주기적으로 다시 만듦 (rebuild-millis), 다른 서버 인스턴스의 뿌리기/이관 반영
+ * 3) bitmap 에 없는 token 은 원본 DB 에서 한 번 확인 후 거절 (다른 서버 인스턴스에서 다시 만들기 전에 생성된 token 은 확인 후 추가)
+ * 4) 처음 만들기 전에는 거절하지 않음
+ * 거절 비율과 거절이 많은 사용자를 주기적으로 기록 (무작위 token 요청 확인)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LiveTokenRegistry {
+    private static final int TOKEN_LENGTH = 3;
+    private static final int CHAR_COUNT = TokenSlots.TOKEN_CHARS.length();
+    private static final int TOKEN_SPACE = CHAR_COUNT * CHAR_COUNT * CHAR_COUNT;
+    private static final int TRACKED_USERS = 10000; //거절 횟수를 기록할 최대 사용자 수
+
+    private final SpreadService spreadService;
+    private final ShardRouter shardRouter;
+
+    private final Object lock = new Object(); //bitmap 교체, 추가/삭제 lock
+    private volatile AtomicLongArray liveTokens; //살아있는 token bitmap, 처음 만들기 전에는 null
+    private AtomicLongArray rebuilding; //다시 만드는 중인 bitmap, 그 사이의 추가/삭제도 반영 (lock)
+    private final AtomicLong checkedCount = new AtomicLong(); //기록 주기 동안 확인한 요청 수
+    private final AtomicLong rejectedCount = new AtomicLong(); //기록 주기 동안 거절한 요청 수
+    private final ConcurrentHashMap<Integer, AtomicLong> rejectedByUser = new ConcurrentHashMap<>(); //기록 주기 동안 사용자별 거절 수
+
+    //config.yml 설정 값
+    @Value("${config.token-filter.enabled}")
+    private boolean enabled; //없는 token 거절 사용 여부
+    @Value("${config.token-filter.scan-warn-ratio}")
+    private double scan_warn_ratio; //경고할 거절 비율
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 없는 token 이면 거절
+     * bitmap 에 없는 token 은 원본 DB 에서 한 번 확인, 있으면 bitmap 에 추가 (다른 서버 인스턴스에서 생성된 token)
+     * token 형식이 아니면 DB 조회 없이 거절
+     * @param userId 요청 사용자 아이디
+     * @param token 요청 token
+     */
+    public void rejectUnknown(int userId, String token) {
+        if (mightExist(userId, token))
+            return;
+
+        if (indexOf(token) >= 0 && ReplicaRoutingContext.callOnPrimaryIf(true, () -> spreadService.existsToken(token))) {
+            update(token, true);
+            return;
+        }
+        recordRejected(userId);
+        throw PredictableRuntimeException.of(RejectReason.INVALID_TOKEN);
+    }
+
+    /**
+     * token 이 bitmap 에 있는지 확인 (DB 조회 없음), 확인한 요청 수 기록
+     * @param userId 요청 사용자 아이디
+     * @param token 요청 token
+     * @return 사용하지 않거나 처음 만들기 전이면 true
+     */
+    public boolean mightExist(int userId, String token) {
+        AtomicLongArray bits = liveTokens;
+        if (!enabled || bits == null)
+            return true;
+
+        checkedCount.incrementAndGet();
+        int index = indexOf(token);
+        return index >= 0 && (bits.get(index >>> 6) & (1L << index)) != 0;
+    }
+
+    /**
+     * 거절 수 기록 (기록 주기 동안 전체, 사용자별)
+     */
+    private void recordRejected(int userId) {
+        rejectedCount.incrementAndGet();
+        AtomicLong userRejected = rejectedByUser.get(userId);
+        if (userRejected == null && rejectedByUser.size() < TRACKED_USERS)
+            userRejected = rejectedByUser.computeIfAbsent(userId, id -> new AtomicLong());
+        if (userRejected != null)
+            userRejected.incrementAndGet();
+    }
+
+    /**
+     * DB(shard 사용시 모든 shard)의 token 으로 bitmap 다시 만들기
+     * 읽는 동안 이 서버 인스턴스에서 커밋된 뿌리기/이관은 새 bitmap 에도 반영
+     * @return 살아있는 token 수
+     */
+    public int rebuild() {
+        AtomicLongArray fresh = new AtomicLongArray((TOKEN_SPACE + 63) / 64);
+        synchronized (lock) {
+            rebuilding = fresh;
+        }
+        try {
+            int count = 0;
+            for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                for (String token : ShardContext.callOn(shard, spreadService::findAllTokens)) {
+                    set(fresh, token, true);
+                    count++;
+                }
+            }
+            synchronized (lock) {
+                liveTokens = fresh;
+            }
+            return count;
+        } finally {
+            synchronized (lock) {
+                rebuilding = null;
+            }
+        }
+    }
+
+    /**
+     * 뿌리기 커밋 후 token 추가 (token 을 응답하기 전)
+     */
+    @TransactionalEventListener
+    public void onSpreadCreated(SpreadCreatedEvent event) {
+        update(event.getToken(), true);
+    }
+
+    /**
+     * 이관 커밋 후 token 삭제
+     */
+    @TransactionalEventListener
+    public void onSpreadExpired(SpreadExpiredEvent event) {
+        update(event.getToken(), false);
+    }
+
+    /**
+     * 기록 주기 동안의 거절 비율 기록 후 초기화, 거절 비율이 높으면 거절이 많은 사용자와 함께 경고
+     */
+    public void reportRejections() {
+        long checked = checkedCount.getAndSet(0);
+        long rejected = rejectedCount.getAndSet(0);
+        Map<Integer, AtomicLong> byUser = Map.copyOf(rejectedByUser);
+        rejectedByUser.clear();
+        if (rejected == 0)
+            return;
+
+        double ratio = (double) rejected / checked;
+        if (ratio >= scan_warn_ratio) {
+            String topUsers = byUser.entrySet().stream()
+                    .sorted(Comparator.comparingLong((Map.Entry<Integer, AtomicLong> entry) -> entry.getValue().get()).reversed())
+                    .limit(5)
+                    .map(entry -> entry.getKey() + "=" + entry.getValue().get())
+                    .toList().toString();
+            log.warn("없는 token 요청 비율 높음, 거절: {}/{} ({}%), 사용자별 거절: {}",
+                    rejected, checked, String.format("%.1f", ratio * 100), topUsers);
+        } else {
+            log.info("없는 token 요청 거절: {}/{} ({}%)", rejected, checked, String.format("%.1f", ratio * 100));
+        }
+    }
+
+    private void update(String token, boolean live) {
+        if (!enabled)
+            return;
+        synchronized (lock) {
+            if (liveTokens != null)
+                set(liveTokens, token, live);
+            if (rebuilding != null)
+                set(rebuilding, token, live);
+        }
+    }
+
+    private static void set(AtomicLongArray bits, String token, boolean live) {
+        int index = indexOf(token);
+        if (index < 0)
+            return;
+        long mask = 1L << index;
+        if (live)
+            bits.getAndAccumulate(index >>> 6, mask, (word, m) -> word | m);
+        else
+            bits.getAndAccumulate(index >>> 6, mask, (word, m) -> word & ~m);
+    }
+
+    /**
+     * token 의 bitmap 위치, token 형식이 아니면 -1
+     */
+    private static int indexOf(String token) {
+        if (token == null || token.length() != TOKEN_LENGTH)
+            return -1;
+        int index = 0;
+        for (int i = 0; i < TOKEN_LENGTH; i++) {
+            int charIndex = TokenSlots.TOKEN_CHARS.indexOf(token.charAt(i));
+            if (charIndex < 0)
+                return -1;
+            index = index * CHAR_COUNT + charIndex;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,106 @@
+package me.study.spreadmoney.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import me.study.spreadmoney.api.dto.LookUpSpreadInfoDto;
+import me.study.spreadmoney.api.dto.ReceiveInfoDto;
+import me.study.spreadmoney.entity.ClaimLedger;
+import me.study.spreadmoney.entity.Spread;
+import me.study.spreadmoney.entity.enumerated.SpreadDetailStatus;
+import me.study.spreadmoney.exception.PredictableRuntimeException;
+import me.study.spreadmoney.exception.RejectReason;
+import me.study.spreadmoney.repository.SpreadRepository;
+import me.study.spreadmoney.shard.ShardRouter;
+import me.study.spreadmoney.support.PhaseEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * 조회 데이터 로딩
+ * 요청 사용자와 무관하게 token 에 해당하는 뿌리기 현재 상태를 읽음. (동시 조회 시 결과 공유 대상)
+ * 요청 사용자별 검증은 LookUpService 에서 수행
+ */
+@Service
+@RequiredArgsConstructor
+public class LookUpLoader {
+    private final SpreadRepository spreadRepository;
+    private final ClaimLedgerService claimLedgerService;
+    private final ShardRouter shardRouter;
+
+    /**
+     * token 에 해당하는 뿌리기 현재 상태 읽기
+     * @param token 조회 요청 token
+     * @return 뿌린 사람, 남은 인원, 받기/조회 만료 시각, 뿌리기 현재 상태
+     */
+    @Transactional(readOnly = true)
+    public LoadedSpreadInfo load(String token) {
+        //token 의 shard 지정 (shard 사용시)
+        shardRouter.bindToken(token, false);
+
+        //Token 검증, Spread 가져오기
+        Spread spread;
+        try (PhaseEvent ignored = PhaseEvent.start(PhaseEvent.LOOK_UP, "fetch", token, null)) {
+            Optional<Spread> findSpread = spreadRepository.findByToken(token);
+            if(findSpread.isEmpty())
+                throw PredictableRuntimeException.of(RejectReason.INVALID_TOKEN);
+            spread = findSpread.get();
+        }
+
+        try (PhaseEvent ignored = PhaseEvent.start(PhaseEvent.LOOK_UP, "detail", token, spread.getRoomId())) {
+            return toLoadedSpreadInfo(spread);
+        }
+    }
+
+    /**
+     * 뿌리기 상세, 반영되지 않은 받기 원장을 읽어 현재 상태 구성
+     * @param spread 조회 요청 뿌리기
+     * @return 조회 데이터 로딩 결과
+     */
+    private LoadedSpreadInfo toLoadedSpreadInfo(Spread spread) {
+        //반영되지 않은 받기 원장 (받기 원장 모드)
+        List<ClaimLedger> tail = claimLedgerService.findTail(spread.getId());
+        int totalReceivedMoney = spread.getTotalReceivedMoney() + tail.stream().mapToInt(ClaimLedger::getReceivedMoney).sum();
+        int remainPeopleNum = spread.getRemainPeopleNum() - tail.size();
+
+        //받기 완료된 정보 가져오기 (스냅샷 + 반영되지 않은 원장)
+        List<ReceiveInfoDto> receiveInfoDtoList = Stream.concat(
+                        spread.getSpreadDetails()
+                                .stream()
+                                .filter(d -> d.getStatus().equals(SpreadDetailStatus.DONE))
+                                .map(d -> new ReceiveInfoDto(d.getDistributedMoney(), d.getReceivedUserId())),
+                        tail.stream()
+                                .map(l -> new ReceiveInfoDto(l.getReceivedMoney(), l.getReceivedUserId())))
+                .toList();
+
+        LookUpSpreadInfoDto lookUpSpreadInfoDto = new LookUpSpreadInfoDto(
+                spread.getSpreadDateTime(),
+                spread.getTotalMoney(),
+                totalReceivedMoney,
+                receiveInfoDtoList);
+        lookUpSpreadInfoDto.setVersion(SpreadVersionRegistry.eTagOf(spread.getId(), remainPeopleNum));
+
+        return new LoadedSpreadInfo(
+                spread.getId(), spread.getUserId(), remainPeopleNum,
+                spread.getReceivableExpireDateTime(), spread.getViewableExpireDateTime(), lookUpSpreadInfoDto);
+    }
+
+    /**
+     * 조회 데이터 로딩 결과, 요청 사용자별 검증에 필요한 값과 응답할 현재 상태
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class LoadedSpreadInfo {
+        private final Long spreadId; //뿌리기 데이터 고유 아이디
+        private final int spreadUserId; //뿌린 사용자 아이디
+        private final int remainPeopleNum; //남은 인원
+        private final LocalDateTime receivableExpireDateTime; //받기 만료 시각
+        private final LocalDateTime viewableExpireDateTime; //조회 만료 시각
+        private final LookUpSpreadInfoDto lookUpSpreadInfoDto; //뿌리기 현재 상태
+    }
+}
@@ -3,17 +3,16 @@ package me.study.spreadmoney.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import me.study.spreadmoney.api.dto.LookUpSpreadInfoDto;
-import me.study.spreadmoney.api.dto.ReceiveInfoDto;
-import me.study.spreadmoney.entity.Spread;
-import me.study.spreadmoney.entity.enumerated.SpreadDetailStatus;
+import me.study.spreadmoney.datasource.RecentWriteTracker;
+import me.study.spreadmoney.datasource.ReplicaRoutingContext;
 import me.study.spreadmoney.exception.PredictableRuntimeException;
-import me.study.spreadmoney.repository.SpreadRepository;
+import me.study.spreadmoney.exception.RejectReason;
+import me.study.spreadmoney.service.LookUpLoader.LoadedSpreadInfo;
+import me.study.spreadmoney.support.PhaseEvent;
+import me.study.spreadmoney.support.SingleFlight;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
 
 /**
  * 조회 비즈니스 로직
@@ -23,50 +22,76 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class LookUpService {
 
-    private final SpreadRepository spreadRepository;
+    private final LookUpLoader lookUpLoader;
     private final ExpiredSpreadService expiredSpreadService;
+    private final SpreadVersionRegistry spreadVersionRegistry;
+    private final RecentWriteTracker recentWriteTracker;
+    private final LiveTokenRegistry liveTokenRegistry;
+    private final SingleFlight<String, LoadedSpreadInfo> inFlightLookUps = new SingleFlight<>(); //token 별 진행 중인 조회
 
     /**
      * 조회
      * token 에 해당하는 뿌리기 건의 현재 상태 반환
      * 1) 조회 만료일이 지나면 조회할 수 없음
      * 2) 뿌린 사람만 조회를 할 수 있음
+     * 같은 token 에 대한 조회가 동시에 들어오면 DB 조회 및 응답 DTO 생성은 한 번만 수행하고 결과를 공유함.
+     * (요청 사용자별 검증은 요청마다 수행)
      * 현재 상태: 뿌린 시각, 뿌린 금액, 받기 완료된 금액, 받기 완료된 정보([받은 금액], [받은 사용자 아이디] 리스트)
      * @param userId 조회 요청 사용자 아이디
      * @param token 조회 요청 token
      * @return token 에 해당하는 뿌리기 현재 상태
      */
-    @Transactional(readOnly = true)
     public LookUpSpreadInfoDto lookUpSpreadInfo(int userId, String token) {
-        //Token 검증, Spread 가져오기
-        Optional<Spread> findSpread = spreadRepository.findByToken(token);
-        if(findSpread.isEmpty())
-            throw new PredictableRuntimeException("유효하지 않는 Token 값입니다.");
-        Spread spread = findSpread.get();
+        return lookUpLoadedSpreadInfo(userId, token).getLookUpSpreadInfoDto();
+    }
 
-        //조회 가능 사용자 검증
-        if(spread.getUserId() != userId)
-            throw new PredictableRuntimeException("뿌린 사람 자신만 조회를 할 수 있습니다.");
+    /**
+     * 조회 (요청 사용자 검증 완료된 조회 데이터 로딩 결과)
+     * lookUpSpreadInfo 와 동일한 검증을 거친 후, 뿌리기 현재 상태와 함께 받기 만료 시각 등 부가 정보 반환
+     * 단계별 소요 시간 기록 (PhaseEvent: load, validate, 실제 읽기는 LookUpLoader 의 fetch, detail)
+     * @param userId 조회 요청 사용자 아이디
+     * @param token 조회 요청 token
+     * @return token 에 해당하는 조회 데이터 로딩 결과
+     */
+    public LoadedSpreadInfo lookUpLoadedSpreadInfo(int userId, String token) {
+        //없는 token 거절 (bitmap 에 없으면 DB 에서 한 번 확인)
+        liveTokenRegistry.rejectUnknown(userId, token);
 
-        //조회 가능 기간 검증
-        if(spread.getViewableExpireDateTime().isBefore(LocalDateTime.now())){
-            //조회 만료 데이터 이관 (Spread, SpreadDetail -> ExpiredSpread)
-            //expiredSpreadService.spreadToExpireInApiRequest(spread.getId()); -> Scheduler only 수정 (2024.01.01)
-            throw new PredictableRuntimeException("조회 가능일이 지났습니다.");
+        //Token 검증, Spread 가져오기 (진행 중인 동일 token 조회가 있다면 결과 공유, 공유 대기 시간 포함)
+        LoadedSpreadInfo loadedSpreadInfo;
+        try (PhaseEvent ignored = PhaseEvent.start(PhaseEvent.LOOK_UP, "load", token, null)) {
+            loadedSpreadInfo = inFlightLookUps.execute(token, () -> loadAndRegisterVersion(token));
         }
 
-        //받기 완료된 정보 가져오기
-        List<ReceiveInfoDto> receiveInfoDtoList = spread.getSpreadDetails()
-                .stream()
-                .filter(d -> d.getStatus().equals(SpreadDetailStatus.DONE))
-                .map(d -> new ReceiveInfoDto(d.getDistributedMoney(), d.getReceivedUserId()))
-                .toList();
+        try (PhaseEvent ignored = PhaseEvent.start(PhaseEvent.LOOK_UP, "validate", token, null)) {
+            //조회 가능 사용자 검증
+            if(loadedSpreadInfo.getSpreadUserId() != userId)
+                throw PredictableRuntimeException.of(RejectReason.LOOK_UP_NOT_OWNER);
+
+            //조회 가능 기간 검증
+            if(loadedSpreadInfo.getViewableExpireDateTime().isBefore(LocalDateTime.now())){
+                //조회 만료 데이터 이관 (Spread, SpreadDetail -> ExpiredSpread)
+                //expiredSpreadService.spreadToExpireInApiRequest(spread.getId()); -> Scheduler only 수정 (2024.01.01)
+                throw PredictableRuntimeException.of(RejectReason.LOOK_UP_EXPIRED);
+            }
+        }
 
         //응답
-        return new LookUpSpreadInfoDto(
-                spread.getSpreadDateTime(),
-                spread.getTotalMoney(),
-                spread.getTotalReceivedMoney(),
-                receiveInfoDtoList);
+        return loadedSpreadInfo;
+    }
+
+    /**
+     * 조회 데이터 로딩 후 확인된 뿌리기 상태 버전 등록 (조건부 조회 요청에서 사용)
+     * 복제 DB 사용시 방금 뿌리기/받기가 있었던 token 은 원본 DB 에서 읽음
+     * @param token 조회 요청 token
+     * @return 조회 데이터 로딩 결과
+     */
+    private LoadedSpreadInfo loadAndRegisterVersion(String token) {
+        LoadedSpreadInfo loadedSpreadInfo = ReplicaRoutingContext.callOnPrimaryIf(
+                recentWriteTracker.isRecentlyWritten(token), () -> lookUpLoader.load(token));
+        spreadVersionRegistry.register(
+                loadedSpreadInfo.getSpreadId(), token, loadedSpreadInfo.getSpreadUserId(),
+                loadedSpreadInfo.getRemainPeopleNum(), loadedSpreadInfo.getViewableExpireDateTime());
+        return loadedSpreadInfo;
     }
 }
@@ -0,0 +1,137 @@
+package me.study.spreadmoney.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.study.spreadmoney.entity.OutboxEvent;
+import me.study.spreadmoney.entity.enumerated.OutboxEventType;
+import me.study.spreadmoney.event.MoneyReceivedEvent;
+import me.study.spreadmoney.event.SpreadCreatedEvent;
+import me.study.spreadmoney.event.SpreadExpiredEvent;
+import me.study.spreadmoney.event.SpreadsRefundedEvent;
+import me.study.spreadmoney.exception.UnrelatedWithClientRequestException;
+import me.study.spreadmoney.outbox.OutboxMessage;
+import me.study.spreadmoney.outbox.OutboxSink;
+import me.study.spreadmoney.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 외부 시스템(지갑) 이벤트 전달 비즈니스 로직 (transactional outbox)
+ * 1) 뿌리기, 받기, 이관, 돌려주기 이벤트를 같은 트랜잭션에서 전달 대기 이벤트로 저장 (요청 처리 중 외부 호출 없음)
+ * 2) 주기적으로 전달 대기 이벤트를 발생 순으로 모아 뿌리기 별로 전달, 전달 완료된 이벤트만 삭제
+ * 3) 전달 실패한 뿌리기의 이후 이벤트는 다음 전달까지 보류하여 뿌리기 별 순서 유지
+ * 전달 후 삭제 전에 종료되면 다시 전달되므로(at-least-once) 수신측은 eventId 로 중복 제거
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink outboxSink;
+    private final ObjectMapper objectMapper;
+
+    //config.yml 설정 값
+    @Value("${config.outbox.enabled}")
+    private boolean outbox_enabled; //이벤트 전달 사용 여부
+    @Value("${config.outbox.batch-size}")
+    private int batch_size; //한 번에 전달할 최대 이벤트 수
+
+    /**
+     * 이벤트 전달 사용 여부
+     * @return 이벤트 전달 사용 여부
+     */
+    public boolean isEnabled() {
+        return outbox_enabled;
+    }
+
+    @EventListener
+    public void onSpreadCreated(SpreadCreatedEvent event) {
+        save(event.getSpreadId(), OutboxEventType.SPREAD_CREATED, event);
+    }
+
+    @EventListener
+    public void onMoneyReceived(MoneyReceivedEvent event) {
+        save(event.getSpreadId(), OutboxEventType.MONEY_RECEIVED, event);
+    }
+
+    @EventListener
+    public void onSpreadExpired(SpreadExpiredEvent event) {
+        save(event.getSpreadId(), OutboxEventType.SPREAD_ARCHIVED, event);
+    }
+
+    /**
+     * 돌려주기 묶음은 뿌리기 별 전달 대기 이벤트로 한 번에 저장 (JDBC batch)
+     */
+    @EventListener
+    public void onSpreadsRefunded(SpreadsRefundedEvent event) {
+        if (!outbox_enabled)
+            return;
+        outboxEventRepository.saveAll(event.getRefunds().stream()
+                .map(refund -> toOutboxEvent(refund.getSpreadId(), OutboxEventType.SPREAD_REFUNDED, refund))
+                .toList());
+    }
+
+    /**
+     * 전달 대기 이벤트 저장, 이벤트를 발행한 트랜잭션에 참여 (커밋될 때 함께 INSERT)
+     */
+    private void save(Long spreadId, OutboxEventType eventType, Object event) {
+        if (!outbox_enabled)
+            return;
+        outboxEventRepository.save(toOutboxEvent(spreadId, eventType, event));
+    }
+
+    private OutboxEvent toOutboxEvent(Long spreadId, OutboxEventType eventType, Object event) {
+        try {
+            return OutboxEvent.createOutboxEvent(spreadId, eventType, objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException ex) {
+            throw new UnrelatedWithClientRequestException("전달 대기 이벤트 변환 실패: " + event, ex);
+        }
+    }
+
+    /**
+     * 전달 대기 이벤트를 발생 순으로 최대 batch-size 개 가져와 뿌리기 별로 전달
+     * 전달 완료된 이벤트는 삭제, 실패한 뿌리기의 이벤트는 남겨두고 다음 전달에서 재시도
+     * @return 전달 완료된 이벤트 수
+     */
+    public int relay() {
+        List<OutboxEvent> outboxEvents = outboxEventRepository.findAllByOrderByIdAsc(PageRequest.of(0, batch_size));
+        if (outboxEvents.isEmpty())
+            return 0;
+
+        //뿌리기 별로 묶기 (뿌리기 내 발생 순서 유지)
+        Map<Long, List<OutboxEvent>> outboxEventsBySpreadId = new LinkedHashMap<>();
+        for (OutboxEvent outboxEvent : outboxEvents)
+            outboxEventsBySpreadId.computeIfAbsent(outboxEvent.getSpreadId(), id -> new ArrayList<>()).add(outboxEvent);
+
+        List<Long> deliveredIds = new ArrayList<>();
+        for (Map.Entry<Long, List<OutboxEvent>> entry : outboxEventsBySpreadId.entrySet()) {
+            List<OutboxEvent> spreadOutboxEvents = entry.getValue();
+            try {
+                outboxSink.send(spreadOutboxEvents.stream().map(this::toMessage).toList());
+                spreadOutboxEvents.forEach(e -> deliveredIds.add(e.getId()));
+            } catch (IOException | RuntimeException ex) {
+                log.warn("이벤트 전달 실패, 다음 전달에서 재시도. spreadId: {}, 이벤트: {} {}",
+                        entry.getKey(), spreadOutboxEvents.size(), ex.getMessage());
+            }
+        }
+
+        if (!deliveredIds.isEmpty())
+            outboxEventRepository.deleteAllByIdInBatch(deliveredIds);
+        return deliveredIds.size();
+    }
+
+    private OutboxMessage toMessage(OutboxEvent outboxEvent) {
+        return new OutboxMessage(outboxEvent.getId(), outboxEvent.getSpreadId(), outboxEvent.getEventType().name(),
+                outboxEvent.getCreatedDateTime(), outboxEvent.getPayload());
+    }
+}
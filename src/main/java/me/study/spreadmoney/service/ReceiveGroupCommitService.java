@@ -0,0 +1,209 @@
+package me.study.spreadmoney.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.study.spreadmoney.service.ReceiveService.Claim;
+import me.study.spreadmoney.service.ReceiveService.ClaimResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 받기 묶음 처리 (group commit)
+ * 같은 token 의 받기가 처리 중일 때 들어온 받기들은 window-millis 동안 모아 한 트랜잭션으로 처리 (커밋 1회)
+ * 1) 묶음의 첫 요청(leader)이 요청 스레드에서 묶음을 실행, 나머지 요청은 자기 결과를 기다림
+ * 2) 처리 중인 받기가 없다면 기다리지 않고 바로 실행 (경쟁이 없는 token 은 지연 없음)
+ * 3) 묶음은 최대 max-size 건, 가득 차면 기다리지 않고 실행
+ * 4) 같은 token 의 트랜잭션은 이 서버 인스턴스에서 하나씩 실행 (앞 묶음이 커밋되는 동안 다음 묶음을 모음)
+ * 5) 받기별 검증 실패는 그 요청만 실패, 트랜잭션 실패(DB 오류)는 묶음 전체 실패
+ * Idempotency-Key 요청은 기록을 요청 스레드의 트랜잭션에 저장해야 하므로 묶지 않고 바로 실행
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReceiveGroupCommitService {
+    private static final int LOCK_STRIPES = 256;
+
+    private final ReceiveService receiveService;
+    private final IdempotencyStore idempotencyStore;
+    private final LiveTokenRegistry liveTokenRegistry;
+
+    private final ConcurrentHashMap<String, Group> openGroups = new ConcurrentHashMap<>(); //token 별 모으는 중인 묶음
+    private final ReentrantLock[] tokenLocks = new ReentrantLock[LOCK_STRIPES]; //token 별 트랜잭션 실행 lock (token hash 로 나눔)
+    private final AtomicLong commitCount = new AtomicLong(); //받기 트랜잭션 수
+    private final AtomicLong receiveCount = new AtomicLong(); //커밋된 트랜잭션에서 처리한 받기 요청 수 (묶음의 실패 요청 포함)
+
+    //config.yml 설정 값
+    @Value("${config.receive.group-commit.enabled}")
+    private boolean enabled; //받기 묶음 처리 사용 여부
+    @Value("${config.receive.group-commit.window-millis}")
+    private long window_millis; //묶음을 모으는 시간
+    @Value("${config.receive.group-commit.max-size}")
+    private int max_size; //묶음 최대 크기
+
+    @PostConstruct
+    public void init() {
+        for (int i = 0; i < LOCK_STRIPES; i++)
+            tokenLocks[i] = new ReentrantLock();
+    }
+
+    /**
+     * 받기 (사용하지 않으면 ReceiveService.receiveMoney 와 동일)
+     * @param userId 받기 요청 사용자 아이디
+     * @param roomId 받기 요청 사용자 대화방 아이디
+     * @param token 받기를 요청하는 뿌리기 token
+     * @return 받은 금액
+     */
+    public int receiveMoney(int userId, String roomId, String token) {
+        //없는 token 거절 (bitmap 에 없으면 DB 에서 한 번 확인)
+        liveTokenRegistry.rejectUnknown(userId, token);
+        if (!enabled)
+            return receiveService.receiveMoney(userId, roomId, token);
+        if (idempotencyStore.hasPendingRecord())
+            return execute(token, () -> receiveService.receiveMoney(userId, roomId, token));
+
+        Pending pending = new Pending(new Claim(userId, roomId));
+        Group group;
+        boolean leader;
+        while (true) {
+            group = openGroups.computeIfAbsent(token, t -> new Group());
+            synchronized (group) {
+                if (group.closed) {
+                    //실행이 시작된 묶음, 새 묶음으로
+                    openGroups.remove(token, group);
+                    continue;
+                }
+                group.pendings.add(pending);
+                leader = group.pendings.size() == 1;
+                if (group.pendings.size() >= max_size)
+                    close(token, group);
+                break;
+            }
+        }
+
+        if (leader)
+            lead(token, group);
+        try {
+            return pending.result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw ex;
+        }
+    }
+
+    public long getCommitCount() {
+        return commitCount.get();
+    }
+
+    public long getReceiveCount() {
+        return receiveCount.get();
+    }
+
+    /**
+     * 묶음 실행 (leader), 같은 token 의 트랜잭션이 실행 중이면 window-millis 동안 모은 후 실행
+     */
+    private void lead(String token, Group group) {
+        synchronized (group) {
+            if (lockOf(token).isLocked()) {
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(window_millis);
+                long remain;
+                while (!group.closed && (remain = deadline - System.nanoTime()) > 0) {
+                    try {
+                        TimeUnit.NANOSECONDS.timedWait(group, remain);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+            close(token, group);
+        }
+
+        List<Pending> pendings = group.pendings;
+        if (pendings.size() == 1) {
+            Pending pending = pendings.get(0);
+            try {
+                pending.result.complete(execute(token,
+                        () -> receiveService.receiveMoney(pending.claim.userId(), pending.claim.roomId(), token)));
+            } catch (RuntimeException ex) {
+                pending.result.completeExceptionally(ex);
+            }
+            return;
+        }
+
+        try {
+            List<Claim> claims = pendings.stream().map(pending -> pending.claim).toList();
+            List<ClaimResult> results = execute(token, () -> receiveService.receiveMoneyBatch(token, claims));
+            for (int i = 0; i < pendings.size(); i++) {
+                ClaimResult result = results.get(i);
+                if (result.failure() != null)
+                    pendings.get(i).result.completeExceptionally(result.failure());
+                else
+                    pendings.get(i).result.complete(result.receivedMoney());
+            }
+        } catch (RuntimeException ex) {
+            log.warn("받기 묶음 처리 실패, token: {}, 묶음 크기: {} {}", token, pendings.size(), ex.getMessage());
+            pendings.forEach(pending -> pending.result.completeExceptionally(ex));
+        }
+    }
+
+    /**
+     * 트랜잭션 실행 (token 별 하나씩), 커밋 수 기록
+     */
+    private <T> T execute(String token, Supplier<T> transaction) {
+        ReentrantLock lock = lockOf(token);
+        lock.lock();
+        try {
+            T result = transaction.get();
+            commitCount.incrementAndGet();
+            receiveCount.addAndGet(result instanceof List<?> list ? list.size() : 1);
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock lockOf(String token) {
+        return tokenLocks[Math.floorMod(token.hashCode(), LOCK_STRIPES)];
+    }
+
+    /**
+     * 묶음 닫기 (더 이상 추가하지 않음), group 의 lock 을 가진 상태에서 호출
+     */
+    private void close(String token, Group group) {
+        group.closed = true;
+        openGroups.remove(token, group);
+        group.notifyAll();
+    }
+
+    /**
+     * 모으는 중인 받기 묶음
+     */
+    private static class Group {
+        private final List<Pending> pendings = new ArrayList<>();
+        private boolean closed;
+    }
+
+    /**
+     * 묶음 안의 받기 요청과 결과
+     */
+    private static class Pending {
+        private final Claim claim;
+        private final CompletableFuture<Integer> result = new CompletableFuture<>();
+
+        private Pending(Claim claim) {
+            this.claim = claim;
+        }
+    }
+}
@@ -0,0 +1,412 @@
+package me.study.spreadmoney.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.study.spreadmoney.datasource.ReplicaRoutingContext;
+import me.study.spreadmoney.event.MoneyReceivedEvent;
+import me.study.spreadmoney.event.SpreadExpiredEvent;
+import me.study.spreadmoney.exception.UnrelatedWithClientRequestException;
+import me.study.spreadmoney.service.LookUpLoader.LoadedSpreadInfo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 받기 알림 구독 비즈니스 로직
+ * 뿌린 사람이 token 을 구독하면 받기가 커밋될 때마다 받은 금액, 받은 사용자 아이디를 전송 (Server-Sent Events)
+ * 모두 받아가거나, 받기 만료 시각이 지나거나, 조회 만료로 이관되면 마지막 알림을 보내고 구독 종료
+ * 1) 알림 데이터는 이벤트당 한 번만 직렬화하여 모든 구독자가 공유
+ * 2) 전송은 별도 스레드에서 수행, 받기 요청 스레드는 구독자별 대기열에 넣기만 함
+ * 3) 구독자별 대기열은 크기가 정해져 있으며, 넘치면 (느린 구독자) 구독 종료
+ * 4) 알림 한 건 전송이 send-timeout-millis 를 넘으면 (느린 구독자) 구독 종료, 전송 스레드는 더 기다리지 않음
+ *    (연결 쓰기는 쓰기 전용 스레드에서 수행, 막힌 쓰기는 연결이 끊어질 때까지 쓰기 전용 스레드만 차지)
+ *    쓰기 전용 스레드는 writer-threads 개까지만 만들고 대기열 없음, 모두 사용 중이면 쓰려던 구독자는 구독 종료
+ *    쓰는 중인 구독자의 종료(전송 객체 종료)는 쓰기를 마친 쓰기 스레드가 수행 (막힌 쓰기 뒤에서 기다리지 않음)
+ * 5) 구독 등록 후 현재 상태를 원본 DB 에서 다시 읽으므로 구독 전후의 받기가 누락되지 않음,
+ *    현재 상태에 이미 반영된 받기 알림(남은 인원으로 판단)은 전송하지 않음
+ * 이 서버 인스턴스에서 커밋된 받기만 알림.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReceiveNotificationService {
+    private static final String EVENT_SNAPSHOT = "snapshot"; //구독 시점 현재 상태
+    private static final String EVENT_RECEIVE = "receive"; //받기 발생
+    private static final String EVENT_DONE = "done"; //모두 받아감 (마지막 알림)
+    private static final String EVENT_EXPIRED = "expired"; //받기 만료 또는 조회 만료 (마지막 알림)
+    private static final long EMITTER_TIMEOUT_MARGIN_MILLIS = 10_000L;
+
+    private final LookUpService lookUpService;
+    private final LookUpLoader lookUpLoader;
+    private final ObjectMapper objectMapper;
+
+    private final ConcurrentHashMap<String, Set<Subscriber>> subscribersByToken = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private ExecutorService senderExecutor;
+    private ExecutorService writerExecutor;
+
+    //config.yml 설정 값
+    @Value("${config.subscribe.buffer-size}")
+    private int buffer_size; //구독자별 전송 대기 알림 최대 개수
+    @Value("${config.subscribe.sender-threads}")
+    private int sender_threads; //알림 전송 스레드 수
+    @Value("${config.subscribe.send-timeout-millis}")
+    private long send_timeout_millis; //알림 한 건 전송 제한 시간, 넘으면 느린 구독자로 보고 구독 종료
+    @Value("${config.subscribe.writer-threads}")
+    private int writer_threads; //알림 쓰기 스레드 최대 수
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNum = new AtomicInteger();
+        senderExecutor = Executors.newFixedThreadPool(sender_threads, r -> {
+            Thread thread = new Thread(r, "receive-notification-" + threadNum.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger writerThreadNum = new AtomicInteger();
+        writerExecutor = new ThreadPoolExecutor(0, writer_threads, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+            Thread thread = new Thread(r, "receive-notification-writer-" + writerThreadNum.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senderExecutor.shutdownNow();
+        writerExecutor.shutdownNow();
+    }
+
+    /**
+     * 받기 알림 구독
+     * 1) 조회와 동일하게 뿌린 사람만, 조회 만료일이 지나지 않은 뿌리기만 구독할 수 있음
+     * 2) 구독 등록 후 현재 상태를 원본 DB 에서 다시 읽어 첫 알림으로 전송 (등록 후 발생한 받기 알림은 현재 상태 다음에 전송)
+     * 3) 이미 받기가 끝난 뿌리기는 현재 상태와 마지막 알림 후 바로 종료
+     * @param userId 구독 요청 사용자 아이디
+     * @param token 구독하려는 뿌리기 token
+     * @return 알림 전송 객체
+     */
+    public SseEmitter subscribe(int userId, String token) {
+        //조회 가능 여부 검증 (뿌린 사람, 조회 만료일), 현재 상태는 구독 등록 후 다시 읽음
+        LoadedSpreadInfo checkedSpreadInfo = lookUpService.lookUpLoadedSpreadInfo(userId, token);
+        LocalDateTime receivableExpireDateTime = checkedSpreadInfo.getReceivableExpireDateTime();
+
+        //받기 만료 시각까지만 연결 유지
+        long timeout = Math.max(0, Duration.between(LocalDateTime.now(), receivableExpireDateTime).toMillis())
+                + EMITTER_TIMEOUT_MARGIN_MILLIS;
+        SseEmitter emitter = new SseEmitter(timeout);
+        Subscriber subscriber = new Subscriber(
+                checkedSpreadInfo.getSpreadId(), token, receivableExpireDateTime, emitter, new ArrayBlockingQueue<>(buffer_size));
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(ex -> unsubscribe(subscriber));
+
+        //구독 등록, 현재 상태를 보내기 전까지 받기 알림은 대기열에만 쌓음 (전송 중 표시)
+        subscriber.getDraining().set(true);
+        subscribersByToken.computeIfAbsent(token, t -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        log.info("받기 알림 구독, token: {}, 구독자 수: {}", token, subscriberCount.incrementAndGet());
+
+        //구독 등록 후 현재 상태 (조회 결과 공유 없이 원본 DB 에서 읽음)
+        LoadedSpreadInfo loadedSpreadInfo;
+        try {
+            loadedSpreadInfo = ReplicaRoutingContext.callOnPrimaryIf(true, () -> lookUpLoader.load(token));
+        } catch (RuntimeException ex) {
+            unsubscribe(subscriber);
+            throw ex;
+        }
+        subscriber.snapshot(new Notification(EVENT_SNAPSHOT, toJson(loadedSpreadInfo.getLookUpSpreadInfoDto()), false),
+                loadedSpreadInfo.getRemainPeopleNum());
+        if (loadedSpreadInfo.getRemainPeopleNum() <= 0)
+            publish(subscriber, new Notification(EVENT_DONE, "{}", true));
+        else if (receivableExpireDateTime.isBefore(LocalDateTime.now()))
+            publish(subscriber, new Notification(EVENT_EXPIRED, "{}", true));
+
+        //현재 상태, 쌓인 받기 알림 전송 시작
+        senderExecutor.execute(() -> drain(subscriber));
+        return emitter;
+    }
+
+    /**
+     * 받기 커밋 후 해당 token 구독자들에게 받기 알림 (받은 금액, 받은 사용자 아이디, 남은 인원)
+     * 남은 인원이 없다면 마지막 알림
+     */
+    @TransactionalEventListener
+    public void onMoneyReceived(MoneyReceivedEvent event) {
+        Set<Subscriber> subscribers = subscribersByToken.get(event.getToken());
+        if (subscribers == null || subscribers.isEmpty())
+            return;
+
+        boolean last = event.getRemainPeopleNum() <= 0;
+        Notification receive = new Notification(EVENT_RECEIVE, toJson(new ReceiveDelta(
+                event.getReceivedMoney(), event.getReceivedUserId(), event.getRemainPeopleNum())), false, event.getRemainPeopleNum());
+        Notification done = last ? new Notification(EVENT_DONE, "{}", true) : null;
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.getSpreadId().equals(event.getSpreadId()))
+                continue;
+            publish(subscriber, receive);
+            if (last)
+                publish(subscriber, done);
+        }
+    }
+
+    /**
+     * 조회 만료 이관 커밋 후 해당 token 구독자들에게 마지막 알림
+     */
+    @TransactionalEventListener
+    public void onSpreadExpired(SpreadExpiredEvent event) {
+        Set<Subscriber> subscribers = subscribersByToken.get(event.getToken());
+        if (subscribers == null || subscribers.isEmpty())
+            return;
+
+        Notification expired = new Notification(EVENT_EXPIRED, "{}", true);
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.getSpreadId().equals(event.getSpreadId()))
+                publish(subscriber, expired);
+        }
+    }
+
+    /**
+     * 받기 만료 시각이 지난 구독에 마지막 알림
+     */
+    @Scheduled(fixedDelayString = "${config.subscribe.expire-check-millis}")
+    public void closeReceivableExpiredSubscriptions() {
+        LocalDateTime now = LocalDateTime.now();
+        Notification expired = new Notification(EVENT_EXPIRED, "{}", true);
+        for (Set<Subscriber> subscribers : subscribersByToken.values()) {
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.getReceivableExpireDateTime().isBefore(now))
+                    publish(subscriber, expired);
+            }
+        }
+    }
+
+    /**
+     * 구독자 대기열에 알림 추가 후 전송 스레드에 전송 요청
+     * 대기열이 가득 찬 구독자는 구독 종료
+     */
+    private void publish(Subscriber subscriber, Notification notification) {
+        if (subscriber.isClosed())
+            return;
+        if (!subscriber.getQueue().offer(notification)) {
+            log.warn("받기 알림 대기열 초과로 구독 종료, token: {}", subscriber.getToken());
+            close(subscriber);
+            return;
+        }
+        if (subscriber.getDraining().compareAndSet(false, true))
+            senderExecutor.execute(() -> drain(subscriber));
+    }
+
+    /**
+     * 구독자 대기열의 알림 전송, 구독자별로 한 스레드만 전송 (알림 순서 보장)
+     * 현재 상태를 아직 보내지 않았다면 먼저 보내고, 현재 상태에 이미 반영된 받기 알림은 건너뜀
+     */
+    private void drain(Subscriber subscriber) {
+        try {
+            Notification snapshot = subscriber.takeSnapshot();
+            if (snapshot != null && !subscriber.isClosed())
+                send(subscriber, snapshot);
+
+            Notification notification;
+            while ((notification = subscriber.getQueue().poll()) != null) {
+                if (subscriber.isClosed())
+                    return;
+                if (subscriber.isReflectedInSnapshot(notification))
+                    continue;
+                send(subscriber, notification);
+                if (notification.isLast()) {
+                    close(subscriber);
+                    return;
+                }
+            }
+        } catch (IOException | IllegalStateException ex) {
+            log.info("받기 알림 전송 실패로 구독 종료, token: {}, {}", subscriber.getToken(), ex.getMessage());
+            close(subscriber);
+        } catch (TimeoutException ex) {
+            log.warn("받기 알림 전송 시간 초과로 구독 종료 (느린 구독자), token: {}", subscriber.getToken());
+            close(subscriber);
+        } catch (RejectedExecutionException ex) {
+            log.warn("받기 알림 쓰기 스레드 부족으로 구독 종료, token: {}", subscriber.getToken());
+            close(subscriber);
+        } finally {
+            subscriber.getDraining().set(false);
+        }
+
+        //전송 종료 직전 추가된 알림 처리
+        if (!subscriber.getQueue().isEmpty() && subscriber.getDraining().compareAndSet(false, true))
+            senderExecutor.execute(() -> drain(subscriber));
+    }
+
+    /**
+     * 알림 한 건 전송, 쓰기 전용 스레드에서 쓰고 send-timeout-millis 까지만 기다림
+     * 쓰기 스레드가 모두 사용 중이면 RejectedExecutionException
+     */
+    private void send(Subscriber subscriber, Notification notification) throws IOException, TimeoutException {
+        subscriber.getWriting().set(true);
+        Future<?> write;
+        try {
+            write = writerExecutor.submit(() -> {
+                try {
+                    subscriber.getEmitter().send(SseEmitter.event()
+                            .name(notification.getName())
+                            .data(notification.getData()));
+                } finally {
+                    //쓰는 중에 구독이 종료되었다면 여기서 전송 객체 종료
+                    subscriber.getWriting().set(false);
+                    if (subscriber.isClosed())
+                        complete(subscriber);
+                }
+                return null;
+            });
+        } catch (RejectedExecutionException ex) {
+            subscriber.getWriting().set(false);
+            throw ex;
+        }
+        try {
+            write.get(send_timeout_millis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof IOException ioException)
+                throw ioException;
+            if (ex.getCause() instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("받기 알림 전송 중단", ex);
+        }
+    }
+
+    /**
+     * 구독 종료, 호출한 스레드는 막힌 쓰기를 기다리지 않음
+     * 쓰는 중이라면 쓰기를 마친 쓰기 스레드가 전송 객체를 종료, 아니라면 쓰기 스레드에서 종료 (쓰기 스레드가 모두 사용 중이면 직접 종료)
+     */
+    private void close(Subscriber subscriber) {
+        if (subscriber.getClosedFlag().compareAndSet(false, true)) {
+            unsubscribe(subscriber);
+            subscriber.getQueue().clear();
+            if (subscriber.getWriting().get())
+                return;
+            try {
+                writerExecutor.execute(() -> complete(subscriber));
+            } catch (RejectedExecutionException ex) {
+                complete(subscriber);
+            }
+        }
+    }
+
+    /**
+     * 전송 객체 종료, 구독자별로 한 번만
+     */
+    private void complete(Subscriber subscriber) {
+        if (subscriber.getCompletedFlag().compareAndSet(false, true))
+            subscriber.getEmitter().complete();
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscriber.getClosedFlag().set(true);
+        Set<Subscriber> subscribers = subscribersByToken.get(subscriber.getToken());
+        if (subscribers != null && subscribers.remove(subscriber)) {
+            subscriberCount.decrementAndGet();
+            subscribersByToken.computeIfPresent(subscriber.getToken(), (token, set) -> set.isEmpty() ? null : set);
+        }
+    }
+
+    private String toJson(Object data) {
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException ex) {
+            throw new UnrelatedWithClientRequestException("받기 알림 데이터 변환 실패", ex);
+        }
+    }
+
+    /**
+     * 구독자, 알림 대기열과 전송 상태
+     */
+    @Getter
+    @RequiredArgsConstructor
+    static class Subscriber {
+        private final Long spreadId; //구독한 뿌리기 데이터 고유 아이디
+        private final String token; //구독한 뿌리기 token
+        private final LocalDateTime receivableExpireDateTime; //받기 만료 시각
+        private final SseEmitter emitter; //알림 전송 객체
+        private final ArrayBlockingQueue<Notification> queue; //전송 대기 알림
+        private final AtomicBoolean draining = new AtomicBoolean(); //전송 스레드 실행 여부
+        private final AtomicBoolean closedFlag = new AtomicBoolean(); //구독 종료 여부
+        private final AtomicBoolean writing = new AtomicBoolean(); //쓰기 스레드에서 쓰는 중 여부
+        private final AtomicBoolean completedFlag = new AtomicBoolean(); //전송 객체 종료 여부
+        private volatile Notification snapshot; //전송 전 현재 상태 (전송 후 null)
+        private volatile int snapshotRemainPeopleNum = Integer.MAX_VALUE; //현재 상태의 남은 인원
+
+        boolean isClosed() {
+            return closedFlag.get();
+        }
+
+        void snapshot(Notification snapshot, int remainPeopleNum) {
+            this.snapshotRemainPeopleNum = remainPeopleNum;
+            this.snapshot = snapshot;
+        }
+
+        Notification takeSnapshot() {
+            Notification taken = snapshot;
+            snapshot = null;
+            return taken;
+        }
+
+        //받기 후 남은 인원이 현재 상태의 남은 인원 이상이면 현재 상태에 이미 반영된 받기
+        boolean isReflectedInSnapshot(Notification notification) {
+            return notification.getRemainPeopleNum() >= 0 && notification.getRemainPeopleNum() >= snapshotRemainPeopleNum;
+        }
+    }
+
+    /**
+     * 전송할 알림, 직렬화된 데이터를 구독자들이 공유
+     */
+    @Getter
+    @AllArgsConstructor
+    static class Notification {
+        private final String name; //알림 종류
+        private final String data; //알림 데이터 (JSON)
+        private final boolean last; //마지막 알림 여부
+        private final int remainPeopleNum; //받기 후 남은 인원 (받기 알림), 그 외 -1
+
+        Notification(String name, String data, boolean last) {
+            this(name, data, last, -1);
+        }
+    }
+
+    /**
+     * 받기 알림 데이터
+     */
+    @Getter
+    @AllArgsConstructor
+    static class ReceiveDelta {
+        private final int receivedMoney; //받은 금액
+        private final int receivedUserId; //받은 사용자 아이디
+        private final int remainPeopleNum; //남은 인원, 알림 누락 확인용
+    }
+}
@@ -0,0 +1,280 @@
+package me.study.spreadmoney.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.study.spreadmoney.event.MoneyReceivedEvent;
+import me.study.spreadmoney.event.SpreadCreatedEvent;
+import me.study.spreadmoney.exception.PredictableRuntimeException;
+import me.study.spreadmoney.exception.RejectReason;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 비동기 받기 비즈니스 로직 (큰 대화방용)
+ * 받기 요청을 token 별 대기열에 넣고 접수증(ticket)으로 바로 응답, 결과는 접수증 조회로 확인
+ * 1) token 별로 하나의 처리자만 대기열을 도착 순서대로 처리 (같은 Spread 행에 대한 동시 받기 트랜잭션 없음)
+ * 2) 처리자는 drain-batch-size 건 처리 후 다른 token 에 양보 (처리 스레드를 한 token 이 독점하지 않도록)
+ * 3) 대기열 길이는 token 별(queue-capacity), 전체(max-queued) 제한, 초과시 접수하지 않고 거절
+ * 4) 모두 받아간 뿌리기는 이후 요청을 DB 조회 없이 거절 (대기 중인 요청 포함)
+ * 5) Idempotency-Key 가 있으면 처리도 멱등 요청으로 실행 (재시도로 다시 접수되어도 처음 받은 금액)
+ * 6) 사용하지 않는 token 대기열은 비어있을 때 닫고(RETIRED) 삭제, 닫힌 대기열을 받은 접수는 새 대기열로 다시 시도 (token 별 처리자 하나 유지)
+ * 대기열, 접수증은 이 서버 인스턴스 메모리에만 있음 (재시작시 대기 중인 요청은 처리되지 않음, 같은 key 로 다시 요청)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReceiveQueueService {
+    private static final int RETIRED = -1; //삭제하려고 닫은 대기열의 대기 중인 요청 수, 이후 접수하지 않음
+
+    private final ReceiveService receiveService;
+    private final IdempotencyService idempotencyService;
+    private final LiveTokenRegistry liveTokenRegistry;
+
+    private final ConcurrentHashMap<String, TokenQueue> queues = new ConcurrentHashMap<>(); //token 별 대기열
+    private final ConcurrentHashMap<String, ReceiveTicket> tickets = new ConcurrentHashMap<>(); //접수증 아이디 별 접수증
+    private final AtomicInteger queuedCount = new AtomicInteger(); //전체 대기 중인 요청 수
+    private Set<String> asyncRooms;
+    private ExecutorService consumerExecutor;
+
+    //config.yml 설정 값
+    @Value("${config.receive.async.enabled}")
+    private boolean enabled; //비동기 받기 사용 여부
+    @Value("${config.receive.async.rooms}")
+    private String[] rooms; //비동기 받기 대화방 목록 (비어있으면 모든 대화방)
+    @Value("${config.receive.async.queue-capacity}")
+    private int queue_capacity; //token 별 대기열 최대 길이
+    @Value("${config.receive.async.max-queued}")
+    private int max_queued; //전체 대기열 최대 길이
+    @Value("${config.receive.async.consumer-threads}")
+    private int consumer_threads; //대기열 처리 스레드 수
+    @Value("${config.receive.async.drain-batch-size}")
+    private int drain_batch_size; //처리자가 한 번에 처리할 요청 수
+    @Value("${config.receive.async.ticket-ttl-millis}")
+    private long ticket_ttl_millis; //처리 결과 보관 시간
+    @Value("${config.receive.async.max-wait-millis}")
+    private long max_wait_millis; //결과 조회 최대 대기 시간
+
+    @PostConstruct
+    public void init() {
+        asyncRooms = Arrays.stream(rooms).map(String::trim).filter(room -> !room.isEmpty()).collect(Collectors.toSet());
+        if (!enabled)
+            return;
+        AtomicInteger threadNum = new AtomicInteger();
+        consumerExecutor = Executors.newFixedThreadPool(consumer_threads, r -> {
+            Thread thread = new Thread(r, "receive-queue-" + threadNum.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (consumerExecutor != null)
+            consumerExecutor.shutdownNow();
+    }
+
+    /**
+     * 비동기 받기 대화방 여부
+     * @param roomId 받기 요청 대화방 아이디
+     */
+    public boolean isAsync(String roomId) {
+        return enabled && (asyncRooms.isEmpty() || asyncRooms.contains(roomId));
+    }
+
+    /**
+     * 받기 접수, token 대기열에 넣고 접수증 반환
+     * 모두 받아간 뿌리기이거나 대기열이 가득 찼다면 접수하지 않고 거절
+     * @param userId 받기 요청 사용자 아이디
+     * @param roomId 받기 요청 대화방 아이디
+     * @param token 받으려는 뿌리기 token
+     * @param idempotencyKey Idempotency-Key Header 값 (선택)
+     * @return 접수증
+     */
+    public ReceiveTicket enqueue(int userId, String roomId, String token, String idempotencyKey) {
+        //없는 token 은 대기열을 만들지 않고 거절
+        liveTokenRegistry.rejectUnknown(userId, token);
+
+        //token 대기열 자리 확보 (token 별 길이 제한)
+        TokenQueue queue = reserve(token);
+
+        //전체 대기열 길이 제한
+        if (queuedCount.incrementAndGet() > max_queued) {
+            queuedCount.decrementAndGet();
+            queue.depth.decrementAndGet();
+            throw PredictableRuntimeException.of(RejectReason.RECEIVE_OVERLOADED);
+        }
+
+        ReceiveTicket ticket = new ReceiveTicket(UUID.randomUUID().toString(), userId, roomId, token, idempotencyKey,
+                queue.arrivals.incrementAndGet(), queue.completed);
+        tickets.put(ticket.getId(), ticket);
+        queue.items.add(ticket);
+        schedule(queue);
+        return ticket;
+    }
+
+    /**
+     * token 대기열에 자리 확보 (대기 중인 요청 수 증가)
+     * 삭제하려고 닫힌 대기열을 받았다면 맵에서 삭제 후 새 대기열로 다시 시도
+     * @param token 받으려는 뿌리기 token
+     * @return 자리를 확보한 대기열
+     */
+    private TokenQueue reserve(String token) {
+        while (true) {
+            TokenQueue queue = queues.computeIfAbsent(token, t -> new TokenQueue());
+            queue.lastActiveMillis = System.currentTimeMillis();
+            RejectReason closedReason = queue.closedReason;
+            if (closedReason != null)
+                throw PredictableRuntimeException.of(closedReason);
+
+            int depth = queue.depth.get();
+            if (depth == RETIRED) {
+                queues.remove(token, queue);
+                continue;
+            }
+            if (depth >= queue_capacity)
+                throw PredictableRuntimeException.of(RejectReason.RECEIVE_OVERLOADED);
+            if (queue.depth.compareAndSet(depth, depth + 1))
+                return queue;
+        }
+    }
+
+    /**
+     * 접수증 조회, 받기 요청한 사용자만 조회할 수 있음
+     * @param userId 조회 요청 사용자 아이디
+     * @param ticketId 접수증 아이디
+     * @return 접수증
+     */
+    public ReceiveTicket findTicket(int userId, String ticketId) {
+        ReceiveTicket ticket = tickets.get(ticketId);
+        if (ticket == null || ticket.getUserId() != userId)
+            throw PredictableRuntimeException.of(RejectReason.INVALID_TICKET);
+        return ticket;
+    }
+
+    /**
+     * 결과 조회 대기 시간 (최대 max-wait-millis)
+     * @param waitMillis 요청한 대기 시간
+     */
+    public long waitMillis(long waitMillis) {
+        return Math.max(0, Math.min(waitMillis, max_wait_millis));
+    }
+
+    /**
+     * 보관 시간이 지난 접수증, 사용하지 않는 token 대기열 삭제
+     * 대기열은 비어있을 때만(대기 중인 요청 수 0 -> RETIRED) 닫은 후 삭제, 동시에 들어온 접수는 새 대기열로 다시 시도
+     * @return 삭제한 접수증 수
+     */
+    public int evictExpired() {
+        long now = System.currentTimeMillis();
+        int before = tickets.size();
+        tickets.values().removeIf(ticket -> ticket.isExpired(now, ticket_ttl_millis));
+        queues.forEach((token, queue) -> {
+            if (!queue.draining.get() && now - queue.lastActiveMillis > ticket_ttl_millis
+                    && queue.depth.compareAndSet(0, RETIRED))
+                queues.remove(token, queue);
+        });
+        return before - tickets.size();
+    }
+
+    /**
+     * 모두 받아간 뿌리기는 이후 요청 거절 (받기 커밋 후)
+     */
+    @TransactionalEventListener
+    public void onMoneyReceived(MoneyReceivedEvent event) {
+        if (event.getRemainPeopleNum() > 0)
+            return;
+        TokenQueue queue = queues.get(event.getToken());
+        if (queue != null)
+            queue.closedReason = RejectReason.EXHAUSTED;
+    }
+
+    /**
+     * 이관 후 같은 token 으로 새 뿌리기가 생성되면 다시 접수 (뿌리기 커밋 후)
+     */
+    @TransactionalEventListener
+    public void onSpreadCreated(SpreadCreatedEvent event) {
+        TokenQueue queue = queues.get(event.getToken());
+        if (queue != null)
+            queue.closedReason = null;
+    }
+
+    /**
+     * 처리자가 없다면 처리자 실행 (token 별 하나)
+     */
+    private void schedule(TokenQueue queue) {
+        if (queue.draining.compareAndSet(false, true))
+            consumerExecutor.execute(() -> drain(queue));
+    }
+
+    /**
+     * token 대기열 처리, drain-batch-size 건 처리 후 남은 요청이 있다면 다시 실행 (다른 token 뒤로)
+     */
+    private void drain(TokenQueue queue) {
+        try {
+            ReceiveTicket ticket;
+            int count = 0;
+            while (count < drain_batch_size && (ticket = queue.items.poll()) != null) {
+                try {
+                    process(queue, ticket);
+                } finally {
+                    queue.depth.decrementAndGet();
+                    queuedCount.decrementAndGet();
+                }
+                count++;
+            }
+        } finally {
+            queue.draining.set(false);
+            if (!queue.items.isEmpty())
+                schedule(queue);
+        }
+    }
+
+    private void process(TokenQueue queue, ReceiveTicket ticket) {
+        RejectReason closedReason = queue.closedReason;
+        if (closedReason != null) {
+            ticket.failed(closedReason, closedReason.getMessage());
+            return;
+        }
+
+        try {
+            int receivedMoney = Integer.parseInt(idempotencyService.execute(
+                    IdempotencyService.RECEIVE, ticket.getUserId(), ticket.getRoomId(), ticket.getIdempotencyKey(),
+                    ticket.getRoomId() + ":" + ticket.getToken(),
+                    () -> String.valueOf(receiveService.receiveMoney(ticket.getUserId(), ticket.getRoomId(), ticket.getToken()))));
+            ticket.received(receivedMoney);
+        } catch (PredictableRuntimeException ex) {
+            ticket.failed(ex.getReason(), ex.getMessage());
+        } catch (RuntimeException ex) {
+            log.error("비동기 받기 처리 중 오류 발생, token: {}, ticket: {} {}", ticket.getToken(), ticket.getId(), ex.getMessage());
+            ticket.failed(null, "받기 처리 중 오류가 발생했습니다. 다시 시도해주세요.");
+        }
+    }
+
+    /**
+     * token 별 대기열
+     */
+    private static class TokenQueue {
+        private final ConcurrentLinkedQueue<ReceiveTicket> items = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger depth = new AtomicInteger(); //대기 중인 요청 수 (처리 중 포함), 삭제하려고 닫은 대기열은 RETIRED
+        private final AtomicBoolean draining = new AtomicBoolean(); //처리자 실행 여부
+        private final AtomicLong arrivals = new AtomicLong(); //도착 순서
+        private final AtomicLong completed = new AtomicLong(); //처리가 끝난 마지막 순서
+        private volatile RejectReason closedReason; //접수 거절 사유 (모두 받아감)
+        private volatile long lastActiveMillis = System.currentTimeMillis(); //마지막 접수 시각
+    }
+}
@@ -1,18 +1,30 @@
 package me.study.spreadmoney.service;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import me.study.spreadmoney.entity.ClaimLedger;
 import me.study.spreadmoney.entity.Spread;
 import me.study.spreadmoney.entity.SpreadDetail;
 import me.study.spreadmoney.entity.enumerated.SpreadDetailStatus;
+import me.study.spreadmoney.event.MoneyReceivedEvent;
 import me.study.spreadmoney.exception.PredictableRuntimeException;
+import me.study.spreadmoney.exception.RejectReason;
 import me.study.spreadmoney.repository.SpreadRepository;
+import me.study.spreadmoney.service.ClaimLedgerService.Remain;
+import me.study.spreadmoney.shard.ShardRouter;
+import me.study.spreadmoney.support.PhaseEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
 
 /**
  * 받기 비즈니스 로직
@@ -23,6 +35,12 @@ import java.util.Optional;
 public class ReceiveService {
     private final SpreadRepository spreadRepository;
     private final ExpiredSpreadService expiredSpreadService;
+    private final ClaimLedgerService claimLedgerService;
+    private final WalService walService;
+    private final ShardRouter shardRouter;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final EntityManager em;
 
     /**
      * 받기
@@ -31,6 +49,8 @@ public class ReceiveService {
      * 3) 만료된 뿌리기는 받을 수 없음
      * 4) 받을 금액이 남아있어야 가능
      * 5) 사용자 당 한번 받을 수 있음
+     * 받기 원장 모드라면 뿌리기, 뿌리기 상세를 수정하지 않고 받기 원장에 추가
+     * 단계별 소요 시간 기록 (PhaseEvent: fetch, validate, detail, claim, flush, commit)
      * @param userId 받기 요청 사용자 아이디
      * @param roomId 받기 요청 사용자 대화방 아이디
      * @param token 받기를 요청하는 뿌리기 token
@@ -38,46 +58,175 @@ public class ReceiveService {
      */
     @Transactional
     public int receiveMoney(int userId, String roomId, String token) {
+        //token 의 shard 지정 (shard 사용시)
+        shardRouter.bindToken(token, true);
+        PhaseEvent.recordCommit(PhaseEvent.RECEIVE, token, roomId);
+
+        //Token 검증, Spread 가져오기
+        Spread spread;
+        try (PhaseEvent ignored = PhaseEvent.start(PhaseEvent.RECEIVE, "fetch", token, roomId)) {
+            Optional<Spread> findSpread = spreadRepository.findByToken(token);
+            if(findSpread.isEmpty())
+                throw PredictableRuntimeException.of(RejectReason.INVALID_TOKEN);
+            spread = findSpread.get();
+        }
+
+        try (PhaseEvent ignored = PhaseEvent.start(PhaseEvent.RECEIVE, "validate", token, roomId)) {
+            //만료시간, 뿌리기 계정, 대화방 검증
+            validateReceivable(spread, userId, roomId);
+
+            //받기 기록(WAL) 메모리 상태로 먼저 거절 (뿌리기 상세, 받기 원장 조회 생략)
+            rejectByWal(spread, userId);
+        }
+
+        //뿌리기 상세 읽기 (지연 로딩)
+        try (PhaseEvent ignored = PhaseEvent.start(PhaseEvent.RECEIVE, "detail", token, roomId)) {
+            spread.getSpreadDetails().size();
+        }
+
+        //뿌리기
+        int receivedMoney;
+        try (PhaseEvent ignored = PhaseEvent.start(PhaseEvent.RECEIVE, "claim", token, roomId)) {
+            receivedMoney = claimLedgerService.isEnabled() ? claimWithLedger(spread, userId) : claimInPlace(spread, userId);
+        }
+
+        //변경 감지 반영 (커밋과 구분하여 기록)
+        try (PhaseEvent ignored = PhaseEvent.start(PhaseEvent.RECEIVE, "flush", token, roomId)) {
+            em.flush();
+        }
+        return receivedMoney;
+    }
+
+    /**
+     * 받기 묶음 (group commit), 같은 token 에 대한 여러 받기를 한 트랜잭션에서 처리
+     * 뿌리기, 뿌리기 상세는 한 번만 읽고 변경은 커밋 전 한 번에 반영 (Spread UPDATE 1회, SpreadDetail UPDATE 는 JDBC batch)
+     * 받기별 검증 실패는 그 받기만 실패, 나머지 받기는 계속 처리
+     * 받기 원장 모드는 묶음 안의 충돌(같은 뿌리기 상세, 같은 사용자)을 원장 추가 전에 걸러내고 원장은 한 번에 추가,
+     * 다른 트랜잭션과의 원장 충돌은 묶음 전체 실패 (트랜잭션 취소, 받기 이벤트는 원장 추가 후 발행하므로 발행되지 않음)
+     * 단계별 소요 시간 기록 (PhaseEvent: fetch, detail, claim, flush, commit)
+     * @param token 받기를 요청하는 뿌리기 token
+     * @param claims 받기 요청 목록 (도착 순서로 처리)
+     * @return 받기 요청별 결과 (claims 와 같은 순서)
+     */
+    @Transactional
+    public List<ClaimResult> receiveMoneyBatch(String token, List<Claim> claims) {
+        //token 의 shard 지정 (shard 사용시)
+        shardRouter.bindToken(token, true);
+        PhaseEvent.recordCommit(PhaseEvent.RECEIVE, token, null);
+
         //Token 검증, Spread 가져오기
-        Optional<Spread> findSpread = spreadRepository.findByToken(token);
-        if(findSpread.isEmpty())
-            throw new PredictableRuntimeException("유효하지 않는 Token 값입니다.");
-        Spread spread = findSpread.get();
+        Spread spread;
+        try (PhaseEvent ignored = PhaseEvent.start(PhaseEvent.RECEIVE, "fetch", token, null)) {
+            Optional<Spread> findSpread = spreadRepository.findByToken(token);
+            if (findSpread.isEmpty()) {
+                PredictableRuntimeException invalidToken = PredictableRuntimeException.of(RejectReason.INVALID_TOKEN);
+                return claims.stream().map(claim -> ClaimResult.failed(invalidToken)).toList();
+            }
+            spread = findSpread.get();
+        }
 
+        //뿌리기 상세 읽기 (지연 로딩)
+        try (PhaseEvent ignored = PhaseEvent.start(PhaseEvent.RECEIVE, "detail", token, spread.getRoomId())) {
+            spread.getSpreadDetails().size();
+        }
+
+        //받기 (도착 순서), 받기 원장 모드는 반영되지 않은 원장을 한 번만 읽고 묶음에서 선택한 원장을 이어 붙임
+        boolean ledgerEnabled = claimLedgerService.isEnabled();
+        List<ClaimLedger> tail = ledgerEnabled ? new ArrayList<>(claimLedgerService.findTail(spread.getId())) : List.of();
+        int tailSize = tail.size();
+        List<ClaimResult> results = new ArrayList<>(claims.size());
+        try (PhaseEvent ignored = PhaseEvent.start(PhaseEvent.RECEIVE, "claim", token, spread.getRoomId())) {
+            for (Claim claim : claims) {
+                try {
+                    validateReceivable(spread, claim.userId(), claim.roomId());
+                    rejectByWal(spread, claim.userId());
+                    int receivedMoney;
+                    if (ledgerEnabled) {
+                        ClaimLedger claimLedger = selectWithLedger(spread, claim.userId(), tail);
+                        tail.add(claimLedger);
+                        receivedMoney = claimLedger.getReceivedMoney();
+                    } else {
+                        receivedMoney = claimInPlace(spread, claim.userId());
+                    }
+                    results.add(ClaimResult.received(receivedMoney));
+                } catch (PredictableRuntimeException ex) {
+                    results.add(ClaimResult.failed(ex));
+                }
+            }
+
+            //선택한 받기 원장 추가 (충돌시 묶음 전체 실패), 추가 후 받기 이벤트 발행
+            if (tail.size() > tailSize)
+                appendLedgerBatch(spread, tail, tailSize);
+        }
+
+        //변경 감지 반영 (커밋과 구분하여 기록)
+        try (PhaseEvent ignored = PhaseEvent.start(PhaseEvent.RECEIVE, "flush", token, spread.getRoomId())) {
+            em.flush();
+        }
+        return results;
+    }
+
+    /**
+     * 받기 기록(WAL) 메모리 상태로 먼저 거절 (뿌리기 상세, 받기 원장 조회 생략)
+     * @param spread 받기를 요청하는 뿌리기
+     * @param userId 받기 요청 사용자 아이디
+     */
+    private void rejectByWal(Spread spread, int userId) {
+        if (walService.hasReceived(spread, userId))
+            throw PredictableRuntimeException.of(RejectReason.ALREADY_RECEIVED);
+        if (walService.isExhausted(spread))
+            throw PredictableRuntimeException.of(RejectReason.EXHAUSTED);
+    }
+
+    /**
+     * 받기 가능한 뿌리기인지 검증 (만료시간, 뿌리기 계정, 대화방)
+     * @param spread 받기를 요청하는 뿌리기
+     * @param userId 받기 요청 사용자 아이디
+     * @param roomId 받기 요청 사용자 대화방 아이디
+     */
+    private void validateReceivable(Spread spread, int userId, String roomId) {
         LocalDateTime now = LocalDateTime.now();
         //만료시간 검증
         if (spread.getViewableExpireDateTime().isBefore(now)){
             //조회 만료 데이터 이관 (Spread, SpreadDetail -> ExpiredSpread)
             //expiredSpreadService.spreadToExpireInApiRequest(spread.getId()); -> Scheduler only 수정 (2024.01.01)
-            throw new PredictableRuntimeException("유효하지 않는 Token 값입니다.");
+            throw PredictableRuntimeException.of(RejectReason.INVALID_TOKEN);
         } else if (spread.getReceivableExpireDateTime().isBefore(now)) {
-            throw new PredictableRuntimeException("뿌린 건의 받기 시간이 만료 되었습니다. 만료 일시: "+spread.getReceivableExpireDateTime());
+            throw PredictableRuntimeException.of(RejectReason.RECEIVE_EXPIRED, "만료 일시: " + spread.getReceivableExpireDateTime());
         }
 
         //뿌리기 계정 검증
         if (spread.getUserId() == userId)
-            throw new PredictableRuntimeException("자신이 뿌리기한 건은 자신이 받을 수 없습니다.");
+            throw PredictableRuntimeException.of(RejectReason.RECEIVE_OWN_SPREAD);
 
         //대화방 검증
         if (!spread.getRoomId().equals(roomId))
-            throw new PredictableRuntimeException("뿌리기가 호출된 대화방과 동일한 대화방에 속한 사용자만이 받을 수 있습니다.");
+            throw PredictableRuntimeException.of(RejectReason.RECEIVE_OTHER_ROOM);
+    }
 
+    /**
+     * 받기, 뿌리기(남은 금액, 남은 인원)와 뿌리기 상세(받은 정보)를 직접 수정
+     * @param spread 받기를 요청하는 뿌리기
+     * @param userId 받기 요청 사용자 아이디
+     * @return 받은 금액
+     */
+    private int claimInPlace(Spread spread, int userId) {
         //남은금액 검증
         if(spread.getRemainMoney() <= 0)
-            throw new PredictableRuntimeException("이미 모두 받아간 뿌리기입니다.");
+            throw PredictableRuntimeException.of(RejectReason.EXHAUSTED);
 
         //사용자 중복 받기 검증
         List<SpreadDetail> spreadDetailList = spread.getSpreadDetails();
         long count = spreadDetailList.stream().filter(d -> d.getReceivedUserId() == userId).count();
         if (count != 0)
-            throw new PredictableRuntimeException("이미 받은 뿌리기입니다.");
+            throw PredictableRuntimeException.of(RejectReason.ALREADY_RECEIVED);
 
         //사용 전 SpreadDetail 가져오기
         Optional<SpreadDetail> firstDetail = spreadDetailList.stream()
                 .filter(d -> d.getStatus().equals(SpreadDetailStatus.RECEIVABLE))
                 .findFirst();
         if(firstDetail.isEmpty())
-            throw new PredictableRuntimeException("뿌리기 받기에 실패했습니다. 다시 시도 해주세요. 계속해서 문제가 발생한다면 관리자에게 문의해주십시오.");
+            throw PredictableRuntimeException.of(RejectReason.RECEIVE_FAILED);
 
         //뿌리기
         SpreadDetail spreadDetail = firstDetail.get();
@@ -85,6 +234,119 @@ public class ReceiveService {
         spread.updateRemainInfo(distributedMoney);
         spreadDetail.setReceiveInfo(userId);
 
+        //받기 이벤트 발행
+        publishMoneyReceived(spread, userId, distributedMoney,
+                spread.getRemainMoney(), spread.getRemainPeopleNum(), spreadDetail.getReceivedDateTime());
+
+        return distributedMoney;
+    }
+
+    /**
+     * 받기 (원장 모드), 뿌리기와 뿌리기 상세는 수정하지 않고 받기 원장에 추가
+     * 남은 금액, 중복 받기, 받을 수 있는 뿌리기 상세는 스냅샷(뿌리기, 뿌리기 상세) + 반영되지 않은 원장으로 판단
+     * @param spread 받기를 요청하는 뿌리기
+     * @param userId 받기 요청 사용자 아이디
+     * @return 받은 금액
+     */
+    private int claimWithLedger(Spread spread, int userId) {
+        //반영되지 않은 받기 원장
+        List<ClaimLedger> tail = claimLedgerService.findTail(spread.getId());
+        ClaimLedger selected = selectWithLedger(spread, userId, tail);
+
+        //뿌리기 (받기 원장 추가)
+        int distributedMoney = selected.getReceivedMoney();
+        ClaimLedger claimLedger = claimLedgerService.append(spread.getId(), selected.getSpreadDetailId(), userId, distributedMoney);
+
+        //받기 이벤트 발행 (남은 금액, 남은 인원은 추가한 원장 기준으로 다시 계산)
+        Remain remain = claimLedgerService.remainAfter(spread, List.of(claimLedger)).get(0);
+        publishMoneyReceived(spread, userId, distributedMoney,
+                remain.remainMoney(), remain.remainPeopleNum(), claimLedger.getReceivedDateTime());
+
         return distributedMoney;
     }
+
+    /**
+     * 받기 원장 묶음 추가, 묶음에서 선택한 원장(tail 의 from 이후)을 한 번에 추가한 후 받기 이벤트 발행
+     * 이벤트의 남은 금액, 남은 인원은 원장 추가 후 같은 트랜잭션에서 원장 아이디 순으로 계산
+     * 다른 트랜잭션과 충돌하면 예외 (묶음 전체 실패, 이벤트 발행 전)
+     * @param spread 받기를 요청하는 뿌리기
+     * @param tail 반영되지 않은 받기 원장 + 묶음에서 선택한 원장
+     * @param from 묶음에서 선택한 첫 원장 위치
+     */
+    private void appendLedgerBatch(Spread spread, List<ClaimLedger> tail, int from) {
+        List<ClaimLedger> selected = tail.subList(from, tail.size());
+        claimLedgerService.appendAll(selected);
+
+        //남은 금액, 남은 인원은 추가한 원장 기준으로 다시 계산
+        List<Remain> remains = claimLedgerService.remainAfter(spread, selected);
+        for (int i = 0; i < selected.size(); i++) {
+            ClaimLedger claimLedger = selected.get(i);
+            publishMoneyReceived(spread, claimLedger.getReceivedUserId(), claimLedger.getReceivedMoney(),
+                    remains.get(i).remainMoney(), remains.get(i).remainPeopleNum(), claimLedger.getReceivedDateTime());
+        }
+    }
+
+    /**
+     * 받기 원장 모드에서 받을 뿌리기 상세 선택 (원장은 추가하지 않음)
+     * 남은 금액, 중복 받기, 받을 수 있는 뿌리기 상세는 스냅샷(뿌리기, 뿌리기 상세) + 반영되지 않은 원장으로 판단
+     * @param spread 받기를 요청하는 뿌리기
+     * @param userId 받기 요청 사용자 아이디
+     * @param tail 반영되지 않은 받기 원장 (받기 묶음이면 묶음에서 먼저 선택한 원장 포함)
+     * @return 추가할 받기 원장
+     */
+    private ClaimLedger selectWithLedger(Spread spread, int userId, List<ClaimLedger> tail) {
+        int remainMoney = spread.getRemainMoney() - tail.stream().mapToInt(ClaimLedger::getReceivedMoney).sum();
+
+        //남은금액 검증
+        if(remainMoney <= 0)
+            throw PredictableRuntimeException.of(RejectReason.EXHAUSTED);
+
+        //사용자 중복 받기 검증
+        List<SpreadDetail> spreadDetailList = spread.getSpreadDetails();
+        boolean alreadyReceived = spreadDetailList.stream().anyMatch(d -> d.getReceivedUserId() == userId)
+                || tail.stream().anyMatch(l -> l.getReceivedUserId() == userId);
+        if (alreadyReceived)
+            throw PredictableRuntimeException.of(RejectReason.ALREADY_RECEIVED);
+
+        //사용 전 SpreadDetail 중 하나를 무작위로 가져오기 (동시 받기 충돌 감소)
+        Set<Long> claimedDetailIds = tail.stream().map(ClaimLedger::getSpreadDetailId).collect(Collectors.toSet());
+        List<SpreadDetail> receivableDetails = spreadDetailList.stream()
+                .filter(d -> d.getStatus().equals(SpreadDetailStatus.RECEIVABLE))
+                .filter(d -> !claimedDetailIds.contains(d.getId()))
+                .toList();
+        if(receivableDetails.isEmpty())
+            throw PredictableRuntimeException.of(RejectReason.RECEIVE_FAILED);
+        SpreadDetail spreadDetail = receivableDetails.get(ThreadLocalRandom.current().nextInt(receivableDetails.size()));
+        return ClaimLedger.createClaimLedger(spread.getId(), spreadDetail.getId(), userId, spreadDetail.getDistributedMoney());
+    }
+
+    private void publishMoneyReceived(Spread spread, int userId, int receivedMoney,
+                                      int remainMoney, int remainPeopleNum, LocalDateTime receivedDateTime) {
+        eventPublisher.publishEvent(new MoneyReceivedEvent(
+                spread.getId(), spread.getToken(), spread.getUserId(), spread.getRoomId(),
+                userId, receivedMoney, remainMoney, remainPeopleNum, receivedDateTime));
+    }
+
+    /**
+     * 받기 묶음의 받기 요청
+     * @param userId 받기 요청 사용자 아이디
+     * @param roomId 받기 요청 사용자 대화방 아이디
+     */
+    public record Claim(int userId, String roomId) {
+    }
+
+    /**
+     * 받기 묶음의 받기 결과
+     * @param receivedMoney 받은 금액 (실패시 0)
+     * @param failure 실패 사유 (성공시 null)
+     */
+    public record ClaimResult(int receivedMoney, PredictableRuntimeException failure) {
+        static ClaimResult received(int receivedMoney) {
+            return new ClaimResult(receivedMoney, null);
+        }
+
+        static ClaimResult failed(PredictableRuntimeException failure) {
+            return new ClaimResult(0, failure);
+        }
+    }
 }
@@ -0,0 +1,83 @@
+package me.study.spreadmoney.service;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import me.study.spreadmoney.exception.RejectReason;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 비동기 받기 접수증, 대기열에 넣은 받기 요청의 처리 상태와 결과
+ */
+@Getter
+public class ReceiveTicket {
+    public enum Status {
+        QUEUED, //대기 중
+        RECEIVED, //받기 완료
+        FAILED //받기 실패 (reason, message)
+    }
+
+    private final String id; //접수증 아이디
+    private final int userId; //받기 요청 사용자 아이디
+    private final String roomId; //받기 요청 대화방 아이디
+    private final String token; //받으려는 뿌리기 token
+    private final String idempotencyKey; //재시도 구분 key (없으면 null)
+    private final long sequence; //token 대기열 도착 순서
+    private final long createdAtMillis; //접수 시각
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong completedSequence; //token 대기열에서 처리가 끝난 마지막 순서
+    private final CompletableFuture<ReceiveTicket> completion = new CompletableFuture<>(); //처리 완료시 완료
+
+    private volatile Status status = Status.QUEUED;
+    private volatile int receivedMoney; //받은 금액 (RECEIVED)
+    private volatile RejectReason reason; //거절 사유 (FAILED, 거절 사유 없는 실패는 null)
+    private volatile String message; //실패 메시지 (FAILED)
+    private volatile long completedAtMillis; //처리 완료 시각
+
+    ReceiveTicket(String id, int userId, String roomId, String token, String idempotencyKey,
+                  long sequence, AtomicLong completedSequence) {
+        this.id = id;
+        this.userId = userId;
+        this.roomId = roomId;
+        this.token = token;
+        this.idempotencyKey = idempotencyKey;
+        this.sequence = sequence;
+        this.completedSequence = completedSequence;
+        this.createdAtMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * 대기 순번 (앞에 남은 요청 수 + 1), 처리가 끝났다면 0
+     */
+    public long getPosition() {
+        if (status != Status.QUEUED)
+            return 0;
+        return Math.max(1, sequence - completedSequence.get());
+    }
+
+    void received(int receivedMoney) {
+        this.receivedMoney = receivedMoney;
+        complete(Status.RECEIVED);
+    }
+
+    void failed(RejectReason reason, String message) {
+        this.reason = reason;
+        this.message = message;
+        complete(Status.FAILED);
+    }
+
+    /**
+     * 처리 완료 후 보관 시간이 지났는지 여부
+     */
+    boolean isExpired(long nowMillis, long ttlMillis) {
+        return status != Status.QUEUED && nowMillis - completedAtMillis > ttlMillis;
+    }
+
+    private void complete(Status status) {
+        this.completedAtMillis = System.currentTimeMillis();
+        this.status = status;
+        completedSequence.accumulateAndGet(sequence, Math::max);
+        completion.complete(this);
+    }
+}
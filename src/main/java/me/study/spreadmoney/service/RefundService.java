@@ -0,0 +1,125 @@
+package me.study.spreadmoney.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.study.spreadmoney.entity.enumerated.SpreadDetailStatus;
+import me.study.spreadmoney.event.SpreadRefundedEvent;
+import me.study.spreadmoney.event.SpreadsRefundedEvent;
+import me.study.spreadmoney.exception.UnrelatedWithClientRequestException;
+import me.study.spreadmoney.repository.SpreadDetailRepository;
+import me.study.spreadmoney.repository.SpreadDetailRepository.StatusSum;
+import me.study.spreadmoney.repository.SpreadRepository;
+import me.study.spreadmoney.repository.SpreadRepository.RefundTarget;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static java.lang.String.format;
+
+/**
+ * 돌려주기 비즈니스 로직, 받기 만료된 뿌리기의 받아가지 않은 금액을 뿌린 사람에게 돌려줌
+ * 1) 받기 만료 후 grace-millis 가 지난 뿌리기를 받기 만료 순으로 batch-size 건씩 처리 (keyset, 한 묶음이 한 트랜잭션)
+ * 2) 묶음의 반영되지 않은 받기 원장을 먼저 반영 (받기 원장 모드)
+ * 3) 뿌리기에 돌려준 시각 표시 후 남은 뿌리기 상세 금액을 한 번에 집계, 남은 뿌리기 상세는 한 번에 REFUNDED 로 변경
+ * 4) 돌려주기 이벤트는 묶음 당 한 번 발행 (SpreadsRefundedEvent)
+ * 돌려준 시각이 표시된 뿌리기는 다시 처리하지 않음 (중단 후 다시 실행해도 남은 뿌리기부터 처리)
+ * 다른 서버 인스턴스가 같은 뿌리기를 먼저 표시했다면 묶음을 취소하고 다음 실행에서 다시 처리
+ * grace-millis 는 받기 만료 직전에 검증을 통과한 받기가 커밋될 시간, 받기 트랜잭션 최대 시간보다 길게 설정
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefundService {
+    private final SpreadRepository spreadRepository;
+    private final SpreadDetailRepository spreadDetailRepository;
+    private final ClaimLedgerService claimLedgerService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    //config.yml 설정 값
+    @Value("${config.refund.enabled}")
+    private boolean refund_enabled; //돌려주기 사용 여부
+    @Value("${config.refund.grace-millis}")
+    private long grace_millis; //받기 만료 후 돌려주기까지 기다리는 시간
+    @Value("${config.refund.batch-size}")
+    private int batch_size; //한 트랜잭션에서 처리할 최대 뿌리기 수
+
+    /**
+     * 돌려주기 사용 여부
+     * @return 돌려주기 사용 여부
+     */
+    public boolean isEnabled() {
+        return refund_enabled;
+    }
+
+    /**
+     * 돌려주기 한 묶음 처리, 기준 (받기 만료 시각, 아이디) 다음 뿌리기부터 최대 batch-size 건
+     * @param after 이전 묶음 결과 (처음이면 RefundBatch.FIRST)
+     * @return 묶음 결과, 다음 묶음 기준
+     */
+    @Transactional
+    public RefundBatch refundBatch(RefundBatch after) {
+        //돌려줄 뿌리기 (받기 만료 시각, 아이디 순)
+        LocalDateTime expiredBefore = LocalDateTime.now().minus(grace_millis, ChronoUnit.MILLIS);
+        List<RefundTarget> targets = spreadRepository.findRefundTargets(
+                expiredBefore, after.lastDateTime(), after.lastId(), PageRequest.of(0, batch_size));
+        if (targets.isEmpty())
+            return new RefundBatch(0, 0, 0, after.lastDateTime(), after.lastId(), false);
+        List<Long> spreadIds = targets.stream().map(RefundTarget::getId).toList();
+
+        //반영되지 않은 받기 원장 반영 (받기 원장 모드)
+        claimLedgerService.foldAll(spreadIds);
+
+        //돌려준 시각 표시, 다른 서버 인스턴스가 먼저 표시한 뿌리기가 있으면 묶음 취소
+        LocalDateTime refundedDateTime = LocalDateTime.now();
+        int markedCount = spreadRepository.markRefunded(spreadIds, refundedDateTime);
+        if (markedCount != spreadIds.size())
+            throw new UnrelatedWithClientRequestException(format(
+                    "이미 돌려준 뿌리기가 있어 묶음을 취소합니다. 뿌리기: %d, 표시: %d", spreadIds.size(), markedCount));
+
+        //남은 뿌리기 상세 금액, 인원 집계 후 돌려줌 상태로 변경
+        Map<Long, StatusSum> remainBySpreadId = spreadDetailRepository.sumByStatus(spreadIds, SpreadDetailStatus.RECEIVABLE)
+                .stream().collect(Collectors.toMap(StatusSum::getSpreadId, Function.identity()));
+        spreadDetailRepository.updateStatus(spreadIds, SpreadDetailStatus.RECEIVABLE, SpreadDetailStatus.REFUNDED);
+
+        //돌려주기 이벤트 발행 (모두 받아간 뿌리기 제외)
+        List<SpreadRefundedEvent> refunds = targets.stream()
+                .filter(target -> remainBySpreadId.containsKey(target.getId()))
+                .map(target -> {
+                    StatusSum remain = remainBySpreadId.get(target.getId());
+                    return new SpreadRefundedEvent(target.getId(), target.getToken(), target.getUserId(), target.getRoomId(),
+                            remain.getMoney().intValue(), remain.getPeopleNum().intValue(), refundedDateTime);
+                })
+                .toList();
+        if (!refunds.isEmpty())
+            eventPublisher.publishEvent(new SpreadsRefundedEvent(refunds));
+
+        RefundTarget last = targets.get(targets.size() - 1);
+        long refundedMoney = refunds.stream().mapToLong(SpreadRefundedEvent::getRefundedMoney).sum();
+        return new RefundBatch(targets.size(), refunds.size(), refundedMoney,
+                last.getReceivableExpireDateTime(), last.getId(), targets.size() == batch_size);
+    }
+
+    /**
+     * 돌려주기 묶음 결과
+     * @param spreadCount 처리한 뿌리기 수
+     * @param refundedCount 돌려준 뿌리기 수 (받아가지 않은 금액이 있던 뿌리기)
+     * @param refundedMoney 돌려준 금액 합계
+     * @param lastDateTime 마지막 뿌리기 받기 만료 시각 (다음 묶음 기준)
+     * @param lastId 마지막 뿌리기 아이디 (다음 묶음 기준)
+     * @param hasNext 다음 묶음이 있을 수 있는지 (묶음이 가득 찼는지)
+     */
+    public record RefundBatch(int spreadCount, int refundedCount, long refundedMoney,
+                              LocalDateTime lastDateTime, long lastId, boolean hasNext) {
+        //처음 묶음 기준 (모든 뿌리기보다 앞)
+        public static final RefundBatch FIRST = new RefundBatch(0, 0, 0, LocalDateTime.of(1970, 1, 1, 0, 0), 0, true);
+    }
+}
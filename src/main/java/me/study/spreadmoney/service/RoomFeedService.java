@@ -0,0 +1,217 @@
+package me.study.spreadmoney.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import me.study.spreadmoney.api.dto.RoomFeedSpreadDto;
+import me.study.spreadmoney.event.MoneyReceivedEvent;
+import me.study.spreadmoney.event.SpreadCreatedEvent;
+import me.study.spreadmoney.event.SpreadExpiredEvent;
+import me.study.spreadmoney.support.PhaseEvent;
+import me.study.spreadmoney.support.SingleFlight;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 대화방 피드 비즈니스 로직, 대화방의 받을 수 있는 뿌리기 목록 (token 을 몰라도 받기 가능한 뿌리기 확인)
+ * 1) 대화방별 목록(hot list)을 메모리(LRU)에 보관, 보관된 대화방은 DB 조회 없이 응답
+ * 2) 이 서버 인스턴스에서 커밋된 뿌리기는 추가, 받기는 남은 인원 수정 (모두 받으면 삭제), 이관은 삭제
+ *    목록은 최대 size 건, 추가로 넘치면 받기 만료가 가장 빠른 뿌리기 삭제
+ *    받기 만료된 뿌리기는 응답 전에 삭제
+ * 3) 보관 시간(cache-ttl-millis)이 지나면 DB 에서 다시 읽음, 다른 서버 인스턴스의 뿌리기/받기 반영
+ *    DB 에 목록 밖의 뿌리기가 남아있을 수 있는데(읽은 건수가 size, 또는 넘쳐서 삭제) size 건보다 적어지면 DB 에서 다시 읽음
+ * 4) DB 에서 읽는 동안 같은 대화방의 뿌리기/받기/이관이 커밋되면 읽은 목록은 보관하지 않음 (이전 상태 보관 방지)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RoomFeedService {
+    private static final int GENERATION_STRIPES = 1024;
+    //받기 만료 시각 역순 (최근 뿌리기 먼저)
+    private static final Comparator<RoomFeedSpreadDto> FEED_ORDER =
+            Comparator.comparing(RoomFeedSpreadDto::getReceivableExpireDateTime).reversed();
+
+    private final SpreadService spreadService;
+    private final SingleFlight<String, RoomFeed> inFlightLoads = new SingleFlight<>(); //대화방별 진행 중인 조회
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES); //대화방별 변경 횟수 (대화방 hash 로 나눔)
+    private Map<String, RoomFeed> feeds; //대화방별 받을 수 있는 뿌리기 (LRU)
+
+    //config.yml 설정 값
+    @Value("${config.feed.size}")
+    private int size; //피드 최대 뿌리기 수
+    @Value("${config.feed.cache-capacity}")
+    private int cache_capacity; //메모리에 보관할 대화방 최대 개수
+    @Value("${config.feed.cache-ttl-millis}")
+    private long cache_ttl_millis; //대화방 목록 보관 시간
+
+    @PostConstruct
+    public void init() {
+        feeds = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RoomFeed> eldest) {
+                return size() > cache_capacity;
+            }
+        });
+    }
+
+    /**
+     * 대화방 피드
+     * @param roomId 대화방 아이디
+     * @return 받을 수 있는 뿌리기 (최근 뿌리기 먼저, 최대 size 건)
+     */
+    public List<RoomFeedSpreadDto> findReceivableSpreads(String roomId) {
+        RoomFeed feed;
+        try (PhaseEvent ignored = PhaseEvent.start(PhaseEvent.LOOK_UP, "feed", null, roomId)) {
+            feed = findLocal(roomId);
+            if (feed == null)
+                feed = inFlightLoads.execute(roomId, () -> load(roomId));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        return feed.spreads.values().stream()
+                .filter(spread -> spread.getReceivableExpireDateTime().isAfter(now))
+                .sorted(FEED_ORDER)
+                .limit(size)
+                .toList();
+    }
+
+    /**
+     * 뿌리기 커밋 후 대화방 목록에 추가, size 건이 넘으면 받기 만료가 가장 빠른 뿌리기 삭제
+     */
+    @TransactionalEventListener
+    public void onSpreadCreated(SpreadCreatedEvent event) {
+        RoomFeed feed = changed(event.getRoomId());
+        if (feed != null)
+            feed.add(new RoomFeedSpreadDto(event.getToken(), event.getTotalMoney(),
+                    event.getTotalPeopleNum(), event.getTotalPeopleNum(), event.getReceivableExpireDateTime()), size);
+    }
+
+    /**
+     * 받기 커밋 후 남은 인원 수정, 모두 받았으면 대화방 목록에서 삭제
+     * (같은 뿌리기의 받기 커밋 알림 순서가 바뀔 수 있으므로 남은 인원은 줄어들기만 함)
+     */
+    @TransactionalEventListener
+    public void onMoneyReceived(MoneyReceivedEvent event) {
+        RoomFeed feed = changed(event.getRoomId());
+        if (feed == null)
+            return;
+        if (event.getRemainPeopleNum() <= 0) {
+            feed.spreads.remove(event.getToken());
+            return;
+        }
+        feed.spreads.computeIfPresent(event.getToken(), (token, spread) -> spread.getRemainPeopleNum() <= event.getRemainPeopleNum()
+                ? spread
+                : new RoomFeedSpreadDto(token, spread.getTotalMoney(), spread.getTotalPeopleNum(),
+                        event.getRemainPeopleNum(), spread.getReceivableExpireDateTime()));
+    }
+
+    /**
+     * 이관 커밋 후 대화방 목록에서 삭제
+     */
+    @TransactionalEventListener
+    public void onSpreadExpired(SpreadExpiredEvent event) {
+        RoomFeed feed = changed(event.getRoomId());
+        if (feed != null)
+            feed.spreads.remove(event.getToken());
+    }
+
+    /**
+     * 메모리의 대화방 목록 삭제 (테스트용)
+     */
+    void clearLocal() {
+        feeds.clear();
+    }
+
+    /**
+     * 대화방 변경 기록 후 보관 중인 대화방 목록 반환
+     */
+    private RoomFeed changed(String roomId) {
+        generations.incrementAndGet(stripeOf(roomId));
+        return feeds.get(roomId);
+    }
+
+    private RoomFeed load(String roomId) {
+        RoomFeed feed = findLocal(roomId);
+        if (feed != null)
+            return feed;
+
+        int stripe = stripeOf(roomId);
+        long generation = generations.get(stripe);
+        List<RoomFeedSpreadDto> loaded = spreadService.findRoomFeed(roomId, size);
+        feed = new RoomFeed(System.currentTimeMillis(), loaded.size() < size);
+        for (RoomFeedSpreadDto spread : loaded)
+            feed.spreads.put(spread.getToken(), spread);
+        //읽는 동안 변경이 없었을 때만 보관
+        if (generations.get(stripe) == generation)
+            feeds.put(roomId, feed);
+        return feed;
+    }
+
+    /**
+     * 보관 중인 대화방 목록, 받기 만료된 뿌리기는 삭제
+     * 보관 시간이 지났거나 DB 에 목록 밖의 뿌리기가 있을 수 있는데 size 건보다 적으면 보관하지 않음 (DB 에서 다시 읽음)
+     */
+    private RoomFeed findLocal(String roomId) {
+        RoomFeed feed = feeds.get(roomId);
+        if (feed == null)
+            return null;
+        if (System.currentTimeMillis() - feed.loadedAtMillis > cache_ttl_millis) {
+            feeds.remove(roomId, feed);
+            return null;
+        }
+        feed.removeExpired(LocalDateTime.now());
+        if (!feed.complete && feed.spreads.size() < size) {
+            feeds.remove(roomId, feed);
+            return null;
+        }
+        return feed;
+    }
+
+    private int stripeOf(String roomId) {
+        return Math.floorMod(roomId.hashCode(), GENERATION_STRIPES);
+    }
+
+    /**
+     * 대화방의 받을 수 있는 뿌리기 (token 별, 최대 size 건), 조회 시각
+     */
+    private static class RoomFeed {
+        private final ConcurrentHashMap<String, RoomFeedSpreadDto> spreads = new ConcurrentHashMap<>();
+        private final long loadedAtMillis; //DB 에서 읽은 시각
+        private volatile boolean complete; //DB 의 받을 수 있는 뿌리기를 모두 보관 중인지 (읽은 건수가 size 보다 적고 넘쳐서 삭제한 적 없음)
+
+        RoomFeed(long loadedAtMillis, boolean complete) {
+            this.loadedAtMillis = loadedAtMillis;
+            this.complete = complete;
+        }
+
+        /**
+         * 뿌리기 추가, size 건이 넘으면 받기 만료가 가장 빠른 뿌리기 삭제
+         */
+        synchronized void add(RoomFeedSpreadDto spread, int size) {
+            spreads.put(spread.getToken(), spread);
+            while (spreads.size() > size) {
+                spreads.values().stream()
+                        .max(FEED_ORDER)
+                        .ifPresent(oldest -> spreads.remove(oldest.getToken(), oldest));
+                complete = false;
+            }
+        }
+
+        /**
+         * 받기 만료된 뿌리기 삭제
+         */
+        void removeExpired(LocalDateTime now) {
+            spreads.values().removeIf(spread -> !spread.getReceivableExpireDateTime().isAfter(now));
+        }
+    }
+}
@@ -3,13 +3,22 @@ package me.study.spreadmoney.service;
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import me.study.spreadmoney.api.dto.RoomFeedSpreadDto;
 import me.study.spreadmoney.entity.Spread;
 import me.study.spreadmoney.entity.SpreadDetail;
+import me.study.spreadmoney.event.SpreadCreatedEvent;
 import me.study.spreadmoney.exception.PredictableRuntimeException;
+import me.study.spreadmoney.exception.RejectReason;
+import me.study.spreadmoney.policy.ExpiryPolicy;
+import me.study.spreadmoney.policy.ExpiryPolicyEngine;
 import me.study.spreadmoney.repository.SpreadDetailRepository;
 import me.study.spreadmoney.repository.SpreadRepository;
+import me.study.spreadmoney.shard.ShardRouter;
+import me.study.spreadmoney.shard.TokenSlots;
+import me.study.spreadmoney.support.PhaseEvent;
 import org.hibernate.exception.ConstraintViolationException;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,24 +36,19 @@ import java.util.Random;
 public class SpreadService {
     private final SpreadRepository spreadRepository;
     private final SpreadDetailRepository spreadDetailRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShardRouter shardRouter;
+    private final ExpiryPolicyEngine expiryPolicyEngine;
     private final Random random = new Random();
 
     private final EntityManager em;
 
-    //config.yml 설정 값
-    @Value("${config.policy.spread-expire-date.unit}")
-    private String spread_expire_date_unit; //받기 만료 시간 설정시 추가될 값의 단위
-    @Value("${config.policy.spread-expire-date.duration}")
-    private int spread_expire_date_duration; //받기 만료 시간 설정시 추가될 값
-    @Value("${config.policy.viewable-date.unit}")
-    private String viewable_date_unit; //조회 만료 시간 설정시 추가될 값의 단위
-    @Value("${config.policy.viewable-date.duration}")
-    private int viewable_date_duration; //조회 만료 시간 설정시 추가될 값의
-
     /**
      * 뿌리기
      * 1) 뿌릴 금액을 인원수에 맞게 분배
      * 2) token 은 고유값이며 3자리 문자열이며 예측이 불가능하게 구성
+     * shard 사용시 대화방의 shard 에 저장하고 token 첫 글자는 대화방의 slot
+     * 단계별 소요 시간 기록 (PhaseEvent: token, split, insert, commit)
      *
      * @param userId         뿌리기 요청 사용자 ID
      * @param roomId         뿌리기 요청 대화방 ID
@@ -54,10 +58,14 @@ public class SpreadService {
      */
     @Transactional
     public String spreadMoney(int userId, String roomId, int totalMoney, int totalPeopleNum) {
-        //뿌린 시간 정의, 뿌린 시간을 기반으로 받기 만료 시간, 조회 만료 시간 설정
+        //대화방의 shard 지정 (shard 사용시)
+        shardRouter.bindRoom(roomId, true);
+
+        //뿌린 시간 정의, 뿌린 시간과 대화방의 만료 정책으로 받기 만료 시간, 조회 만료 시간 설정
         LocalDateTime spreadDateTime = LocalDateTime.now();
-        LocalDateTime receivableExpireDateTime = makeReceivableExpireDateTime(spreadDateTime);
-        LocalDateTime viewableExpireDateTime = makeViewableExpireDateTime(spreadDateTime);
+        ExpiryPolicy expiryPolicy = expiryPolicyEngine.resolve(roomId);
+        LocalDateTime receivableExpireDateTime = expiryPolicy.receivableExpireDateTimeOf(spreadDateTime);
+        LocalDateTime viewableExpireDateTime = expiryPolicy.viewableExpireDateTimeOf(spreadDateTime);
 
         String token = null;
         //Token 중복시 재시도, Token은 Unique 값이고, 중복일 경우 ConstraintViolationException 발생 함.
@@ -65,26 +73,43 @@ public class SpreadService {
         while (retryCount < 10) {
             try {
                 //고유 token 생성
-                token = makeToken();
+                try (PhaseEvent phase = PhaseEvent.start(PhaseEvent.SPREAD, "token", null, roomId)) {
+                    token = makeToken(shardRouter.tokenPrefixOf(roomId));
+                    phase.setToken(token);
+                }
 
                 //뿌릴 금액, 뿌릴 인원으로 최초 남은 금액, 남은 인원수 설정
                 int remainMoney = totalMoney;
                 int remainPeopleNum = totalPeopleNum;
 
-                //뿌리기 생성 및 저장
-                Spread spread = Spread.createSpread(
-                        token, userId, roomId,
-                        totalMoney, totalPeopleNum, remainMoney, remainPeopleNum,
-                        spreadDateTime, receivableExpireDateTime, viewableExpireDateTime);
-                spreadRepository.save(spread);
-                em.flush();
-
-                //뿌리기 세부사항 생성 및 저장(뿌릴 인원에 맞게 뿌릴 금액을 나누어 배정)
-                List<Integer> distributedMoneyList = makeRandomSpreadMoney(totalMoney, totalPeopleNum);
-                for (Integer distributedMoney : distributedMoneyList) {
-                    SpreadDetail spreadDetail = SpreadDetail.createSpreadDetails(spread, distributedMoney);
-                    spreadDetailRepository.save(spreadDetail);
+                //뿌릴 인원에 맞게 뿌릴 금액 나누기
+                List<Integer> distributedMoneyList;
+                try (PhaseEvent ignored = PhaseEvent.start(PhaseEvent.SPREAD, "split", token, roomId)) {
+                    distributedMoneyList = makeRandomSpreadMoney(totalMoney, totalPeopleNum);
+                }
+
+                Spread spread;
+                try (PhaseEvent ignored = PhaseEvent.start(PhaseEvent.SPREAD, "insert", token, roomId)) {
+                    //뿌리기 생성 및 저장
+                    spread = Spread.createSpread(
+                            token, userId, roomId,
+                            totalMoney, totalPeopleNum, remainMoney, remainPeopleNum,
+                            spreadDateTime, receivableExpireDateTime, viewableExpireDateTime);
+                    spreadRepository.save(spread);
+                    em.flush();
+
+                    //뿌리기 세부사항 생성 및 저장(나눈 금액을 뿌릴 인원에 배정)
+                    for (Integer distributedMoney : distributedMoneyList) {
+                        SpreadDetail spreadDetail = SpreadDetail.createSpreadDetails(spread, distributedMoney);
+                        spreadDetailRepository.save(spreadDetail);
+                    }
                 }
+
+                //뿌리기 생성 이벤트 발행
+                eventPublisher.publishEvent(new SpreadCreatedEvent(
+                        spread.getId(), token, userId, roomId, totalMoney, totalPeopleNum,
+                        spreadDateTime, receivableExpireDateTime, viewableExpireDateTime));
+                PhaseEvent.recordCommit(PhaseEvent.SPREAD, token, roomId);
                 break;
             } catch (ConstraintViolationException e) {
                 retryCount++;
@@ -99,16 +124,17 @@ public class SpreadService {
      * token 생성
      * 1) token 은 고유값이며 3자리 문자열이며 예측이 불가능하게 구성
      *
+     * @param prefix token 첫 글자 (shard 사용시 대화방의 slot), null 이면 무작위
      * @return 생성된 뿌리기 token 값
      */
-    private String makeToken() {
+    private String makeToken(Character prefix) {
         String token = null;
 
         //토큰 생성 시도
         int tryNum = 0;
         while (tryNum < 1000) { // 고유 토큰 생성 실패시 1000회까지 시도
             //토큰 생성
-            token = makeTokenStr();
+            token = makeTokenStr(prefix);
 
             //토큰 Unique 확인
             boolean uniqueToken = isUniqueToken(token);
@@ -121,7 +147,7 @@ public class SpreadService {
 
         //고유 토큰 생성 실패
         if (token == null)
-            throw new PredictableRuntimeException("뿌리기 요청 Token 생성에 실패했습니다. 다시 시도 해주세요. 계속해서 문제가 발생한다면 관리자에게 문의해주십시오.");
+            throw PredictableRuntimeException.of(RejectReason.TOKEN_GENERATION_FAILED);
 
         log.info("Token 생성 완료, token: {}", token);
         return token;
@@ -130,13 +156,16 @@ public class SpreadService {
     /**
      * 랜덤 3자리 문자열 생성
      *
+     * @param prefix 첫 글자, null 이면 무작위
      * @return 랜덤 3자리 문자열
      */
-    private String makeTokenStr() {
+    private String makeTokenStr(Character prefix) {
         String token;
-        String chars = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+        String chars = TokenSlots.TOKEN_CHARS;
         StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < 3; i++) {
+        if (prefix != null)
+            sb.append(prefix.charValue());
+        while (sb.length() < 3) {
             int index = random.nextInt(chars.length());
             sb.append(chars.charAt(index));
         }
@@ -182,51 +211,45 @@ public class SpreadService {
     }
 
     /**
-     * 뿌리기 건의 받기 만료 시간 설정
-     *
-     * @param spreadDateTime 받기 만료 시간의 기준이 되는 뿌린 시간
-     * @return 받기 만료 시간
+     * Spread 총 개수 구하기
+     * @return Spread 총 개수
      */
-    private LocalDateTime makeReceivableExpireDateTime(LocalDateTime spreadDateTime) {
-        return makePlusLocalDateTimeWithCondition(spreadDateTime, spread_expire_date_unit, spread_expire_date_duration);
+    @Transactional(readOnly = true)
+    public int getAllCount() {
+        return (int) spreadRepository.count();
     }
 
     /**
-     * 뿌리기 건의 조회 만료 시간 설정
-     *
-     * @param spreadDateTime 조회 만료 시간의 기준이 되는 뿌린 시간
-     * @return 조회 만료 시간
+     * 대화방의 받을 수 있는 뿌리기 가져오기 (받기 만료 전, 남은 인원이 있는 뿌리기)
+     * @param roomId 대화방 아이디
+     * @param size 최대 개수
+     * @return 받기 만료 시각 역순 뿌리기 (token, 뿌린 금액, 뿌린 인원, 남은 인원, 받기 만료 시각)
      */
-    private LocalDateTime makeViewableExpireDateTime(LocalDateTime spreadDateTime) {
-        return makePlusLocalDateTimeWithCondition(spreadDateTime, viewable_date_unit, viewable_date_duration);
+    @Transactional(readOnly = true)
+    public List<RoomFeedSpreadDto> findRoomFeed(String roomId, int size) {
+        //대화방의 shard 지정 (shard 사용시)
+        shardRouter.bindRoom(roomId, false);
+        return spreadRepository.findRoomFeed(roomId, LocalDateTime.now(), PageRequest.ofSize(size));
     }
 
     /**
-     * 기준 시간, 추가 단위(년/월/일/시/분/초), 추가 값으로 기준 시간에서 추가된 값을 반환
-     *
-     * @param standardDateTime  기준 시간
-     * @param unitOfCondition   추가 단위 (년/월/일/시/분/초)
-     * @param durationCondition 추가 값
-     * @return 추가된 시간
+     * token 에 해당하는 뿌리기가 있는지 확인 (조회 만료 전 뿌리기)
+     * @param token 확인할 token
+     * @return 뿌리기 존재 여부
      */
-    private LocalDateTime makePlusLocalDateTimeWithCondition(LocalDateTime standardDateTime, String unitOfCondition, int durationCondition) {
-        return switch (unitOfCondition) {
-            case "y" -> standardDateTime.plusYears(durationCondition);
-            case "M" -> standardDateTime.plusMonths(durationCondition);
-            case "d" -> standardDateTime.plusDays(durationCondition);
-            case "h" -> standardDateTime.plusHours(durationCondition);
-            case "m" -> standardDateTime.plusMinutes(durationCondition);
-            case "s" -> standardDateTime.plusSeconds(durationCondition);
-            default -> standardDateTime.plusMinutes(10);
-        };
+    @Transactional(readOnly = true)
+    public boolean existsToken(String token) {
+        //token 의 shard 지정 (shard 사용시)
+        shardRouter.bindToken(token, false);
+        return spreadRepository.countByToken(token) > 0;
     }
 
     /**
-     * Spread 총 개수 구하기
-     * @return Spread 총 개수
+     * Spread 의 모든 token 가져오기 (조회 만료 전 뿌리기의 token)
+     * @return token 리스트
      */
     @Transactional(readOnly = true)
-    public int getAllCount() {
-        return (int) spreadRepository.count();
+    public List<String> findAllTokens() {
+        return spreadRepository.findAllTokens();
     }
 }
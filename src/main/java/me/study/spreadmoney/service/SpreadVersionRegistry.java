@@ -0,0 +1,125 @@
+package me.study.spreadmoney.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import me.study.spreadmoney.event.MoneyReceivedEvent;
+import me.study.spreadmoney.event.SpreadCreatedEvent;
+import me.study.spreadmoney.event.SpreadExpiredEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * token 별 뿌리기 상태 버전(ETag) 정보, 조회 API 의 조건부 요청(If-None-Match) 응답에 사용
+ * 버전은 뿌리기 고유 아이디와 남은 인원으로 구성. (받기가 발생하면 남은 인원이 줄어들어 버전이 바뀜)
+ * 이 서버 인스턴스에서 커밋된 뿌리기/받기/만료와 조회 결과로 갱신하며,
+ * 다른 서버 인스턴스의 받기를 반영하기 위해 설정된 시간이 지난 버전 정보는 신뢰하지 않음.
+ */
+@Component
+public class SpreadVersionRegistry {
+    private final ConcurrentHashMap<String, SpreadVersion> versions = new ConcurrentHashMap<>();
+
+    //config.yml 설정 값
+    @Value("${config.lookup.version-ttl-millis}")
+    private long version_ttl_millis; //버전 정보를 신뢰하는 시간 (밀리초)
+
+    /**
+     * 뿌리기 상태 버전(ETag) 값 생성
+     * @param spreadId 뿌리기 데이터 고유 아이디
+     * @param remainPeopleNum 남은 인원
+     * @return 뿌리기 상태 버전 (strong ETag 형식)
+     */
+    public static String eTagOf(Long spreadId, int remainPeopleNum) {
+        return "\"" + spreadId + "-" + remainPeopleNum + "\"";
+    }
+
+    /**
+     * 요청한 사용자가 가진 버전이 현재 버전과 같은지 확인 (DB 조회 없음)
+     * 1) 신뢰 시간 안에 확인된 버전 정보가 있어야 함
+     * 2) 뿌린 사람 자신의 요청이어야 함
+     * 3) 조회 만료일이 지나지 않아야 함
+     * @param token 조회 요청 token
+     * @param userId 조회 요청 사용자 아이디
+     * @param ifNoneMatch If-None-Match Header 값
+     * @return 현재 버전 (변경 없음), 판단할 수 없거나 변경되었다면 null
+     */
+    public String findNotModifiedVersion(String token, int userId, String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank())
+            return null;
+        SpreadVersion spreadVersion = versions.get(token);
+        if (spreadVersion == null
+                || System.currentTimeMillis() - spreadVersion.getVerifiedAtMillis() > version_ttl_millis
+                || spreadVersion.getSpreadUserId() != userId
+                || spreadVersion.getViewableExpireDateTime().isBefore(LocalDateTime.now()))
+            return null;
+
+        String currentVersion = spreadVersion.getETag();
+        for (String requestedVersion : ifNoneMatch.split(",")) {
+            if (requestedVersion.trim().equals(currentVersion))
+                return currentVersion;
+        }
+        return null;
+    }
+
+    /**
+     * 확인된 뿌리기 상태 버전 등록
+     * 같은 뿌리기라면 남은 인원이 적은 (더 최근) 버전을 유지, token 이 재사용 되었다면 더 최근 뿌리기를 유지
+     */
+    public void register(Long spreadId, String token, int spreadUserId, int remainPeopleNum, LocalDateTime viewableExpireDateTime) {
+        SpreadVersion verified = new SpreadVersion(
+                spreadId, spreadUserId, remainPeopleNum, viewableExpireDateTime, System.currentTimeMillis());
+        versions.merge(token, verified, (current, next) -> {
+            if (current.getSpreadId().equals(next.getSpreadId()))
+                return current.getRemainPeopleNum() < next.getRemainPeopleNum() ? current.verifiedAgain() : next;
+            return current.getSpreadId() > next.getSpreadId() ? current : next;
+        });
+    }
+
+    @TransactionalEventListener
+    public void onSpreadCreated(SpreadCreatedEvent event) {
+        register(event.getSpreadId(), event.getToken(), event.getSpreadUserId(),
+                event.getTotalPeopleNum(), event.getViewableExpireDateTime());
+    }
+
+    @TransactionalEventListener
+    public void onMoneyReceived(MoneyReceivedEvent event) {
+        versions.computeIfPresent(event.getToken(), (token, current) ->
+                current.getSpreadId().equals(event.getSpreadId()) && event.getRemainPeopleNum() < current.getRemainPeopleNum()
+                        ? current.withRemainPeopleNum(event.getRemainPeopleNum())
+                        : current);
+    }
+
+    @TransactionalEventListener
+    public void onSpreadExpired(SpreadExpiredEvent event) {
+        versions.computeIfPresent(event.getToken(), (token, current) ->
+                current.getSpreadId().equals(event.getSpreadId()) ? null : current);
+    }
+
+    /**
+     * token 의 뿌리기 상태 버전 정보
+     */
+    @Getter
+    @AllArgsConstructor
+    static class SpreadVersion {
+        private final Long spreadId; //뿌리기 데이터 고유 아이디
+        private final int spreadUserId; //뿌린 사용자 아이디
+        private final int remainPeopleNum; //남은 인원
+        private final LocalDateTime viewableExpireDateTime; //조회 만료 시각
+        private final long verifiedAtMillis; //버전 확인 시각
+
+        String getETag() {
+            return eTagOf(spreadId, remainPeopleNum);
+        }
+
+        SpreadVersion verifiedAgain() {
+            return new SpreadVersion(spreadId, spreadUserId, remainPeopleNum, viewableExpireDateTime, System.currentTimeMillis());
+        }
+
+        SpreadVersion withRemainPeopleNum(int remainPeopleNum) {
+            return new SpreadVersion(spreadId, spreadUserId, remainPeopleNum, viewableExpireDateTime, System.currentTimeMillis());
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package me.study.spreadmoney.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import me.study.spreadmoney.entity.Spread;
+import me.study.spreadmoney.event.MoneyReceivedEvent;
+import me.study.spreadmoney.event.SpreadCreatedEvent;
+import me.study.spreadmoney.event.SpreadExpiredEvent;
+import me.study.spreadmoney.exception.UnrelatedWithClientRequestException;
+import me.study.spreadmoney.wal.WalReceiveState;
+import me.study.spreadmoney.wal.WalRecord;
+import me.study.spreadmoney.wal.WriteAheadLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 받기 기록(WAL) 비즈니스 로직
+ * 커밋된 뿌리기 생성, 받기, 이관을 memory-mapped 받기 기록에 추가하고 메모리 상태(WalReceiveState)에 반영.
+ * 서버 시작 시 받기 기록을 다시 읽어 메모리 상태를 복구하므로, 재시작 후에도 DB 조회 없이 중복/소진 받기를 거절할 수 있음.
+ * DB 가 원본이며 받기 기록은 커밋 후 추가하므로, 기록이 유실되어도 받기 결과에는 영향 없음. (DB 로 검증)
+ * DB 가 다시 만들어져 뿌리기 아이디가 재사용될 수 있으므로 DB 의 뿌리기와 token, 뿌린 시각이 같은 기록만 사용
+ */
+@Slf4j
+@Service
+public class WalService {
+    private final WalReceiveState receiveState = new WalReceiveState();
+    private WriteAheadLog writeAheadLog;
+    private ScheduledExecutorService fsyncExecutor;
+
+    //config.yml 설정 값
+    @Value("${config.wal.enabled}")
+    private boolean wal_enabled; //받기 기록 사용 여부
+    @Value("${config.wal.directory}")
+    private String wal_directory; //segment 파일 경로
+    @Value("${config.wal.segment-size-bytes}")
+    private int segment_size_bytes; //segment 크기
+    @Value("${config.wal.fsync-millis}")
+    private long fsync_millis; //디스크 반영(fsync) 주기
+
+    @PostConstruct
+    public void init() {
+        if (!wal_enabled)
+            return;
+
+        AtomicInteger replayCount = new AtomicInteger();
+        try {
+            writeAheadLog = WriteAheadLog.open(Paths.get(wal_directory), segment_size_bytes, record -> {
+                receiveState.apply(record);
+                replayCount.incrementAndGet();
+            });
+        } catch (IOException ex) {
+            throw new UnrelatedWithClientRequestException("받기 기록(WAL)을 열 수 없습니다. 경로: " + wal_directory, ex);
+        }
+        log.info("받기 기록(WAL) 복구 완료, 기록: {}, 뿌리기: {}, segment: {}",
+                replayCount.get(), receiveState.size(), writeAheadLog.segmentPaths().size());
+
+        fsyncExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "wal-fsync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        fsyncExecutor.scheduleWithFixedDelay(this::sync, fsync_millis, fsync_millis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        if (writeAheadLog == null)
+            return;
+        fsyncExecutor.shutdownNow();
+        writeAheadLog.close();
+    }
+
+    /**
+     * 받기 기록 사용 여부
+     * @return 받기 기록 사용 여부
+     */
+    public boolean isEnabled() {
+        return writeAheadLog != null;
+    }
+
+    /**
+     * 이미 받은 사용자인지 메모리 상태로 확인, 기록이 없거나 다른 뿌리기의 기록이라면 false (DB 로 검증)
+     * @param spread 받기를 요청하는 뿌리기 (DB)
+     * @param userId 받기 요청 사용자 아이디
+     * @return 이미 받은 사용자 여부
+     */
+    public boolean hasReceived(Spread spread, int userId) {
+        if (writeAheadLog == null)
+            return false;
+        return findState(spread).map(s -> s.hasReceived(userId)).orElse(false);
+    }
+
+    /**
+     * 모두 받아간 뿌리기인지 메모리 상태로 확인, 기록이 없거나 다른 뿌리기의 기록이라면 false (DB 로 검증)
+     * @param spread 받기를 요청하는 뿌리기 (DB)
+     * @return 모두 받아간 뿌리기 여부
+     */
+    public boolean isExhausted(Spread spread) {
+        if (writeAheadLog == null)
+            return false;
+        return findState(spread).map(WalReceiveState.SpreadState::isExhausted).orElse(false);
+    }
+
+    private Optional<WalReceiveState.SpreadState> findState(Spread spread) {
+        return receiveState.find(spread.getId(), spread.getToken(), spread.getSpreadDateTime());
+    }
+
+    @TransactionalEventListener
+    public void onSpreadCreated(SpreadCreatedEvent event) {
+        append(WalRecord.spreadCreated(event.getSpreadId(), event.getToken(), event.getSpreadUserId(),
+                event.getRoomId(), event.getTotalMoney(), event.getTotalPeopleNum(), event.getSpreadDateTime()));
+    }
+
+    @TransactionalEventListener
+    public void onMoneyReceived(MoneyReceivedEvent event) {
+        append(WalRecord.moneyReceived(event.getSpreadId(), event.getReceivedUserId(), event.getReceivedMoney(),
+                event.getRemainMoney(), event.getRemainPeopleNum()));
+    }
+
+    @TransactionalEventListener
+    public void onSpreadExpired(SpreadExpiredEvent event) {
+        append(WalRecord.spreadArchived(event.getSpreadId()));
+    }
+
+    private void append(WalRecord record) {
+        if (writeAheadLog == null)
+            return;
+        try {
+            writeAheadLog.append(record);
+            receiveState.apply(record);
+        } catch (RuntimeException ex) {
+            //커밋 이후이므로 요청은 성공 처리, 메모리 상태 없이 DB 로 검증
+            log.error("받기 기록(WAL) 추가 실패: {} {}", record, ex.getMessage());
+        }
+    }
+
+    private void sync() {
+        try {
+            writeAheadLog.sync();
+        } catch (RuntimeException ex) {
+            log.error("받기 기록(WAL) 디스크 반영 실패: {}", ex.getMessage());
+        }
+    }
+}
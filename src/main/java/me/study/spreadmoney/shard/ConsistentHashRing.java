@@ -0,0 +1,45 @@
+package me.study.spreadmoney.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * consistent hashing ring, shard 마다 가상 노드(virtual node)를 여러 개 두어 고르게 분배
+ * shard 가 추가되면 기존 key 중 약 1/N 만 새 shard 로 옮겨짐
+ */
+public class ConsistentHashRing {
+    private final TreeMap<Long, Integer> ring = new TreeMap<>();
+
+    public ConsistentHashRing(int shardCount, int virtualNodes) {
+        for (int shard = 0; shard < shardCount; shard++) {
+            for (int v = 0; v < virtualNodes; v++)
+                ring.put(hash("shard-" + shard + "#" + v), shard);
+        }
+    }
+
+    /**
+     * key 를 담당하는 shard, ring 에서 key 의 hash 다음에 오는 가상 노드의 shard
+     * @param key 분배할 key
+     * @return shard 번호
+     */
+    public int shardOf(String key) {
+        Map.Entry<Long, Integer> entry = ring.ceilingEntry(hash(key));
+        return entry == null ? ring.firstEntry().getValue() : entry.getValue();
+    }
+
+    /**
+     * 64bit FNV-1a + 섞기(mix), 서버 인스턴스/재시작과 무관하게 같은 값
+     */
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
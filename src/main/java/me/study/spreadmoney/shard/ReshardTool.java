@@ -0,0 +1,60 @@
+package me.study.spreadmoney.shard;
+
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * slot 이동 도구, 서버 실행 중에 대화방(slot)을 다른 shard 로 이동
+ * 예) java -cp spread-money.jar -Dloader.main=me.study.spreadmoney.shard.ReshardTool org.springframework.boot.loader.launch.PropertiesLauncher \
+ *       --urls=jdbc:h2:tcp://localhost/~/shard0,jdbc:h2:tcp://localhost/~/shard1 --room=testRoom --target=1
+ * --urls, --virtual-nodes 는 서버 설정(config.shard)과 같아야 함
+ * --freeze-wait-millis 는 서버의 slot-max-age-millis 보다 길어야 함 (이동 중 기록, 이동 대상 기록 후 각각 대기)
+ */
+public class ReshardTool {
+
+    public static void main(String[] args) {
+        Map<String, String> options = parseOptions(args);
+        List<DataSource> shards = Arrays.stream(required(options, "urls").split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .map(url -> (DataSource) new DriverManagerDataSource(
+                        url, options.getOrDefault("username", "sa"), options.getOrDefault("password", "")))
+                .toList();
+        int virtualNodes = Integer.parseInt(options.getOrDefault("virtual-nodes", "128"));
+        long freezeWaitMillis = Long.parseLong(options.getOrDefault("freeze-wait-millis", "3000"));
+
+        int slot = options.containsKey("room")
+                ? TokenSlots.slotOfRoom(options.get("room"))
+                : Integer.parseInt(required(options, "slot"));
+        int target = Integer.parseInt(required(options, "target"));
+
+        ShardMigrator shardMigrator = new ShardMigrator(
+                shards, new ConsistentHashRing(shards.size(), virtualNodes), freezeWaitMillis);
+        int movedCount = shardMigrator.moveSlot(slot, target);
+        System.out.printf("slot: %d (token: %s*), shard: %d, 이동한 데이터 수: %d%n",
+                slot, TokenSlots.slotChar(slot), target, movedCount);
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("="))
+                throw new IllegalArgumentException("옵션 형식은 --이름=값 입니다: " + arg);
+            int index = arg.indexOf('=');
+            options.put(arg.substring(2, index), arg.substring(index + 1));
+        }
+        return options;
+    }
+
+    private static String required(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null || value.isBlank())
+            throw new IllegalArgumentException("--" + name + " 옵션이 필요합니다.");
+        return value;
+    }
+}
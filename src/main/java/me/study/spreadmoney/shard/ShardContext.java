@@ -0,0 +1,62 @@
+package me.study.spreadmoney.shard;
+
+import java.util.function.Supplier;
+
+/**
+ * 현재 스레드가 사용할 shard 번호
+ * 트랜잭션 안에서는 ShardRouter.bindRoom/bindToken 으로 지정하고 트랜잭션 종료 시 해제,
+ * 스케쥴러처럼 shard 별로 실행하는 경우 callOn/runOn 으로 지정
+ */
+public final class ShardContext {
+    private static final ThreadLocal<Integer> CURRENT_SHARD = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * 현재 shard 번호
+     * @return shard 번호, 지정되지 않았다면 null
+     */
+    public static Integer current() {
+        return CURRENT_SHARD.get();
+    }
+
+    static void set(int shard) {
+        CURRENT_SHARD.set(shard);
+    }
+
+    static void clear() {
+        CURRENT_SHARD.remove();
+    }
+
+    /**
+     * shard 지정 후 실행, 실행 후 이전 값으로 되돌림
+     * @param shard shard 번호
+     * @param supplier 실행할 로직
+     * @return 실행 결과
+     */
+    public static <T> T callOn(int shard, Supplier<T> supplier) {
+        Integer previous = CURRENT_SHARD.get();
+        CURRENT_SHARD.set(shard);
+        try {
+            return supplier.get();
+        } finally {
+            if (previous == null)
+                CURRENT_SHARD.remove();
+            else
+                CURRENT_SHARD.set(previous);
+        }
+    }
+
+    /**
+     * shard 지정 후 실행, 실행 후 이전 값으로 되돌림
+     * @param shard shard 번호
+     * @param runnable 실행할 로직
+     */
+    public static void runOn(int shard, Runnable runnable) {
+        callOn(shard, () -> {
+            runnable.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,59 @@
+package me.study.spreadmoney.shard;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * shard 사용 설정, spring.datasource 대신 config.shard.urls 의 DB 들을 사용 (0번 shard 가 첫 번째 URL)
+ * DataSource 빈은 하나만 등록 (shard 별 DB 는 ShardDataSources 가 관리)
+ */
+@Configuration
+@ConditionalOnProperty(name = "config.shard.enabled", havingValue = "true")
+public class ShardDataSourceConfig {
+
+    //config.yml 설정 값
+    @Value("${config.shard.urls}")
+    private String[] shard_urls; //shard 별 DB 접속 URL 목록
+    @Value("${config.shard.username}")
+    private String shard_username; //shard DB 사용자
+    @Value("${config.shard.password}")
+    private String shard_password; //shard DB 비밀번호
+    @Value("${config.datasource.replica.enabled}")
+    private boolean replica_enabled; //복제 DB 사용 여부
+
+    @Bean
+    public ShardDataSources shardDataSources(DataSourceProperties dataSourceProperties) {
+        if (replica_enabled)
+            throw new IllegalStateException("shard 와 복제 DB(config.datasource.replica)는 함께 사용할 수 없습니다.");
+
+        List<DataSource> shards = Arrays.stream(shard_urls)
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .map(url -> (DataSource) DataSourceBuilder.create()
+                        .driverClassName(dataSourceProperties.determineDriverClassName())
+                        .url(url)
+                        .username(shard_username)
+                        .password(shard_password)
+                        .build())
+                .toList();
+        if (shards.isEmpty())
+            throw new IllegalStateException("config.shard.urls 에 shard DB 접속 URL 이 없습니다.");
+        return new ShardDataSources(shards);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardDataSources shardDataSources) {
+        return new LazyConnectionDataSourceProxy(new ShardRoutingDataSource(shardDataSources.getShards()));
+    }
+}
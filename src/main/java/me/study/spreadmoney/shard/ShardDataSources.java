@@ -0,0 +1,37 @@
+package me.study.spreadmoney.shard;
+
+import lombok.Getter;
+import org.springframework.beans.factory.DisposableBean;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * shard 별 DB 연결, 0번 shard 는 slot 배치 정보(SHARD_SLOT)도 기록
+ */
+@Getter
+public class ShardDataSources implements DisposableBean {
+    private final List<DataSource> shards;
+
+    public ShardDataSources(List<DataSource> shards) {
+        this.shards = List.copyOf(shards);
+    }
+
+    public DataSource get(int shard) {
+        return shards.get(shard);
+    }
+
+    public int size() {
+        return shards.size();
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        for (DataSource shard : shards) {
+            if (shard instanceof Closeable closeable)
+                closeable.close();
+        }
+    }
+}
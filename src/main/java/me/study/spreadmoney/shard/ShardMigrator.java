@@ -0,0 +1,173 @@
+package me.study.spreadmoney.shard;
+
+import lombok.extern.slf4j.Slf4j;
+import me.study.spreadmoney.exception.UnrelatedWithClientRequestException;
+import me.study.spreadmoney.shard.ShardSlotCatalog.SlotAssignment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * slot(대화방 묶음)을 다른 shard 로 이동 (서비스 중단 없이)
+ * 1) slot 을 이동 중으로 기록 -> 각 서버가 배치 정보를 다시 읽을 때까지 대기 (이후 해당 slot 쓰기 거절)
+ * 2) 이동 대상 shard 에 한 트랜잭션으로 복사 (뿌리기 -> 뿌리기 상세, 받기 원장 -> 만료된 뿌리기 -> 만료된 받기)
+ * 3) 테이블 별 데이터 수를 기존 shard 와 비교해 복사 확인
+ * 4) slot 을 이동 대상 shard, 이동 중으로 기록 -> 각 서버가 이동 대상 shard 를 읽을 때까지 대기 (쓰기는 계속 거절)
+ * 5) 이동 중 해제 (쓰기 재개) 후 기존 shard 의 데이터 삭제
+ * 서버는 배치 정보를 slot-max-age-millis 넘게 다시 읽지 못하면 쓰기를 거절하므로,
+ * 대기 시간(freezeWaitMillis)이 그보다 길면 대기 후에는 모든 서버가 새 배치 정보를 읽었거나 쓰기를 거절하는 중
+ * 복사 실패, 복사 확인 실패시 이동 대상 shard 의 복사본을 지우고 배치 정보를 되돌림
+ * 전달 대기 이벤트(OUTBOX_EVENT)는 이동하지 않고 기존 shard 에서 전달
+ */
+@Slf4j
+public class ShardMigrator {
+    //복사 순서 (삭제는 역순), 조건의 ? 는 token 첫 글자 + '%'
+    private static final List<String[]> TABLES = List.of(
+            new String[]{"SPREAD", "token like ?"},
+            new String[]{"SPREAD_DETAIL", "spread_id in (select spread_id from SPREAD where token like ?)"},
+            new String[]{"CLAIM_LEDGER", "spread_id in (select spread_id from SPREAD where token like ?)"},
+            new String[]{"EXPIRED_SPREAD", "token like ?"},
+            new String[]{"EXPIRED_RECEIVE", "token like ?"});
+
+    private final List<DataSource> shards;
+    private final ConsistentHashRing ring;
+    private final ShardSlotCatalog catalog;
+    private final long freezeWaitMillis;
+
+    /**
+     * @param shards shard 별 DB 연결 (0번 shard 에 배치 정보 기록)
+     * @param ring 서버와 같은 설정(shard 수, 가상 노드 수)의 consistent hashing ring
+     * @param freezeWaitMillis 배치 정보 기록 후 대기 시간, 서버의 배치 정보 최대 유효 시간(slot-max-age-millis)보다 길어야 함
+     */
+    public ShardMigrator(List<DataSource> shards, ConsistentHashRing ring, long freezeWaitMillis) {
+        this.shards = List.copyOf(shards);
+        this.ring = ring;
+        this.catalog = new ShardSlotCatalog(shards.get(0));
+        this.freezeWaitMillis = freezeWaitMillis;
+    }
+
+    /**
+     * slot 이 현재 배치된 shard
+     * @param slot slot 번호
+     * @return shard 번호
+     */
+    public int shardOfSlot(int slot) {
+        SlotAssignment slotAssignment = catalog.load().get(slot);
+        return slotAssignment != null ? slotAssignment.getShard() : ring.shardOf(TokenSlots.ringKey(slot));
+    }
+
+    /**
+     * slot 이동
+     * @param slot slot 번호
+     * @param target 이동 대상 shard 번호
+     * @return 이동한 데이터 수
+     */
+    public int moveSlot(int slot, int target) {
+        if (target < 0 || target >= shards.size())
+            throw new UnrelatedWithClientRequestException("존재하지 않는 shard 입니다. shard: " + target);
+        int source = shardOfSlot(slot);
+        if (source == target)
+            return 0;
+
+        String tokenPattern = TokenSlots.slotChar(slot) + "%";
+        log.info("slot 이동 시작, slot: {}, shard: {} -> {}", slot, source, target);
+
+        //1) 이동 중 기록 후 각 서버가 반영할 때까지 대기
+        catalog.save(slot, source, true);
+        awaitRefresh(slot, source);
+
+        //2) 이동 대상 shard 에 복사, 3) 복사 확인
+        int copiedCount;
+        try {
+            copiedCount = copy(shards.get(source), shards.get(target), tokenPattern);
+            verify(shards.get(source), shards.get(target), tokenPattern);
+        } catch (RuntimeException ex) {
+            delete(shards.get(target), tokenPattern);
+            catalog.save(slot, source, false);
+            log.error("slot 이동 실패, slot: {} {}", slot, ex.getMessage());
+            throw new UnrelatedWithClientRequestException("slot 이동에 실패했습니다. slot: " + slot, ex);
+        }
+
+        //4) 이동 대상 shard 로 기록 후 각 서버가 반영할 때까지 대기 (기존 shard 를 읽는 서버가 없도록)
+        catalog.save(slot, target, true);
+        awaitRefresh(slot, target);
+
+        //5) 쓰기 재개 후 기존 shard 데이터 삭제
+        catalog.save(slot, target, false);
+        delete(shards.get(source), tokenPattern);
+        log.info("slot 이동 완료, slot: {}, shard: {} -> {}, 데이터 수: {}", slot, source, target, copiedCount);
+        return copiedCount;
+    }
+
+    /**
+     * 배치 정보 기록 후 각 서버가 다시 읽을 때까지 대기, 중단되면 이동 중 해제
+     * @param slot slot 번호
+     * @param shard 기록된 shard 번호 (데이터가 있는 shard)
+     */
+    private void awaitRefresh(int slot, int shard) {
+        try {
+            Thread.sleep(freezeWaitMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            catalog.save(slot, shard, false);
+            throw new UnrelatedWithClientRequestException("slot 이동이 중단되었습니다. slot: " + slot);
+        }
+    }
+
+    private int copy(DataSource source, DataSource target, String tokenPattern) {
+        JdbcTemplate sourceJdbcTemplate = new JdbcTemplate(source);
+        JdbcTemplate targetJdbcTemplate = new JdbcTemplate(target);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(target));
+        Integer copiedCount = transactionTemplate.execute(status -> {
+            int count = 0;
+            for (String[] table : TABLES) {
+                List<Map<String, Object>> rows = sourceJdbcTemplate.queryForList(
+                        "select * from " + table[0] + " where " + table[1], tokenPattern);
+                if (rows.isEmpty())
+                    continue;
+
+                List<String> columns = new ArrayList<>(rows.get(0).keySet());
+                String sql = "insert into " + table[0] + " (" + String.join(", ", columns) + ") values ("
+                        + String.join(", ", columns.stream().map(c -> "?").toList()) + ")";
+                List<Object[]> batchArgs = rows.stream()
+                        .map(row -> columns.stream().map(row::get).toArray())
+                        .toList();
+                targetJdbcTemplate.batchUpdate(sql, batchArgs);
+                count += rows.size();
+            }
+            return count;
+        });
+        return copiedCount == null ? 0 : copiedCount;
+    }
+
+    /**
+     * 테이블 별 데이터 수 비교 (이동 중에는 쓰기가 없으므로 같아야 함)
+     */
+    private void verify(DataSource source, DataSource target, String tokenPattern) {
+        JdbcTemplate sourceJdbcTemplate = new JdbcTemplate(source);
+        JdbcTemplate targetJdbcTemplate = new JdbcTemplate(target);
+        for (String[] table : TABLES) {
+            String sql = "select count(*) from " + table[0] + " where " + table[1];
+            Integer sourceCount = sourceJdbcTemplate.queryForObject(sql, Integer.class, tokenPattern);
+            Integer targetCount = targetJdbcTemplate.queryForObject(sql, Integer.class, tokenPattern);
+            if (!sourceCount.equals(targetCount))
+                throw new UnrelatedWithClientRequestException(
+                        "복사한 데이터 수가 다릅니다. table: " + table[0] + ", 기존: " + sourceCount + ", 복사: " + targetCount);
+        }
+    }
+
+    private void delete(DataSource source, String tokenPattern) {
+        JdbcTemplate sourceJdbcTemplate = new JdbcTemplate(source);
+        new TransactionTemplate(new DataSourceTransactionManager(source)).executeWithoutResult(status -> {
+            for (int i = TABLES.size() - 1; i >= 0; i--) {
+                String[] table = TABLES.get(i);
+                sourceJdbcTemplate.update("delete from " + table[0] + " where " + table[1], tokenPattern);
+            }
+        });
+    }
+}
@@ -0,0 +1,199 @@
+package me.study.spreadmoney.shard;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import me.study.spreadmoney.exception.PredictableRuntimeException;
+import me.study.spreadmoney.exception.RejectReason;
+import me.study.spreadmoney.exception.UnrelatedWithClientRequestException;
+import me.study.spreadmoney.shard.ShardSlotCatalog.SlotAssignment;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 대화방/token 으로 shard 결정
+ * 1) 대화방은 hash 로 slot 에 속하고, slot 은 consistent hashing 으로 shard 에 배치
+ * 2) token 첫 글자가 slot 이므로 받기/조회는 token 으로 shard 결정
+ * 3) 옮겨진 slot, 이동 중인 slot 은 0번 shard 의 slot 배치 정보를 전용 스레드에서 주기적으로 읽어 반영
+ * 4) 이동 중인 slot 은 쓰기(뿌리기, 받기) 불가, 조회는 이동 전 shard 에서 가능
+ * 5) 배치 정보를 slot-max-age-millis 넘게 다시 읽지 못했다면 이동 중인지 알 수 없으므로 쓰기 불가
+ * shard 를 사용하지 않으면 모든 요청은 기본 DB 사용
+ */
+@Slf4j
+@Component
+public class ShardRouter {
+    private final ObjectProvider<ShardDataSources> shardDataSources;
+    private ConsistentHashRing ring;
+    private volatile Map<Integer, SlotAssignment> slotAssignments = Map.of(); //옮겨진 slot, 이동 중인 slot
+    private volatile long refreshedAtMillis; //slot 배치 정보를 마지막으로 읽은 시각
+    private ScheduledExecutorService refreshExecutor; //slot 배치 정보 읽기 전용 (다른 스케줄 작업에 밀리지 않도록)
+
+    //config.yml 설정 값
+    @Value("${config.shard.enabled}")
+    private boolean shard_enabled; //shard 사용 여부
+    @Value("${config.shard.virtual-nodes}")
+    private int virtual_nodes; //shard 별 가상 노드 수
+    @Value("${config.shard.slot-refresh-millis}")
+    private long slot_refresh_millis; //slot 배치 정보 다시 읽는 주기
+    @Value("${config.shard.slot-max-age-millis}")
+    private long slot_max_age_millis; //slot 배치 정보 최대 유효 시간, 넘으면 쓰기 거절
+
+    public ShardRouter(ObjectProvider<ShardDataSources> shardDataSources) {
+        this.shardDataSources = shardDataSources;
+    }
+
+    /**
+     * shard 사용 여부
+     * @return shard 사용 여부
+     */
+    public boolean isEnabled() {
+        return shard_enabled;
+    }
+
+    /**
+     * shard 수, shard 를 사용하지 않으면 1
+     * @return shard 수
+     */
+    public int getShardCount() {
+        return shard_enabled ? shardDataSources.getObject().size() : 1;
+    }
+
+    /**
+     * slot 이 배치된 shard
+     * @param slot slot 번호
+     * @return shard 번호
+     */
+    public int shardOfSlot(int slot) {
+        SlotAssignment slotAssignment = slotAssignments.get(slot);
+        if (slotAssignment != null)
+            return slotAssignment.getShard();
+        return ring().shardOf(TokenSlots.ringKey(slot));
+    }
+
+    /**
+     * 대화방이 배치된 shard
+     * @param roomId 대화방 아이디
+     * @return shard 번호, shard 를 사용하지 않으면 0
+     */
+    public int shardOfRoom(String roomId) {
+        return shard_enabled ? shardOfSlot(TokenSlots.slotOfRoom(roomId)) : 0;
+    }
+
+    /**
+     * 뿌리기 token 이 배치된 shard
+     * @param token 뿌리기 token
+     * @return shard 번호, shard 를 사용하지 않으면 0
+     */
+    public int shardOfToken(String token) {
+        return shard_enabled ? shardOfSlot(TokenSlots.slotOfToken(token)) : 0;
+    }
+
+    /**
+     * 뿌리기 token 첫 글자 (대화방의 slot)
+     * @param roomId 대화방 아이디
+     * @return token 첫 글자, shard 를 사용하지 않으면 null (모두 무작위)
+     */
+    public Character tokenPrefixOf(String roomId) {
+        return shard_enabled ? TokenSlots.slotChar(TokenSlots.slotOfRoom(roomId)) : null;
+    }
+
+    /**
+     * 현재 트랜잭션이 대화방의 shard 를 사용하도록 지정, 트랜잭션 안에서 SQL 실행 전에 호출
+     * @param roomId 대화방 아이디
+     * @param write 쓰기 여부 (이동 중인 slot 이라면 거절)
+     */
+    public void bindRoom(String roomId, boolean write) {
+        if (shard_enabled)
+            bind(TokenSlots.slotOfRoom(roomId), write);
+    }
+
+    /**
+     * 현재 트랜잭션이 token 의 shard 를 사용하도록 지정, 트랜잭션 안에서 SQL 실행 전에 호출
+     * @param token 뿌리기 token
+     * @param write 쓰기 여부 (이동 중인 slot 이라면 거절)
+     */
+    public void bindToken(String token, boolean write) {
+        if (shard_enabled)
+            bind(TokenSlots.slotOfToken(token), write);
+    }
+
+    private void bind(int slot, boolean write) {
+        SlotAssignment slotAssignment = slotAssignments.get(slot);
+        if (write && slotAssignment != null && slotAssignment.isMigrating())
+            throw PredictableRuntimeException.of(RejectReason.SLOT_MOVING);
+        if (write && System.currentTimeMillis() - refreshedAtMillis > slot_max_age_millis)
+            throw PredictableRuntimeException.of(RejectReason.SLOT_MOVING);
+
+        int shard = shardOfSlot(slot);
+        Integer current = ShardContext.current();
+        if (current != null) {
+            if (current != shard)
+                throw new UnrelatedWithClientRequestException(
+                        "한 트랜잭션에서 여러 shard 를 사용할 수 없습니다. 사용 중: " + current + ", 요청: " + shard);
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+            throw new UnrelatedWithClientRequestException("shard 지정은 트랜잭션 안에서만 가능합니다.");
+
+        ShardContext.set(shard);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                ShardContext.clear();
+            }
+        });
+    }
+
+    /**
+     * 0번 shard 의 slot 배치 정보 다시 읽기
+     */
+    public void refreshSlotAssignments() {
+        if (!shard_enabled)
+            return;
+        long startedAtMillis = System.currentTimeMillis();
+        slotAssignments = Map.copyOf(new ShardSlotCatalog(shardDataSources.getObject().get(0)).load());
+        refreshedAtMillis = startedAtMillis;
+    }
+
+    /**
+     * slot 배치 정보 주기적으로 다시 읽기 시작, shard 스키마 준비 후 호출
+     */
+    public synchronized void startSlotRefresh() {
+        if (!shard_enabled || refreshExecutor != null)
+            return;
+        refreshExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "shard-slot-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refreshExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                refreshSlotAssignments();
+            } catch (RuntimeException ex) {
+                log.error("slot 배치 정보 읽기 중 오류 발생 {}", ex.getMessage());
+            }
+        }, slot_refresh_millis, slot_refresh_millis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (refreshExecutor != null)
+            refreshExecutor.shutdownNow();
+    }
+
+    private ConsistentHashRing ring() {
+        ConsistentHashRing current = ring;
+        if (current == null) {
+            current = new ConsistentHashRing(getShardCount(), virtual_nodes);
+            ring = current;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,30 @@
+package me.study.spreadmoney.shard;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 현재 스레드의 shard 번호(ShardContext)로 DB 연결, 지정되지 않았다면 0번 shard
+ * 트랜잭션 시작 후 shard 를 지정하므로 LazyConnectionDataSourceProxy 로 감싸서 사용 (첫 SQL 실행 시 연결)
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    public ShardRoutingDataSource(List<DataSource> shards) {
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        for (int i = 0; i < shards.size(); i++)
+            targetDataSources.put(i, shards.get(i));
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(shards.get(0));
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Integer shard = ShardContext.current();
+        return shard == null ? 0 : shard;
+    }
+}
@@ -0,0 +1,68 @@
+package me.study.spreadmoney.shard;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * shard 별 스키마, sequence 준비 후 slot 배치 정보 읽기 (이후 주기적으로 다시 읽기 시작)
+ * 1) ddl-auto(create, create-drop) 는 0번 shard 에만 적용되므로 나머지 shard 에도 같은 스키마 생성
+ * 2) shard 별 sequence 시작 값을 (shard 번호 << 40) 이상으로 맞춰 shard 간 아이디가 겹치지 않도록 함 (slot 이동시 아이디 유지)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "config.shard.enabled", havingValue = "true")
+public class ShardSchemaInitializer implements SmartInitializingSingleton {
+    static final int ID_RANGE_BITS = 40; //shard 별 아이디 범위 (2^40)
+
+    private final ShardDataSources shardDataSources;
+    private final ShardRouter shardRouter;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${spring.jpa.hibernate.ddl-auto:none}")
+    private String ddl_auto;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        boolean createSchema = "create".equals(ddl_auto) || "create-drop".equals(ddl_auto);
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        for (int shard = 1; shard < shardDataSources.size(); shard++) {
+            if (createSchema) {
+                ShardContext.runOn(shard, () -> {
+                    sessionFactory.getSchemaManager().dropMappedObjects(false);
+                    sessionFactory.getSchemaManager().exportMappedObjects(false);
+                });
+            }
+            alignSequences(shard);
+        }
+        shardRouter.refreshSlotAssignments();
+        shardRouter.startSlotRefresh();
+        log.info("shard 준비 완료, shard 수: {}", shardDataSources.size());
+    }
+
+    /**
+     * shard 의 sequence 를 shard 아이디 범위 시작 값 이상으로 맞춤 (H2 information_schema)
+     * @param shard shard 번호
+     */
+    private void alignSequences(int shard) {
+        long start = ((long) shard << ID_RANGE_BITS) + 1;
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(shardDataSources.get(shard));
+        List<Map<String, Object>> sequences = jdbcTemplate.queryForList(
+                "select sequence_name, base_value from information_schema.sequences where sequence_schema = schema()");
+        for (Map<String, Object> sequence : sequences) {
+            long baseValue = ((Number) sequence.get("BASE_VALUE")).longValue();
+            if (baseValue < start)
+                jdbcTemplate.execute("alter sequence " + sequence.get("SEQUENCE_NAME") + " restart with " + start);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package me.study.spreadmoney.shard;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * slot 배치 정보 (0번 shard 의 SHARD_SLOT 테이블)
+ * consistent hashing 배치에서 옮겨진 slot 과 이동 중인 slot 만 기록
+ */
+public class ShardSlotCatalog {
+    private final JdbcTemplate jdbcTemplate;
+
+    public ShardSlotCatalog(DataSource catalogDataSource) {
+        this.jdbcTemplate = new JdbcTemplate(catalogDataSource);
+    }
+
+    /**
+     * 기록된 slot 배치 정보
+     * @return slot 번호 별 배치 정보
+     */
+    public Map<Integer, SlotAssignment> load() {
+        Map<Integer, SlotAssignment> assignments = new HashMap<>();
+        jdbcTemplate.query("select slot_no, shard_no, migrating from SHARD_SLOT", rs -> {
+            assignments.put(rs.getInt("slot_no"), new SlotAssignment(rs.getInt("shard_no"), rs.getBoolean("migrating")));
+        });
+        return assignments;
+    }
+
+    /**
+     * slot 배치 정보 기록
+     * @param slot slot 번호
+     * @param shard 배치된 shard 번호
+     * @param migrating 이동 중 여부 (이동 중에는 쓰기 불가)
+     */
+    public void save(int slot, int shard, boolean migrating) {
+        int updated = jdbcTemplate.update(
+                "update SHARD_SLOT set shard_no = ?, migrating = ? where slot_no = ?", shard, migrating, slot);
+        if (updated == 0)
+            jdbcTemplate.update(
+                    "insert into SHARD_SLOT (slot_no, shard_no, migrating) values (?, ?, ?)", slot, shard, migrating);
+    }
+
+    /**
+     * slot 배치 정보
+     * @param shard 배치된 shard 번호
+     * @param migrating 이동 중 여부
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class SlotAssignment {
+        private final int shard; //배치된 shard 번호
+        private final boolean migrating; //이동 중 여부
+    }
+}
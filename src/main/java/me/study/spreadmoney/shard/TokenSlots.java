@@ -0,0 +1,52 @@
+package me.study.spreadmoney.shard;
+
+/**
+ * token 첫 글자 = 대화방의 slot
+ * 대화방은 hash 로 slot(token 문자 수 만큼) 중 하나에 속하고, slot 단위로 shard 에 배치/이동됨
+ * token 만으로 slot(shard)을 알 수 있으므로 받기/조회 시 별도 조회 없이 shard 결정
+ */
+public final class TokenSlots {
+    public static final String TOKEN_CHARS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789"; //token 에 사용하는 문자
+    public static final int SLOT_COUNT = TOKEN_CHARS.length();
+
+    private TokenSlots() {
+    }
+
+    /**
+     * 대화방의 slot
+     * @param roomId 대화방 아이디
+     * @return slot 번호
+     */
+    public static int slotOfRoom(String roomId) {
+        return (int) Math.floorMod(ConsistentHashRing.hash("room-" + roomId), (long) SLOT_COUNT);
+    }
+
+    /**
+     * token 의 slot, token 에 사용하지 않는 문자로 시작하면 0번 slot
+     * @param token 뿌리기 token
+     * @return slot 번호
+     */
+    public static int slotOfToken(String token) {
+        if (token == null || token.isEmpty())
+            return 0;
+        return Math.max(0, TOKEN_CHARS.indexOf(token.charAt(0)));
+    }
+
+    /**
+     * slot 의 token 첫 글자
+     * @param slot slot 번호
+     * @return token 첫 글자
+     */
+    public static char slotChar(int slot) {
+        return TOKEN_CHARS.charAt(slot);
+    }
+
+    /**
+     * consistent hashing ring 에서 사용할 slot 의 key
+     * @param slot slot 번호
+     * @return ring key
+     */
+    static String ringKey(int slot) {
+        return "slot-" + slot;
+    }
+}
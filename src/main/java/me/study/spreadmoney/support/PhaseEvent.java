@@ -0,0 +1,100 @@
+package me.study.spreadmoney.support;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 뿌리기, 받기, 조회, 만료 이관 단계별 소요 시간 (JDK Flight Recorder 이벤트)
+ * 기록 중이 아니면 기록하지 않음 (jfr/spread-money.jfc 설정으로 기록, ./gradlew jfrSummary 로 단계별 지연 시간 요약)
+ * 사용: try (PhaseEvent phase = PhaseEvent.start(PhaseEvent.RECEIVE, "fetch", token, roomId)) { ... }
+ * 단계에서 예외가 발생해도 기록 (실패한 요청의 단계 시간 포함)
+ */
+@Name(PhaseEvent.NAME)
+@Label("Phase")
+@Category("Spread Money")
+@Description("뿌리기, 받기, 조회, 만료 이관 단계별 소요 시간")
+@StackTrace(false)
+public class PhaseEvent extends Event implements AutoCloseable {
+    public static final String NAME = "me.study.spreadmoney.Phase";
+    public static final String SPREAD = "spread";
+    public static final String RECEIVE = "receive";
+    public static final String LOOK_UP = "lookup";
+    public static final String ARCHIVE = "archive";
+
+    @Label("Operation")
+    private String operation; //spread, receive, lookup, archive
+
+    @Label("Phase")
+    private String phase; //단계
+
+    @Label("Token")
+    private String token;
+
+    @Label("Room")
+    private String roomId;
+
+    /**
+     * 단계 시작
+     * @param operation 기능 (spread, receive, lookup, archive)
+     * @param phase 단계
+     * @param token 뿌리기 token, 모르면 null (setToken 으로 지정)
+     * @param roomId 대화방 ID, 모르면 null
+     * @return 단계 이벤트, close 시 기록
+     */
+    public static PhaseEvent start(String operation, String phase, String token, String roomId) {
+        PhaseEvent event = new PhaseEvent();
+        if (event.isEnabled()) {
+            event.operation = operation;
+            event.phase = phase;
+            event.token = token;
+            event.roomId = roomId;
+            event.begin();
+        }
+        return event;
+    }
+
+    /**
+     * 현재 트랜잭션의 커밋 단계 기록 (beforeCommit ~ 커밋 완료, "commit" 단계)
+     * 롤백된 트랜잭션은 기록하지 않음
+     * @param operation 기능
+     * @param token 뿌리기 token
+     * @param roomId 대화방 ID
+     */
+    public static void recordCommit(String operation, String token, String roomId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive() || !new PhaseEvent().isEnabled())
+            return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private PhaseEvent commit;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commit = start(operation, "commit", token, roomId);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (commit != null && status == STATUS_COMMITTED)
+                    commit.close();
+            }
+        });
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public void setRoomId(String roomId) {
+        this.roomId = roomId;
+    }
+
+    @Override
+    public void close() {
+        commit();
+    }
+}
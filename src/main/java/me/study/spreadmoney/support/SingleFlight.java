@@ -0,0 +1,57 @@
+package me.study.spreadmoney.support;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 동일한 key 로 동시에 들어온 요청을 하나로 합쳐 실행 (Single-flight)
+ * 먼저 들어온 요청(leader)만 실제로 실행하고, 실행 중 들어온 요청들은 그 결과(또는 예외)를 공유함.
+ * 실행이 끝나면 결과는 보관하지 않음. (캐시 아님)
+ * @param <K> 요청 key
+ * @param <V> 실행 결과
+ */
+public class SingleFlight<K, V> {
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * key 에 해당하는 실행이 진행 중이면 그 결과를 기다려 반환, 없으면 직접 실행
+     * @param key 요청 key
+     * @param supplier 실제 실행 로직
+     * @return 실행 결과
+     */
+    public V execute(K key, Supplier<V> supplier) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, created);
+        if (running != null)
+            return await(running);
+
+        try {
+            V value = supplier.get();
+            created.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            created.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    /**
+     * 진행 중인 실행 결과 기다리기, leader 에서 발생한 예외는 그대로 다시 던짐
+     */
+    private V await(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            if (cause instanceof Error error)
+                throw error;
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package me.study.spreadmoney.support;
+
+import lombok.extern.slf4j.Slf4j;
+import me.study.spreadmoney.event.MoneyReceivedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 시작 시간 기록 (JVM 시작 기준)
+ * 1) 요청을 받을 수 있게 된 시각 (ApplicationReadyEvent)
+ * 2) 첫 받기 성공 시각 (첫 받기 커밋), 자동 확장된 서버가 실제로 받기를 처리하기까지 걸린 시간
+ */
+@Slf4j
+@Component
+public class StartupReporter {
+    private final AtomicBoolean firstReceiveReported = new AtomicBoolean();
+    private volatile long readyMillis = -1;
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        readyMillis = uptimeMillis();
+        log.info("[startup] 시작 완료: {}ms (JVM 시작 기준), Spring 시작: {}ms",
+                readyMillis, event.getTimeTaken() == null ? "-" : event.getTimeTaken().toMillis());
+    }
+
+    @TransactionalEventListener
+    public void onMoneyReceived(MoneyReceivedEvent event) {
+        if (!firstReceiveReported.compareAndSet(false, true))
+            return;
+        long firstReceiveMillis = uptimeMillis();
+        log.info("[startup] 첫 받기 성공: {}ms (JVM 시작 기준), 시작 완료 후: {}ms",
+                firstReceiveMillis, readyMillis < 0 ? "-" : firstReceiveMillis - readyMillis);
+    }
+
+    private long uptimeMillis() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+}
@@ -0,0 +1,128 @@
+package me.study.spreadmoney.wal;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 받기 기록(WAL)으로 만든 메모리 상태 (뿌리기 별 남은 금액, 남은 인원, 받은 사용자)
+ * 커밋된 뿌리기, 받기만 기록되므로 이 상태로 판단한 거절(이미 받음, 모두 받아감)은 DB 와 같음
+ * 뿌리기 데이터 고유 아이디는 DB 가 다시 만들어지면 재사용될 수 있으므로 token, 뿌린 시각이 같은 뿌리기 상태만 사용
+ */
+public class WalReceiveState {
+    private final Map<Long, SpreadState> spreadStates = new ConcurrentHashMap<>();
+    private final Map<String, Long> spreadIdByToken = new ConcurrentHashMap<>();
+
+    /**
+     * 기록 반영
+     * @param record 기록
+     */
+    public void apply(WalRecord record) {
+        switch (record.getType()) {
+            case SPREAD_CREATED -> {
+                SpreadState spreadState = new SpreadState(record.getSpreadId(), record.getToken(), record.getUserId(),
+                        record.getRoomId(), record.getMoney(), record.getPeopleNum(), record.getSpreadEpochMillis());
+                spreadStates.put(record.getSpreadId(), spreadState);
+                spreadIdByToken.put(record.getToken(), record.getSpreadId());
+            }
+            case MONEY_RECEIVED -> {
+                SpreadState spreadState = spreadStates.get(record.getSpreadId());
+                if (spreadState != null)
+                    spreadState.receive(record.getUserId(), record.getRemainMoney(), record.getPeopleNum());
+            }
+            case SPREAD_ARCHIVED -> {
+                SpreadState spreadState = spreadStates.remove(record.getSpreadId());
+                if (spreadState != null)
+                    spreadIdByToken.remove(spreadState.getToken(), spreadState.getSpreadId());
+            }
+        }
+    }
+
+    /**
+     * 뿌리기 상태 찾기
+     * @param spreadId 뿌리기 데이터 고유 아이디
+     * @return 뿌리기 상태, 기록이 없다면 empty
+     */
+    public Optional<SpreadState> find(Long spreadId) {
+        return Optional.ofNullable(spreadStates.get(spreadId));
+    }
+
+    /**
+     * 같은 뿌리기(token, 뿌린 시각)의 상태 찾기, 아이디가 같아도 다른 뿌리기의 상태라면 empty
+     * @param spreadId 뿌리기 데이터 고유 아이디
+     * @param token 뿌리기 token
+     * @param spreadDateTime 뿌린 시각
+     * @return 뿌리기 상태, 기록이 없거나 다른 뿌리기의 기록이라면 empty
+     */
+    public Optional<SpreadState> find(Long spreadId, String token, LocalDateTime spreadDateTime) {
+        long spreadEpochMillis = WalRecord.toEpochMillis(spreadDateTime);
+        return find(spreadId).filter(s -> s.getToken().equals(token) && s.getSpreadEpochMillis() == spreadEpochMillis);
+    }
+
+    /**
+     * token 으로 뿌리기 상태 찾기
+     * @param token 뿌리기 token
+     * @return 뿌리기 상태, 기록이 없다면 empty
+     */
+    public Optional<SpreadState> findByToken(String token) {
+        Long spreadId = spreadIdByToken.get(token);
+        return spreadId == null ? Optional.empty() : find(spreadId);
+    }
+
+    /**
+     * 기록된 뿌리기 수
+     * @return 뿌리기 수
+     */
+    public int size() {
+        return spreadStates.size();
+    }
+
+    /**
+     * 뿌리기 별 상태
+     */
+    @Getter
+    public static class SpreadState {
+        private final Long spreadId; //뿌리기 데이터 고유 아이디
+        private final String token; //뿌리기 token
+        private final int spreadUserId; //뿌린 사용자 아이디
+        private final String roomId; //뿌린 대화방 아이디
+        private final int totalMoney; //뿌린 금액
+        private final int totalPeopleNum; //뿌린 인원
+        private final long spreadEpochMillis; //뿌린 시각 (epoch millis), 이전 형식 기록은 0
+        private volatile int remainMoney; //남은 금액
+        private volatile int remainPeopleNum; //남은 인원
+        private final Set<Integer> receivedUserIds = ConcurrentHashMap.newKeySet(); //받은 사용자 아이디
+
+        SpreadState(Long spreadId, String token, int spreadUserId, String roomId, int totalMoney, int totalPeopleNum,
+                    long spreadEpochMillis) {
+            this.spreadId = spreadId;
+            this.token = token;
+            this.spreadUserId = spreadUserId;
+            this.roomId = roomId;
+            this.totalMoney = totalMoney;
+            this.totalPeopleNum = totalPeopleNum;
+            this.spreadEpochMillis = spreadEpochMillis;
+            this.remainMoney = totalMoney;
+            this.remainPeopleNum = totalPeopleNum;
+        }
+
+        //받기 이벤트가 커밋 순서와 다르게 도착할 수 있으므로 남은 금액, 인원은 줄어드는 방향으로만 반영
+        synchronized void receive(int receivedUserId, int remainMoney, int remainPeopleNum) {
+            receivedUserIds.add(receivedUserId);
+            this.remainMoney = Math.min(this.remainMoney, remainMoney);
+            this.remainPeopleNum = Math.min(this.remainPeopleNum, remainPeopleNum);
+        }
+
+        public boolean hasReceived(int userId) {
+            return receivedUserIds.contains(userId);
+        }
+
+        public boolean isExhausted() {
+            return remainPeopleNum <= 0 || remainMoney <= 0;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package me.study.spreadmoney.wal;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 받기 기록(WAL) 한 건
+ * 저장 형식(payload): [type 1byte][spreadId 8byte][종류별 값]
+ * 1) SPREAD_CREATED: token, 뿌린 사용자 아이디, 대화방 아이디, 뿌린 금액, 뿌린 인원, 뿌린 시각 (이전 형식 기록은 뿌린 시각 없음)
+ * 2) MONEY_RECEIVED: 받은 사용자 아이디, 받은 금액, 남은 금액, 남은 인원
+ * 3) SPREAD_ARCHIVED: 없음
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class WalRecord {
+    private final WalRecordType type; //기록 종류
+    private final long spreadId; //뿌리기 데이터 고유 아이디
+    private final String token; //뿌리기 token (SPREAD_CREATED)
+    private final int userId; //뿌린 사용자 아이디 (SPREAD_CREATED), 받은 사용자 아이디 (MONEY_RECEIVED)
+    private final String roomId; //뿌린 대화방 아이디 (SPREAD_CREATED)
+    private final int money; //뿌린 금액 (SPREAD_CREATED), 받은 금액 (MONEY_RECEIVED)
+    private final int peopleNum; //뿌린 인원 (SPREAD_CREATED), 남은 인원 (MONEY_RECEIVED)
+    private final int remainMoney; //남은 금액 (MONEY_RECEIVED)
+    private final long spreadEpochMillis; //뿌린 시각 (SPREAD_CREATED, epoch millis), 이전 형식 기록은 0
+
+    public static WalRecord spreadCreated(long spreadId, String token, int spreadUserId, String roomId, int totalMoney, int totalPeopleNum,
+                                          LocalDateTime spreadDateTime) {
+        return new WalRecord(WalRecordType.SPREAD_CREATED, spreadId, token, spreadUserId, roomId, totalMoney, totalPeopleNum, totalMoney,
+                toEpochMillis(spreadDateTime));
+    }
+
+    public static WalRecord moneyReceived(long spreadId, int receivedUserId, int receivedMoney, int remainMoney, int remainPeopleNum) {
+        return new WalRecord(WalRecordType.MONEY_RECEIVED, spreadId, null, receivedUserId, null, receivedMoney, remainPeopleNum, remainMoney, 0);
+    }
+
+    public static WalRecord spreadArchived(long spreadId) {
+        return new WalRecord(WalRecordType.SPREAD_ARCHIVED, spreadId, null, 0, null, 0, 0, 0, 0);
+    }
+
+    /**
+     * 뿌린 시각을 기록 값으로 변환 (millis 단위, DB 저장 정밀도와 관계없이 같은 값)
+     * @param spreadDateTime 뿌린 시각
+     * @return epoch millis (UTC 기준)
+     */
+    public static long toEpochMillis(LocalDateTime spreadDateTime) {
+        return spreadDateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * 저장 크기 (byte)
+     * @return payload 크기
+     */
+    int payloadSize() {
+        return switch (type) {
+            case SPREAD_CREATED -> 1 + 8 + stringSize(token) + 4 + stringSize(roomId) + 4 + 4 + 8;
+            case MONEY_RECEIVED -> 1 + 8 + 4 + 4 + 4 + 4;
+            case SPREAD_ARCHIVED -> 1 + 8;
+        };
+    }
+
+    /**
+     * buffer 의 현재 위치에 기록
+     * @param buffer 기록할 buffer
+     */
+    void writeTo(ByteBuffer buffer) {
+        buffer.put(type.getCode());
+        buffer.putLong(spreadId);
+        switch (type) {
+            case SPREAD_CREATED -> {
+                putString(buffer, token);
+                buffer.putInt(userId);
+                putString(buffer, roomId);
+                buffer.putInt(money);
+                buffer.putInt(peopleNum);
+                buffer.putLong(spreadEpochMillis);
+            }
+            case MONEY_RECEIVED -> {
+                buffer.putInt(userId);
+                buffer.putInt(money);
+                buffer.putInt(remainMoney);
+                buffer.putInt(peopleNum);
+            }
+            case SPREAD_ARCHIVED -> {
+            }
+        }
+    }
+
+    /**
+     * buffer 의 현재 위치에서 읽기
+     * @param buffer 읽을 buffer (payload)
+     * @return 기록, 알 수 없는 종류라면 null
+     */
+    static WalRecord readFrom(ByteBuffer buffer) {
+        WalRecordType type = WalRecordType.of(buffer.get());
+        if (type == null)
+            return null;
+        long spreadId = buffer.getLong();
+        return switch (type) {
+            case SPREAD_CREATED -> {
+                String token = getString(buffer);
+                int spreadUserId = buffer.getInt();
+                String roomId = getString(buffer);
+                int totalMoney = buffer.getInt();
+                int totalPeopleNum = buffer.getInt();
+                long spreadEpochMillis = buffer.remaining() >= 8 ? buffer.getLong() : 0; //이전 형식 기록은 뿌린 시각 없음
+                yield new WalRecord(type, spreadId, token, spreadUserId, roomId, totalMoney, totalPeopleNum, totalMoney, spreadEpochMillis);
+            }
+            case MONEY_RECEIVED -> {
+                int receivedUserId = buffer.getInt();
+                int receivedMoney = buffer.getInt();
+                int remainMoney = buffer.getInt();
+                int remainPeopleNum = buffer.getInt();
+                yield moneyReceived(spreadId, receivedUserId, receivedMoney, remainMoney, remainPeopleNum);
+            }
+            case SPREAD_ARCHIVED -> spreadArchived(spreadId);
+        };
+    }
+
+    private static int stringSize(String value) {
+        return 2 + value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        return "WalRecord{" +
+                "type=" + type +
+                ", spreadId=" + spreadId +
+                ", token='" + token + '\'' +
+                ", userId=" + userId +
+                ", roomId='" + roomId + '\'' +
+                ", money=" + money +
+                ", peopleNum=" + peopleNum +
+                ", remainMoney=" + remainMoney +
+                ", spreadEpochMillis=" + spreadEpochMillis +
+                '}';
+    }
+}
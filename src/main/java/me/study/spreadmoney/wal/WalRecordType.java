@@ -0,0 +1,33 @@
+package me.study.spreadmoney.wal;
+
+/**
+ * 받기 기록(WAL) 종류
+ */
+public enum WalRecordType {
+    SPREAD_CREATED((byte) 1), //뿌리기 생성
+    MONEY_RECEIVED((byte) 2), //받기
+    SPREAD_ARCHIVED((byte) 3); //조회 만료 이관 (이후 해당 뿌리기 기록은 정리 대상)
+
+    private final byte code;
+
+    WalRecordType(byte code) {
+        this.code = code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    /**
+     * 기록된 코드 값으로 종류 찾기
+     * @param code 기록된 코드 값
+     * @return 기록 종류, 알 수 없는 코드라면 null
+     */
+    public static WalRecordType of(byte code) {
+        for (WalRecordType type : values()) {
+            if (type.code == code)
+                return type;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,159 @@
+package me.study.spreadmoney.wal;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * 받기 기록(WAL) segment 파일, 고정 크기로 memory-map 하여 기록
+ * 기록 형식(frame): [payload 길이 4byte][payload CRC32 4byte][payload]
+ * payload 길이는 payload, CRC 를 모두 쓴 뒤 마지막에 기록하므로 길이가 0 이면 그 이후는 기록되지 않은 영역
+ */
+@Slf4j
+class WalSegment implements Closeable {
+    static final int HEADER_SIZE = 8; //payload 길이 + CRC32
+
+    @Getter
+    private final long sequence; //segment 순번 (파일 이름)
+    @Getter
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int size;
+    private int writePosition; //다음 기록 위치
+
+    private WalSegment(long sequence, Path path, FileChannel channel, MappedByteBuffer buffer, int size) {
+        this.sequence = sequence;
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.size = size;
+    }
+
+    /**
+     * segment 파일 열기 (없다면 생성), 파일 크기는 size 로 고정
+     * @param sequence segment 순번
+     * @param path 파일 경로
+     * @param size segment 크기 (byte)
+     * @return segment
+     */
+    static WalSegment open(long sequence, Path path, int size) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            return new WalSegment(sequence, path, channel, buffer, size);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * 기록할 공간이 있는지 확인
+     * @param payloadSize 기록할 payload 크기
+     * @return 기록 가능 여부
+     */
+    boolean hasRoom(int payloadSize) {
+        return writePosition + HEADER_SIZE + payloadSize <= size;
+    }
+
+    /**
+     * 기록 추가, 호출하는 쪽(WriteAheadLog)에서 동기화
+     * @param record 기록
+     */
+    void append(WalRecord record) {
+        int start = writePosition;
+        int payloadStart = start + HEADER_SIZE;
+
+        ByteBuffer payload = buffer.duplicate();
+        payload.position(payloadStart);
+        record.writeTo(payload);
+        int end = payload.position();
+
+        CRC32 crc32 = new CRC32();
+        crc32.update(payload.flip().position(payloadStart));
+        buffer.putInt(start + 4, (int) crc32.getValue());
+        //길이를 마지막에 기록 (기록 완료 표시)
+        buffer.putInt(start, end - payloadStart);
+        writePosition = end;
+    }
+
+    /**
+     * segment 처음부터 기록 읽기, 기록되지 않은 영역이나 깨진 기록을 만나면 중단
+     * 중단한 위치를 다음 기록 위치로 하며, 깨진 기록(기록 중 종료)이 있었다면 그 이후 영역을 비움
+     * @param consumer 읽은 기록
+     * @return 깨진 기록 발견 여부
+     */
+    boolean recover(Consumer<WalRecord> consumer) {
+        int position = 0;
+        boolean torn = false;
+        while (position + HEADER_SIZE <= size) {
+            int length = buffer.getInt(position);
+            if (length == 0)
+                break;
+            int payloadStart = position + HEADER_SIZE;
+            if (length < 0 || payloadStart + length > size) {
+                torn = true;
+                break;
+            }
+
+            ByteBuffer payload = buffer.duplicate();
+            payload.limit(payloadStart + length).position(payloadStart);
+            CRC32 crc32 = new CRC32();
+            crc32.update(payload.duplicate());
+            if ((int) crc32.getValue() != buffer.getInt(position + 4)) {
+                torn = true;
+                break;
+            }
+            WalRecord record = WalRecord.readFrom(payload);
+            if (record == null) {
+                torn = true;
+                break;
+            }
+            consumer.accept(record);
+            position = payloadStart + length;
+        }
+
+        writePosition = position;
+        if (torn) {
+            log.warn("받기 기록(WAL) 깨진 기록 발견, 이후 영역 정리. segment: {}, position: {}", path, position);
+            truncate(position);
+        }
+        return torn;
+    }
+
+    /**
+     * 지정 위치부터 segment 끝까지 비우기
+     * @param from 비우기 시작 위치
+     */
+    private void truncate(int from) {
+        int position = from;
+        for (; position + Long.BYTES <= size; position += Long.BYTES)
+            buffer.putLong(position, 0L);
+        for (; position < size; position++)
+            buffer.put(position, (byte) 0);
+        buffer.force();
+    }
+
+    /**
+     * 기록된 내용을 디스크에 반영 (fsync)
+     */
+    void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
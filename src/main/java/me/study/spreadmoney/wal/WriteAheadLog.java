@@ -0,0 +1,202 @@
+package me.study.spreadmoney.wal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 받기 기록(WAL), segment 단위로 나누어 memory-mapped 파일에 추가만 함
+ * 1) 현재 segment 에 공간이 없으면 다음 segment 로 넘어감 (roll)
+ * 2) 디스크 반영(fsync)은 기록마다 하지 않고 sync() 호출 시 모아서 반영 (group fsync)
+ * 3) 뿌리기가 이관(SPREAD_ARCHIVED)되면 더 이상 필요 없는 segment 파일 삭제 (compaction)
+ */
+@Slf4j
+public class WriteAheadLog implements Closeable {
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final TreeMap<Long, Path> segmentPaths = new TreeMap<>(); //현재 segment 를 포함한 모든 segment
+    private final Map<Long, Set<Long>> liveSpreadIdsBySegment = new HashMap<>(); //segment 별 이관되지 않은 뿌리기
+    private final Map<Long, Set<Long>> segmentsBySpreadId = new HashMap<>(); //뿌리기 별 기록이 있는 segment
+    private volatile WalSegment active; //현재 기록중인 segment
+
+    private WriteAheadLog(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * 받기 기록 열기, 기존 기록을 순서대로 읽은 뒤 마지막 segment 이어서 기록
+     * @param directory segment 파일 경로
+     * @param segmentSize segment 크기 (byte)
+     * @param replayConsumer 기존 기록
+     * @return 받기 기록
+     */
+    public static WriteAheadLog open(Path directory, int segmentSize, Consumer<WalRecord> replayConsumer) throws IOException {
+        Files.createDirectories(directory);
+        WriteAheadLog writeAheadLog = new WriteAheadLog(directory, segmentSize);
+        writeAheadLog.replay(replayConsumer);
+        return writeAheadLog;
+    }
+
+    private void replay(Consumer<WalRecord> replayConsumer) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(path -> {
+                Long sequence = parseSequence(path);
+                if (sequence != null)
+                    segmentPaths.put(sequence, path);
+            });
+        }
+        if (segmentPaths.isEmpty()) {
+            active = WalSegment.open(0L, segmentPath(0L), segmentSize);
+            segmentPaths.put(0L, active.getPath());
+            return;
+        }
+
+        long lastSequence = segmentPaths.lastKey();
+        for (Map.Entry<Long, Path> entry : new ArrayList<>(segmentPaths.entrySet())) {
+            long sequence = entry.getKey();
+            WalSegment segment = WalSegment.open(sequence, entry.getValue(), segmentSize);
+            boolean torn = segment.recover(record -> {
+                track(sequence, record);
+                replayConsumer.accept(record);
+            });
+            if (sequence == lastSequence) {
+                active = segment;
+            } else {
+                if (torn)
+                    log.error("받기 기록(WAL) 중간 segment 에 깨진 기록이 있습니다. segment: {}", entry.getValue());
+                segment.close();
+            }
+        }
+
+        //이관이 끝난 segment 정리
+        for (Long sequence : new ArrayList<>(segmentPaths.keySet()))
+            deleteIfReleased(sequence);
+    }
+
+    /**
+     * 기록 추가, 디스크 반영(fsync)은 sync() 에서 모아서 함
+     * @param record 기록
+     */
+    public synchronized void append(WalRecord record) {
+        int payloadSize = record.payloadSize();
+        if (!active.hasRoom(payloadSize))
+            roll();
+        active.append(record);
+        track(active.getSequence(), record);
+    }
+
+    /**
+     * 기록된 내용을 디스크에 반영 (fsync)
+     * 다음 segment 로 넘어갈 때 이전 segment 는 넘어가기 전에 반영하므로 현재 segment 만 반영
+     * 반영 중 segment 가 넘어가며 닫히지 않도록 추가(append)와 같은 잠금 사용
+     */
+    public synchronized void sync() {
+        active.force();
+    }
+
+    /**
+     * 다음 segment 로 넘어가기, 이전 segment 는 디스크 반영 후 닫음
+     */
+    private void roll() {
+        WalSegment previous = active;
+        long sequence = previous.getSequence() + 1;
+        try {
+            active = WalSegment.open(sequence, segmentPath(sequence), segmentSize);
+            segmentPaths.put(sequence, active.getPath());
+            previous.force();
+            previous.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("받기 기록(WAL) segment 생성 실패", ex);
+        }
+        deleteIfReleased(previous.getSequence());
+    }
+
+    /**
+     * 뿌리기 별로 기록이 있는 segment 추적, 이관된 뿌리기는 segment 에서 제외
+     */
+    private void track(long sequence, WalRecord record) {
+        Long spreadId = record.getSpreadId();
+        if (record.getType() == WalRecordType.SPREAD_ARCHIVED) {
+            Set<Long> sequences = segmentsBySpreadId.remove(spreadId);
+            if (sequences == null)
+                return;
+            for (Long releasedSequence : sequences) {
+                Set<Long> liveSpreadIds = liveSpreadIdsBySegment.get(releasedSequence);
+                if (liveSpreadIds != null)
+                    liveSpreadIds.remove(spreadId);
+                deleteIfReleased(releasedSequence);
+            }
+            return;
+        }
+        segmentsBySpreadId.computeIfAbsent(spreadId, id -> new HashSet<>()).add(sequence);
+        liveSpreadIdsBySegment.computeIfAbsent(sequence, s -> new HashSet<>()).add(spreadId);
+    }
+
+    /**
+     * 이관되지 않은 뿌리기 기록이 없는 segment 파일 삭제 (현재 segment 제외)
+     */
+    private void deleteIfReleased(Long sequence) {
+        if (active == null || sequence == active.getSequence())
+            return;
+        Set<Long> liveSpreadIds = liveSpreadIdsBySegment.get(sequence);
+        if (liveSpreadIds != null && !liveSpreadIds.isEmpty())
+            return;
+
+        liveSpreadIdsBySegment.remove(sequence);
+        Path path = segmentPaths.remove(sequence);
+        if (path == null)
+            return;
+        try {
+            Files.deleteIfExists(path);
+            log.debug("받기 기록(WAL) segment 삭제: {}", path);
+        } catch (IOException ex) {
+            log.warn("받기 기록(WAL) segment 삭제 실패: {} {}", path, ex.getMessage());
+        }
+    }
+
+    /**
+     * 남아있는 segment 파일 (확인용)
+     * @return segment 파일 경로 (순번 순)
+     */
+    public synchronized List<Path> segmentPaths() {
+        return List.copyOf(segmentPaths.values());
+    }
+
+    private Path segmentPath(long sequence) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+    }
+
+    private static Long parseSequence(Path path) {
+        String fileName = path.getFileName().toString();
+        if (!fileName.startsWith(SEGMENT_PREFIX) || !fileName.endsWith(SEGMENT_SUFFIX))
+            return null;
+        try {
+            return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        active.force();
+        active.close();
+    }
+}
@@ -0,0 +1,108 @@
+package me.study.spreadmoney.api;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import me.study.spreadmoney.api.response.FailResult;
+import me.study.spreadmoney.api.response.Result;
+import me.study.spreadmoney.exception.PredictableRuntimeException;
+import me.study.spreadmoney.exception.RejectReason;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 거절(예상 가능한 예외) 처리 비교 (메시지 예외, 거절 사유 예외), ./gradlew benchmark 로 실행
+ * 예외는 호출 깊이 STACK_DEPTH 에서 던짐 (Controller -> Spring proxy -> Service 호출 깊이)
+ * 거절 하나당 할당 byte (현재 스레드 할당량), 예외 생성부터 실패 응답까지 시간
+ */
+@Tag("benchmark")
+class RejectionBenchmarkTest {
+    private static final int STACK_DEPTH = 60;
+    private static final int WARM_UP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    private final ControllerExceptionHandler handler = new ControllerExceptionHandler();
+
+    @BeforeEach
+    public void setUpForTest() {
+        //운영 로그 레벨 (거절 사유 예외의 debug 로그 제외)
+        ((Logger) LoggerFactory.getLogger(ControllerExceptionHandler.class)).setLevel(Level.INFO);
+    }
+
+    @DisplayName("거절 하나당 할당 byte, 처리 시간")
+    @Test
+    void compareRejections() {
+        //메시지 예외 (stack trace 기록, 요청마다 실패 응답 생성, warn 로그는 제외하고 측정)
+        Measurement message = measure(() -> {
+            try {
+                return throwAt(STACK_DEPTH, () -> new PredictableRuntimeException(RejectReason.ALREADY_RECEIVED.getMessage()));
+            } catch (PredictableRuntimeException ex) {
+                return ResponseEntity.badRequest().body(new FailResult(ex.getMessage()));
+            }
+        });
+        //거절 사유 예외 (미리 만든 예외, 미리 만든 실패 응답)
+        Measurement prebuilt = measure(() -> {
+            try {
+                return throwAt(STACK_DEPTH, () -> PredictableRuntimeException.of(RejectReason.ALREADY_RECEIVED));
+            } catch (PredictableRuntimeException ex) {
+                return handler.handleCustomException(ex);
+            }
+        });
+        //거절 사유 + 덧붙인 값 예외 (stack trace 없음, 실패 응답 생성)
+        Measurement detailed = measure(() -> {
+            try {
+                return throwAt(STACK_DEPTH, () -> PredictableRuntimeException.of(RejectReason.RECEIVE_EXPIRED, "만료 일시: 2024-01-01T12:10"));
+            } catch (PredictableRuntimeException ex) {
+                return handler.handleCustomException(ex);
+            }
+        });
+
+        assertThat(prebuilt.allocatedBytes()).isLessThan(message.allocatedBytes());
+        assertThat(handler.handleCustomException(PredictableRuntimeException.of(RejectReason.ALREADY_RECEIVED)))
+                .isSameAs(handler.handleCustomException(PredictableRuntimeException.of(RejectReason.ALREADY_RECEIVED)));
+        print("message", message);
+        print("reason code (prebuilt)", prebuilt);
+        print("reason code (detail)", detailed);
+    }
+
+    /**
+     * depth 만큼 호출한 뒤 예외를 던짐
+     */
+    private ResponseEntity<Result> throwAt(int depth, Supplier<PredictableRuntimeException> rejection) {
+        if (depth == 0)
+            throw rejection.get();
+        return throwAt(depth - 1, rejection);
+    }
+
+    private Measurement measure(Supplier<ResponseEntity<Result>> rejection) {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long sink = 0;
+        for (int i = 0; i < WARM_UP; i++)
+            sink += rejection.get().getStatusCode().value();
+
+        long allocatedBefore = threadMXBean.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++)
+            sink += rejection.get().getStatusCode().value();
+        long nanos = System.nanoTime() - start;
+        long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        assertThat(sink).isPositive();
+        return new Measurement((double) allocated / ITERATIONS, (double) nanos / ITERATIONS);
+    }
+
+    private void print(String name, Measurement measurement) {
+        System.out.printf("[rejection benchmark] %s, %.0f bytes/op %.0f ns/op%n",
+                name, measurement.allocatedBytes(), measurement.nanos());
+    }
+
+    private record Measurement(double allocatedBytes, double nanos) {
+    }
+}
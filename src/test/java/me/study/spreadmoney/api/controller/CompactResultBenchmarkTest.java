@@ -0,0 +1,86 @@
+package me.study.spreadmoney.api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import me.study.spreadmoney.api.dto.LookUpSpreadInfoDto;
+import me.study.spreadmoney.api.dto.ReceiveInfoDto;
+import me.study.spreadmoney.api.response.CompactResult;
+import me.study.spreadmoney.api.response.FailResult;
+import me.study.spreadmoney.api.response.Result;
+import me.study.spreadmoney.api.response.SuccessResult;
+import me.study.spreadmoney.exception.RejectReason;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static me.study.spreadmoney.api.ControllerHelper.SUCCESS_MSG;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JSON 응답과 바이너리(CBOR, 결과 코드) 응답의 크기, 직렬화 시간 비교, ./gradlew benchmark 로 실행
+ * 응답: 받기 성공, 받기 실패 (이미 받은 뿌리기), 조회 (받은 사람 10명)
+ */
+@Tag("benchmark")
+class CompactResultBenchmarkTest {
+    private static final int WARM_UP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    private final ObjectMapper jsonMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final ObjectMapper cborMapper = CBORMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @DisplayName("응답 크기, 직렬화 시간 (JSON, CBOR)")
+    @Test
+    void compareJsonAndCbor() throws Exception {
+        ReceiveController.ReceiveRespData receiveRespData = new ReceiveController.ReceiveRespData();
+        receiveRespData.setReceivedMoney(1234);
+
+        List<ReceiveInfoDto> receiveInfoDtoList = new ArrayList<>();
+        for (int i = 0; i < 10; i++)
+            receiveInfoDtoList.add(new ReceiveInfoDto(1000 + i, 100 + i));
+        LookUpController.LookUpRespData lookUpRespData = new LookUpController.LookUpRespData(
+                new LookUpSpreadInfoDto(LocalDateTime.of(2024, 1, 1, 12, 0), 20000, 10045, receiveInfoDtoList));
+
+        compare("receive", new SuccessResult(SUCCESS_MSG, receiveRespData));
+        compare("receive rejected", new FailResult(RejectReason.ALREADY_RECEIVED, RejectReason.ALREADY_RECEIVED.getMessage()));
+        compare("lookup", new SuccessResult(SUCCESS_MSG, lookUpRespData));
+    }
+
+    private void compare(String name, Result result) throws Exception {
+        byte[] json = jsonMapper.writeValueAsBytes(result);
+        byte[] cbor = cborMapper.writeValueAsBytes(CompactResult.of(result));
+        assertThat(cbor.length).isLessThan(json.length);
+
+        double jsonNanos = measure(() -> jsonMapper.writeValueAsBytes(result));
+        double cborNanos = measure(() -> cborMapper.writeValueAsBytes(CompactResult.of(result)));
+        System.out.printf("[cbor benchmark] %s, json: %d bytes %.0f ns, cbor: %d bytes %.0f ns (%.0f%% size)%n",
+                name, json.length, jsonNanos, cbor.length, cborNanos, cbor.length * 100.0 / json.length);
+    }
+
+    private double measure(Serialization serialization) throws Exception {
+        long sink = 0;
+        for (int i = 0; i < WARM_UP; i++)
+            sink += serialization.write().length;
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++)
+            sink += serialization.write().length;
+        double nanos = (double) (System.nanoTime() - start) / ITERATIONS;
+        assertThat(sink).isPositive();
+        return nanos;
+    }
+
+    @FunctionalInterface
+    private interface Serialization {
+        byte[] write() throws Exception;
+    }
+}
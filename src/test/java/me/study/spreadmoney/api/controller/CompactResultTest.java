@@ -0,0 +1,99 @@
+package me.study.spreadmoney.api.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import me.study.spreadmoney.api.response.ResultCode;
+import me.study.spreadmoney.exception.RejectReason;
+import me.study.spreadmoney.scheduler.Scheduler;
+import me.study.spreadmoney.service.SpreadService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static me.study.spreadmoney.api.ControllerHelper.HEADER_ROOM_ID;
+import static me.study.spreadmoney.api.ControllerHelper.HEADER_USER_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doNothing;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 바이너리(CBOR) 응답의 결과 코드 (Accept: application/cbor)
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class CompactResultTest {
+    private static final MediaType APPLICATION_CBOR = MediaType.parseMediaType("application/cbor");
+
+    @MockBean
+    private Scheduler scheduler;
+    @Autowired MockMvc mockMvc;
+    @Autowired SpreadService spreadService;
+
+    private final CBORMapper cborMapper = new CBORMapper();
+    private final int spreadUserId = 9300;
+    private final String roomId = "cborRoom";
+
+    @BeforeEach
+    public void setUpForTest() {
+        //Scheduler method 비활성화
+        doNothing().when(scheduler).spreadToExpireSpread();
+    }
+
+    @DisplayName("받기 성공은 성공 결과 코드와 데이터, 거절은 거절 사유 코드만 응답")
+    @Test
+    void receiveResultCode() throws Exception {
+        //given
+        String token = spreadService.spreadMoney(spreadUserId, roomId, 10000, 2);
+
+        //when
+        JsonNode received = receive(spreadUserId + 1, token, 200);
+        JsonNode rejected = receive(spreadUserId, token, 400);
+
+        //then
+        assertThat(received.get("code").asInt()).isEqualTo(ResultCode.SUCCESS.getCode());
+        assertThat(received.has("message")).isFalse();
+        assertThat(received.get("data").get("receivedMoney").asInt()).isPositive();
+        assertThat(rejected.get("code").asInt()).isEqualTo(RejectReason.RECEIVE_OWN_SPREAD.getCode());
+        assertThat(rejected.has("message")).isFalse();
+
+        //checkMsg
+        System.err.println("received = " + received);
+        System.err.println("rejected = " + rejected);
+    }
+
+    @DisplayName("거절 사유가 없는 실패는 BAD_REQUEST 코드와 메시지 응답")
+    @Test
+    void failWithoutReason() throws Exception {
+        //when
+        JsonNode failed = receive(spreadUserId + 1, "ab", 400);
+
+        //then
+        assertThat(failed.get("code").asInt()).isEqualTo(ResultCode.BAD_REQUEST.getCode());
+        assertThat(failed.get("message").asText()).isEqualTo("Token 값은 3자리 문자열입니다.");
+
+        //checkMsg
+        System.err.println("failed = " + failed);
+    }
+
+    private JsonNode receive(int userId, String token, int expectedStatus) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/receive")
+                        .header(HEADER_USER_ID, userId)
+                        .header(HEADER_ROOM_ID, roomId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(APPLICATION_CBOR)
+                        .content("{\"token\":\"" + token + "\"}"))
+                .andExpect(status().is(expectedStatus))
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_CBOR))
+                .andReturn();
+        return cborMapper.readTree(result.getResponse().getContentAsByteArray());
+    }
+}
@@ -0,0 +1,88 @@
+package me.study.spreadmoney.api.controller;
+
+import me.study.spreadmoney.scheduler.Scheduler;
+import me.study.spreadmoney.service.ReceiveService;
+import me.study.spreadmoney.service.SpreadService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static me.study.spreadmoney.api.ControllerHelper.HEADER_ROOM_ID;
+import static me.study.spreadmoney.api.ControllerHelper.HEADER_USER_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doNothing;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 조회 API (조건부 요청, If-None-Match -> 304)
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class LookUpControllerTest {
+
+    @MockBean
+    private Scheduler scheduler;
+    @Autowired MockMvc mockMvc;
+    @Autowired SpreadService spreadService;
+    @Autowired ReceiveService receiveService;
+
+    private final int spreadUserId = 9600;
+    private final String roomId = "conditionalLookUpRoom";
+
+    @BeforeEach
+    public void setUpForTest() {
+        //Scheduler method 비활성화
+        doNothing().when(scheduler).spreadToExpireSpread();
+    }
+
+    @DisplayName("같은 버전이면 304 (200 과 같은 Vary, Cache-Control), 받기 후에는 새 버전으로 200")
+    @Test
+    void notModifiedUntilReceive() throws Exception {
+        //given
+        String token = spreadService.spreadMoney(spreadUserId, roomId, 10000, 3);
+
+        //when
+        MvcResult first = mockMvc.perform(lookUp(token))
+                .andExpect(status().isOk())
+                .andReturn();
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        MvcResult notModified = mockMvc.perform(lookUp(token).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andReturn();
+        receiveService.receiveMoney(spreadUserId + 1, roomId, token);
+        MvcResult modified = mockMvc.perform(lookUp(token).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        //then
+        assertThat(eTag).isNotBlank();
+        assertThat(notModified.getResponse().getHeaders(HttpHeaders.VARY))
+                .isEqualTo(first.getResponse().getHeaders(HttpHeaders.VARY)).contains(HEADER_USER_ID);
+        assertThat(notModified.getResponse().getHeader(HttpHeaders.CACHE_CONTROL))
+                .isEqualTo(first.getResponse().getHeader(HttpHeaders.CACHE_CONTROL));
+        assertThat(notModified.getResponse().getContentLength()).isZero();
+        assertThat(modified.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(eTag);
+        assertThat(modified.getResponse().getContentAsString()).contains("\"totalReceivedMoney\"");
+
+        //checkMsg
+        System.err.println("eTag = " + eTag + ", modified eTag = " + modified.getResponse().getHeader(HttpHeaders.ETAG));
+        System.err.println("modified = " + modified.getResponse().getContentAsString());
+    }
+
+    private MockHttpServletRequestBuilder lookUp(String token) {
+        return get("/api/lookup/{token}", token)
+                .header(HEADER_USER_ID, spreadUserId)
+                .header(HEADER_ROOM_ID, roomId);
+    }
+}
@@ -0,0 +1,81 @@
+package me.study.spreadmoney.api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import me.study.spreadmoney.api.dto.LookUpSpreadInfoDto;
+import me.study.spreadmoney.api.dto.ReceiveInfoDto;
+import me.study.spreadmoney.api.response.ErrorResult;
+import me.study.spreadmoney.api.response.FailResult;
+import me.study.spreadmoney.api.response.Result;
+import me.study.spreadmoney.api.response.SuccessResult;
+import me.study.spreadmoney.scheduler.Scheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static me.study.spreadmoney.api.ControllerHelper.SUCCESS_MSG;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doNothing;
+
+@SpringBootTest
+class RespDataJsonComponentTest {
+
+    @MockBean
+    private Scheduler scheduler;
+    @Autowired ObjectMapper objectMapper;
+
+    //범용 직렬화 (응답 객체 직렬화 등록 전과 같은 설정)
+    private final ObjectMapper reflectionMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @BeforeEach
+    public void setUpForTest() {
+        //Scheduler method 비활성화
+        doNothing().when(scheduler).spreadToExpireSpread();
+    }
+
+    @DisplayName("응답 객체 직렬화 결과는 범용 직렬화와 같음")
+    @Test
+    void sameAsReflection() throws Exception {
+        //given
+        SpreadController.SpreadRespData spreadRespData = new SpreadController.SpreadRespData();
+        spreadRespData.setToken("aB3");
+        ReceiveController.ReceiveRespData receiveRespData = new ReceiveController.ReceiveRespData();
+        receiveRespData.setReceivedMoney(1234);
+        LookUpController.LookUpRespData lookUpRespData = new LookUpController.LookUpRespData(new LookUpSpreadInfoDto(
+                LocalDateTime.of(2024, 1, 1, 12, 0), 20000, 3000,
+                List.of(new ReceiveInfoDto(1000, 2), new ReceiveInfoDto(2000, 3))));
+        SuccessResult accepted = new SuccessResult("받기 요청이 접수되었습니다.", receiveRespData);
+        accepted.setHttpStatus(HttpStatus.ACCEPTED);
+        List<Result> results = List.of(
+                new SuccessResult(SUCCESS_MSG, spreadRespData),
+                new SuccessResult(SUCCESS_MSG, receiveRespData),
+                new SuccessResult(SUCCESS_MSG, lookUpRespData),
+                accepted,
+                new FailResult("이미 받은 뿌리기입니다."),
+                new FailResult("뿌릴 금액이 \"뿌릴 인원\"보다 같거나 커야합니다."),
+                new ErrorResult(null));
+
+        for (Result result : results) {
+            //when
+            String json = objectMapper.writeValueAsString(result);
+
+            //then
+            assertThat(json).isEqualTo(reflectionMapper.writeValueAsString(result));
+
+            //checkMsg
+            System.err.println("json = " + json);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package me.study.spreadmoney.api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import me.study.spreadmoney.api.dto.LookUpSpreadInfoDto;
+import me.study.spreadmoney.api.dto.ReceiveInfoDto;
+import me.study.spreadmoney.api.response.FailResult;
+import me.study.spreadmoney.api.response.Result;
+import me.study.spreadmoney.api.response.ResultJsonComponent;
+import me.study.spreadmoney.api.response.SuccessResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static me.study.spreadmoney.api.ControllerHelper.SUCCESS_MSG;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 응답 객체 직렬화 비교 (범용 직렬화, 응답 객체 직렬화), ./gradlew benchmark 로 실행
+ * 응답 하나당 할당 byte (현재 스레드 할당량), 직렬화 시간
+ * 응답은 HTTP 응답 버퍼처럼 재사용하는 출력 스트림에 씀
+ */
+@Tag("benchmark")
+class ResultSerializationBenchmarkTest {
+    private static final int WARM_UP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    private final ObjectMapper reflectionMapper = mapper(false);
+    private final ObjectMapper writerMapper = mapper(true);
+
+    @DisplayName("응답 하나당 할당 byte, 직렬화 시간")
+    @Test
+    void compareSerializers() throws Exception {
+        ReceiveController.ReceiveRespData receiveRespData = new ReceiveController.ReceiveRespData();
+        receiveRespData.setReceivedMoney(1234);
+        SpreadController.SpreadRespData spreadRespData = new SpreadController.SpreadRespData();
+        spreadRespData.setToken("aB3");
+        List<ReceiveInfoDto> receiveInfoDtoList = new ArrayList<>();
+        for (int i = 0; i < 10; i++)
+            receiveInfoDtoList.add(new ReceiveInfoDto(1000 + i, 100 + i));
+        LookUpController.LookUpRespData lookUpRespData = new LookUpController.LookUpRespData(
+                new LookUpSpreadInfoDto(LocalDateTime.of(2024, 1, 1, 12, 0), 20000, 10045, receiveInfoDtoList));
+
+        compare("spread", new SuccessResult(SUCCESS_MSG, spreadRespData));
+        compare("receive", new SuccessResult(SUCCESS_MSG, receiveRespData));
+        compare("receive rejected", new FailResult("이미 받은 뿌리기입니다."));
+        compare("lookup", new SuccessResult(SUCCESS_MSG, lookUpRespData));
+    }
+
+    private void compare(String name, Result result) throws Exception {
+        assertThat(writerMapper.writeValueAsString(result)).isEqualTo(reflectionMapper.writeValueAsString(result));
+        Measurement reflection = measure(reflectionMapper, result);
+        Measurement writer = measure(writerMapper, result);
+        System.out.printf("[serialization benchmark] %s, reflection: %.0f bytes/op %.0f ns/op, writer: %.0f bytes/op %.0f ns/op%n",
+                name, reflection.allocatedBytes(), reflection.nanos(), writer.allocatedBytes(), writer.nanos());
+    }
+
+    private Measurement measure(ObjectMapper objectMapper, Result result) throws Exception {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(4096);
+        for (int i = 0; i < WARM_UP; i++)
+            write(objectMapper, result, buffer);
+
+        long allocatedBefore = threadMXBean.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++)
+            write(objectMapper, result, buffer);
+        long nanos = System.nanoTime() - start;
+        long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new Measurement((double) allocated / ITERATIONS, (double) nanos / ITERATIONS);
+    }
+
+    private void write(ObjectMapper objectMapper, Result result, ByteArrayOutputStream buffer) throws Exception {
+        buffer.reset();
+        objectMapper.writeValue((OutputStream) buffer, result);
+    }
+
+    private static ObjectMapper mapper(boolean writers) {
+        JsonMapper.Builder builder = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (writers) {
+            SimpleModule module = new SimpleModule();
+            module.addSerializer(SuccessResult.class, new ResultJsonComponent.SuccessResultSerializer());
+            module.addSerializer(FailResult.class, new ResultJsonComponent.FailResultSerializer());
+            module.addSerializer(SpreadController.SpreadRespData.class, new RespDataJsonComponent.SpreadRespDataSerializer());
+            module.addSerializer(ReceiveController.ReceiveRespData.class, new RespDataJsonComponent.ReceiveRespDataSerializer());
+            module.addSerializer(LookUpController.LookUpRespData.class, new RespDataJsonComponent.LookUpRespDataSerializer());
+            builder.addModule(module);
+        }
+        return builder.build();
+    }
+
+    private record Measurement(double allocatedBytes, double nanos) {
+    }
+}
@@ -0,0 +1,159 @@
+package me.study.spreadmoney.datasource;
+
+import me.study.spreadmoney.exception.PredictableRuntimeException;
+import me.study.spreadmoney.scheduler.Scheduler;
+import me.study.spreadmoney.service.LookUpService;
+import me.study.spreadmoney.service.SpreadService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doNothing;
+
+/**
+ * 원본, 복제 DB 를 서로 다른 H2 메모리 DB 로 구성
+ * 복제는 원본 DB 의 스키마/데이터를 복제 DB 로 복사하여 흉내냄
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "config.datasource.replica.enabled=true",
+        "config.datasource.replica.urls=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "config.datasource.replica.max-lag-millis=500"})
+class ReplicaRoutingTest {
+    private static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+    @MockBean
+    private Scheduler scheduler;
+    @Autowired
+    ReplicaRouter replicaRouter;
+    @Autowired
+    DataSource dataSource;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    SpreadService spreadService;
+    @Autowired
+    LookUpService lookUpService;
+    @Autowired
+    RecentWriteTracker recentWriteTracker;
+
+    @TempDir
+    Path tempDir;
+
+    private JdbcTemplate primaryJdbcTemplate;
+    private JdbcTemplate replicaJdbcTemplate;
+
+    @BeforeEach
+    public void setUpForTest() {
+        //Scheduler method 비활성화
+        doNothing().when(scheduler).spreadToExpireSpread();
+
+        primaryJdbcTemplate = new JdbcTemplate(replicaRouter.getPrimary());
+        replicaJdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        replicate();
+    }
+
+    @DisplayName("읽기 전용 트랜잭션은 복제 DB, 그 외는 원본 DB 로 연결")
+    @Test
+    void routeByReadOnly() {
+        //when
+        String readOnlyDatabase = currentDatabase(true);
+        String readWriteDatabase = currentDatabase(false);
+
+        //then
+        assertThat(readOnlyDatabase).isEqualToIgnoringCase("replica");
+        assertThat(readWriteDatabase).isEqualToIgnoringCase("primary");
+    }
+
+    @DisplayName("복제 DB 지연 시간이 허용 범위를 넘으면 원본 DB 로 연결")
+    @Test
+    void fallbackToPrimaryWhenLagging() {
+        //given
+        replicaJdbcTemplate.update("update REPLICA_HEARTBEAT set beat_millis = ?", System.currentTimeMillis() - 10_000);
+
+        //when
+        replicaRouter.checkLag();
+        String readOnlyDatabase = currentDatabase(true);
+
+        //then
+        assertThat(readOnlyDatabase).isEqualToIgnoringCase("primary");
+    }
+
+    @DisplayName("복제 DB 지연 확인 결과가 오래되면 원본 DB 로 연결")
+    @Test
+    void fallbackToPrimaryWhenMeasurementStale() {
+        //given, 지연 확인 결과 유효 시간이 지난 상태
+        Object maxMeasureAgeMillis = ReflectionTestUtils.getField(replicaRouter, "maxMeasureAgeMillis");
+        ReflectionTestUtils.setField(replicaRouter, "maxMeasureAgeMillis", -1L);
+
+        try {
+            //when
+            String readOnlyDatabase = currentDatabase(true);
+
+            //then
+            assertThat(readOnlyDatabase).isEqualToIgnoringCase("primary");
+        } finally {
+            ReflectionTestUtils.setField(replicaRouter, "maxMeasureAgeMillis", maxMeasureAgeMillis);
+        }
+    }
+
+    @DisplayName("방금 뿌리기한 token 조회는 원본 DB, 허용 지연 시간 + 지연 확인 주기가 지나면 복제 DB 에서 읽음")
+    @Test
+    void readYourWrites() throws InterruptedException {
+        //given (뿌리기는 아직 복제 DB 에 반영되지 않음)
+        int userId = 1;
+        String token = spreadService.spreadMoney(userId, "testRoom", 10000, 3);
+
+        //when
+        lookUpService.lookUpSpreadInfo(userId, token);
+        Thread.sleep(recentWriteTracker.getWindowMillis() + 100);
+        touchReplicaHeartbeat();
+        PredictableRuntimeException predictableRuntimeException = assertThrows(
+                PredictableRuntimeException.class,
+                () -> lookUpService.lookUpSpreadInfo(userId, token));
+
+        //checkMsg
+        System.err.println(predictableRuntimeException.getMessage());
+    }
+
+    private String currentDatabase(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("select database()", String.class));
+    }
+
+    /**
+     * 원본 DB 의 스키마, 데이터를 복제 DB 로 복사 후 지연 시간 확인
+     */
+    private void replicate() {
+        replicaRouter.checkLag();
+        String script = tempDir.resolve("replicate.sql").toString();
+        primaryJdbcTemplate.execute("script to '" + script + "'");
+        replicaJdbcTemplate.execute("drop all objects");
+        replicaJdbcTemplate.execute("runscript from '" + script + "'");
+        replicaRouter.checkLag();
+    }
+
+    /**
+     * 복제 DB 의 heartbeat 만 갱신 (데이터 반영 전 heartbeat 만 반영된 상태)
+     */
+    private void touchReplicaHeartbeat() {
+        replicaJdbcTemplate.update("update REPLICA_HEARTBEAT set beat_millis = ?", System.currentTimeMillis());
+        replicaRouter.checkLag();
+    }
+}
@@ -0,0 +1,128 @@
+package me.study.spreadmoney.policy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExpiryPolicyEngineTest {
+    private static final LocalDateTime SPREAD_DATE_TIME = LocalDateTime.of(2024, 1, 31, 12, 0);
+
+    @TempDir
+    Path directory;
+
+    @DisplayName("대화방 등급 정책, 등급이 없는 대화방과 등급에서 지정하지 않은 기간은 기본 정책")
+    @Test
+    void resolveByRoom() {
+        //given
+        ExpiryPolicyEngine expiryPolicyEngine = engine(defaultEnvironment()
+                .withProperty("config.policy.tiers[0].name", "event")
+                .withProperty("config.policy.tiers[0].rooms[0]", "eventRoom")
+                .withProperty("config.policy.tiers[0].spread-expire-date.unit", "h")
+                .withProperty("config.policy.tiers[0].spread-expire-date.duration", "1"), "");
+
+        //when
+        ExpiryPolicy eventPolicy = expiryPolicyEngine.resolve("eventRoom");
+        ExpiryPolicy defaultPolicy = expiryPolicyEngine.resolve("testRoom");
+
+        //then
+        assertThat(eventPolicy.getName()).isEqualTo("event");
+        assertThat(eventPolicy.receivableExpireDateTimeOf(SPREAD_DATE_TIME)).isEqualTo(SPREAD_DATE_TIME.plusHours(1));
+        assertThat(eventPolicy.viewableExpireDateTimeOf(SPREAD_DATE_TIME)).isEqualTo(SPREAD_DATE_TIME.plusMonths(1));
+        assertThat(defaultPolicy.getName()).isEqualTo(ExpiryPolicies.DEFAULT_POLICY_NAME);
+        assertThat(defaultPolicy.receivableExpireDateTimeOf(SPREAD_DATE_TIME)).isEqualTo(SPREAD_DATE_TIME.plusMinutes(10));
+    }
+
+    @DisplayName("잘못된 단위, 음수 기간, 중복 대화방은 시작 시 모두 모아서 실패")
+    @Test
+    void failFastOnInvalidConfig() {
+        //given
+        MockEnvironment environment = defaultEnvironment()
+                .withProperty("config.policy.spread-expire-date.unit", "w")
+                .withProperty("config.policy.tiers[0].name", "event")
+                .withProperty("config.policy.tiers[0].rooms[0]", "room")
+                .withProperty("config.policy.tiers[0].viewable-date.unit", "d")
+                .withProperty("config.policy.tiers[0].viewable-date.duration", "-1")
+                .withProperty("config.policy.tiers[1].name", "vip")
+                .withProperty("config.policy.tiers[1].rooms[0]", "room");
+
+        //when
+        IllegalArgumentException illegalArgumentException = assertThrows(
+                IllegalArgumentException.class,
+                () -> engine(environment, ""));
+
+        //then
+        assertThat(illegalArgumentException.getMessage())
+                .contains("spread-expire-date.unit", "tiers[0].viewable-date.duration", "tiers[1].rooms");
+        //checkMsg
+        System.err.println(illegalArgumentException.getMessage());
+    }
+
+    @DisplayName("정책 파일 변경시 재시작 없이 적용, 잘못된 정책 파일은 무시하고 이전 정책 유지")
+    @Test
+    void reloadPolicyFile() throws IOException {
+        //given
+        Path policyFile = directory.resolve("policy.yml");
+        ExpiryPolicyEngine expiryPolicyEngine = engine(defaultEnvironment(), policyFile.toString());
+        writePolicyFile(policyFile, 1, """
+                config:
+                    policy:
+                        tiers:
+                            - name: vip
+                              rooms: [vipRoom]
+                              spread-expire-date: {unit: d, duration: 1}
+                """);
+
+        //when
+        boolean reloaded = expiryPolicyEngine.reload();
+        boolean reloadedWithoutChange = expiryPolicyEngine.reload();
+        writePolicyFile(policyFile, 2, """
+                config:
+                    policy:
+                        spread-expire-date: {unit: x, duration: 1}
+                """);
+        boolean reloadedInvalid = expiryPolicyEngine.reload();
+
+        //then
+        assertThat(reloaded).isTrue();
+        assertThat(reloadedWithoutChange).isFalse();
+        assertThat(reloadedInvalid).isFalse();
+        assertThat(expiryPolicyEngine.resolve("vipRoom").receivableExpireDateTimeOf(SPREAD_DATE_TIME))
+                .isEqualTo(SPREAD_DATE_TIME.plusDays(1));
+        assertThat(expiryPolicyEngine.resolve("testRoom").receivableExpireDateTimeOf(SPREAD_DATE_TIME))
+                .isEqualTo(SPREAD_DATE_TIME.plusMinutes(10));
+    }
+
+    private MockEnvironment defaultEnvironment() {
+        return new MockEnvironment()
+                .withProperty("config.policy.spread-expire-date.unit", "m")
+                .withProperty("config.policy.spread-expire-date.duration", "10")
+                .withProperty("config.policy.viewable-date.unit", "M")
+                .withProperty("config.policy.viewable-date.duration", "1");
+    }
+
+    private ExpiryPolicyEngine engine(MockEnvironment environment, String policyFile) {
+        ExpiryPolicyEngine expiryPolicyEngine = new ExpiryPolicyEngine(environment);
+        ReflectionTestUtils.setField(expiryPolicyEngine, "policy_file", policyFile);
+        expiryPolicyEngine.init();
+        return expiryPolicyEngine;
+    }
+
+    /**
+     * 정책 파일 작성, 파일 시스템의 수정 시각 단위와 무관하게 변경이 확인되도록 수정 시각 지정
+     */
+    private void writePolicyFile(Path policyFile, int version, String content) throws IOException {
+        Files.writeString(policyFile, content);
+        Files.setLastModifiedTime(policyFile, FileTime.fromMillis(version * 1000L));
+    }
+}
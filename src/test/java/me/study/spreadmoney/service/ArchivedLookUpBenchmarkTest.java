@@ -0,0 +1,115 @@
+package me.study.spreadmoney.service;
+
+import me.study.spreadmoney.scheduler.Scheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doNothing;
+
+/**
+ * 보관 조회 지연 시간 측정, ./gradlew benchmark 로 실행
+ * EXPIRED_SPREAD 에 1,000만 건(-Darchive.benchmark.rows 로 변경), 뿌리기마다 EXPIRED_RECEIVE 1건을 넣고 (사용자, token) 보관 조회
+ * 1) 실행 계획이 두 테이블의 (뿌린 사용자 아이디, token, 뿌린 시각) 인덱스를 사용하는지 확인
+ * 2) 메모리 보관 전(DB 조회), 보관 후 조회 지연 시간 분포
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:file:${java.io.tmpdir}/spread-archive-benchmark/db",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "decorator.datasource.p6spy.enable-logging=false"})
+class ArchivedLookUpBenchmarkTest {
+    private static final int ROW_COUNT = Integer.getInteger("archive.benchmark.rows", 10_000_000);
+    private static final int USER_COUNT = 100_000;
+    private static final int LOOK_UP_COUNT = 10_000;
+
+    @MockBean
+    private Scheduler scheduler;
+    @Autowired
+    ArchivedLookUpService archivedLookUpService;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUpForTest() {
+        //Scheduler method 비활성화
+        doNothing().when(scheduler).spreadToExpireSpread();
+    }
+
+    @DisplayName("보관 조회 지연 시간, 보관된 뿌리기 1,000만 건")
+    @Test
+    void archivedLookUpLatency() {
+        //사용자 100,000명, token 은 3자리 (재사용), 뿌린 시각은 1초 간격
+        long start = System.nanoTime();
+        jdbcTemplate.update("""
+                insert into expired_spread (expire_spread_id, token, spread_user_id, spread_room_id, total_money, total_people_num,
+                    remain_money, remain_people_num, spread_date_time, spread_details_info)
+                select x, char(65 + mod(x, 26)) || char(65 + mod(x / 26, 26)) || char(97 + mod(x / 676, 26)),
+                    mod(x, ?) + 1, 'benchmarkRoom', 10000, 2, 5000, 1,
+                    dateadd('SECOND', -x, timestamp '2024-01-01 00:00:00'),
+                    '금액: 5000 (id: 100001, date: 2023-12-31T00:00),금액: 5000 (받아가지 않음)'
+                from system_range(1, ?)
+                """, USER_COUNT, ROW_COUNT);
+        jdbcTemplate.update("""
+                insert into expired_receive (expire_receive_id, received_user_id, received_money, received_date_time,
+                    token, spread_user_id, spread_room_id, spread_date_time)
+                select expire_spread_id, 100001, 5000, timestamp '2023-12-31 00:00:00',
+                    token, spread_user_id, spread_room_id, spread_date_time
+                from expired_spread
+                """);
+        System.out.printf("[archive benchmark] rows: %d, insert: %.1f s%n", ROW_COUNT, (System.nanoTime() - start) / 1e9);
+
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList(
+                "explain select * from expired_spread where spread_user_id = 1 and token = 'BAa' order by spread_date_time desc");
+        String planText = plan.get(0).values().iterator().next().toString();
+        System.out.println("[archive benchmark] plan: " + planText.replaceAll("\\s+", " "));
+        assertThat(planText).containsIgnoringCase("idx_expired_spread_lookup");
+        plan = jdbcTemplate.queryForList(
+                "explain select * from expired_receive where spread_user_id = 1 and token = 'BAa' order by spread_date_time desc");
+        planText = plan.get(0).values().iterator().next().toString();
+        System.out.println("[archive benchmark] receive plan: " + planText.replaceAll("\\s+", " "));
+        assertThat(planText).containsIgnoringCase("idx_expired_receive_lookup");
+
+        archivedLookUpService.clearLocal();
+        long[] coldNanos = lookUpRandomly();
+        long[] warmNanos = lookUpRandomly();
+        printLatency("db (cache miss)", coldNanos);
+        printLatency("cache", warmNanos);
+    }
+
+    /**
+     * 무작위 (사용자, token) 보관 조회, 처음 조회한 (사용자, token) 은 DB 조회
+     * 같은 seed 로 두 번 실행하면 두 번째는 메모리 보관 결과
+     */
+    private long[] lookUpRandomly() {
+        Random random = new Random(42);
+        long[] nanos = new long[LOOK_UP_COUNT];
+        for (int i = 0; i < LOOK_UP_COUNT; i++) {
+            long x = 1 + (long) (random.nextDouble() * ROW_COUNT);
+            int userId = (int) (x % USER_COUNT) + 1;
+            String token = "" + (char) (65 + x % 26) + (char) (65 + x / 26 % 26) + (char) (97 + x / 676 % 26);
+            long start = System.nanoTime();
+            archivedLookUpService.lookUpArchivedSpreadInfo(userId, token, null);
+            nanos[i] = System.nanoTime() - start;
+        }
+        return nanos;
+    }
+
+    private void printLatency(String name, long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        System.out.printf("[archive benchmark] %s, look-ups: %d, p50: %.3f ms, p99: %.3f ms, max: %.3f ms%n", name, sorted.length,
+                sorted[sorted.length / 2] / 1e6, sorted[(int) (sorted.length * 0.99)] / 1e6, sorted[sorted.length - 1] / 1e6);
+    }
+}
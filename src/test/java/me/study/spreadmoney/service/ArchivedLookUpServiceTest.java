@@ -0,0 +1,117 @@
+package me.study.spreadmoney.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import me.study.spreadmoney.api.dto.LookUpSpreadInfoDto;
+import me.study.spreadmoney.api.dto.ReceiveInfoDto;
+import me.study.spreadmoney.entity.ExpiredReceive;
+import me.study.spreadmoney.entity.ExpiredSpread;
+import me.study.spreadmoney.exception.PredictableRuntimeException;
+import me.study.spreadmoney.repository.ExpiredReceiveRepository;
+import me.study.spreadmoney.repository.ExpiredSpreadRepository;
+import me.study.spreadmoney.repository.SpreadRepository;
+import me.study.spreadmoney.scheduler.Scheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doNothing;
+
+@SpringBootTest
+@Transactional
+class ArchivedLookUpServiceTest {
+    @MockBean
+    private Scheduler scheduler;
+    @Autowired ArchivedLookUpService archivedLookUpService;
+    @Autowired SpreadService spreadService;
+    @Autowired ReceiveService receiveService;
+    @Autowired ExpiredSpreadService expiredSpreadService;
+    @Autowired SpreadRepository spreadRepository;
+    @Autowired ExpiredSpreadRepository expiredSpreadRepository;
+    @Autowired ExpiredReceiveRepository expiredReceiveRepository;
+    @PersistenceContext
+    EntityManager em;
+
+    private final int spreadUserId = 1;
+    private final String roomId = "archiveRoom";
+
+    @BeforeEach
+    public void setUpForTest() {
+        //Scheduler method 비활성화
+        doNothing().when(scheduler).spreadToExpireSpread();
+        archivedLookUpService.clearLocal();
+    }
+
+    @DisplayName("이관된 뿌리기는 뿌린 사람이 보관 조회로 조회 (조회와 같은 형식)")
+    @Test
+    void lookUpArchivedSpread() {
+        //given
+        String token = spreadService.spreadMoney(spreadUserId, roomId, 10000, 3);
+        int receivedMoney1 = receiveService.receiveMoney(2, roomId, token);
+        int receivedMoney2 = receiveService.receiveMoney(3, roomId, token);
+        expiredSpreadService.spreadToExpire(spreadRepository.findByToken(token).get().getId());
+        em.flush();
+        em.clear();
+
+        //when
+        LookUpSpreadInfoDto archived = archivedLookUpService.lookUpArchivedSpreadInfo(spreadUserId, token, null);
+        PredictableRuntimeException ex = assertThrows(PredictableRuntimeException.class,
+                () -> archivedLookUpService.lookUpArchivedSpreadInfo(2, token, null));
+
+        //then
+        assertThat(archived.getTotalMoney()).isEqualTo(10000);
+        assertThat(archived.getTotalReceivedMoney()).isEqualTo(receivedMoney1 + receivedMoney2);
+        assertThat(archived.getReceiveInfoDtoList()).containsExactlyInAnyOrder(
+                new ReceiveInfoDto(receivedMoney1, 2), new ReceiveInfoDto(receivedMoney2, 3));
+        assertThat(ex.getMessage()).isEqualTo("유효하지 않는 Token 값입니다.");
+
+        //checkMsg
+        System.err.println("archived = " + archived);
+        System.err.println("ex.getMessage() = " + ex.getMessage());
+    }
+
+    @DisplayName("재사용된 token 은 뿌린 시각으로 구분, 지정하지 않으면 가장 최근 뿌리기")
+    @Test
+    void lookUpReusedToken() {
+        //given
+        String token = "zzz";
+        LocalDateTime older = LocalDateTime.now().minusDays(30).truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime newer = older.plusDays(10);
+        expiredSpreadRepository.save(ExpiredSpread.createExpireSpread(
+                token, spreadUserId, roomId, 10000, 2, 5000, 1, older,
+                "금액: 5000 (id: 2, date: " + older + "),금액: 5000 (받아가지 않음)"));
+        expiredSpreadRepository.save(ExpiredSpread.createExpireSpread(
+                token, spreadUserId, roomId, 3000, 1, 0, 0, newer,
+                "금액: 3000 (id: 3, date: " + newer + ")"));
+        expiredReceiveRepository.save(ExpiredReceive.createExpiredReceive(2, 5000, older, token, spreadUserId, roomId, older));
+        expiredReceiveRepository.save(ExpiredReceive.createExpiredReceive(3, 3000, newer, token, spreadUserId, roomId, newer));
+        em.flush();
+        em.clear();
+
+        //when
+        LookUpSpreadInfoDto latest = archivedLookUpService.lookUpArchivedSpreadInfo(spreadUserId, token, null);
+        LookUpSpreadInfoDto byTime = archivedLookUpService.lookUpArchivedSpreadInfo(spreadUserId, token, older);
+
+        //then
+        assertThat(latest.getSpreadDateTime()).isEqualTo(newer);
+        assertThat(latest.getTotalReceivedMoney()).isEqualTo(3000);
+        assertThat(latest.getReceiveInfoDtoList()).containsExactly(new ReceiveInfoDto(3000, 3));
+        assertThat(byTime.getSpreadDateTime()).isEqualTo(older);
+        assertThat(byTime.getReceiveInfoDtoList()).containsExactly(new ReceiveInfoDto(5000, 2));
+        assertThrows(PredictableRuntimeException.class,
+                () -> archivedLookUpService.lookUpArchivedSpreadInfo(spreadUserId, token, older.plusDays(1)));
+
+        //checkMsg
+        System.err.println("latest = " + latest);
+        System.err.println("byTime = " + byTime);
+    }
+}
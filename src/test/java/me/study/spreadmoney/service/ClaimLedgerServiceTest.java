@@ -0,0 +1,197 @@
+package me.study.spreadmoney.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import me.study.spreadmoney.api.dto.LookUpSpreadInfoDto;
+import me.study.spreadmoney.entity.ClaimLedger;
+import me.study.spreadmoney.entity.Spread;
+import me.study.spreadmoney.entity.SpreadDetail;
+import me.study.spreadmoney.entity.enumerated.SpreadDetailStatus;
+import me.study.spreadmoney.exception.PredictableRuntimeException;
+import me.study.spreadmoney.repository.ClaimLedgerRepository;
+import me.study.spreadmoney.repository.SpreadRepository;
+import me.study.spreadmoney.scheduler.Scheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doNothing;
+
+@SpringBootTest(properties = "config.receive.ledger.enabled=true")
+@Transactional
+class ClaimLedgerServiceTest {
+    @MockBean
+    private Scheduler scheduler;
+    @Autowired
+    SpreadService spreadService;
+    @Autowired
+    ReceiveService receiveService;
+    @Autowired
+    LookUpService lookUpService;
+    @Autowired
+    ClaimLedgerService claimLedgerService;
+    @Autowired
+    SpreadRepository spreadRepository;
+    @Autowired
+    ClaimLedgerRepository claimLedgerRepository;
+    @PersistenceContext
+    EntityManager em;
+
+    private Spread autoSetUpSpread;
+
+    @BeforeEach
+    public void setUpForTest() {
+        //Scheduler method 비활성화
+        doNothing().when(scheduler).spreadToExpireSpread();
+
+        int userId = 1;
+        String roomId = "testRoom";
+
+        //SpreadMoney 로 Spread, SpreadDetail 생성
+        String token = spreadService.spreadMoney(userId, roomId, 10000, 6);
+        autoSetUpSpread = spreadRepository.findByToken(token).get();
+
+        em.flush();
+        em.clear();
+    }
+
+    @DisplayName("원장 모드 받기는 뿌리기를 수정하지 않고 원장에 추가, 조회는 스냅샷 + 원장")
+    @Test
+    void receiveAppendOnly() {
+        //given
+        int userId = autoSetUpSpread.getUserId();
+        String roomId = autoSetUpSpread.getRoomId();
+        String token = autoSetUpSpread.getToken();
+
+        //when
+        int receivedMoney = receiveService.receiveMoney(userId + 1, roomId, token);
+        em.flush();
+        em.clear();
+        Spread spread = spreadRepository.findByToken(token).get();
+        LookUpSpreadInfoDto lookUpSpreadInfoDto = lookUpService.lookUpSpreadInfo(userId, token);
+
+        //then
+        assertThat(spread.getRemainMoney()).isEqualTo(spread.getTotalMoney());
+        assertThat(spread.getRemainPeopleNum()).isEqualTo(spread.getTotalPeopleNum());
+        assertThat(claimLedgerService.findTail(spread.getId())).hasSize(1);
+        assertThat(lookUpSpreadInfoDto.getTotalReceivedMoney()).isEqualTo(receivedMoney);
+        assertThat(lookUpSpreadInfoDto.getReceiveInfoDtoList()).hasSize(1);
+    }
+
+    @DisplayName("원장 반영 후 뿌리기, 뿌리기 상세에 받기 정보가 기록되고 원장은 남음")
+    @Test
+    void fold() {
+        //given
+        int userId = autoSetUpSpread.getUserId();
+        String roomId = autoSetUpSpread.getRoomId();
+        String token = autoSetUpSpread.getToken();
+        int firstReceivedMoney = receiveService.receiveMoney(userId + 1, roomId, token);
+        int secondReceivedMoney = receiveService.receiveMoney(userId + 2, roomId, token);
+
+        //when
+        int foldedCount = claimLedgerService.fold(autoSetUpSpread.getId());
+        em.flush();
+        em.clear();
+        Spread spread = spreadRepository.findByToken(token).get();
+
+        //then
+        assertThat(foldedCount).isEqualTo(2);
+        assertThat(spread.getTotalReceivedMoney()).isEqualTo(firstReceivedMoney + secondReceivedMoney);
+        assertThat(spread.getRemainPeopleNum()).isEqualTo(spread.getTotalPeopleNum() - 2);
+        assertThat(spread.getSpreadDetails().stream().filter(d -> d.getStatus().equals(SpreadDetailStatus.DONE)))
+                .extracting(SpreadDetail::getReceivedUserId)
+                .containsExactlyInAnyOrder(userId + 1, userId + 2);
+        assertThat(claimLedgerService.findTail(spread.getId())).isEmpty();
+        assertThat(claimLedgerRepository.count()).isEqualTo(2);
+    }
+
+    @DisplayName("원장 모드에서도 이미 받은 사람은 또 받을 수 없음 (반영 전, 반영 후)")
+    @Test
+    void sameUserReceiveMoneyAgain() {
+        //given
+        int userId = autoSetUpSpread.getUserId() + 1;
+        String roomId = autoSetUpSpread.getRoomId();
+        String token = autoSetUpSpread.getToken();
+        receiveService.receiveMoney(userId, roomId, token);
+
+        //when
+        PredictableRuntimeException beforeFold = assertThrows(
+                PredictableRuntimeException.class,
+                () -> receiveService.receiveMoney(userId, roomId, token));
+        claimLedgerService.fold(autoSetUpSpread.getId());
+        PredictableRuntimeException afterFold = assertThrows(
+                PredictableRuntimeException.class,
+                () -> receiveService.receiveMoney(userId, roomId, token));
+
+        //checkMsg
+        System.err.println(beforeFold.getMessage());
+        System.err.println(afterFold.getMessage());
+    }
+
+    @DisplayName("원장 모드에서도 모두 받아간 뿌리기는 받을 수 없음")
+    @Test
+    void alreadyReceiveMoney() {
+        //given
+        int userId = autoSetUpSpread.getUserId() + 1;
+        String roomId = autoSetUpSpread.getRoomId();
+        String token = autoSetUpSpread.getToken();
+        int totalPeopleNum = autoSetUpSpread.getTotalPeopleNum();
+
+        //when
+        int alreadyReceiveUser = userId + 100;
+        for (int i = 0; i < totalPeopleNum; i++) {
+            receiveService.receiveMoney(alreadyReceiveUser, roomId, token);
+            alreadyReceiveUser += 1;
+        }
+        PredictableRuntimeException predictableRuntimeException = assertThrows(
+                PredictableRuntimeException.class,
+                () -> receiveService.receiveMoney(userId, roomId, token));
+
+        //checkMsg
+        System.err.println(predictableRuntimeException.getMessage());
+    }
+
+    @DisplayName("받을 수 없는 뿌리기 상세의 원장은 반영하지 않고 충돌로 남음, 나머지 원장은 반영")
+    @Test
+    void foldConflictedLedger() {
+        //given (원장 모드 받기 2건 후 한 건의 뿌리기 상세를 원장 모드가 아닌 받기가 먼저 받음)
+        int userId = autoSetUpSpread.getUserId();
+        String roomId = autoSetUpSpread.getRoomId();
+        String token = autoSetUpSpread.getToken();
+        receiveService.receiveMoney(userId + 1, roomId, token);
+        int receivedMoney = receiveService.receiveMoney(userId + 2, roomId, token);
+        ClaimLedger conflicted = claimLedgerService.findTail(autoSetUpSpread.getId()).get(0);
+        Spread spread = spreadRepository.findByToken(token).get();
+        spread.getSpreadDetails().stream()
+                .filter(d -> d.getId().equals(conflicted.getSpreadDetailId()))
+                .findFirst().get()
+                .setReceiveInfo(userId + 3);
+        em.flush();
+        em.clear();
+
+        //when
+        int foldedCount = claimLedgerService.fold(autoSetUpSpread.getId());
+        em.flush();
+        em.clear();
+        Spread foldedSpread = spreadRepository.findByToken(token).get();
+
+        //then
+        assertThat(foldedCount).isEqualTo(1);
+        assertThat(foldedSpread.getTotalReceivedMoney()).isEqualTo(receivedMoney);
+        assertThat(claimLedgerService.findTail(autoSetUpSpread.getId())).isEmpty();
+        assertThat(claimLedgerService.findConflicted())
+                .extracting(ClaimLedger::getId, ClaimLedger::isFolded)
+                .containsExactly(tuple(conflicted.getId(), false));
+        assertThat(claimLedgerService.findUnfoldedSpreadIds()).doesNotContain(autoSetUpSpread.getId());
+
+        //checkMsg
+        System.err.println("conflicted = " + claimLedgerService.findConflicted());
+    }
+}
@@ -0,0 +1,104 @@
+package me.study.spreadmoney.service;
+
+import me.study.spreadmoney.scheduler.Scheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doNothing;
+
+/**
+ * 뿌린 내역 페이지 지연 시간 측정, ./gradlew benchmark 로 실행
+ * 한 사용자의 보관된 뿌리기 100만 건(-Dhistory.benchmark.rows 로 변경)을 넣고 깊이별 페이지 조회
+ * 1) 실행 계획이 내역 응답 컬럼을 포함한 (뿌린 사용자 아이디, 뿌린 시각, 아이디) 인덱스를 사용하는지 확인
+ * 2) keyset 페이지와 OFFSET 페이지의 깊이별 지연 시간 비교
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:file:${java.io.tmpdir}/spread-history-benchmark/db",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "decorator.datasource.p6spy.enable-logging=false"})
+class HistoryBenchmarkTest {
+    private static final int ROW_COUNT = Integer.getInteger("history.benchmark.rows", 1_000_000);
+    private static final int USER_ID = 1;
+    private static final int PAGE_SIZE = 20;
+    private static final int REPEAT = 200;
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @MockBean
+    private Scheduler scheduler;
+    @Autowired
+    HistoryService historyService;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUpForTest() {
+        //Scheduler method 비활성화
+        doNothing().when(scheduler).spreadToExpireSpread();
+    }
+
+    @DisplayName("뿌린 내역 깊이별 페이지 지연 시간, 보관된 뿌리기 100만 건")
+    @Test
+    void sentHistoryPageLatency() {
+        //한 사용자, 뿌린 시각은 1초 간격 (x 가 클수록 오래된 뿌리기)
+        long start = System.nanoTime();
+        jdbcTemplate.update("""
+                insert into expired_spread (expire_spread_id, token, spread_user_id, spread_room_id, total_money, total_people_num,
+                    remain_money, remain_people_num, spread_date_time, spread_details_info)
+                select x, 'abc', ?, 'benchmarkRoom', 10000, 2, 5000, 1,
+                    dateadd('SECOND', -x, timestamp '2024-01-01 00:00:00'), '금액: 5000 (받아가지 않음)'
+                from system_range(1, ?)
+                """, USER_ID, ROW_COUNT);
+        System.out.printf("[history benchmark] rows: %d, insert: %.1f s%n", ROW_COUNT, (System.nanoTime() - start) / 1e9);
+
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("""
+                explain select expire_spread_id, token, spread_room_id, spread_date_time, total_money, total_people_num,
+                    remain_money, remain_people_num from expired_spread where spread_user_id = 1 and spread_date_time <= timestamp '2023-12-01 00:00:00'
+                    and (spread_date_time < timestamp '2023-12-01 00:00:00' or expire_spread_id < 100)
+                    order by spread_date_time desc, expire_spread_id desc limit 21
+                """);
+        String planText = plan.get(0).values().iterator().next().toString();
+        System.out.println("[history benchmark] plan: " + planText.replaceAll("\\s+", " "));
+        assertThat(planText).containsIgnoringCase("idx_expired_spread_user_history");
+
+        for (int depth : new int[]{0, 1_000, 100_000, ROW_COUNT - PAGE_SIZE - 1}) {
+            //depth 번째 뿌리기(x = depth) 다음 페이지
+            HistoryCursor cursor = depth == 0 ? HistoryCursor.FIRST : new HistoryCursor(BASE.minusSeconds(depth), true, depth);
+            long[] keysetNanos = new long[REPEAT];
+            long[] offsetNanos = new long[REPEAT];
+            for (int i = 0; i < REPEAT; i++) {
+                long keysetStart = System.nanoTime();
+                historyService.findSentHistory(USER_ID, depth == 0 ? null : cursor.encode(), PAGE_SIZE);
+                keysetNanos[i] = System.nanoTime() - keysetStart;
+
+                long offsetStart = System.nanoTime();
+                jdbcTemplate.queryForList("""
+                        select * from expired_spread where spread_user_id = ?
+                        order by spread_date_time desc, expire_spread_id desc limit ? offset ?
+                        """, USER_ID, PAGE_SIZE, depth);
+                offsetNanos[i] = System.nanoTime() - offsetStart;
+            }
+            printLatency("keyset", depth, keysetNanos);
+            printLatency("offset", depth, offsetNanos);
+        }
+    }
+
+    private void printLatency(String name, int depth, long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        System.out.printf("[history benchmark] %s, depth: %d, p50: %.3f ms, p99: %.3f ms%n", name, depth,
+                sorted[sorted.length / 2] / 1e6, sorted[(int) (sorted.length * 0.99)] / 1e6);
+    }
+}
@@ -0,0 +1,143 @@
+package me.study.spreadmoney.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import me.study.spreadmoney.api.dto.HistoryPageDto;
+import me.study.spreadmoney.api.dto.ReceivedMoneyHistoryDto;
+import me.study.spreadmoney.api.dto.SentSpreadHistoryDto;
+import me.study.spreadmoney.entity.Spread;
+import me.study.spreadmoney.entity.SpreadDetail;
+import me.study.spreadmoney.exception.PredictableRuntimeException;
+import me.study.spreadmoney.exception.RejectReason;
+import me.study.spreadmoney.repository.SpreadRepository;
+import me.study.spreadmoney.scheduler.Scheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doNothing;
+
+@SpringBootTest
+@Transactional
+class HistoryServiceTest {
+    @MockBean
+    private Scheduler scheduler;
+    @Autowired HistoryService historyService;
+    @Autowired ExpiredSpreadService expiredSpreadService;
+    @Autowired SpreadRepository spreadRepository;
+    @PersistenceContext
+    EntityManager em;
+
+    private final int spreadUserId = 9100;
+    private final int receivedUserId = 9101;
+    private final String roomId = "historyRoom";
+    private final LocalDateTime base = LocalDateTime.now().minusDays(1).truncatedTo(ChronoUnit.SECONDS);
+
+    @BeforeEach
+    public void setUpForTest() {
+        //Scheduler method 비활성화
+        doNothing().when(scheduler).spreadToExpireSpread();
+    }
+
+    @DisplayName("뿌린 내역은 보관 전/후 뿌리기를 최근 순으로 합쳐 페이지 단위로 조회 (같은 시각 포함)")
+    @Test
+    void sentHistoryAcrossArchive() {
+        //given (H03, H04 는 같은 시각, H02, H04 는 보관)
+        saveSpread("H01", base.plusMinutes(1), 0);
+        Spread archived1 = saveSpread("H02", base.plusMinutes(2), 0);
+        saveSpread("H03", base.plusMinutes(3), 0);
+        Spread archived2 = saveSpread("H04", base.plusMinutes(3), 0);
+        saveSpread("H05", base.plusMinutes(5), 0);
+        expiredSpreadService.spreadToExpire(archived1.getId());
+        expiredSpreadService.spreadToExpire(archived2.getId());
+        em.flush();
+        em.clear();
+
+        //when
+        List<SentSpreadHistoryDto> history = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            HistoryPageDto<SentSpreadHistoryDto> page = historyService.findSentHistory(spreadUserId, cursor, 2);
+            history.addAll(page.getItems());
+            pageSizes.add(page.getItems().size());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        //then
+        assertThat(history).extracting(SentSpreadHistoryDto::getToken).containsExactly("H05", "H03", "H04", "H02", "H01");
+        assertThat(history).extracting(SentSpreadHistoryDto::isArchived).containsExactly(false, false, true, true, false);
+        assertThat(pageSizes).containsExactly(2, 2, 1);
+
+        //checkMsg
+        System.err.println("history = " + history);
+    }
+
+    @DisplayName("받은 내역은 보관 전/후 받기를 최근 순으로 합쳐 조회")
+    @Test
+    void receivedHistoryAcrossArchive() {
+        //given (R01 은 보관)
+        Spread archived = saveSpread("R01", base.plusMinutes(1), 3000);
+        saveSpread("R02", base.plusMinutes(2), 5000);
+        expiredSpreadService.spreadToExpire(archived.getId());
+        em.flush();
+        em.clear();
+
+        //when
+        HistoryPageDto<ReceivedMoneyHistoryDto> page = historyService.findReceivedHistory(receivedUserId, null, 20);
+
+        //then
+        assertThat(page.getItems()).extracting(ReceivedMoneyHistoryDto::getToken).containsExactly("R02", "R01");
+        assertThat(page.getItems()).extracting(ReceivedMoneyHistoryDto::getReceivedMoney).containsExactly(5000, 3000);
+        assertThat(page.getItems()).extracting(ReceivedMoneyHistoryDto::isArchived).containsExactly(false, true);
+        assertThat(page.getNextCursor()).isNull();
+
+        //checkMsg
+        System.err.println("page = " + page);
+    }
+
+    @DisplayName("잘못된 cursor, 페이지 크기는 거절")
+    @Test
+    void rejectInvalidRequest() {
+        //when
+        PredictableRuntimeException cursorEx = assertThrows(PredictableRuntimeException.class,
+                () -> historyService.findSentHistory(spreadUserId, "!!!", 20));
+        PredictableRuntimeException sizeEx = assertThrows(PredictableRuntimeException.class,
+                () -> historyService.findSentHistory(spreadUserId, null, 0));
+
+        //then
+        assertThat(cursorEx.getMessage()).isEqualTo("유효하지 않은 cursor 값입니다.");
+        assertThat(sizeEx.getReason()).isEqualTo(RejectReason.INVALID_PAGE_SIZE);
+        assertThat(sizeEx.getMessage()).startsWith("내역 조회 개수는");
+
+        //checkMsg
+        System.err.println("cursorEx.getMessage() = " + cursorEx.getMessage());
+        System.err.println("sizeEx.getMessage() = " + sizeEx.getMessage());
+    }
+
+    /**
+     * 뿌리기 저장, receivedMoney 가 0 보다 크면 받은 사용자가 뿌린 시각 1초 후 받기 완료
+     */
+    private Spread saveSpread(String token, LocalDateTime spreadDateTime, int receivedMoney) {
+        int totalMoney = 10000;
+        Spread spread = Spread.createSpread(token, spreadUserId, roomId, totalMoney, 2,
+                totalMoney - receivedMoney, receivedMoney > 0 ? 1 : 2,
+                spreadDateTime, spreadDateTime.plusMinutes(10), spreadDateTime.plusDays(7));
+        SpreadDetail received = SpreadDetail.createSpreadDetails(spread, receivedMoney > 0 ? receivedMoney : totalMoney / 2);
+        SpreadDetail.createSpreadDetails(spread, totalMoney - received.getDistributedMoney());
+        if (receivedMoney > 0)
+            received.setReceiveInfo(receivedUserId, spreadDateTime.plusSeconds(1));
+        return spreadRepository.save(spread);
+    }
+}
@@ -0,0 +1,131 @@
+package me.study.spreadmoney.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import me.study.spreadmoney.entity.IdempotencyRecord;
+import me.study.spreadmoney.exception.PredictableRuntimeException;
+import me.study.spreadmoney.repository.IdempotencyRecordRepository;
+import me.study.spreadmoney.scheduler.Scheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doNothing;
+
+@SpringBootTest
+@Transactional
+class IdempotencyServiceTest {
+
+    @MockBean
+    private Scheduler scheduler;
+    @Autowired IdempotencyService idempotencyService;
+    @Autowired SpreadService spreadService;
+    @Autowired ReceiveService receiveService;
+    @Autowired IdempotencyRecordRepository idempotencyRecordRepository;
+    @PersistenceContext
+    EntityManager em;
+
+    private final int userId = 1;
+    private final String roomId = "idempotencyRoom";
+
+    @BeforeEach
+    public void setUpForTest() {
+        //Scheduler method 비활성화
+        doNothing().when(scheduler).spreadToExpireSpread();
+    }
+
+    @DisplayName("같은 key 로 재시도한 뿌리기는 다시 뿌리지 않고 처음 token 응답")
+    @Test
+    void retrySpread() {
+        //given
+        int beforeCount = spreadService.getAllCount();
+
+        //when
+        String token = spread("spread-key", 10000, 3);
+        String retriedToken = spread("spread-key", 10000, 3);
+
+        //then
+        assertThat(retriedToken).isEqualTo(token);
+        assertThat(spreadService.getAllCount()).isEqualTo(beforeCount + 1);
+
+        //checkMsg
+        System.err.println("token = " + token + ", retriedToken = " + retriedToken);
+    }
+
+    @DisplayName("같은 key 로 재시도한 받기는 다시 받지 않고 처음 받은 금액 응답")
+    @Test
+    void retryReceive() {
+        //given
+        String token = spreadService.spreadMoney(userId, roomId, 10000, 3);
+
+        //when
+        String receivedMoney = receive("receive-key", token);
+        String retriedReceivedMoney = receive("receive-key", token);
+
+        //then
+        assertThat(retriedReceivedMoney).isEqualTo(receivedMoney);
+        PredictableRuntimeException predictableRuntimeException = assertThrows(
+                PredictableRuntimeException.class,
+                () -> receive("other-key", token));
+
+        //checkMsg
+        System.err.println("receivedMoney = " + receivedMoney + ", retriedReceivedMoney = " + retriedReceivedMoney);
+        System.err.println(predictableRuntimeException.getMessage());
+    }
+
+    @DisplayName("같은 key 로 다른 요청은 거절")
+    @Test
+    void sameKeyDifferentRequest() {
+        //given
+        spread("same-key", 10000, 3);
+
+        //when
+        PredictableRuntimeException predictableRuntimeException = assertThrows(
+                PredictableRuntimeException.class,
+                () -> spread("same-key", 20000, 3));
+
+        //checkMsg
+        System.err.println(predictableRuntimeException.getMessage());
+    }
+
+    @DisplayName("메모리에 없으면 뿌리기와 함께 저장된 DB 기록으로 응답")
+    @Test
+    void replayFromRecord() {
+        //given
+        String token = spread("record-key", 10000, 3);
+        em.flush();
+        em.clear();
+        idempotencyService.clearLocal();
+
+        //when
+        String retriedToken = idempotencyService.execute(IdempotencyService.SPREAD, userId, roomId, "record-key",
+                roomId + ":10000:3", () -> fail("기록이 있으면 다시 실행하지 않아야 합니다."));
+
+        //then
+        IdempotencyRecord idempotencyRecord = idempotencyRecordRepository.findById("spread:1:record-key").get();
+        assertThat(retriedToken).isEqualTo(token);
+        assertThat(idempotencyRecord.getResponse()).isEqualTo(token);
+
+        //checkMsg
+        System.err.println("idempotencyRecord = " + idempotencyRecord);
+    }
+
+    private String spread(String idempotencyKey, int totalMoney, int totalPeopleNum) {
+        return idempotencyService.execute(IdempotencyService.SPREAD, userId, roomId, idempotencyKey,
+                roomId + ":" + totalMoney + ":" + totalPeopleNum,
+                () -> spreadService.spreadMoney(userId, roomId, totalMoney, totalPeopleNum));
+    }
+
+    private String receive(String idempotencyKey, String token) {
+        int receiveUserId = userId + 1;
+        return idempotencyService.execute(IdempotencyService.RECEIVE, receiveUserId, roomId, idempotencyKey,
+                roomId + ":" + token,
+                () -> String.valueOf(receiveService.receiveMoney(receiveUserId, roomId, token)));
+    }
+}
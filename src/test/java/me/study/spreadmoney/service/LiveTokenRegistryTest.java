@@ -0,0 +1,133 @@
+package me.study.spreadmoney.service;
+
+import me.study.spreadmoney.api.dto.LookUpSpreadInfoDto;
+import me.study.spreadmoney.exception.PredictableRuntimeException;
+import me.study.spreadmoney.repository.SpreadRepository;
+import me.study.spreadmoney.scheduler.Scheduler;
+import me.study.spreadmoney.support.SqlStatementBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doNothing;
+
+@SpringBootTest(properties = "config.token-filter.enabled=true")
+class LiveTokenRegistryTest {
+
+    @MockBean
+    private Scheduler scheduler;
+    @Autowired LiveTokenRegistry liveTokenRegistry;
+    @Autowired SpreadService spreadService;
+    @Autowired ReceiveGroupCommitService receiveGroupCommitService;
+    @Autowired LookUpService lookUpService;
+    @Autowired ExpiredSpreadService expiredSpreadService;
+    @Autowired SpreadRepository spreadRepository;
+    @Autowired SqlStatementBudget sqlStatementBudget;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    private static final long OTHER_INSTANCE_SPREAD_ID = 2_000_000_000L;
+    private final int spreadUserId = 1;
+    private final String roomId = "tokenFilterRoom";
+
+    @BeforeEach
+    public void setUpForTest() {
+        //Scheduler method 비활성화
+        doNothing().when(scheduler).spreadToExpireSpread();
+        liveTokenRegistry.rebuild();
+    }
+
+    @DisplayName("없는 token 의 받기/조회는 DB 에서 한 번 확인 후 거절")
+    @Test
+    void rejectUnknownTokenWithOneQuery() {
+        //given
+        String unknownToken = findUnusedToken();
+
+        //when
+        PredictableRuntimeException receiveEx = assertThrows(PredictableRuntimeException.class,
+                () -> sqlStatementBudget.expect("receive unknown token", 1,
+                        () -> receiveGroupCommitService.receiveMoney(2, roomId, unknownToken)));
+        PredictableRuntimeException lookUpEx = assertThrows(PredictableRuntimeException.class,
+                () -> sqlStatementBudget.expect("look up unknown token", 1,
+                        () -> lookUpService.lookUpSpreadInfo(spreadUserId, unknownToken)));
+
+        //then
+        assertThat(receiveEx.getMessage()).isEqualTo("유효하지 않는 Token 값입니다.");
+        assertThat(lookUpEx.getMessage()).isEqualTo("유효하지 않는 Token 값입니다.");
+        assertThat(liveTokenRegistry.mightExist(2, "ab")).isFalse();
+        assertThat(liveTokenRegistry.mightExist(2, "a-b")).isFalse();
+
+        //checkMsg
+        System.err.println("unknownToken = " + unknownToken);
+    }
+
+    @DisplayName("뿌리기 커밋 후 바로 받기 가능, 이관 후 거절")
+    @Test
+    void followSpreadAndExpire() {
+        //given
+        String token = spreadService.spreadMoney(spreadUserId, roomId, 10000, 2);
+
+        //when
+        boolean liveAfterSpread = liveTokenRegistry.mightExist(2, token);
+        int receivedMoney = receiveGroupCommitService.receiveMoney(2, roomId, token);
+        expiredSpreadService.spreadToExpire(spreadRepository.findByToken(token).get().getId());
+        boolean liveAfterExpire = liveTokenRegistry.mightExist(3, token);
+
+        //then
+        assertThat(liveAfterSpread).isTrue();
+        assertThat(receivedMoney).isPositive();
+        assertThat(liveAfterExpire).isFalse();
+
+        //checkMsg
+        System.err.println("token = " + token + ", receivedMoney = " + receivedMoney);
+    }
+
+    @DisplayName("다른 서버 인스턴스에서 생성된 token 은 다시 만들기 전에도 DB 확인 후 받기/조회 가능")
+    @Test
+    void acceptTokenCreatedOnOtherInstance() {
+        //given (bitmap 을 만든 후 다른 서버 인스턴스에서 커밋된 뿌리기)
+        String token = findUnusedToken();
+        jdbcTemplate.update("""
+                insert into spread (spread_id, token, user_id, room_id, total_money, total_people_num, remain_money, remain_people_num,
+                    spread_date_time, receivable_expire_date_time, viewable_expire_date_time)
+                values (?, ?, ?, ?, 10000, 1, 10000, 1, current_timestamp, dateadd('MINUTE', 10, current_timestamp), dateadd('DAY', 7, current_timestamp))
+                """, OTHER_INSTANCE_SPREAD_ID, token, spreadUserId, roomId);
+        boolean liveBeforeCheck = liveTokenRegistry.mightExist(2, token);
+
+        try {
+            //when (bitmap 에 없는 token 확인 1건 + 조회 2건, 확인 후에는 bitmap 에 추가되어 확인 없음)
+            LookUpSpreadInfoDto first = sqlStatementBudget.expect("look up token of other instance", 3,
+                    () -> lookUpService.lookUpSpreadInfo(spreadUserId, token));
+            LookUpSpreadInfoDto second = sqlStatementBudget.expect("look up token of other instance again", 2,
+                    () -> lookUpService.lookUpSpreadInfo(spreadUserId, token));
+
+            //then
+            assertThat(liveBeforeCheck).isFalse();
+            assertThat(first.getTotalMoney()).isEqualTo(10000);
+            assertThat(second.getTotalMoney()).isEqualTo(10000);
+            assertThat(liveTokenRegistry.mightExist(2, token)).isTrue();
+
+            //checkMsg
+            System.err.println("token = " + token);
+        } finally {
+            jdbcTemplate.update("delete from spread where spread_id = ?", OTHER_INSTANCE_SPREAD_ID);
+        }
+    }
+
+    /**
+     * 살아있는 뿌리기가 사용하지 않는 token
+     */
+    private String findUnusedToken() {
+        for (char first = 'a'; first <= 'z'; first++) {
+            String token = first + "Z9";
+            if (spreadRepository.countByToken(token) == 0)
+                return token;
+        }
+        throw new IllegalStateException("사용하지 않는 token 없음");
+    }
+}
@@ -0,0 +1,167 @@
+package me.study.spreadmoney.service;
+
+import me.study.spreadmoney.api.dto.LookUpSpreadInfoDto;
+import me.study.spreadmoney.exception.PredictableRuntimeException;
+import me.study.spreadmoney.exception.RejectReason;
+import me.study.spreadmoney.scheduler.Scheduler;
+import me.study.spreadmoney.support.SqlStatementBudget;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntUnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * 동일 token 동시 조회 (H2 에서 실제 조회 데이터 로딩)
+ * 먼저 들어온 조회의 DB 조회 시작을 잠시 늦춰 나머지 조회가 모두 진행 중인 조회에 합류하도록 함
+ */
+@SpringBootTest
+class LookUpServiceConcurrencyTest {
+    @MockBean
+    private Scheduler scheduler;
+    @SpyBean
+    private LookUpLoader lookUpLoader;
+    @Autowired
+    LookUpService lookUpService;
+    @Autowired
+    SpreadService spreadService;
+    @Autowired
+    SqlStatementBudget sqlStatementBudget;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private static final int THREAD_NUM = 100;
+    private static final int LOAD_STATEMENTS = 2; //조회 데이터 로딩 한 번의 SQL 문 수 (뿌리기 조회, 뿌리기 상세 조회)
+    private final int spreadUserId = 9500;
+    private final String roomId = "concurrentLookUpRoom";
+    private String token;
+
+    private ExecutorService executorService;
+
+    @BeforeEach
+    public void setUpForTest() {
+        //Scheduler method 비활성화
+        doNothing().when(scheduler).spreadToExpireSpread();
+
+        //실제 조회 전에 일정 시간 대기, 그 사이 들어온 동일 token 조회는 진행 중인 조회에 합류해야 함
+        doAnswer(invocation -> {
+            Thread.sleep(500);
+            return invocation.callRealMethod();
+        }).when(lookUpLoader).load(anyString());
+
+        token = spreadService.spreadMoney(spreadUserId, roomId, 10000, 3);
+        executorService = Executors.newFixedThreadPool(THREAD_NUM);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executorService.shutdownNow();
+
+        //커밋된 뿌리기 정리 (트랜잭션 테스트가 아니므로)
+        jdbcTemplate.update("delete from spread_detail where spread_id in (select spread_id from spread where room_id = ?)", roomId);
+        jdbcTemplate.update("delete from spread where room_id = ?", roomId);
+    }
+
+    @DisplayName("동일 token 동시 조회 100건은 한 번의 조회 결과를 공유, SQL 문은 조회 한 번 분량")
+    @Test
+    void concurrentLookUpLoadOnce() {
+        //when
+        List<LookUpSpreadInfoDto> results = sqlStatementBudget.expect("lookup x" + THREAD_NUM, LOAD_STATEMENTS,
+                () -> getAll(lookUpConcurrently(userIndex -> spreadUserId)));
+
+        //then
+        assertThat(results).hasSize(THREAD_NUM);
+        LookUpSpreadInfoDto first = results.get(0);
+        assertThat(results).allSatisfy(result -> assertThat(result).isSameAs(first));
+        assertThat(first.getTotalMoney()).isEqualTo(10000);
+        verify(lookUpLoader, times(1)).load(token);
+
+        //checkMsg
+        System.err.println("statements = " + sqlStatementBudget.getStatements());
+    }
+
+    @DisplayName("조회 결과를 공유하더라도 뿌린 사람이 아니라면 조회할 수 없음")
+    @Test
+    void concurrentLookUpCheckUserEach() throws InterruptedException, ExecutionException {
+        //when, 짝수 번째 요청만 뿌린 사람
+        List<Future<LookUpSpreadInfoDto>> futures =
+                lookUpConcurrently(userIndex -> userIndex % 2 == 0 ? spreadUserId : spreadUserId + 1);
+
+        //then
+        LookUpSpreadInfoDto shared = futures.get(0).get();
+        for (int i = 0; i < futures.size(); i++) {
+            Future<LookUpSpreadInfoDto> future = futures.get(i);
+            if (i % 2 == 0) {
+                assertThat(future.get()).isSameAs(shared);
+            } else {
+                ExecutionException executionException = assertThrows(ExecutionException.class, future::get);
+                assertThat(executionException.getCause()).isInstanceOf(PredictableRuntimeException.class);
+                assertThat(((PredictableRuntimeException) executionException.getCause()).getReason())
+                        .isEqualTo(RejectReason.LOOK_UP_NOT_OWNER);
+            }
+        }
+        verify(lookUpLoader, times(1)).load(token);
+    }
+
+    /**
+     * 동일 token 조회를 THREAD_NUM 개 스레드에서 동시에 요청
+     * @param userIdOf 요청 순번별 요청 사용자 아이디
+     * @return 요청 순번별 조회 결과
+     */
+    private List<Future<LookUpSpreadInfoDto>> lookUpConcurrently(IntUnaryOperator userIdOf) {
+        CountDownLatch ready = new CountDownLatch(THREAD_NUM);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<LookUpSpreadInfoDto>> futures = new ArrayList<>();
+        for (int i = 0; i < THREAD_NUM; i++) {
+            int userId = userIdOf.applyAsInt(i);
+            futures.add(executorService.submit(() -> {
+                ready.countDown();
+                start.await();
+                return lookUpService.lookUpSpreadInfo(userId, token);
+            }));
+        }
+        try {
+            ready.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        start.countDown();
+        return futures;
+    }
+
+    /**
+     * 모든 조회 결과 기다리기
+     */
+    private static List<LookUpSpreadInfoDto> getAll(List<Future<LookUpSpreadInfoDto>> futures) {
+        List<LookUpSpreadInfoDto> results = new ArrayList<>();
+        try {
+            for (Future<LookUpSpreadInfoDto> future : futures)
+                results.add(future.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+        return results;
+    }
+}
@@ -10,6 +10,7 @@ import me.study.spreadmoney.repository.ExpiredSpreadRepository;
 import me.study.spreadmoney.repository.SpreadDetailRepository;
 import me.study.spreadmoney.repository.SpreadRepository;
 import me.study.spreadmoney.scheduler.Scheduler;
+import me.study.spreadmoney.support.SqlStatementBudget;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -41,6 +42,8 @@ class LookUpServiceTest {
     SpreadDetailRepository spreadDetailRepository;
     @Autowired
     ExpiredSpreadRepository expiredSpreadRepository;
+    @Autowired
+    SqlStatementBudget sqlStatementBudget;
     @PersistenceContext
     EntityManager em;
 
@@ -93,6 +96,29 @@ class LookUpServiceTest {
         System.out.println("lookUpSpreadInfoDto = " + lookUpSpreadInfoDto);
     }
 
+    @DisplayName("뿌리기 조회 SQL 문 예산")
+    @Test
+    void lookupSpreadInfoStatementBudget(){
+        //given
+        int userId = autoSetUpSpread.getUserId();
+        String roomId = autoSetUpSpread.getRoomId();
+        String token = autoSetUpSpread.getToken();
+        receiveService.receiveMoney(userId + 1, roomId, token);
+        receiveService.receiveMoney(userId + 2, roomId, token);
+        em.flush();
+        em.clear();
+
+        //when (뿌리기 조회, 뿌리기 상세 조회, 받은 인원과 무관)
+        LookUpSpreadInfoDto lookUpSpreadInfoDto = sqlStatementBudget.expect("lookup", 2,
+                () -> lookUpService.lookUpSpreadInfo(userId, token));
+
+        //then
+        assertThat(lookUpSpreadInfoDto.getReceiveInfoDtoList()).hasSize(2);
+
+        //checkMsg
+        System.out.println("statements = " + sqlStatementBudget.getStatements());
+    }
+
     @DisplayName("유효하지 않는 token은 조회할 수 없음")
     @Test
     void invalidTokenLookUpSpread(){
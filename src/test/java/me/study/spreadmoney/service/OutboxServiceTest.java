@@ -0,0 +1,154 @@
+package me.study.spreadmoney.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import me.study.spreadmoney.entity.OutboxEvent;
+import me.study.spreadmoney.entity.Spread;
+import me.study.spreadmoney.entity.enumerated.OutboxEventType;
+import me.study.spreadmoney.repository.OutboxEventRepository;
+import me.study.spreadmoney.repository.SpreadRepository;
+import me.study.spreadmoney.scheduler.Scheduler;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doNothing;
+
+/**
+ * 외부 시스템(지갑)은 HTTP 수신 서버로 대신함
+ */
+@SpringBootTest(properties = {"config.outbox.enabled=true", "config.outbox.sink=http"})
+@Transactional
+class OutboxServiceTest {
+    private static HttpServer walletServer;
+    private static final List<byte[]> receivedBodies = new CopyOnWriteArrayList<>();
+    private static final AtomicInteger responseStatus = new AtomicInteger(200);
+
+    @MockBean
+    private Scheduler scheduler;
+    @Autowired
+    SpreadService spreadService;
+    @Autowired
+    ReceiveService receiveService;
+    @Autowired
+    OutboxService outboxService;
+    @Autowired
+    SpreadRepository spreadRepository;
+    @Autowired
+    OutboxEventRepository outboxEventRepository;
+    @Autowired
+    ObjectMapper objectMapper;
+
+    private Spread autoSetUpSpread;
+
+    @DynamicPropertySource
+    static void walletServerProperties(DynamicPropertyRegistry registry) throws IOException {
+        walletServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        walletServer.createContext("/events", exchange -> {
+            receivedBodies.add(exchange.getRequestBody().readAllBytes());
+            exchange.sendResponseHeaders(responseStatus.get(), -1);
+            exchange.close();
+        });
+        walletServer.start();
+        registry.add("config.outbox.http-url",
+                () -> "http://localhost:" + walletServer.getAddress().getPort() + "/events");
+    }
+
+    @AfterAll
+    static void stopWalletServer() {
+        walletServer.stop(0);
+    }
+
+    @BeforeEach
+    public void setUpForTest() {
+        //Scheduler method 비활성화
+        doNothing().when(scheduler).spreadToExpireSpread();
+        receivedBodies.clear();
+        responseStatus.set(200);
+
+        String token = spreadService.spreadMoney(1, "testRoom", 10000, 3);
+        autoSetUpSpread = spreadRepository.findByToken(token).get();
+    }
+
+    @DisplayName("뿌리기, 받기와 같은 트랜잭션에서 전달 대기 이벤트 저장")
+    @Test
+    void saveInSameTransaction() {
+        //when
+        receiveService.receiveMoney(2, autoSetUpSpread.getRoomId(), autoSetUpSpread.getToken());
+        List<OutboxEvent> outboxEvents = outboxEventRepository.findBySpreadIdOrderByIdAsc(autoSetUpSpread.getId());
+
+        //then
+        assertThat(outboxEvents).extracting(OutboxEvent::getEventType)
+                .containsExactly(OutboxEventType.SPREAD_CREATED, OutboxEventType.MONEY_RECEIVED);
+    }
+
+    @DisplayName("전달 대기 이벤트를 뿌리기 별 발생 순으로 전달 후 삭제")
+    @Test
+    void relay() throws IOException {
+        //given
+        receiveService.receiveMoney(2, autoSetUpSpread.getRoomId(), autoSetUpSpread.getToken());
+        receiveService.receiveMoney(3, autoSetUpSpread.getRoomId(), autoSetUpSpread.getToken());
+
+        //when
+        int deliveredCount = outboxService.relay();
+        List<JsonNode> messages = receivedMessages(autoSetUpSpread.getId());
+
+        //then
+        assertThat(deliveredCount).isGreaterThanOrEqualTo(3);
+        assertThat(messages).extracting(m -> m.get("eventType").asText())
+                .containsExactly("SPREAD_CREATED", "MONEY_RECEIVED", "MONEY_RECEIVED");
+        assertThat(messages).extracting(m -> m.get("payload").path("receivedUserId").asInt())
+                .containsExactly(0, 2, 3);
+        assertThat(outboxEventRepository.findBySpreadIdOrderByIdAsc(autoSetUpSpread.getId())).isEmpty();
+    }
+
+    @DisplayName("전달 실패한 이벤트는 남겨두고 다음 전달에서 다시 전달 (at-least-once)")
+    @Test
+    void relayRetry() throws IOException {
+        //given
+        receiveService.receiveMoney(2, autoSetUpSpread.getRoomId(), autoSetUpSpread.getToken());
+        responseStatus.set(503);
+
+        //when
+        int failedDeliveredCount = outboxService.relay();
+        List<OutboxEvent> remainOutboxEvents = outboxEventRepository.findBySpreadIdOrderByIdAsc(autoSetUpSpread.getId());
+        responseStatus.set(200);
+        receivedBodies.clear();
+        outboxService.relay();
+        List<JsonNode> messages = receivedMessages(autoSetUpSpread.getId());
+
+        //then
+        assertThat(failedDeliveredCount).isZero();
+        assertThat(remainOutboxEvents).hasSize(2);
+        assertThat(messages).extracting(m -> m.get("eventId").asLong())
+                .containsExactly(remainOutboxEvents.get(0).getId(), remainOutboxEvents.get(1).getId());
+        assertThat(outboxEventRepository.findBySpreadIdOrderByIdAsc(autoSetUpSpread.getId())).isEmpty();
+    }
+
+    private List<JsonNode> receivedMessages(Long spreadId) throws IOException {
+        List<JsonNode> messages = new ArrayList<>();
+        for (byte[] body : receivedBodies) {
+            for (JsonNode message : objectMapper.readTree(body)) {
+                if (message.get("spreadId").asLong() == spreadId)
+                    messages.add(message);
+            }
+        }
+        return messages;
+    }
+}
@@ -0,0 +1,96 @@
+package me.study.spreadmoney.service;
+
+import me.study.spreadmoney.scheduler.Scheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doNothing;
+
+/**
+ * 받기 묶음 처리(group commit) 동시 요청 수별 받기 처리량과 커밋 수 측정, ./gradlew benchmark 로 실행
+ * 같은 token 에 동시 요청 1, 4, 16, 64 로 받기, 초당 받기 수와 초당 커밋 수 비교
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "config.receive.group-commit.enabled=true",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "decorator.datasource.p6spy.enable-logging=false"})
+class ReceiveGroupCommitBenchmarkTest {
+    private static final int RECEIVE_COUNT = 2_000;
+
+    @MockBean
+    private Scheduler scheduler;
+    @Autowired
+    ReceiveGroupCommitService receiveGroupCommitService;
+    @Autowired
+    SpreadService spreadService;
+
+    private final int spreadUserId = 1;
+    private final String roomId = "groupCommitBenchmarkRoom";
+
+    @BeforeEach
+    public void setUpForTest() {
+        //Scheduler method 비활성화
+        doNothing().when(scheduler).spreadToExpireSpread();
+    }
+
+    @DisplayName("받기 처리량과 커밋 수, 동시 요청 1, 4, 16, 64")
+    @Test
+    void receivesPerCommitByConcurrency() throws Exception {
+        for (int concurrency : new int[]{1, 4, 16, 64}) {
+            String token = spreadService.spreadMoney(spreadUserId, roomId, RECEIVE_COUNT * 100, RECEIVE_COUNT);
+            long beforeCommitCount = receiveGroupCommitService.getCommitCount();
+            long beforeReceiveCount = receiveGroupCommitService.getReceiveCount();
+
+            long start = System.nanoTime();
+            int receivedCount = receiveConcurrently(token, concurrency);
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+            long commitCount = receiveGroupCommitService.getCommitCount() - beforeCommitCount;
+            long receiveCount = receiveGroupCommitService.getReceiveCount() - beforeReceiveCount;
+            assertThat(receivedCount).isEqualTo(RECEIVE_COUNT);
+            assertThat(receiveCount).isEqualTo(RECEIVE_COUNT);
+            System.out.printf("[group commit benchmark] concurrency: %d, receives: %.0f/s, commits: %.0f/s, receives per commit: %.1f%n",
+                    concurrency, receiveCount / elapsedSeconds, commitCount / elapsedSeconds, (double) receiveCount / commitCount);
+        }
+    }
+
+    /**
+     * 동시 받기 (사용자마다 한 번)
+     * @return 받기 성공 수
+     */
+    private int receiveConcurrently(String token, int concurrency) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            CountDownLatch startLatch = new CountDownLatch(1);
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < RECEIVE_COUNT; i++) {
+                int userId = spreadUserId + 1 + i;
+                futures.add(executor.submit(() -> {
+                    startLatch.await();
+                    return receiveGroupCommitService.receiveMoney(userId, roomId, token) > 0;
+                }));
+            }
+            startLatch.countDown();
+            int receivedCount = 0;
+            for (Future<Boolean> future : futures)
+                receivedCount += future.get() ? 1 : 0;
+            return receivedCount;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
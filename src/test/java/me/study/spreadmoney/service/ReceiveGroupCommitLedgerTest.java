@@ -0,0 +1,145 @@
+package me.study.spreadmoney.service;
+
+import me.study.spreadmoney.entity.ClaimLedger;
+import me.study.spreadmoney.event.MoneyReceivedEvent;
+import me.study.spreadmoney.exception.PredictableRuntimeException;
+import me.study.spreadmoney.exception.RejectReason;
+import me.study.spreadmoney.repository.ClaimLedgerRepository;
+import me.study.spreadmoney.repository.SpreadRepository;
+import me.study.spreadmoney.scheduler.Scheduler;
+import me.study.spreadmoney.service.ReceiveService.Claim;
+import me.study.spreadmoney.service.ReceiveService.ClaimResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doNothing;
+
+/**
+ * 받기 원장 모드의 받기 묶음 (group commit)
+ */
+@SpringBootTest(properties = {"config.receive.ledger.enabled=true", "config.receive.group-commit.enabled=true"})
+@RecordApplicationEvents
+class ReceiveGroupCommitLedgerTest {
+
+    @MockBean
+    private Scheduler scheduler;
+    @Autowired SpreadService spreadService;
+    @Autowired ReceiveService receiveService;
+    @Autowired SpreadRepository spreadRepository;
+    @Autowired ClaimLedgerRepository claimLedgerRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired ApplicationEvents applicationEvents;
+
+    private final int spreadUserId = 9400;
+    private final String roomId = "groupLedgerRoom";
+
+    @BeforeEach
+    public void setUpForTest() {
+        //Scheduler method 비활성화
+        doNothing().when(scheduler).spreadToExpireSpread();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        //커밋된 받기 원장 정리 (다른 테스트의 원장 수 확인에 영향 없도록)
+        jdbcTemplate.update("delete from claim_ledger where spread_id in (select spread_id from spread where room_id = ?)", roomId);
+    }
+
+    @DisplayName("같은 묶음의 같은 사용자 받기는 원장 추가 전에 거절, 나머지 받기는 커밋")
+    @Test
+    void rejectDuplicateInGroup() {
+        //given
+        String token = spreadService.spreadMoney(spreadUserId, roomId, 10000, 3);
+        Long spreadId = spreadRepository.findByToken(token).get().getId();
+        applicationEvents.clear();
+
+        //when
+        List<ClaimResult> results = receiveService.receiveMoneyBatch(token, List.of(
+                new Claim(spreadUserId + 1, roomId), new Claim(spreadUserId + 1, roomId), new Claim(spreadUserId + 2, roomId)));
+
+        //then
+        assertThat(results.get(0).failure()).isNull();
+        assertThat(results.get(1).failure().getReason()).isEqualTo(RejectReason.ALREADY_RECEIVED);
+        assertThat(results.get(2).failure()).isNull();
+        List<ClaimLedger> ledgers = claimLedgerRepository.findBySpreadIdAndFoldedFalseAndConflictedFalseOrderByIdAsc(spreadId);
+        assertThat(ledgers).extracting(ClaimLedger::getReceivedUserId).containsExactly(spreadUserId + 1, spreadUserId + 2);
+        assertThat(ledgers).extracting(ClaimLedger::getSpreadDetailId).doesNotHaveDuplicates();
+        List<MoneyReceivedEvent> events = applicationEvents.stream(MoneyReceivedEvent.class).toList();
+        assertThat(events).hasSize(2);
+        assertThat(events.get(1).getRemainPeopleNum()).isEqualTo(1);
+
+        //checkMsg
+        System.err.println("ledgers = " + ledgers);
+    }
+
+    @DisplayName("받기 이벤트의 남은 인원은 추가한 원장 기준, 뿌리기를 읽은 후 반영된 다른 서버의 원장 포함")
+    @Test
+    void remainFromAppendedLedger() {
+        //given (다른 서버 인스턴스가 받고 반영까지 한 상태, 남은 인원은 아직 반영 전에 읽은 값이라고 가정하여 그대로 둠)
+        String token = spreadService.spreadMoney(spreadUserId, roomId, 10000, 3);
+        Long spreadId = spreadRepository.findByToken(token).get().getId();
+        Long spreadDetailId = jdbcTemplate.queryForObject(
+                "select min(spread_detail_id) from spread_detail where spread_id = ?", Long.class, spreadId);
+        Integer distributedMoney = jdbcTemplate.queryForObject(
+                "select distributed_money from spread_detail where spread_detail_id = ?", Integer.class, spreadDetailId);
+        ClaimLedger other = claimLedgerRepository.save(
+                ClaimLedger.createClaimLedger(spreadId, spreadDetailId, spreadUserId + 9, distributedMoney));
+        jdbcTemplate.update("update claim_ledger set folded = true where claim_ledger_id = ?", other.getId());
+        jdbcTemplate.update("update spread_detail set status = 'DONE', received_user_id = ?, received_date_time = now() where spread_detail_id = ?",
+                spreadUserId + 9, spreadDetailId);
+        applicationEvents.clear();
+
+        //when
+        List<ClaimResult> results = receiveService.receiveMoneyBatch(token, List.of(new Claim(spreadUserId + 1, roomId)));
+
+        //then
+        assertThat(results.get(0).failure()).isNull();
+        List<MoneyReceivedEvent> events = applicationEvents.stream(MoneyReceivedEvent.class).toList();
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getRemainPeopleNum()).isEqualTo(1);
+        assertThat(events.get(0).getRemainMoney()).isEqualTo(10000 - distributedMoney - results.get(0).receivedMoney());
+
+        //checkMsg
+        System.err.println("events = " + events);
+    }
+
+    @DisplayName("다른 트랜잭션의 원장과 충돌하면 묶음 전체 실패, 원장 추가와 받기 이벤트 없음")
+    @Test
+    void failGroupOnLedgerConflict() {
+        //given (다른 서버 인스턴스가 먼저 받고 반영 표시까지 한 뿌리기 상세, 스냅샷은 아직 받을 수 있는 상태)
+        String token = spreadService.spreadMoney(spreadUserId, roomId, 10000, 2);
+        Long spreadId = spreadRepository.findByToken(token).get().getId();
+        Long spreadDetailId = jdbcTemplate.queryForObject(
+                "select min(spread_detail_id) from spread_detail where spread_id = ?", Long.class, spreadId);
+        Integer distributedMoney = jdbcTemplate.queryForObject(
+                "select distributed_money from spread_detail where spread_detail_id = ?", Integer.class, spreadDetailId);
+        ClaimLedger conflict = claimLedgerRepository.save(
+                ClaimLedger.createClaimLedger(spreadId, spreadDetailId, spreadUserId + 9, distributedMoney));
+        jdbcTemplate.update("update claim_ledger set folded = true where claim_ledger_id = ?", conflict.getId());
+        applicationEvents.clear();
+
+        //when (두 받기가 뿌리기 상세 두 개를 나눠 가지므로 하나는 반드시 충돌)
+        PredictableRuntimeException ex = assertThrows(PredictableRuntimeException.class, () ->
+                receiveService.receiveMoneyBatch(token, List.of(new Claim(spreadUserId + 1, roomId), new Claim(spreadUserId + 2, roomId))));
+
+        //then
+        assertThat(ex.getReason()).isEqualTo(RejectReason.RECEIVE_FAILED);
+        assertThat(claimLedgerRepository.findBySpreadIdAndFoldedFalseAndConflictedFalseOrderByIdAsc(spreadId)).isEmpty();
+        assertThat(applicationEvents.stream(MoneyReceivedEvent.class)).isEmpty();
+
+        //checkMsg
+        System.err.println("ex = " + ex.getMessage());
+    }
+}
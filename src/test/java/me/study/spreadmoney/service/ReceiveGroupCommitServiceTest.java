@@ -0,0 +1,94 @@
+package me.study.spreadmoney.service;
+
+import me.study.spreadmoney.scheduler.Scheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntUnaryOperator;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.doNothing;
+
+@SpringBootTest(properties = {"config.receive.group-commit.enabled=true", "config.receive.group-commit.window-millis=5"})
+class ReceiveGroupCommitServiceTest {
+
+    @MockBean
+    private Scheduler scheduler;
+    @Autowired ReceiveGroupCommitService receiveGroupCommitService;
+    @Autowired SpreadService spreadService;
+
+    private final int spreadUserId = 1;
+    private final String roomId = "groupCommitRoom";
+    private ExecutorService executorService;
+
+    @BeforeEach
+    public void setUpForTest() {
+        //Scheduler method 비활성화
+        doNothing().when(scheduler).spreadToExpireSpread();
+        executorService = Executors.newFixedThreadPool(64);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @DisplayName("같은 token 동시 받기는 묶어서 커밋하고 요청별로 자기 결과를 받음")
+    @Test
+    void concurrentReceiveInGroups() throws Exception {
+        //given
+        int totalMoney = 100000;
+        int peopleNum = 50;
+        String token = spreadService.spreadMoney(spreadUserId, roomId, totalMoney, peopleNum);
+        long beforeCommitCount = receiveGroupCommitService.getCommitCount();
+
+        //when (한 사용자는 두 번 요청)
+        List<Integer> results = receiveConcurrently(token, peopleNum + 1, index -> index == peopleNum ? 2 : index + 2);
+
+        //then
+        List<Integer> received = results.stream().filter(money -> money > 0).toList();
+        assertThat(received).hasSize(peopleNum);
+        assertThat(received.stream().mapToInt(Integer::intValue).sum()).isEqualTo(totalMoney);
+        assertThat(results).filteredOn(money -> money < 0).hasSize(1);
+        long commitCount = receiveGroupCommitService.getCommitCount() - beforeCommitCount;
+        assertThat(commitCount).isLessThan(peopleNum);
+
+        //checkMsg
+        System.err.println("received = " + received.size() + ", commitCount = " + commitCount);
+    }
+
+    /**
+     * 동시 받기, 실패한 요청은 -1
+     */
+    private List<Integer> receiveConcurrently(String token, int requestNum, IntUnaryOperator userIdOf) throws Exception {
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < requestNum; i++) {
+            int userId = userIdOf.applyAsInt(i);
+            futures.add(executorService.submit(() -> {
+                startLatch.await();
+                try {
+                    return receiveGroupCommitService.receiveMoney(userId, roomId, token);
+                } catch (RuntimeException ex) {
+                    return -1;
+                }
+            }));
+        }
+        startLatch.countDown();
+        List<Integer> results = new ArrayList<>();
+        for (Future<Integer> future : futures)
+            results.add(future.get());
+        return results;
+    }
+}
@@ -0,0 +1,193 @@
+package me.study.spreadmoney.service;
+
+import me.study.spreadmoney.event.MoneyReceivedEvent;
+import me.study.spreadmoney.repository.SpreadRepository;
+import me.study.spreadmoney.scheduler.Scheduler;
+import me.study.spreadmoney.service.ReceiveNotificationService.Subscriber;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.Stream;
+
+import static me.study.spreadmoney.api.ControllerHelper.HEADER_ROOM_ID;
+import static me.study.spreadmoney.api.ControllerHelper.HEADER_USER_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.Mockito.doNothing;
+
+/**
+ * 받기 알림 구독은 받기 트랜잭션 커밋 후 전송되므로 테스트 트랜잭션 없이 실제 HTTP 연결로 확인
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReceiveNotificationServiceTest {
+    @MockBean
+    private Scheduler scheduler;
+    @LocalServerPort
+    int port;
+    @Autowired
+    SpreadService spreadService;
+    @Autowired
+    ReceiveService receiveService;
+    @Autowired
+    SpreadRepository spreadRepository;
+    @Autowired
+    ReceiveNotificationService receiveNotificationService;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final int spreadUserId = 1;
+    private final String roomId = "testRoom";
+    private String token;
+
+    @BeforeEach
+    public void setUpForTest() {
+        //Scheduler method 비활성화
+        doNothing().when(scheduler).spreadToExpireSpread();
+
+        //2명에게 뿌리기 (커밋)
+        token = spreadService.spreadMoney(spreadUserId, roomId, 10000, 2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        spreadRepository.findByToken(token).ifPresent(spreadRepository::delete);
+    }
+
+    @DisplayName("구독 후 받기가 발생하면 받기 알림, 모두 받아가면 마지막 알림")
+    @Test
+    void subscribeReceive() throws IOException, InterruptedException {
+        //given
+        HttpResponse<Stream<String>> response = subscribe(spreadUserId);
+        Iterator<String> lines = response.body().iterator();
+        List<String> eventNames = new ArrayList<>();
+
+        //when
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            eventNames.add(nextEventName(lines));
+            receiveService.receiveMoney(spreadUserId + 1, roomId, token);
+            receiveService.receiveMoney(spreadUserId + 2, roomId, token);
+            for (int i = 0; i < 3; i++) {
+                eventNames.add(nextEventName(lines));
+            }
+        });
+
+        //then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(eventNames).containsExactly("snapshot", "receive", "receive", "done");
+    }
+
+    @DisplayName("쓰기가 막힌 구독자가 많아도 쓰기 스레드 수는 writer-threads 이하, 막힌 구독자는 모두 구독 종료")
+    @Test
+    @SuppressWarnings("unchecked")
+    void boundWritersForStalledSubscribers() {
+        //given (연결 쓰기가 끝나지 않는 구독자, 쓰기 스레드 최대 수보다 많이 등록)
+        int writerThreads = (int) ReflectionTestUtils.getField(receiveNotificationService, "writer_threads");
+        Object sendTimeoutMillis = ReflectionTestUtils.getField(receiveNotificationService, "send_timeout_millis");
+        ReflectionTestUtils.setField(receiveNotificationService, "send_timeout_millis", 100L);
+        Long spreadId = spreadRepository.findByToken(token).get().getId();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Subscriber> subscribers = new ArrayList<>();
+        for (int i = 0; i < writerThreads * 2; i++)
+            subscribers.add(new Subscriber(spreadId, token, LocalDateTime.now().plusMinutes(10),
+                    new StalledEmitter(release), new ArrayBlockingQueue<>(32)));
+        ((Map<String, Set<Subscriber>>) ReflectionTestUtils.getField(receiveNotificationService, "subscribersByToken"))
+                .computeIfAbsent(token, t -> ConcurrentHashMap.newKeySet()).addAll(subscribers);
+
+        try {
+            //when
+            receiveNotificationService.onMoneyReceived(new MoneyReceivedEvent(
+                    spreadId, token, spreadUserId, roomId, spreadUserId + 1, 1000, 9000, 1, LocalDateTime.now()));
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                while (subscribers.stream().anyMatch(subscriber -> !subscriber.isClosed()))
+                    Thread.sleep(50);
+            });
+
+            //then
+            ThreadPoolExecutor writerExecutor =
+                    (ThreadPoolExecutor) ReflectionTestUtils.getField(receiveNotificationService, "writerExecutor");
+            assertThat(writerExecutor.getLargestPoolSize()).isLessThanOrEqualTo(writerThreads);
+            assertThat(writerExecutor.getActiveCount()).isLessThanOrEqualTo(writerThreads);
+
+            //checkMsg
+            System.err.println("writerThreads = " + writerThreads + ", largestPoolSize = " + writerExecutor.getLargestPoolSize());
+        } finally {
+            release.countDown();
+            ReflectionTestUtils.setField(receiveNotificationService, "send_timeout_millis", sendTimeoutMillis);
+        }
+    }
+
+    @DisplayName("뿌린 사람이 아니라면 구독할 수 없음")
+    @Test
+    void otherUserSubscribe() throws IOException, InterruptedException {
+        //when
+        HttpResponse<Stream<String>> response = subscribe(spreadUserId + 1);
+
+        //then
+        assertThat(response.statusCode()).isEqualTo(400);
+    }
+
+    private HttpResponse<Stream<String>> subscribe(int userId) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/lookup/" + token + "/subscribe"))
+                .header(HEADER_USER_ID, String.valueOf(userId))
+                .header(HEADER_ROOM_ID, roomId)
+                .header("Accept", "text/event-stream, application/json")
+                .GET()
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofLines());
+    }
+
+    /**
+     * 연결 쓰기가 release 전까지 끝나지 않는 전송 객체 (interrupt 에도 멈추지 않는 막힌 소켓 쓰기)
+     */
+    private static class StalledEmitter extends SseEmitter {
+        private final CountDownLatch release;
+
+        StalledEmitter(CountDownLatch release) {
+            super(60_000L);
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            while (release.getCount() > 0) {
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                }
+            }
+            throw new IOException("연결 종료");
+        }
+    }
+
+    private String nextEventName(Iterator<String> lines) {
+        while (lines.hasNext()) {
+            String line = lines.next();
+            if (line.startsWith("event:"))
+                return line.substring("event:".length()).trim();
+        }
+        return null;
+    }
+}
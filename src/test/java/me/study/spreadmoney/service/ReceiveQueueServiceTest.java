@@ -0,0 +1,118 @@
+package me.study.spreadmoney.service;
+
+import me.study.spreadmoney.exception.PredictableRuntimeException;
+import me.study.spreadmoney.scheduler.Scheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doNothing;
+
+@SpringBootTest(properties = "config.receive.async.enabled=true")
+class ReceiveQueueServiceTest {
+
+    @MockBean
+    private Scheduler scheduler;
+    @Autowired ReceiveQueueService receiveQueueService;
+    @Autowired SpreadService spreadService;
+
+    private final int spreadUserId = 1;
+    private final String roomId = "asyncReceiveRoom";
+
+    @BeforeEach
+    public void setUpForTest() {
+        //Scheduler method 비활성화
+        doNothing().when(scheduler).spreadToExpireSpread();
+    }
+
+    @DisplayName("대기열의 받기는 도착 순서대로 처리, 모두 받아간 뒤의 요청은 접수하지 않고 거절")
+    @Test
+    void receiveInArrivalOrder() throws Exception {
+        //given
+        int totalMoney = 10000;
+        String token = spreadService.spreadMoney(spreadUserId, roomId, totalMoney, 2);
+
+        //when
+        List<ReceiveTicket> tickets = new ArrayList<>();
+        for (int userId = 2; userId <= 5; userId++)
+            tickets.add(receiveQueueService.enqueue(userId, roomId, token, null));
+        for (ReceiveTicket ticket : tickets)
+            ticket.getCompletion().get(10, TimeUnit.SECONDS);
+
+        //then
+        assertThat(tickets).extracting(ReceiveTicket::getStatus).containsExactly(
+                ReceiveTicket.Status.RECEIVED, ReceiveTicket.Status.RECEIVED,
+                ReceiveTicket.Status.FAILED, ReceiveTicket.Status.FAILED);
+        assertThat(tickets.get(0).getReceivedMoney() + tickets.get(1).getReceivedMoney()).isEqualTo(totalMoney);
+        assertThat(tickets.get(3).getMessage()).isEqualTo("이미 모두 받아간 뿌리기입니다.");
+        assertThat(tickets).extracting(ReceiveTicket::getPosition).containsOnly(0L);
+        PredictableRuntimeException ex = assertThrows(PredictableRuntimeException.class,
+                () -> receiveQueueService.enqueue(6, roomId, token, null));
+
+        //checkMsg
+        tickets.forEach(ticket -> System.err.println(
+                "userId = " + ticket.getUserId() + ", status = " + ticket.getStatus() + ", money = " + ticket.getReceivedMoney()));
+        System.err.println("ex.getMessage() = " + ex.getMessage());
+    }
+
+    @DisplayName("접수증은 받기 요청한 사용자만 조회할 수 있음")
+    @Test
+    void findTicketOfOtherUser() throws Exception {
+        //given
+        String token = spreadService.spreadMoney(spreadUserId, roomId, 10000, 3);
+        ReceiveTicket ticket = receiveQueueService.enqueue(2, roomId, token, null);
+        ticket.getCompletion().get(10, TimeUnit.SECONDS);
+
+        //when
+        ReceiveTicket found = receiveQueueService.findTicket(2, ticket.getId());
+        PredictableRuntimeException ex = assertThrows(PredictableRuntimeException.class,
+                () -> receiveQueueService.findTicket(3, ticket.getId()));
+
+        //then
+        assertThat(found).isSameAs(ticket);
+        assertThat(ex.getMessage()).isEqualTo("유효하지 않은 접수증입니다.");
+
+        //checkMsg
+        System.err.println("ex.getMessage() = " + ex.getMessage());
+    }
+
+    @DisplayName("사용하지 않는 token 대기열은 비어있을 때 삭제, 이후 접수는 새 대기열에서 처리")
+    @Test
+    void evictIdleQueue() throws Exception {
+        //given
+        String token = spreadService.spreadMoney(spreadUserId, roomId, 10000, 3);
+        ReceiveTicket first = receiveQueueService.enqueue(2, roomId, token, null);
+        first.getCompletion().get(10, TimeUnit.SECONDS);
+
+        //when (보관 시간 0 으로 줄여 대기열, 접수증 삭제)
+        Object ticketTtlMillis = ReflectionTestUtils.getField(receiveQueueService, "ticket_ttl_millis");
+        ReflectionTestUtils.setField(receiveQueueService, "ticket_ttl_millis", 0L);
+        int evicted;
+        try {
+            Thread.sleep(5);
+            evicted = receiveQueueService.evictExpired();
+        } finally {
+            ReflectionTestUtils.setField(receiveQueueService, "ticket_ttl_millis", ticketTtlMillis);
+        }
+        ReceiveTicket second = receiveQueueService.enqueue(3, roomId, token, null);
+        second.getCompletion().get(10, TimeUnit.SECONDS);
+
+        //then
+        assertThat(evicted).isPositive();
+        assertThat(second.getStatus()).isEqualTo(ReceiveTicket.Status.RECEIVED);
+        assertThrows(PredictableRuntimeException.class, () -> receiveQueueService.findTicket(2, first.getId()));
+
+        //checkMsg
+        System.err.println("evicted = " + evicted + ", second = " + second.getReceivedMoney());
+    }
+}
@@ -7,10 +7,12 @@ import me.study.spreadmoney.entity.Spread;
 import me.study.spreadmoney.entity.SpreadDetail;
 import me.study.spreadmoney.entity.enumerated.SpreadDetailStatus;
 import me.study.spreadmoney.exception.PredictableRuntimeException;
+import me.study.spreadmoney.exception.RejectReason;
 import me.study.spreadmoney.repository.ExpiredSpreadRepository;
 import me.study.spreadmoney.repository.SpreadDetailRepository;
 import me.study.spreadmoney.repository.SpreadRepository;
 import me.study.spreadmoney.scheduler.Scheduler;
+import me.study.spreadmoney.support.SqlStatementBudget;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -39,6 +41,8 @@ class ReceiveServiceTest {
     SpreadDetailRepository spreadDetailRepository;
     @Autowired
     ExpiredSpreadRepository expiredSpreadRepository;
+    @Autowired
+    SqlStatementBudget sqlStatementBudget;
     @PersistenceContext
     EntityManager em;
 
@@ -97,8 +101,9 @@ class ReceiveServiceTest {
         String roomId = autoSetUpSpread.getRoomId();
         String token = autoSetUpSpread.getToken();
 
-        //when
-        int receivedMoney = receiveService.receiveMoney(userId, roomId, token);
+        //when (뿌리기 조회, 뿌리기 상세 조회, 뿌리기 수정, 뿌리기 상세 수정)
+        int receivedMoney = sqlStatementBudget.expect("receive", 4,
+                () -> receiveService.receiveMoney(userId, roomId, token));
         SpreadDetail findSpreadDetail = spreadDetailRepository.findByDistributedMoneyAndStatusAndReceivedUserId(
                 receivedMoney,
                 SpreadDetailStatus.DONE,
@@ -121,13 +126,19 @@ class ReceiveServiceTest {
         String roomId = autoSetUpSpread.getRoomId();
         String token = autoSetUpSpread.getToken();
 
-        //when
+        //when (뿌리기 조회 후 거절)
         PredictableRuntimeException predictableRuntimeException = assertThrows(
                 PredictableRuntimeException.class,
-                () -> receiveService.receiveMoney(userId, roomId, token));
+                () -> sqlStatementBudget.expect("receive own spread", 1,
+                        () -> receiveService.receiveMoney(userId, roomId, token)));
+
+        //then (거절 사유별로 미리 만든 예외, stack trace 없음)
+        assertThat(predictableRuntimeException).isSameAs(PredictableRuntimeException.of(RejectReason.RECEIVE_OWN_SPREAD));
+        assertThat(predictableRuntimeException.getStackTrace()).isEmpty();
 
         //checkMsg
         System.err.println(predictableRuntimeException.getMessage());
+        System.err.println(sqlStatementBudget.getStatements());
     }
     @DisplayName("다른방 뿌리기 돈 받을 수 없음")
     @Test
@@ -232,6 +243,11 @@ class ReceiveServiceTest {
                 PredictableRuntimeException.class,
                 () -> receiveService.receiveMoney(userId, roomId, token));
 
+        //then (만료 일시를 덧붙인 거절, stack trace 없음)
+        assertThat(predictableRuntimeException.getReason()).isEqualTo(RejectReason.RECEIVE_EXPIRED);
+        assertThat(predictableRuntimeException.getMessage()).startsWith(RejectReason.RECEIVE_EXPIRED.getMessage() + " 만료 일시: ");
+        assertThat(predictableRuntimeException.getStackTrace()).isEmpty();
+
         //checkMsg
         System.err.println(predictableRuntimeException.getMessage());
     }
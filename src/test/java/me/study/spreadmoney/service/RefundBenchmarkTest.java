@@ -0,0 +1,108 @@
+package me.study.spreadmoney.service;
+
+import me.study.spreadmoney.scheduler.Scheduler;
+import me.study.spreadmoney.service.RefundService.RefundBatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doNothing;
+
+/**
+ * 돌려주기 처리량 측정, ./gradlew benchmark 로 실행
+ * 1분 사이에 받기 만료된 뿌리기 10만 건(-Drefund.benchmark.rows 로 변경)을 넣고 모두 돌려줄 때까지 묶음 반복
+ * 1) 실행 계획이 (돌려준 시각, 받기 만료 시각, 아이디) 인덱스를 사용하는지 확인
+ * 2) 전체 처리 시간, 초당 뿌리기 수, 묶음별 지연 시간 (전달 대기 이벤트 저장 포함)
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:file:${java.io.tmpdir}/spread-refund-benchmark/db",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "decorator.datasource.p6spy.enable-logging=false",
+        "config.refund.enabled=true",
+        "config.refund.grace-millis=0",
+        "config.outbox.enabled=true"})
+class RefundBenchmarkTest {
+    private static final int ROW_COUNT = Integer.getInteger("refund.benchmark.rows", 100_000);
+    private static final long ID_OFFSET = 1_000_000_000L;
+
+    @MockBean
+    private Scheduler scheduler;
+    @Autowired
+    RefundService refundService;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUpForTest() {
+        //Scheduler method 비활성화
+        doNothing().when(scheduler).spreadToExpireSpread();
+    }
+
+    @DisplayName("받기 만료된 뿌리기 10만 건 돌려주기 처리량")
+    @Test
+    void refundThroughput() {
+        //1분 사이에 받기 만료된 뿌리기, 뿌리기 상세는 받은 상세 1건 + 남은 상세 1건
+        long start = System.nanoTime();
+        jdbcTemplate.update("""
+                insert into spread (spread_id, token, user_id, room_id, total_money, total_people_num, remain_money, remain_people_num,
+                    spread_date_time, receivable_expire_date_time, viewable_expire_date_time)
+                select ? + x, 'F' || x, mod(x, 1000) + 1, 'benchmarkRoom' || mod(x, 100), 10000, 2, 5000, 1,
+                    dateadd('MINUTE', -11, current_timestamp), dateadd('MILLISECOND', -mod(x, 60000), dateadd('MINUTE', -1, current_timestamp)),
+                    dateadd('DAY', 7, current_timestamp)
+                from system_range(1, ?)
+                """, ID_OFFSET, ROW_COUNT);
+        jdbcTemplate.update("""
+                insert into spread_detail (spread_detail_id, spread_id, distributed_money, received_user_id, received_date_time, status)
+                select ? + x, ? + (x + 1) / 2, 5000,
+                    case when mod(x, 2) = 1 then 9999 else 0 end,
+                    case when mod(x, 2) = 1 then dateadd('MINUTE', -5, current_timestamp) end,
+                    case when mod(x, 2) = 1 then 'DONE' else 'RECEIVABLE' end
+                from system_range(1, ?)
+                """, ID_OFFSET * 2, ID_OFFSET, ROW_COUNT * 2);
+        System.out.printf("[refund benchmark] rows: %d, insert: %.1f s%n", ROW_COUNT, (System.nanoTime() - start) / 1e9);
+
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("""
+                explain select spread_id from spread where refunded_date_time is null and receivable_expire_date_time < current_timestamp
+                    and receivable_expire_date_time >= timestamp '1970-01-01 00:00:00'
+                    and (receivable_expire_date_time > timestamp '1970-01-01 00:00:00' or spread_id > 0)
+                    order by receivable_expire_date_time, spread_id limit 1000
+                """);
+        String planText = plan.get(0).values().iterator().next().toString();
+        System.out.println("[refund benchmark] plan: " + planText.replaceAll("\\s+", " "));
+        assertThat(planText).containsIgnoringCase("idx_spread_refund");
+
+        //모두 돌려줄 때까지 묶음 반복 (Scheduler 와 같은 순서)
+        List<Long> batchNanos = new ArrayList<>();
+        long refundedMoney = 0;
+        RefundBatch batch = RefundBatch.FIRST;
+        start = System.nanoTime();
+        while (batch.hasNext()) {
+            long batchStart = System.nanoTime();
+            batch = refundService.refundBatch(batch);
+            batchNanos.add(System.nanoTime() - batchStart);
+            refundedMoney += batch.refundedMoney();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Integer refundedDetailCount = jdbcTemplate.queryForObject(
+                "select count(*) from spread_detail where status = 'REFUNDED' and spread_id > ?", Integer.class, ID_OFFSET);
+        assertThat(refundedDetailCount).isEqualTo(ROW_COUNT);
+        assertThat(refundedMoney).isEqualTo(5000L * ROW_COUNT);
+
+        List<Long> sorted = batchNanos.stream().sorted().toList();
+        System.out.printf("[refund benchmark] spreads: %d, batches: %d, total: %.2f s, %.0f spreads/s, batch p50: %.1f ms, p99: %.1f ms%n",
+                ROW_COUNT, batchNanos.size(), seconds, ROW_COUNT / seconds,
+                sorted.get(sorted.size() / 2) / 1e6, sorted.get((int) (sorted.size() * 0.99)) / 1e6);
+    }
+}
@@ -0,0 +1,147 @@
+package me.study.spreadmoney.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import me.study.spreadmoney.entity.OutboxEvent;
+import me.study.spreadmoney.entity.Spread;
+import me.study.spreadmoney.entity.SpreadDetail;
+import me.study.spreadmoney.entity.enumerated.OutboxEventType;
+import me.study.spreadmoney.entity.enumerated.SpreadDetailStatus;
+import me.study.spreadmoney.repository.OutboxEventRepository;
+import me.study.spreadmoney.repository.SpreadRepository;
+import me.study.spreadmoney.scheduler.Scheduler;
+import me.study.spreadmoney.service.RefundService.RefundBatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doNothing;
+
+@SpringBootTest(properties = {"config.refund.enabled=true", "config.refund.grace-millis=0", "config.outbox.enabled=true"})
+@Transactional
+class RefundServiceTest {
+    @MockBean
+    private Scheduler scheduler;
+    @Autowired RefundService refundService;
+    @Autowired ClaimLedgerService claimLedgerService;
+    @Autowired SpreadRepository spreadRepository;
+    @Autowired OutboxEventRepository outboxEventRepository;
+    @PersistenceContext
+    EntityManager em;
+
+    private final int spreadUserId = 9200;
+    private final int receivedUserId = 9201;
+    private final String roomId = "refundRoom";
+
+    @BeforeEach
+    public void setUpForTest() {
+        //Scheduler method 비활성화
+        doNothing().when(scheduler).spreadToExpireSpread();
+    }
+
+    @DisplayName("받기 만료된 뿌리기의 남은 금액을 돌려주고 다시 실행해도 돌려주지 않음")
+    @Test
+    void refundRemainMoneyOnce() {
+        //given (RF1: 3000 받음, 7000 남음 / RF2: 모두 받음 / RF3: 받기 만료 전)
+        LocalDateTime now = LocalDateTime.now();
+        Spread partial = saveSpread("RF1", now.minusMinutes(1), 3000, 3000, 4000);
+        Spread exhausted = saveSpread("RF2", now.minusMinutes(1), 5000);
+        Spread receivable = saveSpread("RF3", now.plusMinutes(10), 5000, 5000);
+        exhausted.updateRemainInfo(5000);
+        exhausted.getSpreadDetails().get(0).setReceiveInfo(receivedUserId);
+        partial.updateRemainInfo(3000);
+        partial.getSpreadDetails().get(0).setReceiveInfo(receivedUserId);
+        em.flush();
+        em.clear();
+
+        //when
+        refundAll();
+        refundAll();
+        em.clear();
+
+        //then
+        assertThat(statuses("RF1")).containsExactly(SpreadDetailStatus.DONE, SpreadDetailStatus.REFUNDED, SpreadDetailStatus.REFUNDED);
+        assertThat(statuses("RF2")).containsExactly(SpreadDetailStatus.DONE);
+        assertThat(statuses("RF3")).containsExactly(SpreadDetailStatus.RECEIVABLE, SpreadDetailStatus.RECEIVABLE);
+        assertThat(spreadRepository.findByToken("RF2").get().getRefundedDateTime()).isNotNull();
+        assertThat(spreadRepository.findByToken("RF3").get().getRefundedDateTime()).isNull();
+
+        List<OutboxEvent> refundEvents = refundEvents(partial.getId());
+        assertThat(refundEvents).hasSize(1);
+        assertThat(refundEvents.get(0).getPayload()).contains("\"refundedMoney\":7000", "\"refundedPeopleNum\":2");
+        assertThat(refundEvents(exhausted.getId())).isEmpty();
+        assertThat(refundEvents(receivable.getId())).isEmpty();
+
+        //checkMsg
+        System.err.println("refundEvents = " + refundEvents.get(0).getPayload());
+    }
+
+    @DisplayName("반영되지 않은 받기 원장은 먼저 반영한 후 남은 금액을 돌려줌")
+    @Test
+    void foldLedgerBeforeRefund() {
+        //given (받기 원장에만 있는 받기)
+        Spread spread = saveSpread("RF4", LocalDateTime.now().minusMinutes(1), 6000, 4000);
+        em.flush();
+        SpreadDetail claimed = spread.getSpreadDetails().get(0);
+        claimLedgerService.append(spread.getId(), claimed.getId(), receivedUserId, claimed.getDistributedMoney());
+        em.clear();
+
+        //when
+        refundAll();
+        em.clear();
+
+        //then
+        assertThat(statuses("RF4")).containsExactly(SpreadDetailStatus.DONE, SpreadDetailStatus.REFUNDED);
+        List<OutboxEvent> refundEvents = refundEvents(spread.getId());
+        assertThat(refundEvents).hasSize(1);
+        assertThat(refundEvents.get(0).getPayload()).contains("\"refundedMoney\":4000");
+
+        //checkMsg
+        System.err.println("statuses = " + statuses("RF4"));
+    }
+
+    /**
+     * 남은 뿌리기가 없을 때까지 돌려주기 (Scheduler 와 같은 순서)
+     */
+    private void refundAll() {
+        RefundBatch batch = RefundBatch.FIRST;
+        while (batch.hasNext())
+            batch = refundService.refundBatch(batch);
+    }
+
+    private List<SpreadDetailStatus> statuses(String token) {
+        return spreadRepository.findByToken(token).get().getSpreadDetails().stream()
+                .sorted((d1, d2) -> Long.compare(d1.getId(), d2.getId()))
+                .map(SpreadDetail::getStatus)
+                .toList();
+    }
+
+    private List<OutboxEvent> refundEvents(Long spreadId) {
+        return outboxEventRepository.findBySpreadIdOrderByIdAsc(spreadId).stream()
+                .filter(outboxEvent -> outboxEvent.getEventType() == OutboxEventType.SPREAD_REFUNDED)
+                .toList();
+    }
+
+    /**
+     * 뿌리기 저장, 뿌리기 상세는 distributedMoneys 순서로 생성 (모두 받기 전 상태)
+     */
+    private Spread saveSpread(String token, LocalDateTime receivableExpireDateTime, int... distributedMoneys) {
+        int totalMoney = 0;
+        for (int distributedMoney : distributedMoneys)
+            totalMoney += distributedMoney;
+        Spread spread = Spread.createSpread(token, spreadUserId, roomId, totalMoney, distributedMoneys.length,
+                totalMoney, distributedMoneys.length,
+                receivableExpireDateTime.minusMinutes(10), receivableExpireDateTime, receivableExpireDateTime.plusDays(7));
+        for (int distributedMoney : distributedMoneys)
+            SpreadDetail.createSpreadDetails(spread, distributedMoney);
+        return spreadRepository.save(spread);
+    }
+}
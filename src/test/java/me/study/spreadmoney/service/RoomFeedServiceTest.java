@@ -0,0 +1,99 @@
+package me.study.spreadmoney.service;
+
+import me.study.spreadmoney.api.dto.RoomFeedSpreadDto;
+import me.study.spreadmoney.scheduler.Scheduler;
+import me.study.spreadmoney.support.SqlStatementBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.doNothing;
+
+@SpringBootTest
+class RoomFeedServiceTest {
+
+    @MockBean
+    private Scheduler scheduler;
+    @Autowired RoomFeedService roomFeedService;
+    @Autowired SpreadService spreadService;
+    @Autowired ReceiveService receiveService;
+    @Autowired SqlStatementBudget sqlStatementBudget;
+
+    private final int spreadUserId = 1;
+    private final String roomId = "feedRoom";
+
+    @BeforeEach
+    public void setUpForTest() {
+        //Scheduler method 비활성화
+        doNothing().when(scheduler).spreadToExpireSpread();
+        roomFeedService.clearLocal();
+    }
+
+    @DisplayName("대화방 피드는 처음만 DB 에서 읽고 이후 뿌리기/받기는 메모리 목록에 반영")
+    @Test
+    void followSpreadAndReceive() {
+        //given
+        String token1 = spreadService.spreadMoney(spreadUserId, roomId, 10000, 2);
+        String token2 = spreadService.spreadMoney(spreadUserId, roomId, 5000, 1);
+        List<RoomFeedSpreadDto> loaded = roomFeedService.findReceivableSpreads(roomId);
+
+        //when
+        receiveService.receiveMoney(2, roomId, token2);
+        receiveService.receiveMoney(3, roomId, token1);
+        String token3 = spreadService.spreadMoney(spreadUserId, roomId, 3000, 3);
+        List<RoomFeedSpreadDto> cached = sqlStatementBudget.expect("room feed", 0,
+                () -> roomFeedService.findReceivableSpreads(roomId));
+
+        //then
+        assertThat(loaded).extracting(RoomFeedSpreadDto::getToken).contains(token1, token2);
+        assertThat(cached).extracting(RoomFeedSpreadDto::getToken).contains(token1, token3).doesNotContain(token2);
+        assertThat(cached).filteredOn(spread -> spread.getToken().equals(token1))
+                .extracting(RoomFeedSpreadDto::getRemainPeopleNum).containsExactly(1);
+        assertThat(cached.get(0).getToken()).isEqualTo(token3);
+
+        //checkMsg
+        System.err.println("loaded = " + loaded);
+        System.err.println("cached = " + cached);
+    }
+
+    @DisplayName("대화방 목록은 최대 size 건, 모두 받아 size 건보다 적어지면 DB 에서 다시 읽음")
+    @Test
+    void trimAndRefill() {
+        //given (피드 최대 2건, DB 에는 받을 수 있는 뿌리기 3건)
+        String trimRoomId = "feedTrimRoom";
+        Object originalSize = ReflectionTestUtils.getField(roomFeedService, "size");
+        ReflectionTestUtils.setField(roomFeedService, "size", 2);
+        try {
+            String token1 = spreadService.spreadMoney(spreadUserId, trimRoomId, 10000, 2);
+            String token2 = spreadService.spreadMoney(spreadUserId, trimRoomId, 10000, 2);
+            String token3 = spreadService.spreadMoney(spreadUserId, trimRoomId, 10000, 2);
+            List<RoomFeedSpreadDto> loaded = roomFeedService.findReceivableSpreads(trimRoomId);
+
+            //when
+            String token4 = spreadService.spreadMoney(spreadUserId, trimRoomId, 5000, 1);
+            List<RoomFeedSpreadDto> trimmed = sqlStatementBudget.expect("room feed trimmed", 0,
+                    () -> roomFeedService.findReceivableSpreads(trimRoomId));
+            receiveService.receiveMoney(2, trimRoomId, token4);
+            List<RoomFeedSpreadDto> refilled = sqlStatementBudget.expect("room feed refill", 1,
+                    () -> roomFeedService.findReceivableSpreads(trimRoomId));
+
+            //then
+            assertThat(loaded).extracting(RoomFeedSpreadDto::getToken).containsExactly(token3, token2);
+            assertThat(trimmed).extracting(RoomFeedSpreadDto::getToken).containsExactly(token4, token3);
+            assertThat(refilled).extracting(RoomFeedSpreadDto::getToken).containsExactly(token3, token2).doesNotContain(token1);
+
+            //checkMsg
+            System.err.println("trimmed = " + trimmed);
+            System.err.println("refilled = " + refilled);
+        } finally {
+            ReflectionTestUtils.setField(roomFeedService, "size", originalSize);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package me.study.spreadmoney.service;
+
+import me.study.spreadmoney.event.MoneyReceivedEvent;
+import me.study.spreadmoney.event.SpreadExpiredEvent;
+import me.study.spreadmoney.scheduler.Scheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doNothing;
+
+@SpringBootTest
+class SpreadVersionRegistryTest {
+    @MockBean
+    private Scheduler scheduler;
+    @Autowired
+    SpreadVersionRegistry spreadVersionRegistry;
+
+    private final int spreadUserId = 1;
+    private final String roomId = "testRoom";
+    private final LocalDateTime viewableExpireDateTime = LocalDateTime.now().plusDays(7);
+
+    @BeforeEach
+    public void setUpForTest() {
+        //Scheduler method 비활성화
+        doNothing().when(scheduler).spreadToExpireSpread();
+    }
+
+    @DisplayName("현재 버전과 같은 ETag 는 변경 없음")
+    @Test
+    void notModified() {
+        //given
+        String token = "vA1";
+        spreadVersionRegistry.register(1L, token, spreadUserId, 5, viewableExpireDateTime);
+        String eTag = SpreadVersionRegistry.eTagOf(1L, 5);
+
+        //when
+        String notModifiedVersion = spreadVersionRegistry.findNotModifiedVersion(token, spreadUserId, eTag);
+
+        //then
+        assertThat(notModifiedVersion).isEqualTo(eTag);
+    }
+
+    @DisplayName("뿌린 사람이 아니라면 ETag 가 같아도 변경 없음 응답을 하지 않음")
+    @Test
+    void otherUserNotModified() {
+        //given
+        String token = "vA2";
+        spreadVersionRegistry.register(1L, token, spreadUserId, 5, viewableExpireDateTime);
+        String eTag = SpreadVersionRegistry.eTagOf(1L, 5);
+
+        //when
+        String notModifiedVersion = spreadVersionRegistry.findNotModifiedVersion(token, spreadUserId + 1, eTag);
+
+        //then
+        assertThat(notModifiedVersion).isNull();
+    }
+
+    @DisplayName("받기가 발생하면 이전 ETag 는 변경 됨")
+    @Test
+    void modifiedAfterReceive() {
+        //given
+        String token = "vA3";
+        spreadVersionRegistry.register(1L, token, spreadUserId, 5, viewableExpireDateTime);
+        String eTag = SpreadVersionRegistry.eTagOf(1L, 5);
+
+        //when
+        spreadVersionRegistry.onMoneyReceived(new MoneyReceivedEvent(
+                1L, token, spreadUserId, roomId, spreadUserId + 1, 1000, 9000, 4, LocalDateTime.now()));
+
+        //then
+        assertThat(spreadVersionRegistry.findNotModifiedVersion(token, spreadUserId, eTag)).isNull();
+        assertThat(spreadVersionRegistry.findNotModifiedVersion(token, spreadUserId, SpreadVersionRegistry.eTagOf(1L, 4)))
+                .isEqualTo(SpreadVersionRegistry.eTagOf(1L, 4));
+    }
+
+    @DisplayName("먼저 읽은 조회 결과가 늦게 등록되어도 버전이 되돌아가지 않음")
+    @Test
+    void keepLatestVersion() {
+        //given
+        String token = "vA4";
+        spreadVersionRegistry.register(1L, token, spreadUserId, 4, viewableExpireDateTime);
+
+        //when
+        spreadVersionRegistry.register(1L, token, spreadUserId, 5, viewableExpireDateTime);
+
+        //then
+        assertThat(spreadVersionRegistry.findNotModifiedVersion(token, spreadUserId, SpreadVersionRegistry.eTagOf(1L, 5)))
+                .isNull();
+    }
+
+    @DisplayName("만료 이관된 뿌리기의 ETag 는 변경 없음 응답을 하지 않음")
+    @Test
+    void expiredNotModified() {
+        //given
+        String token = "vA5";
+        spreadVersionRegistry.register(1L, token, spreadUserId, 5, viewableExpireDateTime);
+        String eTag = SpreadVersionRegistry.eTagOf(1L, 5);
+
+        //when
+        spreadVersionRegistry.onSpreadExpired(new SpreadExpiredEvent(1L, token, spreadUserId, roomId));
+
+        //then
+        assertThat(spreadVersionRegistry.findNotModifiedVersion(token, spreadUserId, eTag)).isNull();
+    }
+}
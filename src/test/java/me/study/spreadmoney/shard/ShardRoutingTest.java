@@ -0,0 +1,221 @@
+package me.study.spreadmoney.shard;
+
+import me.study.spreadmoney.api.dto.LookUpSpreadInfoDto;
+import me.study.spreadmoney.exception.PredictableRuntimeException;
+import me.study.spreadmoney.exception.RejectReason;
+import me.study.spreadmoney.scheduler.Scheduler;
+import me.study.spreadmoney.service.ExpiredSpreadService;
+import me.study.spreadmoney.service.ExpiredSpreadService.ArchivedSpread;
+import me.study.spreadmoney.service.LookUpService;
+import me.study.spreadmoney.service.ReceiveService;
+import me.study.spreadmoney.service.SpreadService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doNothing;
+
+/**
+ * shard 3개를 서로 다른 H2 메모리 DB 로 구성
+ */
+@SpringBootTest(properties = {
+        "config.shard.enabled=true",
+        "config.shard.urls=jdbc:h2:mem:shard0;DB_CLOSE_DELAY=-1,jdbc:h2:mem:shard1;DB_CLOSE_DELAY=-1,jdbc:h2:mem:shard2;DB_CLOSE_DELAY=-1",
+        "config.shard.virtual-nodes=128"})
+class ShardRoutingTest {
+    private static final int SHARD_COUNT = 3;
+
+    @MockBean
+    private Scheduler scheduler;
+    @Autowired
+    ShardRouter shardRouter;
+    @Autowired
+    ShardDataSources shardDataSources;
+    @Autowired
+    SpreadService spreadService;
+    @Autowired
+    ReceiveService receiveService;
+    @Autowired
+    LookUpService lookUpService;
+    @Autowired
+    ExpiredSpreadService expiredSpreadService;
+
+    @BeforeEach
+    public void setUpForTest() {
+        //Scheduler method 비활성화
+        doNothing().when(scheduler).spreadToExpireSpread();
+    }
+
+    @DisplayName("뿌리기는 대화방의 shard 에 저장되고 token 첫 글자는 대화방의 slot")
+    @Test
+    void spreadOnRoomShard() {
+        for (int shard = 0; shard < SHARD_COUNT; shard++) {
+            //given
+            String roomId = roomOnShard(shard, "spread");
+
+            //when
+            String token = spreadService.spreadMoney(1, roomId, 10000, 3);
+
+            //then
+            assertThat(token.charAt(0)).isEqualTo(TokenSlots.slotChar(TokenSlots.slotOfRoom(roomId)));
+            assertThat(shardRouter.shardOfToken(token)).isEqualTo(shard);
+            for (int i = 0; i < SHARD_COUNT; i++)
+                assertThat(countSpread(i, token)).isEqualTo(i == shard ? 1 : 0);
+        }
+    }
+
+    @DisplayName("받기, 조회는 token 으로 shard 결정")
+    @Test
+    void receiveAndLookUpByToken() {
+        //given
+        String roomId = roomOnShard(SHARD_COUNT - 1, "receive");
+        String token = spreadService.spreadMoney(1, roomId, 10000, 3);
+
+        //when
+        int receivedMoney = receiveService.receiveMoney(2, roomId, token);
+        LookUpSpreadInfoDto lookUpSpreadInfoDto = lookUpService.lookUpSpreadInfo(1, token);
+
+        //then
+        assertThat(lookUpSpreadInfoDto.getTotalReceivedMoney()).isEqualTo(receivedMoney);
+        assertThat(lookUpSpreadInfoDto.getReceiveInfoDtoList()).hasSize(1);
+    }
+
+    @DisplayName("slot 이동 후 이동 대상 shard 에서 받기, 조회")
+    @Test
+    void moveSlot() {
+        //given
+        String roomId = roomOnShard(0, "move");
+        String token = spreadService.spreadMoney(1, roomId, 10000, 3);
+        int receivedMoney = receiveService.receiveMoney(2, roomId, token);
+        int slot = TokenSlots.slotOfRoom(roomId);
+        int target = 1;
+
+        //when
+        ShardMigrator shardMigrator = new ShardMigrator(
+                shardDataSources.getShards(), new ConsistentHashRing(SHARD_COUNT, 128), 0);
+        int movedCount = shardMigrator.moveSlot(slot, target);
+        shardRouter.refreshSlotAssignments();
+        receivedMoney += receiveService.receiveMoney(3, roomId, token);
+        LookUpSpreadInfoDto lookUpSpreadInfoDto = lookUpService.lookUpSpreadInfo(1, token);
+
+        //then
+        assertThat(movedCount).isGreaterThanOrEqualTo(4); //뿌리기 1, 뿌리기 상세 3
+        assertThat(shardRouter.shardOfRoom(roomId)).isEqualTo(target);
+        assertThat(countSpread(0, token)).isZero();
+        assertThat(countSpread(target, token)).isEqualTo(1);
+        assertThat(lookUpSpreadInfoDto.getTotalReceivedMoney()).isEqualTo(receivedMoney);
+        assertThat(spreadService.spreadMoney(1, roomId, 10000, 3).charAt(0)).isEqualTo(TokenSlots.slotChar(slot));
+    }
+
+    @DisplayName("slot 이동 후 보관된 뿌리기와 받기도 이동 대상 shard 에서 조회")
+    @Test
+    void moveSlotWithArchived() {
+        //given
+        int source = 0;
+        int target = 2;
+        String roomId = roomOnShard(source, "archivedMove");
+        String token = spreadService.spreadMoney(1, roomId, 10000, 3);
+        int receivedMoney = receiveService.receiveMoney(2, roomId, token);
+        Long spreadId = new JdbcTemplate(shardDataSources.get(source)).queryForObject(
+                "select spread_id from SPREAD where token = ?", Long.class, token);
+        ShardContext.runOn(source, () -> expiredSpreadService.spreadToExpire(spreadId));
+        int slot = TokenSlots.slotOfRoom(roomId);
+
+        //when
+        ShardMigrator shardMigrator = new ShardMigrator(
+                shardDataSources.getShards(), new ConsistentHashRing(SHARD_COUNT, 128), 0);
+        shardMigrator.moveSlot(slot, target);
+        shardRouter.refreshSlotAssignments();
+        List<ArchivedSpread> archivedSpreads = expiredSpreadService.findArchived(1, token);
+
+        //then
+        assertThat(countExpiredReceive(source, token)).isZero();
+        assertThat(countExpiredReceive(target, token)).isEqualTo(1);
+        assertThat(archivedSpreads).hasSize(1);
+        assertThat(archivedSpreads.get(0).expiredReceives()).hasSize(1);
+        assertThat(archivedSpreads.get(0).expiredReceives().get(0).getReceivedMoney()).isEqualTo(receivedMoney);
+    }
+
+    @DisplayName("이동 중인 slot 은 쓰기 거절, 조회는 가능")
+    @Test
+    void rejectWriteWhileMigrating() {
+        //given
+        String roomId = roomOnShard(2, "migrating");
+        String token = spreadService.spreadMoney(1, roomId, 10000, 3);
+        int slot = TokenSlots.slotOfRoom(roomId);
+        ShardSlotCatalog catalog = new ShardSlotCatalog(shardDataSources.get(0));
+        catalog.save(slot, 2, true);
+        shardRouter.refreshSlotAssignments();
+
+        try {
+            //when
+            PredictableRuntimeException predictableRuntimeException = assertThrows(
+                    PredictableRuntimeException.class,
+                    () -> receiveService.receiveMoney(2, roomId, token));
+            LookUpSpreadInfoDto lookUpSpreadInfoDto = lookUpService.lookUpSpreadInfo(1, token);
+
+            //then
+            assertThat(lookUpSpreadInfoDto.getTotalMoney()).isEqualTo(10000);
+            //checkMsg
+            System.err.println(predictableRuntimeException.getMessage());
+        } finally {
+            catalog.save(slot, 2, false);
+            shardRouter.refreshSlotAssignments();
+        }
+    }
+
+    @DisplayName("slot 배치 정보를 오래 다시 읽지 못했다면 쓰기 거절")
+    @Test
+    void rejectWriteWhenSlotsStale() {
+        //given
+        String roomId = roomOnShard(1, "stale");
+        String token = spreadService.spreadMoney(1, roomId, 10000, 3);
+        ReflectionTestUtils.setField(shardRouter, "refreshedAtMillis", 0L);
+
+        try {
+            //when
+            PredictableRuntimeException predictableRuntimeException = assertThrows(
+                    PredictableRuntimeException.class,
+                    () -> receiveService.receiveMoney(2, roomId, token));
+
+            //then
+            assertThat(predictableRuntimeException.getReason()).isEqualTo(RejectReason.SLOT_MOVING);
+            //checkMsg
+            System.err.println(predictableRuntimeException.getMessage());
+        } finally {
+            shardRouter.refreshSlotAssignments();
+        }
+    }
+
+    /**
+     * shard 에 배치된 대화방 아이디 찾기 (이동된 적 없는 slot)
+     */
+    private String roomOnShard(int shard, String prefix) {
+        ShardSlotCatalog catalog = new ShardSlotCatalog(shardDataSources.get(0));
+        for (int i = 0; ; i++) {
+            String roomId = prefix + "Room" + i;
+            if (shardRouter.shardOfRoom(roomId) == shard
+                    && !catalog.load().containsKey(TokenSlots.slotOfRoom(roomId)))
+                return roomId;
+        }
+    }
+
+    private int countExpiredReceive(int shard, String token) {
+        return new JdbcTemplate(shardDataSources.get(shard)).queryForObject(
+                "select count(*) from EXPIRED_RECEIVE where token = ?", Integer.class, token);
+    }
+
+    private int countSpread(int shard, String token) {
+        return new JdbcTemplate(shardDataSources.get(shard)).queryForObject(
+                "select count(*) from SPREAD where token = ?", Integer.class, token);
+    }
+}
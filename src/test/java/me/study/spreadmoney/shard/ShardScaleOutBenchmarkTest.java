@@ -0,0 +1,122 @@
+package me.study.spreadmoney.shard;
+
+import me.study.spreadmoney.scheduler.Scheduler;
+import me.study.spreadmoney.service.ReceiveService;
+import me.study.spreadmoney.service.SpreadService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doNothing;
+
+/**
+ * shard 수에 따른 뿌리기 + 받기 처리량 측정, ./gradlew benchmark 로 실행
+ * shard 4개를 H2 파일 DB 로 구성하고, 대화방을 앞의 1, 2, 4개 shard 에만 배치하여 비교
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "config.shard.enabled=true",
+        "config.shard.urls=jdbc:h2:file:${java.io.tmpdir}/spread-shard-benchmark/shard0,"
+                + "jdbc:h2:file:${java.io.tmpdir}/spread-shard-benchmark/shard1,"
+                + "jdbc:h2:file:${java.io.tmpdir}/spread-shard-benchmark/shard2,"
+                + "jdbc:h2:file:${java.io.tmpdir}/spread-shard-benchmark/shard3",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "decorator.datasource.p6spy.enable-logging=false"})
+class ShardScaleOutBenchmarkTest {
+    private static final int THREAD_NUM = 16;
+    private static final int SLOTS_PER_SHARD = 8;
+    private static final int WARM_UP_COUNT = 500;
+    private static final int OPERATION_COUNT = 2_000;
+
+    @MockBean
+    private Scheduler scheduler;
+    @Autowired
+    ShardRouter shardRouter;
+    @Autowired
+    SpreadService spreadService;
+    @Autowired
+    ReceiveService receiveService;
+
+    @BeforeEach
+    public void setUpForTest() {
+        //Scheduler method 비활성화
+        doNothing().when(scheduler).spreadToExpireSpread();
+    }
+
+    @DisplayName("뿌리기 + 받기 처리량, 사용 shard 1, 2, 4")
+    @Test
+    void spreadAndReceiveThroughput() throws InterruptedException {
+        assertThat(shardRouter.getShardCount()).isEqualTo(4);
+        for (int shardNum : new int[]{1, 2, 4}) {
+            List<String> roomIds = roomsOnShards(shardNum);
+            spreadAndReceiveConcurrently(roomIds, WARM_UP_COUNT);
+
+            long start = System.nanoTime();
+            int completedCount = spreadAndReceiveConcurrently(roomIds, OPERATION_COUNT);
+            long elapsedNanos = System.nanoTime() - start;
+
+            printResult("shards: " + shardNum + ", rooms: " + roomIds.size(), completedCount, elapsedNanos);
+        }
+    }
+
+    /**
+     * 앞의 shardNum 개 shard 에 고르게 배치된 대화방 (slot 마다 하나)
+     */
+    private List<String> roomsOnShards(int shardNum) {
+        int[] slotCountOfShard = new int[shardNum];
+        Set<Integer> usedSlots = new HashSet<>();
+        List<String> roomIds = new ArrayList<>();
+        for (int i = 0; i < 100_000 && roomIds.size() < shardNum * SLOTS_PER_SHARD; i++) {
+            String roomId = "benchmarkRoom" + i;
+            int slot = TokenSlots.slotOfRoom(roomId);
+            int shard = shardRouter.shardOfSlot(slot);
+            if (shard < shardNum && slotCountOfShard[shard] < SLOTS_PER_SHARD && usedSlots.add(slot)) {
+                slotCountOfShard[shard]++;
+                roomIds.add(roomId);
+            }
+        }
+        return roomIds;
+    }
+
+    private int spreadAndReceiveConcurrently(List<String> roomIds, int count) throws InterruptedException {
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger completedCount = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREAD_NUM; t++) {
+            threads.add(new Thread(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < count) {
+                    String roomId = roomIds.get(i % roomIds.size());
+                    try {
+                        String token = spreadService.spreadMoney(1, roomId, 10000, 3);
+                        receiveService.receiveMoney(2, roomId, token);
+                        completedCount.incrementAndGet();
+                    } catch (RuntimeException ex) {
+                        System.err.println(ex.getMessage());
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads)
+            thread.join();
+        return completedCount.get();
+    }
+
+    private void printResult(String name, int count, long elapsedNanos) {
+        double elapsedMillis = elapsedNanos / 1_000_000.0;
+        System.out.printf("[Shard benchmark] %s, spread+receive: %d, elapsed: %.1f ms, throughput: %.0f ops/s%n",
+                name, count, elapsedMillis, count / (elapsedMillis / 1000.0));
+    }
+}
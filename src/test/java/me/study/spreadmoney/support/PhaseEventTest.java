@@ -0,0 +1,78 @@
+package me.study.spreadmoney.support;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import me.study.spreadmoney.scheduler.Scheduler;
+import me.study.spreadmoney.service.ReceiveService;
+import me.study.spreadmoney.service.SpreadService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doNothing;
+
+@SpringBootTest
+class PhaseEventTest {
+
+    @MockBean
+    private Scheduler scheduler;
+    @Autowired SpreadService spreadService;
+    @Autowired ReceiveService receiveService;
+
+    @BeforeEach
+    public void setUpForTest() {
+        //Scheduler method 비활성화
+        doNothing().when(scheduler).spreadToExpireSpread();
+    }
+
+    @Test
+    @DisplayName("뿌리기, 받기 단계 이벤트 기록")
+    public void recordPhases() throws Exception {
+        //given
+        String roomId = "phaseEventRoom";
+        Path file = Files.createTempFile("phase-event", ".jfr");
+
+        //when
+        String token;
+        try (Recording recording = new Recording()) {
+            recording.enable(PhaseEvent.NAME).withThreshold(Duration.ZERO);
+            recording.start();
+            token = spreadService.spreadMoney(1, roomId, 10000, 3);
+            receiveService.receiveMoney(2, roomId, token);
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.deleteIfExists(file);
+
+        //then
+        List<String> spreadPhases = phasesOf(events, PhaseEvent.SPREAD, token);
+        List<String> receivePhases = phasesOf(events, PhaseEvent.RECEIVE, token);
+        assertThat(spreadPhases).containsExactly("token", "split", "insert", "commit");
+        assertThat(receivePhases).containsExactly("fetch", "validate", "detail", "claim", "flush", "commit");
+        assertThat(events).filteredOn(e -> token.equals(e.getString("token")))
+                .allMatch(e -> roomId.equals(e.getString("roomId")));
+
+        //checkMsg
+        System.err.println("spread phases = " + spreadPhases);
+        System.err.println("receive phases = " + receivePhases);
+    }
+
+    private List<String> phasesOf(List<RecordedEvent> events, String operation, String token) {
+        return events.stream()
+                .filter(e -> operation.equals(e.getString("operation")) && token.equals(e.getString("token")))
+                .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                .map(e -> e.getString("phase"))
+                .toList();
+    }
+}
@@ -0,0 +1,106 @@
+package me.study.spreadmoney.support;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 테스트용 SQL 문 예산 (p6spy JdbcEventListener, p6spy-spring-boot-starter 가 listener 빈으로 등록)
+ * 서비스 호출 중 실행된 SQL 문을 기록하고 예산을 넘으면 실패, 실패 메시지에 실행된 SQL 문 목록(예산 초과분은 +)과 반복 실행된 SQL 문
+ * 사용: int money = sqlStatementBudget.expect("receive", 4, () -> receiveService.receiveMoney(userId, roomId, token));
+ * 호출 전 em.flush(), em.clear() 로 이전 변경 반영 및 1차 캐시 비우기 (이전 변경의 flush, 캐시된 엔티티가 예산에 섞이지 않도록)
+ * 호출에서 예외가 발생해도 예산 검증 후 예외 전달 (거절 경로의 SQL 문 수 검증)
+ */
+@Component
+public class SqlStatementBudget extends SimpleJdbcEventListener {
+    private final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+    private volatile boolean recording;
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        if (recording)
+            statements.add(normalize(statementInformation.getSql()));
+    }
+
+    /**
+     * SQL 문 예산 검증
+     * @param name 호출 이름 (실패 메시지용)
+     * @param budget 최대 SQL 문 수
+     * @param call 서비스 호출
+     * @return 호출 결과
+     */
+    public synchronized <T> T expect(String name, int budget, Supplier<T> call) {
+        statements.clear();
+        recording = true;
+        T result;
+        try {
+            result = call.get();
+        } catch (RuntimeException ex) {
+            recording = false;
+            AssertionError exceeded = exceeded(name, budget);
+            if (exceeded != null) {
+                exceeded.addSuppressed(ex);
+                throw exceeded;
+            }
+            throw ex;
+        } finally {
+            recording = false;
+        }
+
+        AssertionError exceeded = exceeded(name, budget);
+        if (exceeded != null)
+            throw exceeded;
+        return result;
+    }
+
+    /**
+     * SQL 문 예산 검증 (결과 없는 호출)
+     */
+    public void expect(String name, int budget, Runnable call) {
+        expect(name, budget, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    /**
+     * 마지막 expect 호출 중 실행된 SQL 문
+     */
+    public List<String> getStatements() {
+        synchronized (statements) {
+            return List.copyOf(statements);
+        }
+    }
+
+    private AssertionError exceeded(String name, int budget) {
+        List<String> executed = getStatements();
+        if (executed.size() <= budget)
+            return null;
+
+        StringBuilder message = new StringBuilder()
+                .append("SQL 문 예산 초과 [").append(name).append("] 예산: ").append(budget)
+                .append(", 실행: ").append(executed.size()).append('\n');
+        for (int i = 0; i < executed.size(); i++)
+            message.append(i < budget ? "  " : "+ ").append(String.format("%3d ", i + 1)).append(executed.get(i)).append('\n');
+
+        //반복 실행된 SQL 문 (N+1, 반복 조회)
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        executed.forEach(sql -> counts.merge(sql, 1, Integer::sum));
+        counts.entrySet().stream()
+                .filter(entry -> entry.getValue() > 1)
+                .forEach(entry -> message.append("반복 x").append(entry.getValue()).append(' ').append(entry.getKey()).append('\n'));
+        return new AssertionError(message.toString());
+    }
+
+    private static String normalize(String sql) {
+        return sql == null ? "" : sql.trim().replaceAll("\\s+", " ");
+    }
+}
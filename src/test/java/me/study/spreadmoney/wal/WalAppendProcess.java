@@ -0,0 +1,26 @@
+package me.study.spreadmoney.wal;
+
+import java.nio.file.Paths;
+
+/**
+ * 강제 종료 복구 테스트용 프로세스, 받기 기록을 계속 추가하다가 종료(kill) 당함
+ * 받은 사용자 아이디를 0 부터 1씩 늘려 기록하므로 복구된 기록이 순서대로 빠짐없는지 확인할 수 있음
+ */
+public class WalAppendProcess {
+    static final String READY = "READY";
+    static final int READY_COUNT = 10_000; //READY 출력 전 기록 수
+    static final int SEGMENT_SIZE = 1 << 20;
+    private static final int MAX_COUNT = 2_000_000;
+
+    public static void main(String[] args) throws Exception {
+        WriteAheadLog writeAheadLog = WriteAheadLog.open(Paths.get(args[0]), SEGMENT_SIZE, record -> {});
+        for (int i = 0; i < MAX_COUNT; i++) {
+            writeAheadLog.append(WalRecord.moneyReceived(1L, i, 1, 1, 1));
+            if (i == READY_COUNT - 1) {
+                System.out.println(READY);
+                System.out.flush();
+            }
+        }
+        Thread.sleep(Long.MAX_VALUE);
+    }
+}
@@ -0,0 +1,86 @@
+package me.study.spreadmoney.wal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 받기 기록(WAL) 추가 처리량 측정, ./gradlew benchmark 로 실행
+ */
+@Tag("benchmark")
+class WriteAheadLogBenchmarkTest {
+    private static final int SEGMENT_SIZE = 16 << 20;
+    private static final int WARM_UP_COUNT = 200_000;
+    private static final int APPEND_COUNT = 1_000_000;
+    private static final int FSYNC_PER_APPEND_COUNT = 2_000;
+    private static final long FSYNC_MILLIS = 10;
+
+    @TempDir
+    Path directory;
+
+    @DisplayName("추가 처리량, fsync 주기 반영 (스레드 1, 4, 16)")
+    @Test
+    void appendThroughputWithGroupFsync() throws Exception {
+        for (int threadNum : new int[]{1, 4, 16}) {
+            Path threadDirectory = directory.resolve("group-" + threadNum);
+            try (WriteAheadLog writeAheadLog = WriteAheadLog.open(threadDirectory, SEGMENT_SIZE, record -> {})) {
+                appendConcurrently(writeAheadLog, threadNum, WARM_UP_COUNT);
+
+                ScheduledExecutorService fsyncExecutor = Executors.newSingleThreadScheduledExecutor();
+                fsyncExecutor.scheduleWithFixedDelay(writeAheadLog::sync, FSYNC_MILLIS, FSYNC_MILLIS, TimeUnit.MILLISECONDS);
+                long start = System.nanoTime();
+                appendConcurrently(writeAheadLog, threadNum, APPEND_COUNT);
+                long elapsedNanos = System.nanoTime() - start;
+                fsyncExecutor.shutdownNow();
+
+                printResult("group fsync, threads: " + threadNum, APPEND_COUNT, elapsedNanos);
+            }
+        }
+    }
+
+    @DisplayName("추가 처리량, 기록마다 fsync (비교용)")
+    @Test
+    void appendThroughputWithFsyncPerAppend() throws Exception {
+        try (WriteAheadLog writeAheadLog = WriteAheadLog.open(directory, SEGMENT_SIZE, record -> {})) {
+            long start = System.nanoTime();
+            for (int i = 0; i < FSYNC_PER_APPEND_COUNT; i++) {
+                writeAheadLog.append(WalRecord.moneyReceived(1L, i, 1000, 1000, 1));
+                writeAheadLog.sync();
+            }
+            long elapsedNanos = System.nanoTime() - start;
+            printResult("fsync per append, threads: 1", FSYNC_PER_APPEND_COUNT, elapsedNanos);
+        }
+    }
+
+    private void appendConcurrently(WriteAheadLog writeAheadLog, int threadNum, int count) throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        int countPerThread = count / threadNum;
+        for (int t = 0; t < threadNum; t++) {
+            long spreadId = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < countPerThread; i++)
+                    writeAheadLog.append(WalRecord.moneyReceived(spreadId, i, 1000, 1000, 1));
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads)
+            thread.join();
+        assertThat(writeAheadLog.segmentPaths()).isNotEmpty();
+    }
+
+    private void printResult(String name, int count, long elapsedNanos) {
+        double elapsedMillis = elapsedNanos / 1_000_000.0;
+        System.out.printf("[WAL benchmark] %s, appends: %d, elapsed: %.1f ms, throughput: %.0f appends/s%n",
+                name, count, elapsedMillis, count / (elapsedMillis / 1000.0));
+    }
+}
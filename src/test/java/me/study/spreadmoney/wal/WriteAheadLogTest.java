@@ -0,0 +1,170 @@
+package me.study.spreadmoney.wal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WriteAheadLogTest {
+    private static final int SEGMENT_SIZE = 256;
+    private static final LocalDateTime SPREAD_DATE_TIME = LocalDateTime.of(2024, 1, 1, 12, 0, 0, 123_456_789);
+    private static final int RECEIVED_FRAME_SIZE = WalSegment.HEADER_SIZE + WalRecord.moneyReceived(1L, 1, 1, 1, 1).payloadSize();
+
+    @TempDir
+    Path directory;
+
+    @DisplayName("기록 후 다시 열면 기록 순서대로 복구")
+    @Test
+    void replay() throws Exception {
+        //given
+        try (WriteAheadLog writeAheadLog = WriteAheadLog.open(directory, SEGMENT_SIZE, record -> {})) {
+            writeAheadLog.append(WalRecord.spreadCreated(1L, "abc", 1, "room", 10000, 3, SPREAD_DATE_TIME));
+            for (int i = 0; i < 10; i++)
+                writeAheadLog.append(WalRecord.moneyReceived(1L, 100 + i, 10, 9000 - i, 2));
+        }
+
+        //when
+        List<WalRecord> records = replayAll();
+        WalReceiveState receiveState = new WalReceiveState();
+        records.forEach(receiveState::apply);
+
+        //then
+        assertThat(records).hasSize(11);
+        assertThat(records.get(0).getType()).isEqualTo(WalRecordType.SPREAD_CREATED);
+        assertThat(records.get(0).getToken()).isEqualTo("abc");
+        assertThat(records.subList(1, 11)).extracting(WalRecord::getUserId)
+                .containsExactly(100, 101, 102, 103, 104, 105, 106, 107, 108, 109);
+        WalReceiveState.SpreadState spreadState = receiveState.findByToken("abc").get();
+        assertThat(spreadState.hasReceived(105)).isTrue();
+        assertThat(spreadState.getRemainMoney()).isEqualTo(8991);
+    }
+
+    @DisplayName("기록 중 종료되어 깨진 마지막 기록은 버리고, 그 위치부터 이어서 기록")
+    @Test
+    void tornTail() throws Exception {
+        //given
+        Path segmentPath;
+        try (WriteAheadLog writeAheadLog = WriteAheadLog.open(directory, SEGMENT_SIZE, record -> {})) {
+            for (int i = 0; i < 3; i++)
+                writeAheadLog.append(WalRecord.moneyReceived(1L, i, 10, 100, 5));
+            segmentPath = writeAheadLog.segmentPaths().get(0);
+        }
+        //네 번째 기록 중 종료 (길이, CRC 와 payload 일부만 기록됨)
+        try (FileChannel channel = FileChannel.open(segmentPath, StandardOpenOption.WRITE)) {
+            ByteBuffer partial = ByteBuffer.allocate(17);
+            partial.putInt(RECEIVED_FRAME_SIZE - WalSegment.HEADER_SIZE).putInt(0x12345678)
+                    .put(WalRecordType.MONEY_RECEIVED.getCode()).putLong(1L).flip();
+            channel.write(partial, 3L * RECEIVED_FRAME_SIZE);
+        }
+
+        //when
+        List<WalRecord> recovered = new ArrayList<>();
+        try (WriteAheadLog writeAheadLog = WriteAheadLog.open(directory, SEGMENT_SIZE, recovered::add)) {
+            writeAheadLog.append(WalRecord.moneyReceived(1L, 3, 10, 100, 5));
+        }
+        List<WalRecord> records = replayAll();
+
+        //then
+        assertThat(recovered).extracting(WalRecord::getUserId).containsExactly(0, 1, 2);
+        assertThat(records).extracting(WalRecord::getUserId).containsExactly(0, 1, 2, 3);
+    }
+
+    @DisplayName("기록 중 프로세스를 강제 종료해도 완료된 기록은 순서대로 빠짐없이 복구")
+    @Test
+    void killMidAppend() throws Exception {
+        //given
+        String javaCommand = ProcessHandle.current().info().command().orElse("java");
+        Process process = new ProcessBuilder(javaCommand,
+                "-cp", System.getProperty("java.class.path"),
+                WalAppendProcess.class.getName(), directory.toString())
+                .redirectErrorStream(true)
+                .start();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null && !line.equals(WalAppendProcess.READY)) {
+                System.err.println(line);
+            }
+        }
+
+        //when
+        Thread.sleep(20);
+        process.destroyForcibly();
+        assertThat(process.waitFor(10, TimeUnit.SECONDS)).isTrue();
+        List<WalRecord> records = replayAll(WalAppendProcess.SEGMENT_SIZE);
+
+        //then
+        assertThat(records.size()).isGreaterThanOrEqualTo(WalAppendProcess.READY_COUNT);
+        for (int i = 0; i < records.size(); i++)
+            assertThat(records.get(i).getUserId()).isEqualTo(i);
+        System.err.println("recovered records: " + records.size());
+    }
+
+    @DisplayName("이관된 뿌리기 기록만 있는 segment 는 삭제")
+    @Test
+    void compaction() throws Exception {
+        //given
+        WriteAheadLog writeAheadLog = WriteAheadLog.open(directory, SEGMENT_SIZE, record -> {});
+        writeAheadLog.append(WalRecord.spreadCreated(1L, "abc", 1, "room", 10000, 10, SPREAD_DATE_TIME));
+        for (int i = 0; i < 10; i++)
+            writeAheadLog.append(WalRecord.moneyReceived(1L, 100 + i, 1000, 9000 - i * 1000, 9 - i));
+        writeAheadLog.append(WalRecord.spreadCreated(2L, "def", 1, "room", 10000, 10, SPREAD_DATE_TIME));
+        int beforeSegmentCount = writeAheadLog.segmentPaths().size();
+
+        //when
+        writeAheadLog.append(WalRecord.spreadArchived(1L));
+        int afterSegmentCount = writeAheadLog.segmentPaths().size();
+        writeAheadLog.close();
+        WalReceiveState receiveState = new WalReceiveState();
+        replayAll().forEach(receiveState::apply);
+
+        //then
+        assertThat(beforeSegmentCount).isGreaterThan(1);
+        assertThat(afterSegmentCount).isLessThan(beforeSegmentCount);
+        assertThat(receiveState.find(1L)).isEmpty();
+        assertThat(receiveState.findByToken("def")).isPresent();
+    }
+
+    @DisplayName("DB 가 다시 만들어져 아이디가 같은 다른 뿌리기는 받기 기록 상태를 사용하지 않음")
+    @Test
+    void reusedSpreadId() throws Exception {
+        //given
+        try (WriteAheadLog writeAheadLog = WriteAheadLog.open(directory, SEGMENT_SIZE, record -> {})) {
+            writeAheadLog.append(WalRecord.spreadCreated(1L, "abc", 1, "room", 10000, 1, SPREAD_DATE_TIME));
+            writeAheadLog.append(WalRecord.moneyReceived(1L, 100, 10000, 0, 0));
+        }
+
+        //when
+        WalReceiveState receiveState = new WalReceiveState();
+        replayAll().forEach(receiveState::apply);
+
+        //then (DB 저장 정밀도로 잘린 뿌린 시각은 같은 뿌리기)
+        assertThat(receiveState.find(1L, "abc", SPREAD_DATE_TIME.truncatedTo(ChronoUnit.MICROS)))
+                .hasValueSatisfying(spreadState -> assertThat(spreadState.hasReceived(100)).isTrue());
+        assertThat(receiveState.find(1L, "abc", SPREAD_DATE_TIME.plusDays(1))).isEmpty();
+        assertThat(receiveState.find(1L, "xyz", SPREAD_DATE_TIME)).isEmpty();
+    }
+
+    private List<WalRecord> replayAll() throws Exception {
+        return replayAll(SEGMENT_SIZE);
+    }
+
+    private List<WalRecord> replayAll(int segmentSize) throws Exception {
+        List<WalRecord> records = new ArrayList<>();
+        WriteAheadLog.open(directory, segmentSize, records::add).close();
+        return records;
+    }
+}